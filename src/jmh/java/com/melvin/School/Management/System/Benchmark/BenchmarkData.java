@@ -0,0 +1,122 @@
+package com.melvin.School.Management.System.Benchmark;
+
+import com.melvin.School.Management.System.Dto.EnrollmentDTO;
+import com.melvin.School.Management.System.Model.Course;
+import com.melvin.School.Management.System.Model.Student;
+import com.melvin.School.Management.System.Model.Teacher;
+import com.melvin.School.Management.System.Repository.StudentRepository;
+import com.melvin.School.Management.System.Repository.TeacherRepository;
+import com.melvin.School.Management.System.Service.EnrollmentService;
+import org.springframework.context.ApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Benchmark Data
+ * 
+ * Builds detached entity graphs of a realistic shape for the benchmarks:
+ * every course has a teacher and every student is enrolled in a few courses,
+ * either detached or persisted into a running application context.
+ * 
+ * @author Melvin Chibanda
+ * @version 1.0
+ * @since 2024
+ */
+final class BenchmarkData {
+
+    static final int COURSES_PER_STUDENT = 5;
+    static final int COURSES_PER_TEACHER = 4;
+
+    private BenchmarkData() {
+    }
+
+    static List<Teacher> teachers(int count) {
+        List<Teacher> teachers = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Teacher teacher = new Teacher();
+            teacher.setFirstName("Teacher" + i);
+            teacher.setLastName("Lastname" + i);
+            teacher.setEmail("teacher" + i + "@school.edu");
+            teachers.add(teacher);
+        }
+        return teachers;
+    }
+
+    static List<Course> courses(List<Teacher> teachers) {
+        List<Course> courses = new ArrayList<>();
+        for (Teacher teacher : teachers) {
+            for (int i = 0; i < COURSES_PER_TEACHER; i++) {
+                Course course = new Course();
+                course.setName("Course " + teacher.getFirstName() + "-" + i);
+                course.setDescription("Introductory course number " + i + " taught by " + teacher.getLastName());
+                course.setTeacher(teacher);
+                teacher.getCourses().add(course);
+                courses.add(course);
+            }
+        }
+        return courses;
+    }
+
+    static List<Student> students(int count, List<Course> courses) {
+        List<Student> students = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Student student = new Student();
+            student.setFirstName("Student" + i);
+            student.setLastName("Lastname" + i);
+            student.setEmail("student" + i + "@school.edu");
+            for (int c = 0; c < COURSES_PER_STUDENT && !courses.isEmpty(); c++) {
+                Course course = courses.get((i * COURSES_PER_STUDENT + c) % courses.size());
+                student.getCourses().add(course);
+                course.getStudents().add(student);
+            }
+            students.add(student);
+        }
+        return students;
+    }
+
+    /**
+     * Assigns sequential IDs, as the persistence layer would.
+     */
+    static void assignIds(List<Teacher> teachers, List<Course> courses, List<Student> students) {
+        long id = 1;
+        for (Teacher teacher : teachers) {
+            teacher.setId(id++);
+        }
+        for (Course course : courses) {
+            course.setId(id++);
+        }
+        for (Student student : students) {
+            student.setId(id++);
+        }
+    }
+
+    /**
+     * Persists {@code teacherCount} teachers with their courses and
+     * {@code studentCount} students, enrolled through the bulk enrollment path.
+     */
+    static Seeded seed(ApplicationContext context, int teacherCount, int studentCount) {
+        List<Teacher> teachers = teachers(teacherCount);
+        courses(teachers);
+        teachers = context.getBean(TeacherRepository.class).saveAll(teachers);
+        List<Student> students = context.getBean(StudentRepository.class)
+                .saveAll(students(studentCount, List.of()));
+
+        List<Long> teacherIds = teachers.stream().map(Teacher::getId).toList();
+        List<Long> courseIds = teachers.stream().flatMap(t -> t.getCourses().stream()).map(Course::getId).toList();
+        List<Long> studentIds = students.stream().map(Student::getId).toList();
+
+        List<EnrollmentDTO> enrollments = new ArrayList<>();
+        for (int i = 0; i < studentIds.size(); i++) {
+            for (int c = 0; c < COURSES_PER_STUDENT; c++) {
+                Long courseId = courseIds.get((i * COURSES_PER_STUDENT + c) % courseIds.size());
+                enrollments.add(new EnrollmentDTO(studentIds.get(i), courseId));
+            }
+        }
+        context.getBean(EnrollmentService.class).bulkEnroll(enrollments.iterator());
+        return new Seeded(teacherIds, courseIds, studentIds);
+    }
+
+    record Seeded(List<Long> teacherIds, List<Long> courseIds, List<Long> studentIds) {
+    }
+}
@@ -0,0 +1,95 @@
+package com.melvin.School.Management.System.Benchmark;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.melvin.School.Management.System.Dto.CourseDTO;
+import com.melvin.School.Management.System.Dto.StudentDTO;
+import com.melvin.School.Management.System.Dto.TeacherDTO;
+import com.melvin.School.Management.System.Mapper.CourseMapper;
+import com.melvin.School.Management.System.Mapper.StudentMapper;
+import com.melvin.School.Management.System.Mapper.TeacherMapper;
+import com.melvin.School.Management.System.Model.Course;
+import com.melvin.School.Management.System.Model.Student;
+import com.melvin.School.Management.System.Model.Teacher;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * JSON Serialization Benchmark
+ * 
+ * Measures Jackson serialization and deserialization of DTO lists of
+ * {@code size} elements, using an ObjectMapper configured like Spring MVC's.
+ * 
+ * @author Melvin Chibanda
+ * @version 1.0
+ * @since 2024
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JsonSerializationBenchmark {
+
+    @Param({"100", "1000"})
+    private int size;
+
+    private ObjectMapper objectMapper;
+
+    private List<StudentDTO> students;
+    private List<CourseDTO> courses;
+    private List<TeacherDTO> teachers;
+
+    private byte[] studentsJson;
+    private byte[] coursesJson;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+        List<Teacher> teacherEntities = BenchmarkData.teachers(Math.max(1, size / BenchmarkData.COURSES_PER_TEACHER));
+        List<Course> courseEntities = BenchmarkData.courses(teacherEntities);
+        List<Student> studentEntities = BenchmarkData.students(size, courseEntities);
+        BenchmarkData.assignIds(teacherEntities, courseEntities, studentEntities);
+
+        students = studentEntities.stream().map(StudentMapper.INSTANCE::toDTO).collect(Collectors.toList());
+        courses = courseEntities.stream().map(CourseMapper.INSTANCE::toDTO).collect(Collectors.toList());
+        teachers = teacherEntities.stream().map(TeacherMapper.INSTANCE::toDTO).collect(Collectors.toList());
+
+        studentsJson = objectMapper.writeValueAsBytes(students);
+        coursesJson = objectMapper.writeValueAsBytes(courses);
+    }
+
+    @Benchmark
+    public byte[] serializeStudents() throws IOException {
+        return objectMapper.writeValueAsBytes(students);
+    }
+
+    @Benchmark
+    public byte[] serializeCourses() throws IOException {
+        return objectMapper.writeValueAsBytes(courses);
+    }
+
+    @Benchmark
+    public byte[] serializeTeachers() throws IOException {
+        return objectMapper.writeValueAsBytes(teachers);
+    }
+
+    @Benchmark
+    public List<StudentDTO> deserializeStudents() throws IOException {
+        return objectMapper.readValue(studentsJson, new TypeReference<>() {
+        });
+    }
+
+    @Benchmark
+    public List<CourseDTO> deserializeCourses() throws IOException {
+        return objectMapper.readValue(coursesJson, new TypeReference<>() {
+        });
+    }
+}
@@ -0,0 +1,96 @@
+package com.melvin.School.Management.System.Benchmark;
+
+import com.melvin.School.Management.System.Dto.CourseDTO;
+import com.melvin.School.Management.System.Dto.StudentDTO;
+import com.melvin.School.Management.System.Dto.TeacherDTO;
+import com.melvin.School.Management.System.Mapper.CourseMapper;
+import com.melvin.School.Management.System.Mapper.StudentMapper;
+import com.melvin.School.Management.System.Mapper.TeacherMapper;
+import com.melvin.School.Management.System.Model.Course;
+import com.melvin.School.Management.System.Model.Student;
+import com.melvin.School.Management.System.Model.Teacher;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mapper Benchmark
+ * 
+ * Measures the MapStruct mappers on detached entities, for a single entity
+ * and for a list of {@code size} entities.
+ * 
+ * @author Melvin Chibanda
+ * @version 1.0
+ * @since 2024
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MapperBenchmark {
+
+    @Param({"100", "1000"})
+    private int size;
+
+    private final StudentMapper studentMapper = StudentMapper.INSTANCE;
+    private final CourseMapper courseMapper = CourseMapper.INSTANCE;
+    private final TeacherMapper teacherMapper = TeacherMapper.INSTANCE;
+
+    private List<Student> students;
+    private List<Course> courses;
+    private List<Teacher> teachers;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        teachers = BenchmarkData.teachers(Math.max(1, size / BenchmarkData.COURSES_PER_TEACHER));
+        courses = BenchmarkData.courses(teachers);
+        students = BenchmarkData.students(size, courses);
+        BenchmarkData.assignIds(teachers, courses, students);
+    }
+
+    @Benchmark
+    public StudentDTO studentToDTO() {
+        return studentMapper.toDTO(students.get(0));
+    }
+
+    @Benchmark
+    public List<StudentDTO> studentListToDTO() {
+        List<StudentDTO> result = new ArrayList<>(students.size());
+        for (Student student : students) {
+            result.add(studentMapper.toDTO(student));
+        }
+        return result;
+    }
+
+    @Benchmark
+    public CourseDTO courseToDTO() {
+        return courseMapper.toDTO(courses.get(0));
+    }
+
+    @Benchmark
+    public List<CourseDTO> courseListToDTO() {
+        List<CourseDTO> result = new ArrayList<>(courses.size());
+        for (Course course : courses) {
+            result.add(courseMapper.toDTO(course));
+        }
+        return result;
+    }
+
+    @Benchmark
+    public TeacherDTO teacherToDTO() {
+        return teacherMapper.toDTO(teachers.get(0));
+    }
+
+    @Benchmark
+    public List<TeacherDTO> teacherListToDTO() {
+        List<TeacherDTO> result = new ArrayList<>(teachers.size());
+        for (Teacher teacher : teachers) {
+            result.add(teacherMapper.toDTO(teacher));
+        }
+        return result;
+    }
+}
@@ -0,0 +1,119 @@
+package com.melvin.School.Management.System.Benchmark;
+
+import com.melvin.School.Management.System.SchoolManagementSystemApplication;
+import com.melvin.School.Management.System.Utility.KeysetCursor;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Registration Day Benchmark
+ *
+ * Load test of the running application over HTTP, comparing request
+ * execution on platform threads (Tomcat's bounded worker pool) with the
+ * {@code virtual-threads} profile. Many concurrent clients browse the course
+ * and student lists and enroll, which is the registration-day traffic shape.
+ *
+ * The number of concurrent clients is the JMH thread count (default 400,
+ * twice Tomcat's platform worker pool); override it with {@code -t}. The
+ * embedded H2 database answers without network round trips, so to measure
+ * JDBC blocking realistically point the forked JVM at MySQL, e.g.
+ * {@code -Djmh.args="-jvmArgsAppend -Dspring.profiles.active=docker"}.
+ *
+ * @author Melvin Chibanda
+ * @version 1.0
+ * @since 2024
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 10)
+@Threads(400)
+@Fork(1)
+public class RegistrationDayBenchmark {
+
+    private static final int TEACHERS = 50;
+    private static final int STUDENTS = 5000;
+
+    @Param({"platform", "virtual"})
+    private String threads;
+
+    private ConfigurableApplicationContext context;
+    private HttpClient client;
+    private String baseUrl;
+
+    private List<Long> studentIds;
+    private List<Long> courseIds;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        SpringApplicationBuilder builder = new SpringApplicationBuilder(SchoolManagementSystemApplication.class)
+                .web(WebApplicationType.SERVLET)
+                .properties("spring.main.banner-mode=off", "logging.level.root=WARN", "server.port=0");
+        if ("virtual".equals(threads)) {
+            builder.profiles("virtual-threads");
+        }
+        context = builder.run();
+        int port = ((ServletWebServerApplicationContext) context).getWebServer().getPort();
+        baseUrl = "http://localhost:" + port;
+        client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+
+        BenchmarkData.Seeded seeded = BenchmarkData.seed(context, TEACHERS, STUDENTS);
+        studentIds = seeded.studentIds();
+        courseIds = seeded.courseIds();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    private static Long random(List<Long> ids) {
+        return ids.get(ThreadLocalRandom.current().nextInt(ids.size()));
+    }
+
+    private int send(HttpRequest request) throws IOException, InterruptedException {
+        HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+        if (response.statusCode() >= 400) {
+            throw new IllegalStateException(request.method() + " " + request.uri() + " returned " + response.statusCode());
+        }
+        return response.statusCode();
+    }
+
+    @Benchmark
+    public int browseCourses() throws IOException, InterruptedException {
+        String cursor = KeysetCursor.encode(random(courseIds) - 1);
+        return send(HttpRequest.newBuilder(URI.create(baseUrl + "/api/courses?size=20&cursor=" + cursor)).build());
+    }
+
+    @Benchmark
+    public int browseStudents() throws IOException, InterruptedException {
+        String cursor = KeysetCursor.encode(random(studentIds) - 1);
+        return send(HttpRequest.newBuilder(URI.create(baseUrl + "/api/students?cursor=" + cursor)).build());
+    }
+
+    @Benchmark
+    public int enroll() throws IOException, InterruptedException {
+        String body = "[{\"studentId\":" + random(studentIds) + ",\"courseId\":" + random(courseIds) + "}]";
+        return send(HttpRequest.newBuilder(URI.create(baseUrl + "/api/enrollments/bulk"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build());
+    }
+}
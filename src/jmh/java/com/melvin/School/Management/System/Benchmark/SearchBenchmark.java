@@ -0,0 +1,84 @@
+package com.melvin.School.Management.System.Benchmark;
+
+import com.melvin.School.Management.System.Utility.TrigramIndex;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Search Benchmark
+ * 
+ * Measures lookups in the trigram name index over {@code size} people with
+ * generated names, for prefix, misspelled and two-word queries, and the cost
+ * of re-indexing one person.
+ * 
+ * @author Melvin Chibanda
+ * @version 1.0
+ * @since 2024
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SearchBenchmark {
+
+    private static final String[] SYLLABLES = {
+            "ba", "che", "da", "fi", "ga", "ka", "lu", "ma", "mu", "na", "nde", "pho", "ri", "sa", "ta", "tho",
+            "we", "ya", "zu", "mbo"
+    };
+
+    @Param({"10000", "100000"})
+    private int size;
+
+    private TrigramIndex index;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(42);
+        index = new TrigramIndex();
+        for (int i = 0; i < size; i++) {
+            String firstName = name(random);
+            String lastName = name(random);
+            index.put(i, firstName, lastName, firstName.toLowerCase() + "." + lastName.toLowerCase() + i + "@school.edu");
+        }
+        index.put(size, "Melvin", "Chibanda", "melvin.chibanda@school.edu");
+    }
+
+    private static String name(Random random) {
+        StringBuilder name = new StringBuilder();
+        int syllables = 2 + random.nextInt(3);
+        for (int i = 0; i < syllables; i++) {
+            name.append(SYLLABLES[random.nextInt(SYLLABLES.length)]);
+        }
+        name.setCharAt(0, Character.toUpperCase(name.charAt(0)));
+        return name.toString();
+    }
+
+    @Benchmark
+    public TrigramIndex.Result prefix() {
+        return index.search("chiban", 0, 20);
+    }
+
+    @Benchmark
+    public TrigramIndex.Result misspelled() {
+        return index.search("chibadna", 0, 20);
+    }
+
+    @Benchmark
+    public TrigramIndex.Result twoWords() {
+        return index.search("melvin chib", 0, 20);
+    }
+
+    @Benchmark
+    public TrigramIndex.Result shortPrefix() {
+        return index.search("ma", 0, 20);
+    }
+
+    @Benchmark
+    public void reindex() {
+        index.put(size, "Melvin", "Chibanda", "melvin.chibanda@school.edu");
+    }
+}
@@ -0,0 +1,100 @@
+package com.melvin.School.Management.System.Benchmark;
+
+import com.melvin.School.Management.System.Dto.CourseDTO;
+import com.melvin.School.Management.System.Dto.TeacherDTO;
+import com.melvin.School.Management.System.SchoolManagementSystemApplication;
+import com.melvin.School.Management.System.Service.CourseService;
+import com.melvin.School.Management.System.Service.SeatAllocator;
+import com.melvin.School.Management.System.Service.TeacherService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Seat Allocation Benchmark
+ *
+ * Throughput of seat reservations on a few popular courses under
+ * registration-day contention (64 threads by default; override with
+ * {@code -t}). {@code reserveAndRelease} takes a seat and gives it back, so
+ * the courses never fill and every call goes through the counter's
+ * compare-and-set; {@code rejectWhenFull} measures the rejection of
+ * requests for a course that is already full. Registration traffic needs
+ * well over 10,000 reservations per second.
+ *
+ * @author Melvin Chibanda
+ * @version 1.0
+ * @since 2024
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Threads(64)
+@Fork(1)
+public class SeatAllocationBenchmark {
+
+    private static final int COURSES = 5;
+    private static final int CAPACITY = 100;
+
+    private ConfigurableApplicationContext context;
+    private SeatAllocator seatAllocator;
+
+    private List<Long> courseIds;
+    private Long fullCourseId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(SchoolManagementSystemApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties("spring.main.banner-mode=off", "logging.level.root=WARN")
+                .run();
+        seatAllocator = context.getBean(SeatAllocator.class);
+        CourseService courseService = context.getBean(CourseService.class);
+
+        TeacherDTO teacher = new TeacherDTO();
+        teacher.setFirstName("Seat");
+        teacher.setLastName("Teacher");
+        teacher.setEmail("seat.teacher@school.edu");
+        Long teacherId = context.getBean(TeacherService.class).createTeacher(teacher).getId();
+
+        courseIds = new ArrayList<>();
+        for (int i = 0; i <= COURSES; i++) {
+            CourseDTO course = new CourseDTO();
+            course.setName("Popular Course " + i);
+            course.setTeacherId(teacherId);
+            course.setCapacity(CAPACITY);
+            courseIds.add(courseService.createCourse(course).getId());
+        }
+        fullCourseId = courseIds.remove(COURSES);
+        while (seatAllocator.tryReserve(fullCourseId)) {
+            // fill it
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public boolean reserveAndRelease() {
+        Long courseId = courseIds.get(ThreadLocalRandom.current().nextInt(COURSES));
+        boolean reserved = seatAllocator.tryReserve(courseId);
+        if (reserved) {
+            seatAllocator.released(List.of(courseId));
+        }
+        return reserved;
+    }
+
+    @Benchmark
+    public boolean rejectWhenFull() {
+        return seatAllocator.tryReserve(fullCourseId);
+    }
+}
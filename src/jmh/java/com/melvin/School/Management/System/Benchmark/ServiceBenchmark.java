@@ -0,0 +1,148 @@
+package com.melvin.School.Management.System.Benchmark;
+
+import com.melvin.School.Management.System.Configuration.CacheConfig;
+import com.melvin.School.Management.System.Dto.CourseDTO;
+import com.melvin.School.Management.System.Dto.CursorPageDTO;
+import com.melvin.School.Management.System.Dto.StudentDTO;
+import com.melvin.School.Management.System.Dto.TeacherDTO;
+import com.melvin.School.Management.System.SchoolManagementSystemApplication;
+import com.melvin.School.Management.System.Service.CourseService;
+import com.melvin.School.Management.System.Service.StudentService;
+import com.melvin.School.Management.System.Service.TeacherService;
+import com.melvin.School.Management.System.Utility.KeysetCursor;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Service Benchmark
+ * 
+ * Measures the service-layer CRUD paths against the embedded H2 database,
+ * seeded with {@code students} students, each enrolled in five courses.
+ * "Uncached" variants evict the DTO cache entry first, so they measure the
+ * Hibernate (second-level cache) and MapStruct path.
+ * 
+ * @author Melvin Chibanda
+ * @version 1.0
+ * @since 2024
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ServiceBenchmark {
+
+    private static final int TEACHERS = 50;
+
+    @Param({"1000", "10000"})
+    private int students;
+
+    private ConfigurableApplicationContext context;
+    private StudentService studentService;
+    private CourseService courseService;
+    private TeacherService teacherService;
+    private Cache studentDtos;
+    private Cache courseDtos;
+    private Cache teacherDtos;
+
+    private List<Long> studentIds;
+    private List<Long> courseIds;
+    private List<Long> teacherIds;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(SchoolManagementSystemApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties("spring.main.banner-mode=off", "logging.level.root=WARN")
+                .run();
+        studentService = context.getBean(StudentService.class);
+        courseService = context.getBean(CourseService.class);
+        teacherService = context.getBean(TeacherService.class);
+        CacheManager cacheManager = context.getBean(CacheManager.class);
+        studentDtos = cacheManager.getCache(CacheConfig.STUDENT_DTOS);
+        courseDtos = cacheManager.getCache(CacheConfig.COURSE_DTOS);
+        teacherDtos = cacheManager.getCache(CacheConfig.TEACHER_DTOS);
+        seed();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    private void seed() {
+        BenchmarkData.Seeded seeded = BenchmarkData.seed(context, TEACHERS, students);
+        teacherIds = seeded.teacherIds();
+        courseIds = seeded.courseIds();
+        studentIds = seeded.studentIds();
+    }
+
+    private static Long random(List<Long> ids) {
+        return ids.get(ThreadLocalRandom.current().nextInt(ids.size()));
+    }
+
+    @Benchmark
+    public StudentDTO getStudentByIdCached() {
+        return studentService.getStudentById(random(studentIds));
+    }
+
+    @Benchmark
+    public StudentDTO getStudentByIdUncached() {
+        Long id = random(studentIds);
+        studentDtos.evict(id);
+        return studentService.getStudentById(id);
+    }
+
+    @Benchmark
+    public CourseDTO getCourseByIdUncached() {
+        Long id = random(courseIds);
+        courseDtos.evict(id);
+        return courseService.getCourseById(id);
+    }
+
+    @Benchmark
+    public TeacherDTO getTeacherByIdUncached() {
+        Long id = random(teacherIds);
+        teacherDtos.evict(id);
+        return teacherService.getTeacherById(id);
+    }
+
+    @Benchmark
+    public CursorPageDTO<StudentDTO> getStudentsPage() {
+        return studentService.getStudentsPage(KeysetCursor.encode(random(studentIds)), KeysetCursor.DEFAULT_PAGE_SIZE);
+    }
+
+    @Benchmark
+    public List<CourseDTO> getAllCourses() {
+        return courseService.getAllCourses();
+    }
+
+    @Benchmark
+    public StudentDTO updateStudent() {
+        Long id = random(studentIds);
+        StudentDTO current = studentService.getStudentById(id);
+        StudentDTO update = new StudentDTO();
+        update.setFirstName("Updated");
+        update.setLastName(current.getLastName());
+        update.setEmail(current.getEmail());
+        return studentService.updateStudent(id, update);
+    }
+
+    @Benchmark
+    public void createAndDeleteStudent() {
+        StudentDTO student = new StudentDTO();
+        student.setFirstName("New");
+        student.setLastName("Student");
+        student.setEmail("new" + System.nanoTime() + "@school.edu");
+        studentService.deleteStudent(studentService.createStudent(student).getId());
+    }
+}
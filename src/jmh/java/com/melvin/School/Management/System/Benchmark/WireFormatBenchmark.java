@@ -0,0 +1,146 @@
+package com.melvin.School.Management.System.Benchmark;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.melvin.School.Management.System.Configuration.ProtobufDtoHttpMessageConverter;
+import com.melvin.School.Management.System.Dto.CourseDTO;
+import com.melvin.School.Management.System.Dto.CursorPageDTO;
+import com.melvin.School.Management.System.Dto.StudentDTO;
+import com.melvin.School.Management.System.Mapper.CourseMapper;
+import com.melvin.School.Management.System.Mapper.StudentMapper;
+import com.melvin.School.Management.System.Model.Course;
+import com.melvin.School.Management.System.Model.Student;
+import com.melvin.School.Management.System.Model.Teacher;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.GenericHttpMessageConverter;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.mock.http.MockHttpInputMessage;
+import org.springframework.mock.http.MockHttpOutputMessage;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Wire Format Benchmark
+ *
+ * Compares the response encodings the API negotiates (JSON, CBOR, Smile,
+ * Protobuf) on a keyset page of {@code size} students or courses, through
+ * the same message converters that serve the requests. Measures encoding
+ * alone, encoding plus gzip (as done for responses above the compression
+ * threshold) and decoding. The payload size of each format, raw and
+ * gzipped, is printed once per trial.
+ *
+ * @author Melvin Chibanda
+ * @version 1.0
+ * @since 2024
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class WireFormatBenchmark {
+
+    private static final Type STUDENT_PAGE = new TypeReference<CursorPageDTO<StudentDTO>>() {
+    }.getType();
+    private static final Type COURSE_PAGE = new TypeReference<CursorPageDTO<CourseDTO>>() {
+    }.getType();
+
+    @Param({"json", "cbor", "smile", "protobuf"})
+    private String format;
+
+    @Param({"100", "1000"})
+    private int size;
+
+    private GenericHttpMessageConverter<Object> converter;
+
+    private CursorPageDTO<StudentDTO> studentPage;
+    private CursorPageDTO<CourseDTO> coursePage;
+
+    private byte[] studentPageBytes;
+    private byte[] coursePageBytes;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        converter = converterFor(format);
+
+        List<Teacher> teacherEntities = BenchmarkData.teachers(Math.max(1, size / BenchmarkData.COURSES_PER_TEACHER));
+        List<Course> courseEntities = BenchmarkData.courses(teacherEntities);
+        List<Student> studentEntities = BenchmarkData.students(size, courseEntities);
+        BenchmarkData.assignIds(teacherEntities, courseEntities, studentEntities);
+
+        studentPage = new CursorPageDTO<>(studentEntities.stream()
+                .map(StudentMapper.INSTANCE::toDTO)
+                .collect(Collectors.toList()), "next");
+        coursePage = new CursorPageDTO<>(courseEntities.stream()
+                .map(CourseMapper.INSTANCE::toDTO)
+                .collect(Collectors.toList()), "next");
+
+        studentPageBytes = encode(studentPage, STUDENT_PAGE);
+        coursePageBytes = encode(coursePage, COURSE_PAGE);
+        System.out.printf("%n%s, %d students: %d bytes (%d gzipped); %d courses: %d bytes (%d gzipped)%n",
+                format, size, studentPageBytes.length, gzip(studentPageBytes).length,
+                coursePage.getItems().size(), coursePageBytes.length, gzip(coursePageBytes).length);
+    }
+
+    private static GenericHttpMessageConverter<Object> converterFor(String format) {
+        return switch (format) {
+            case "json" -> new MappingJackson2HttpMessageConverter(Jackson2ObjectMapperBuilder.json().build());
+            case "cbor" -> new MappingJackson2CborHttpMessageConverter(
+                    Jackson2ObjectMapperBuilder.json().factory(new CBORFactory()).build());
+            case "smile" -> new MappingJackson2SmileHttpMessageConverter(
+                    Jackson2ObjectMapperBuilder.json().factory(new SmileFactory()).build());
+            case "protobuf" -> new ProtobufDtoHttpMessageConverter(Jackson2ObjectMapperBuilder.json());
+            default -> throw new IllegalArgumentException("Unknown format: " + format);
+        };
+    }
+
+    private byte[] encode(Object body, Type type) throws IOException {
+        MockHttpOutputMessage output = new MockHttpOutputMessage();
+        converter.write(body, type, null, output);
+        return output.getBodyAsBytes();
+    }
+
+    private static byte[] gzip(byte[] bytes) throws IOException {
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream(bytes.length / 4);
+        try (GZIPOutputStream out = new GZIPOutputStream(compressed)) {
+            out.write(bytes);
+        }
+        return compressed.toByteArray();
+    }
+
+    @Benchmark
+    public byte[] serializeStudentPage() throws IOException {
+        return encode(studentPage, STUDENT_PAGE);
+    }
+
+    @Benchmark
+    public byte[] serializeCoursePage() throws IOException {
+        return encode(coursePage, COURSE_PAGE);
+    }
+
+    @Benchmark
+    public byte[] serializeAndGzipStudentPage() throws IOException {
+        return gzip(encode(studentPage, STUDENT_PAGE));
+    }
+
+    @Benchmark
+    public Object deserializeStudentPage() throws IOException {
+        return converter.read(STUDENT_PAGE, null, new MockHttpInputMessage(studentPageBytes));
+    }
+
+    @Benchmark
+    public Object deserializeCoursePage() throws IOException {
+        return converter.read(COURSE_PAGE, null, new MockHttpInputMessage(coursePageBytes));
+    }
+}
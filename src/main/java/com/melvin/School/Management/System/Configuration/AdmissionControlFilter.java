@@ -0,0 +1,139 @@
+package com.melvin.School.Management.System.Configuration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.melvin.School.Management.System.Service.AdmissionControl;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ProblemDetail;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+
+/**
+ * Admission Control Filter
+ *
+ * Applies {@link AdmissionControl} to the API before any controller runs:
+ * a client over its rate gets 429 Too Many Requests, a write over the
+ * write concurrency limit 503 Service Unavailable, both at once and with
+ * a Retry-After header. Reads are only rate limited. Writes to the admin
+ * endpoints are rate limited but not shed, so the limits can still be
+ * changed during a surge; they require authentication, see SecurityConfig.
+ *
+ * A write holds its slot until the response is complete, including the
+ * streamed responses of imports.
+ *
+ * @author Melvin Chibanda
+ * @version 1.0
+ * @since 2024
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+public class AdmissionControlFilter extends OncePerRequestFilter {
+
+    private final AdmissionControl admissionControl;
+    private final ObjectMapper objectMapper;
+
+    public AdmissionControlFilter(AdmissionControl admissionControl, ObjectMapper objectMapper) {
+        this.admissionControl = admissionControl;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        return !path.startsWith("/api/") || !admissionControl.isEnabled();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        // the forwarded address only behind a trusted proxy, see server.forward-headers-strategy
+        Duration retryAfter = admissionControl.admitRequest(request.getRemoteAddr());
+        if (retryAfter != null) {
+            reject(response, HttpStatus.TOO_MANY_REQUESTS, retryAfter, "Request rate limit exceeded");
+            return;
+        }
+        if (!isWrite(request) || isAdmin(request)) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        retryAfter = admissionControl.admitWrite();
+        if (retryAfter != null) {
+            reject(response, HttpStatus.SERVICE_UNAVAILABLE, retryAfter, "Too many writes in progress");
+            return;
+        }
+        long start = System.nanoTime();
+        boolean async = false;
+        try {
+            chain.doFilter(request, response);
+            if (request.isAsyncStarted()) {
+                request.getAsyncContext().addListener(new WriteRelease(start));
+                async = true;
+            }
+        } finally {
+            if (!async) {
+                admissionControl.releaseWrite(start);
+            }
+        }
+    }
+
+    private static boolean isAdmin(HttpServletRequest request) {
+        return request.getRequestURI().startsWith(request.getContextPath() + "/api/admin/");
+    }
+
+    private static boolean isWrite(HttpServletRequest request) {
+        String method = request.getMethod();
+        return !(method.equals("GET") || method.equals("HEAD") || method.equals("OPTIONS"));
+    }
+
+    private void reject(HttpServletResponse response, HttpStatus status, Duration retryAfter, String detail)
+            throws IOException {
+        // whole seconds, rounded up
+        long seconds = Math.max(1, retryAfter.plusNanos(999_999_999).getSeconds());
+        response.setStatus(status.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(seconds));
+        response.setContentType(MediaType.APPLICATION_PROBLEM_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), ProblemDetail.forStatusAndDetail(status, detail));
+    }
+
+    /**
+     * Releases the slot of a write whose response completes asynchronously.
+     */
+    private final class WriteRelease implements AsyncListener {
+
+        private final long start;
+
+        private WriteRelease(long start) {
+            this.start = start;
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            admissionControl.releaseWrite(start);
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.melvin.School.Management.System.Configuration;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import java.time.Duration;
+
+/**
+ * Cache Configuration
+ * 
+ * Read-through cache of the finished Student, Course and Teacher DTOs, kept
+ * in front of the service layer (Caffeine, W-TinyLFU eviction). A hit is
+ * served without opening a transaction, a Hibernate session or running the
+ * mapper.
+ * 
+ * - The caching interceptor runs outside the transaction interceptor, so
+ *   annotated puts and evictions happen after commit
+ * - The cache manager is transaction-aware, so programmatic evictions made
+ *   inside a transaction are deferred until it commits
+ * - Cached DTOs are shared instances and must not be modified by callers
+ * - The versions behind the ETags of single resources are cached next to
+ *   the DTOs and evicted together with them, so a conditional GET is
+ *   answered without a transaction as long as the version is cached
+ * 
+ * @author Melvin Chibanda
+ * @version 1.0
+ * @since 2024
+ */
+@Configuration
+@EnableCaching(order = Ordered.HIGHEST_PRECEDENCE)
+public class CacheConfig {
+
+    public static final String STUDENT_DTOS = "studentDtos";
+    public static final String COURSE_DTOS = "courseDtos";
+    public static final String TEACHER_DTOS = "teacherDtos";
+    public static final String STUDENT_VERSIONS = "studentVersions";
+    public static final String COURSE_VERSIONS = "courseVersions";
+    public static final String TEACHER_VERSIONS = "teacherVersions";
+
+    @Bean
+    public CacheManager cacheManager(@Value("${app.dto-cache.maximum-size:10000}") long maximumSize,
+                                     @Value("${app.dto-cache.ttl:10m}") Duration ttl) {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager(STUDENT_DTOS, COURSE_DTOS, TEACHER_DTOS,
+                STUDENT_VERSIONS, COURSE_VERSIONS, TEACHER_VERSIONS);
+        cacheManager.setCaffeine(Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .recordStats());
+        cacheManager.setAllowNullValues(false);
+        return new TransactionAwareCacheManagerProxy(cacheManager);
+    }
+}
@@ -0,0 +1,48 @@
+package com.melvin.School.Management.System.Configuration;
+
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Metrics Configuration
+ * 
+ * Service-layer and Hibernate instrumentation exported through Micrometer.
+ * Actuator already publishes {@code http.server.requests} per endpoint, the
+ * HikariCP pool gauges and, with {@code generate_statistics} enabled, the
+ * Hibernate session factory statistics ({@code hibernate.*}).
+ * 
+ * - {@code school.service}: one timer per service method ({@code @Timed}
+ *   on the service implementations), tagged with class and method. Calls
+ *   answered by the DTO cache never reach the timer; they are visible as
+ *   {@code cache.gets} hits instead
+ * - {@code hibernate.request.statements}: SQL statements per HTTP request
+ * - {@code school.enrollment.audit.*}: queue depth, batch store time,
+ *   dropped and dead-lettered events of the enrollment audit writer
+ * - {@code school.grades.drift}: grade summaries found out of step with the
+ *   grades by the last verification
+ * - {@code school.admission.*}: requests rejected by admission control,
+ *   and the adaptive write concurrency limit with the writes in flight
+ * 
+ * @author Melvin Chibanda
+ * @version 1.0
+ * @since 2024
+ */
+@Configuration
+public class MetricsConfig {
+
+    public static final String SERVICE_TIMER = "school.service";
+
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry meterRegistry) {
+        return new TimedAspect(meterRegistry);
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer statementCounterCustomizer(RequestStatementCounter statementCounter) {
+        return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, statementCounter);
+    }
+}
@@ -0,0 +1,148 @@
+package com.melvin.School.Management.System.Configuration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import com.fasterxml.jackson.dataformat.protobuf.ProtobufFactory;
+import com.fasterxml.jackson.dataformat.protobuf.schema.NativeProtobufSchema;
+import com.fasterxml.jackson.dataformat.protobuf.schema.ProtobufSchema;
+import com.fasterxml.jackson.dataformat.protobuf.schema.ProtobufSchemaLoader;
+import com.melvin.School.Management.System.Dto.BatchDTO;
+import com.melvin.School.Management.System.Dto.CourseDTO;
+import com.melvin.School.Management.System.Dto.CursorPageDTO;
+import com.melvin.School.Management.System.Dto.StudentDTO;
+import com.melvin.School.Management.System.Dto.TeacherDTO;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractGenericHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Protobuf DTO Message Converter
+ *
+ * Reads and writes the Student, Course and Teacher DTOs, their cursor
+ * pages and their batches as Protocol Buffers ({@code application/x-protobuf}), using the
+ * messages of {@code proto/school.proto}. Jackson maps the DTOs onto the
+ * messages by property name, so there are no generated classes to keep in
+ * step with the DTOs; clients can generate theirs from the same file.
+ *
+ * Types without a message in the schema are left to the other converters.
+ *
+ * @author Melvin Chibanda
+ * @version 1.0
+ * @since 2024
+ */
+public class ProtobufDtoHttpMessageConverter extends AbstractGenericHttpMessageConverter<Object> {
+
+    public static final MediaType PROTOBUF = new MediaType("application", "x-protobuf");
+
+    private static final String SCHEMA = "proto/school.proto";
+
+    private static final Map<Class<?>, String> MESSAGES = Map.of(
+            StudentDTO.class, "Student",
+            CourseDTO.class, "Course",
+            TeacherDTO.class, "Teacher");
+
+    /**
+     * Suffix of the message of a page or batch, appended to the item's message name.
+     */
+    private static final Map<Class<?>, String> CONTAINERS = Map.of(
+            CursorPageDTO.class, "Page",
+            BatchDTO.class, "Batch");
+
+    private final ObjectMapper objectMapper;
+    private final NativeProtobufSchema schema;
+    private final Map<String, ProtobufSchema> messageSchemas = new ConcurrentHashMap<>();
+
+    public ProtobufDtoHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        super(PROTOBUF);
+        this.objectMapper = builder.factory(new ProtobufFactory())
+                .propertyNamingStrategy(PropertyNamingStrategies.SNAKE_CASE)
+                .build();
+        try (InputStream in = new ClassPathResource(SCHEMA).getInputStream()) {
+            this.schema = ProtobufSchemaLoader.std.loadNative(in, false);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot load " + SCHEMA, e);
+        }
+    }
+
+    /**
+     * Raw check used when listing the producible media types; a page or a
+     * batch is only writable if its item type has a message, which the
+     * generic checks test.
+     */
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return messageOf(clazz) != null || CONTAINERS.containsKey(clazz);
+    }
+
+    @Override
+    public boolean canRead(Type type, Class<?> contextClass, MediaType mediaType) {
+        return messageOf(type) != null && canRead(mediaType);
+    }
+
+    @Override
+    public boolean canWrite(Type type, Class<?> clazz, MediaType mediaType) {
+        return messageOf(type != null ? type : clazz) != null && canWrite(mediaType);
+    }
+
+    @Override
+    public Object read(Type type, Class<?> contextClass, HttpInputMessage inputMessage) throws IOException {
+        String message = messageOf(type);
+        if (message == null) {
+            throw new HttpMessageNotReadableException("No protobuf message for " + type.getTypeName(), inputMessage);
+        }
+        return objectMapper.readerFor(objectMapper.constructType(type))
+                .with(schemaOf(message))
+                .readValue(inputMessage.getBody());
+    }
+
+    @Override
+    protected Object readInternal(Class<?> clazz, HttpInputMessage inputMessage) throws IOException {
+        return read(clazz, null, inputMessage);
+    }
+
+    @Override
+    protected void writeInternal(Object body, Type type, HttpOutputMessage outputMessage) throws IOException {
+        String message = type != null ? messageOf(type) : null;
+        if (message == null) {
+            message = messageOf(body.getClass());
+        }
+        if (message == null) {
+            throw new HttpMessageNotWritableException("No protobuf message for " + body.getClass().getName());
+        }
+        objectMapper.writer(schemaOf(message)).writeValue(outputMessage.getBody(), body);
+    }
+
+    /**
+     * @return the schema rooted at the given message
+     */
+    private ProtobufSchema schemaOf(String message) {
+        return messageSchemas.computeIfAbsent(message, schema::forType);
+    }
+
+    /**
+     * @return the message name of a DTO, or of a cursor page or batch of DTOs, or null
+     */
+    private static String messageOf(Type type) {
+        if (type instanceof Class<?> clazz) {
+            return MESSAGES.get(clazz);
+        }
+        if (type instanceof ParameterizedType container && CONTAINERS.containsKey(container.getRawType())
+                && container.getActualTypeArguments()[0] instanceof Class<?> item && MESSAGES.containsKey(item)) {
+            return MESSAGES.get(item) + CONTAINERS.get(container.getRawType());
+        }
+        return null;
+    }
+}
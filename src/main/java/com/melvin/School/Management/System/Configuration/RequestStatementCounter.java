@@ -0,0 +1,45 @@
+package com.melvin.School.Management.System.Configuration;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.springframework.stereotype.Component;
+
+/**
+ * Request Statement Counter
+ * 
+ * Hibernate statement inspector that counts the SQL statements prepared on
+ * the current thread while a count is active. The count is started and
+ * recorded per HTTP request by {@link QueryCountFilter}; statements issued
+ * outside a request are not counted.
+ * 
+ * @author Melvin Chibanda
+ * @version 1.0
+ * @since 2024
+ */
+@Component
+public class RequestStatementCounter implements StatementInspector {
+
+    private final ThreadLocal<long[]> count = new ThreadLocal<>();
+
+    @Override
+    public String inspect(String sql) {
+        long[] current = count.get();
+        if (current != null) {
+            current[0]++;
+        }
+        return sql;
+    }
+
+    public void start() {
+        count.set(new long[1]);
+    }
+
+    /**
+     * Stops counting on the current thread and returns the number of
+     * statements seen since {@link #start()}.
+     */
+    public long stop() {
+        long[] current = count.get();
+        count.remove();
+        return current == null ? 0 : current[0];
+    }
+}
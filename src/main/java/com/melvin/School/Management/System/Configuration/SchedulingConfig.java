@@ -0,0 +1,19 @@
+package com.melvin.School.Management.System.Configuration;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Scheduling Configuration
+ * 
+ * Enables {@code @Scheduled} background tasks, such as writing the seat
+ * counts of committed enrollments to the course summaries.
+ * 
+ * @author Melvin Chibanda
+ * @version 1.0
+ * @since 2024
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
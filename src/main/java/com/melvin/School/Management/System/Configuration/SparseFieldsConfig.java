@@ -0,0 +1,37 @@
+package com.melvin.School.Management.System.Configuration;
+
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import com.melvin.School.Management.System.Dto.CourseDTO;
+import com.melvin.School.Management.System.Dto.StudentDTO;
+import com.melvin.School.Management.System.Dto.TeacherDTO;
+import com.melvin.School.Management.System.Utility.SparseFields;
+import org.springframework.boot.autoconfigure.jackson.Jackson2ObjectMapperBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Sparse Fields Configuration
+ *
+ * Puts the {@value SparseFields#FILTER} property filter on the Student,
+ * Course and Teacher DTOs for every mapper built from Spring Boot's Jackson
+ * builder (JSON, and the CBOR, Smile and Protobuf converters of
+ * {@link WireFormatConfig}). The filter is only registered for responses
+ * to requests with a {@code fields} parameter; otherwise every property is
+ * written.
+ *
+ * @author Melvin Chibanda
+ * @version 1.0
+ * @since 2024
+ */
+@Configuration
+public class SparseFieldsConfig {
+
+    @Bean
+    public Jackson2ObjectMapperBuilderCustomizer sparseFieldsCustomizer() {
+        return builder -> builder
+                .mixIn(StudentDTO.class, SparseFields.Filtered.class)
+                .mixIn(CourseDTO.class, SparseFields.Filtered.class)
+                .mixIn(TeacherDTO.class, SparseFields.Filtered.class)
+                .filters(new SimpleFilterProvider().setFailOnUnknownId(false));
+    }
+}
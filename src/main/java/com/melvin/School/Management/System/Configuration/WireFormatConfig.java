@@ -0,0 +1,56 @@
+package com.melvin.School.Management.System.Configuration;
+
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+/**
+ * Wire Format Configuration
+ *
+ * Lets clients ask for compact binary encodings of the API's responses
+ * (and send request bodies in them) through the usual Accept and
+ * Content-Type headers:
+ *
+ * - application/cbor - CBOR
+ * - application/x-jackson-smile - Smile
+ * - application/x-protobuf - Protocol Buffers, for the Student, Course and
+ *   Teacher DTOs and their pages (see {@link ProtobufDtoHttpMessageConverter})
+ *
+ * The binary mappers are built from Spring Boot's Jackson builder, so they
+ * serialize dates, times and unknown properties exactly like the JSON one.
+ * The converters are appended after the JSON converter, which keeps JSON
+ * the answer to Accept: *&#47;* and to requests without an Accept header.
+ *
+ * @author Melvin Chibanda
+ * @version 1.0
+ * @since 2024
+ */
+@Configuration
+public class WireFormatConfig implements WebMvcConfigurer {
+
+    private final ObjectProvider<Jackson2ObjectMapperBuilder> builders;
+
+    public WireFormatConfig(ObjectProvider<Jackson2ObjectMapperBuilder> builders) {
+        this.builders = builders;
+    }
+
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        // Spring MVC's defaults use a plain builder; replace them with Boot-configured ones
+        converters.removeIf(converter -> converter instanceof MappingJackson2CborHttpMessageConverter
+                || converter instanceof MappingJackson2SmileHttpMessageConverter);
+        converters.add(new MappingJackson2CborHttpMessageConverter(
+                builders.getObject().factory(new CBORFactory()).build()));
+        converters.add(new MappingJackson2SmileHttpMessageConverter(
+                builders.getObject().factory(new SmileFactory()).build()));
+        converters.add(new ProtobufDtoHttpMessageConverter(builders.getObject()));
+    }
+}
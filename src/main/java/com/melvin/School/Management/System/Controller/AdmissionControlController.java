@@ -0,0 +1,40 @@
+package com.melvin.School.Management.System.Controller;
+
+import com.melvin.School.Management.System.Dto.AdmissionLimitsDTO;
+import com.melvin.School.Management.System.Service.AdmissionControl;
+import jakarta.validation.Valid;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * Admission Control REST Controller
+ * 
+ * @author Melvin Chibanda
+ * @version 1.0
+ * @since 2024
+ */
+@RestController
+@RequestMapping("/api/admin/admission")
+public class AdmissionControlController {
+
+    private final AdmissionControl admissionControl;
+
+    public AdmissionControlController(AdmissionControl admissionControl) {
+        this.admissionControl = admissionControl;
+    }
+
+    @GetMapping
+    public ResponseEntity<AdmissionLimitsDTO> getLimits() {
+        AdmissionLimitsDTO limits = admissionControl.getLimits();
+        return ResponseEntity.ok(limits);
+    }
+
+    /**
+     * Replaces the admission limits; they take effect for the next request.
+     */
+    @PutMapping
+    public ResponseEntity<AdmissionLimitsDTO> setLimits(@Valid @RequestBody AdmissionLimitsDTO limitsDTO) {
+        AdmissionLimitsDTO limits = admissionControl.setLimits(limitsDTO);
+        return ResponseEntity.ok(limits);
+    }
+}
@@ -0,0 +1,32 @@
+package com.melvin.School.Management.System.Controller;
+
+import com.melvin.School.Management.System.Dto.CacheStatisticsDTO;
+import com.melvin.School.Management.System.Service.CacheStatisticsService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * Cache Statistics REST Controller
+ * 
+ * @author Melvin Chibanda
+ * @version 1.0
+ * @since 2024
+ */
+@RestController
+@RequestMapping("/api/admin/cache")
+public class CacheStatisticsController {
+
+    private final CacheStatisticsService cacheStatisticsService;
+
+    public CacheStatisticsController(CacheStatisticsService cacheStatisticsService) {
+        this.cacheStatisticsService = cacheStatisticsService;
+    }
+
+    @GetMapping("/statistics")
+    public ResponseEntity<List<CacheStatisticsDTO>> getSecondLevelCacheStatistics() {
+        List<CacheStatisticsDTO> statistics = cacheStatisticsService.getSecondLevelCacheStatistics();
+        return ResponseEntity.ok(statistics);
+    }
+}
@@ -1,13 +1,35 @@
 package com.melvin.School.Management.System.Controller;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.melvin.School.Management.System.Dto.BatchDTO;
+import com.melvin.School.Management.System.Dto.BulkDeleteResultDTO;
+import com.melvin.School.Management.System.Dto.CursorPageDTO;
+import com.melvin.School.Management.System.Dto.EntityVersionDTO;
 import com.melvin.School.Management.System.Dto.CourseDTO;
+import com.melvin.School.Management.System.Dto.CourseGradesDTO;
+import com.melvin.School.Management.System.Dto.CourseSummaryDTO;
+import com.melvin.School.Management.System.Dto.ScheduleConflictDTO;
+import com.melvin.School.Management.System.Service.CourseCatalog;
 import com.melvin.School.Management.System.Service.CourseService;
+import com.melvin.School.Management.System.Service.GradeService;
+import com.melvin.School.Management.System.Service.MergePatcher;
+import com.melvin.School.Management.System.Utility.EntityTags;
+import com.melvin.School.Management.System.Utility.KeysetCursor;
+import com.melvin.School.Management.System.Utility.SparseFields;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.server.ServletServerHttpRequest;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import java.io.IOException;
 import java.util.List;
+import java.util.Set;
 
 /**
  * Course REST Controller
@@ -21,9 +43,13 @@ import java.util.List;
 public class CourseController {
 
     private final CourseService courseService;
+    private final GradeService gradeService;
+    private final CourseCatalog courseCatalog;
 
-    public CourseController(CourseService courseService) {
+    public CourseController(CourseService courseService, GradeService gradeService, CourseCatalog courseCatalog) {
         this.courseService = courseService;
+        this.gradeService = gradeService;
+        this.courseCatalog = courseCatalog;
     }
 
     @PostMapping
@@ -32,22 +58,136 @@ public class CourseController {
         return new ResponseEntity<>(createdCourse, HttpStatus.CREATED);
     }
 
+    @GetMapping("/summary")
+    public ResponseEntity<List<CourseSummaryDTO>> getCourseSummaries() {
+        List<CourseSummaryDTO> summaries = courseService.getCourseSummaries();
+        return ResponseEntity.ok(summaries);
+    }
+
+    /**
+     * Returns every course as one page, in any of the API's encodings. The
+     * body is pre-serialized (and pre-gzipped) by {@link CourseCatalog}, so it
+     * is written as is, without a query or a message converter; 304 if the
+     * client's If-None-Match still matches it.
+     */
+    @GetMapping("/catalog")
+    public void getCatalog(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        CourseCatalog.Encoding encoding = CourseCatalog.Encoding.forAccept(request.getHeader(HttpHeaders.ACCEPT));
+        if (encoding == null) {
+            response.sendError(HttpStatus.NOT_ACCEPTABLE.value());
+            return;
+        }
+        CourseCatalog.Representation catalog = courseCatalog.get(encoding,
+                CourseCatalog.acceptsGzip(request.getHeader(HttpHeaders.ACCEPT_ENCODING)));
+
+        response.setHeader(HttpHeaders.VARY, "Accept, Accept-Encoding");
+        response.setHeader(HttpHeaders.ETAG, catalog.etag());
+        if (EntityTags.matchesIfNoneMatch(new ServletServerHttpRequest(request).getHeaders().getIfNoneMatch(),
+                catalog.etag())) {
+            response.setStatus(HttpStatus.NOT_MODIFIED.value());
+            return;
+        }
+        response.setContentType(catalog.contentType());
+        if (catalog.contentEncoding() != null) {
+            // already compressed: Tomcat leaves responses with a Content-Encoding alone
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, catalog.contentEncoding());
+        }
+        response.setContentLength(catalog.body().length);
+        response.getOutputStream().write(catalog.body());
+    }
+
+    @GetMapping("/conflicts")
+    public ResponseEntity<List<ScheduleConflictDTO>> getScheduleConflicts() {
+        List<ScheduleConflictDTO> conflicts = courseService.getScheduleConflicts();
+        return ResponseEntity.ok(conflicts);
+    }
+
+    /**
+     * Returns the course, or 304 Not Modified without loading it if the client's
+     * If-None-Match or If-Modified-Since still matches its version.
+     */
     @GetMapping("/{id}")
-    public ResponseEntity<CourseDTO> getCourseById(@PathVariable Long id) {
-        CourseDTO course = courseService.getCourseById(id);
+    public ResponseEntity<CourseDTO> getCourseById(@PathVariable Long id,
+                                                   @RequestParam(required = false) String fields,
+                                                   WebRequest request) {
+        // read the version before the DTO, so a concurrent update can only make the body newer than the tag
+        EntityVersionDTO version = courseService.getCourseVersion(id);
+        if (request.checkNotModified(EntityTags.withFields(EntityTags.of(version), fields),
+                EntityTags.lastModified(version))) {
+            return null;
+        }
+        // without a selection, through the DTO cache
+        CourseDTO course = SparseFields.selectsAll(fields) ? courseService.getCourseById(id)
+                : courseService.getCourseById(id, fields);
         return ResponseEntity.ok(course);
     }
 
+    /**
+     * Returns the number of grades and the average grade of the course.
+     */
+    @GetMapping("/{id}/grades")
+    public ResponseEntity<CourseGradesDTO> getCourseGrades(@PathVariable Long id) {
+        CourseGradesDTO grades = gradeService.getCourseGrades(id);
+        return ResponseEntity.ok(grades);
+    }
+
     @GetMapping
-    public ResponseEntity<List<CourseDTO>> getAllCourses() {
-        List<CourseDTO> courses = courseService.getAllCourses();
-        return ResponseEntity.ok(courses);
+    public ResponseEntity<CursorPageDTO<CourseDTO>> getCourses(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + KeysetCursor.DEFAULT_PAGE_SIZE) int size,
+            @RequestParam(required = false) String fields,
+            WebRequest request) {
+        String etag = EntityTags.withFields(courseService.getCoursesPageETag(cursor, size), fields);
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+        CursorPageDTO<CourseDTO> page = courseService.getCoursesPage(cursor, size, fields);
+        return ResponseEntity.ok(page);
+    }
+
+    /**
+     * Returns the courses with the given IDs in request order, with the IDs that
+     * do not exist listed in {@code missingIds}; used instead of one GET per ID.
+     */
+    @GetMapping(params = "ids")
+    public ResponseEntity<BatchDTO<CourseDTO>> getCoursesByIds(@RequestParam List<Long> ids,
+            @RequestParam(required = false) String fields) {
+        BatchDTO<CourseDTO> batch = courseService.getCoursesByIds(ids, fields);
+        return ResponseEntity.ok(batch);
     }
 
+    /**
+     * Updates a course. With an If-Match header the update only applies if the
+     * course is still at a version it lists (412 otherwise, 409 if a concurrent update
+     * wins the race); without one it is retried on concurrent updates.
+     */
     @PutMapping("/{id}")
-    public ResponseEntity<CourseDTO> updateCourse(@PathVariable Long id, @Valid @RequestBody CourseDTO courseDTO) {
-        CourseDTO updatedCourse = courseService.updateCourse(id, courseDTO);
-        return ResponseEntity.ok(updatedCourse);
+    public ResponseEntity<CourseDTO> updateCourse(
+            @PathVariable Long id,
+            @Valid @RequestBody CourseDTO courseDTO,
+            @RequestHeader HttpHeaders headers) {
+        Set<Long> expectedVersions = EntityTags.versionsOf(headers.getIfMatch());
+        CourseDTO updatedCourse = expectedVersions == null
+                ? courseService.updateCourse(id, courseDTO)
+                : courseService.updateCourse(id, courseDTO, expectedVersions);
+        return ResponseEntity.ok().eTag(EntityTags.of(updatedCourse.getVersion())).body(updatedCourse);
+    }
+
+    /**
+     * Applies a JSON Merge Patch to a course; only the columns that change are
+     * written, and a patch that changes nothing does not write at all. Responds
+     * 204 with the new ETag. If-Match works as for PUT.
+     */
+    @PatchMapping(value = "/{id}", consumes = {MergePatcher.MEDIA_TYPE, MediaType.APPLICATION_JSON_VALUE})
+    public ResponseEntity<Void> patchCourse(
+            @PathVariable Long id,
+            @RequestBody JsonNode patch,
+            @RequestHeader HttpHeaders headers) {
+        Set<Long> expectedVersions = EntityTags.versionsOf(headers.getIfMatch());
+        EntityVersionDTO version = expectedVersions == null
+                ? courseService.patchCourse(id, patch)
+                : courseService.patchCourse(id, patch, expectedVersions);
+        return ResponseEntity.noContent().eTag(EntityTags.of(version)).build();
     }
 
     @DeleteMapping("/{id}")
@@ -55,4 +195,15 @@ public class CourseController {
         courseService.deleteCourse(id);
         return ResponseEntity.noContent().build();
     }
-}
\ No newline at end of file
+
+    /**
+     * Deletes the courses with the given IDs, or all courses of the given teacher,
+     * in one transaction. Responds with the number of deleted rows per table.
+     */
+    @DeleteMapping
+    public ResponseEntity<BulkDeleteResultDTO> deleteCourses(@RequestParam(required = false) List<Long> ids,
+            @RequestParam(required = false) Long teacherId) {
+        BulkDeleteResultDTO result = courseService.deleteCourses(ids, teacherId);
+        return ResponseEntity.ok(result);
+    }
+}
@@ -0,0 +1,90 @@
+package com.melvin.School.Management.System.Controller;
+
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.melvin.School.Management.System.Dto.BulkEnrollmentResultDTO;
+import com.melvin.School.Management.System.Dto.EnrollmentDTO;
+import com.melvin.School.Management.System.Dto.GradeDTO;
+import com.melvin.School.Management.System.Service.EnrollmentService;
+import com.melvin.School.Management.System.Service.ExportService;
+import com.melvin.School.Management.System.Service.GradeService;
+import com.melvin.School.Management.System.Utility.RowFormat;
+import jakarta.validation.Valid;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Enrollment REST Controller
+ * 
+ * @author Melvin Chibanda
+ * @version 1.0
+ * @since 2024
+ */
+@RestController
+@RequestMapping("/api/enrollments")
+public class EnrollmentController {
+
+    private final EnrollmentService enrollmentService;
+    private final ExportService exportService;
+    private final GradeService gradeService;
+    private final ObjectMapper objectMapper;
+
+    public EnrollmentController(EnrollmentService enrollmentService, ExportService exportService,
+                                GradeService gradeService, ObjectMapper objectMapper) {
+        this.enrollmentService = enrollmentService;
+        this.exportService = exportService;
+        this.gradeService = gradeService;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Enrolls students in courses in bulk.
+     * Accepts a JSON array or newline-delimited JSON of {"studentId", "courseId"}
+     * objects. The body is parsed incrementally, so it is never held in memory as a whole.
+     */
+    @PostMapping(value = "/bulk", consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public ResponseEntity<BulkEnrollmentResultDTO> bulkEnroll(InputStream body) throws IOException {
+        try (MappingIterator<EnrollmentDTO> enrollments = objectMapper.readerFor(EnrollmentDTO.class).readValues(body)) {
+            BulkEnrollmentResultDTO result = enrollmentService.bulkEnroll(enrollments);
+            return ResponseEntity.ok(result);
+        }
+    }
+
+    /**
+     * Records or changes the grade of an enrolled student in a course.
+     */
+    @PutMapping("/grades")
+    public ResponseEntity<GradeDTO> recordGrade(@Valid @RequestBody GradeDTO gradeDTO) {
+        GradeDTO grade = gradeService.recordGrade(gradeDTO.getStudentId(), gradeDTO.getCourseId(),
+                gradeDTO.getScore());
+        return ResponseEntity.ok(grade);
+    }
+
+    @DeleteMapping("/grades")
+    public ResponseEntity<Void> clearGrade(@RequestParam Long studentId, @RequestParam Long courseId) {
+        gradeService.clearGrade(studentId, courseId);
+        return ResponseEntity.noContent().build();
+    }
+
+    /**
+     * Exports all enrollments (student/course pairs) as NDJSON or CSV.
+     * Rows are streamed from the database as they are read, on an async request thread.
+     */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportEnrollments(@RequestParam(defaultValue = "ndjson") String format) {
+        RowFormat exportFormat = RowFormat.fromParameter(format);
+        StreamingResponseBody body = out -> exportService.exportEnrollments(exportFormat, out);
+        return ResponseEntity.ok()
+                .contentType(exportFormat.getMediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename("enrollments." + exportFormat.getExtension()).build().toString())
+                .body(body);
+    }
+}
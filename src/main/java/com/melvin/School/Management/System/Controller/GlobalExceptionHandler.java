@@ -0,0 +1,119 @@
+package com.melvin.School.Management.System.Controller;
+
+import com.melvin.School.Management.System.Service.AuditQueueFullException;
+import com.melvin.School.Management.System.Service.CatalogUnavailableException;
+import com.melvin.School.Management.System.Service.EnrollmentsInProgressException;
+import com.melvin.School.Management.System.Service.ScheduleConflictException;
+import com.melvin.School.Management.System.Service.StaleVersionException;
+import com.melvin.School.Management.System.Utility.EntityTags;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ProblemDetail;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+/**
+ * Global Exception Handler
+ * 
+ * Translates exceptions thrown by the service layer into HTTP responses
+ * for all REST controllers.
+ * 
+ * @author Melvin Chibanda
+ * @version 1.0
+ * @since 2024
+ */
+@RestControllerAdvice
+public class GlobalExceptionHandler {
+
+    /**
+     * Maps invalid client input (e.g. a malformed pagination cursor) to 400 Bad Request.
+     * 
+     * @param ex the exception raised by the service layer
+     * @return the problem detail describing the error
+     */
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ProblemDetail handleIllegalArgument(IllegalArgumentException ex) {
+        return ProblemDetail.forStatusAndDetail(HttpStatus.BAD_REQUEST, ex.getMessage());
+    }
+
+    /**
+     * Maps a failed If-Match precondition to 412 Precondition Failed, with
+     * the current ETag so the client can refetch and reapply its change.
+     * 
+     * @param ex the exception raised by the service layer
+     * @return the problem detail describing the error
+     */
+    @ExceptionHandler(StaleVersionException.class)
+    public ResponseEntity<ProblemDetail> handleStaleVersion(StaleVersionException ex) {
+        return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED)
+                .eTag(EntityTags.of(ex.getCurrentVersion()))
+                .body(ProblemDetail.forStatusAndDetail(HttpStatus.PRECONDITION_FAILED, ex.getMessage()));
+    }
+
+    /**
+     * Maps an update that lost the race against a concurrent update of the
+     * same entity to 409 Conflict.
+     * 
+     * @param ex the exception raised by the persistence layer
+     * @return the problem detail describing the error
+     */
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ProblemDetail handleOptimisticLockingFailure(OptimisticLockingFailureException ex) {
+        return ProblemDetail.forStatusAndDetail(HttpStatus.CONFLICT,
+                "The resource was modified concurrently; fetch it again and retry");
+    }
+
+    /**
+     * Maps a course change that would double-book a teacher or student to
+     * 409 Conflict.
+     * 
+     * @param ex the exception raised by the service layer
+     * @return the problem detail describing the error
+     */
+    @ExceptionHandler(ScheduleConflictException.class)
+    public ProblemDetail handleScheduleConflict(ScheduleConflictException ex) {
+        return ProblemDetail.forStatusAndDetail(HttpStatus.CONFLICT, ex.getMessage());
+    }
+
+    /**
+     * Maps a summary rebuild refused because enrollments holding seat
+     * reservations are still in progress to 409 Conflict.
+     * 
+     * @param ex the exception raised by the service layer
+     * @return the problem detail describing the error
+     */
+    @ExceptionHandler(EnrollmentsInProgressException.class)
+    public ProblemDetail handleEnrollmentsInProgress(EnrollmentsInProgressException ex) {
+        return ProblemDetail.forStatusAndDetail(HttpStatus.CONFLICT, ex.getMessage());
+    }
+
+    /**
+     * Maps an enrollment rejected because the durable audit queue stayed
+     * full to 503 Service Unavailable, with a Retry-After header.
+     * 
+     * @param ex the exception raised by the service layer
+     * @return the problem detail describing the error
+     */
+    @ExceptionHandler(AuditQueueFullException.class)
+    public ResponseEntity<ProblemDetail> handleAuditQueueFull(AuditQueueFullException ex) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, Long.toString(Math.max(1, ex.getRetryAfter().toSeconds())))
+                .body(ProblemDetail.forStatusAndDetail(HttpStatus.SERVICE_UNAVAILABLE, ex.getMessage()));
+    }
+
+    /**
+     * Maps a catalog request whose rebuild did not finish in time to 503
+     * Service Unavailable, with a Retry-After header.
+     * 
+     * @param ex the exception raised by the service layer
+     * @return the problem detail describing the error
+     */
+    @ExceptionHandler(CatalogUnavailableException.class)
+    public ResponseEntity<ProblemDetail> handleCatalogUnavailable(CatalogUnavailableException ex) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, Long.toString(Math.max(1, ex.getRetryAfter().toSeconds())))
+                .body(ProblemDetail.forStatusAndDetail(HttpStatus.SERVICE_UNAVAILABLE, ex.getMessage()));
+    }
+}
@@ -0,0 +1,58 @@
+package com.melvin.School.Management.System.Controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.melvin.School.Management.System.Dto.BulkImportResultDTO;
+import com.melvin.School.Management.System.Dto.ImportEventDTO;
+import com.melvin.School.Management.System.Utility.RowFormat;
+import com.melvin.School.Management.System.Utility.RowReader;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+
+/**
+ * Import Responses
+ * 
+ * Shared plumbing of the import endpoints: reads the uploaded file row by
+ * row and streams the import events back as NDJSON, flushing each event so
+ * the client sees progress while the import runs.
+ * 
+ * @author Melvin Chibanda
+ * @version 1.0
+ * @since 2024
+ */
+final class ImportResponses {
+
+    private ImportResponses() {
+    }
+
+    static <T> ResponseEntity<StreamingResponseBody> stream(
+            MultipartFile file, String format, Class<T> type, ObjectMapper objectMapper,
+            BiFunction<Iterator<T>, Consumer<ImportEventDTO>, BulkImportResultDTO> importer) {
+        RowFormat rowFormat = format != null ? RowFormat.fromParameter(format)
+                : RowFormat.fromFilename(file.getOriginalFilename());
+        StreamingResponseBody body = out -> {
+            try (InputStream in = file.getInputStream();
+                 RowReader<T> rows = RowReader.open(rowFormat, in, objectMapper, type);
+                 SequenceWriter events = objectMapper.writerFor(ImportEventDTO.class)
+                         .withRootValueSeparator("\n").writeValues(out)) {
+                importer.apply(rows, event -> {
+                    try {
+                        events.write(event);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            }
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
+}
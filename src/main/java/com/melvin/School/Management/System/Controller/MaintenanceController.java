@@ -0,0 +1,52 @@
+package com.melvin.School.Management.System.Controller;
+
+import com.melvin.School.Management.System.Dto.GradeDriftDTO;
+import com.melvin.School.Management.System.Service.CourseService;
+import com.melvin.School.Management.System.Service.GradeService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * Maintenance REST Controller
+ * 
+ * Repairs of derived data that recompute whole tables; like every endpoint
+ * under /api/admin they require the ADMIN role.
+ * 
+ * @author Melvin Chibanda
+ * @version 1.0
+ * @since 2024
+ */
+@RestController
+@RequestMapping("/api/admin")
+public class MaintenanceController {
+
+    private final CourseService courseService;
+    private final GradeService gradeService;
+
+    public MaintenanceController(CourseService courseService, GradeService gradeService) {
+        this.courseService = courseService;
+        this.gradeService = gradeService;
+    }
+
+    /**
+     * Recounts the course summaries and reloads the seat counters; 409 while
+     * enrollments holding seat reservations are in progress.
+     */
+    @PostMapping("/courses/summary/rebuild")
+    public ResponseEntity<Void> rebuildCourseSummaries() {
+        courseService.rebuildCourseSummaries();
+        return ResponseEntity.noContent().build();
+    }
+
+    /**
+     * Recomputes all grade averages from the grades and returns the maintained
+     * summaries that disagree with them.
+     */
+    @PostMapping("/enrollments/grades/verify")
+    public ResponseEntity<List<GradeDriftDTO>> verifyGradeAggregates() {
+        List<GradeDriftDTO> drifts = gradeService.verifyGradeAggregates();
+        return ResponseEntity.ok(drifts);
+    }
+}
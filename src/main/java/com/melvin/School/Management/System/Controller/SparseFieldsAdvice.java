@@ -0,0 +1,42 @@
+package com.melvin.School.Management.System.Controller;
+
+import com.melvin.School.Management.System.Utility.SparseFields;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.MappingJacksonValue;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.AbstractMappingJacksonResponseBodyAdvice;
+
+import java.util.Set;
+
+/**
+ * Sparse Fields Advice
+ *
+ * Writes only the properties named in the {@code fields} request parameter
+ * of the Student, Course and Teacher DTOs in a Jackson-encoded response
+ * (JSON, CBOR, Smile). The services leave the other properties null; this
+ * leaves them out of the body instead of writing them as null. Protobuf
+ * omits null fields by itself.
+ *
+ * @author Melvin Chibanda
+ * @version 1.0
+ * @since 2024
+ */
+@RestControllerAdvice
+public class SparseFieldsAdvice extends AbstractMappingJacksonResponseBodyAdvice {
+
+    @Override
+    protected void beforeBodyWriteInternal(MappingJacksonValue bodyContainer, MediaType contentType,
+                                           MethodParameter returnType, ServerHttpRequest request,
+                                           ServerHttpResponse response) {
+        if (request instanceof ServletServerHttpRequest servletRequest) {
+            Set<String> fields = SparseFields.parse(servletRequest.getServletRequest().getParameter(SparseFields.PARAMETER));
+            if (fields != null) {
+                bodyContainer.setFilters(SparseFields.filters(fields));
+            }
+        }
+    }
+}
@@ -1,13 +1,37 @@
 package com.melvin.School.Management.System.Controller;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.melvin.School.Management.System.Dto.BatchDTO;
+import com.melvin.School.Management.System.Dto.BulkDeleteResultDTO;
+import com.melvin.School.Management.System.Dto.CursorPageDTO;
+import com.melvin.School.Management.System.Dto.EntityVersionDTO;
+import com.melvin.School.Management.System.Dto.SearchPageDTO;
 import com.melvin.School.Management.System.Dto.StudentDTO;
+import com.melvin.School.Management.System.Dto.TranscriptDTO;
+import com.melvin.School.Management.System.Service.ExportService;
+import com.melvin.School.Management.System.Service.GradeService;
+import com.melvin.School.Management.System.Service.ImportService;
+import com.melvin.School.Management.System.Service.MergePatcher;
+import com.melvin.School.Management.System.Service.SearchService;
 import com.melvin.School.Management.System.Service.StudentService;
+import com.melvin.School.Management.System.Utility.EntityTags;
+import com.melvin.School.Management.System.Utility.KeysetCursor;
+import com.melvin.School.Management.System.Utility.RowFormat;
+import com.melvin.School.Management.System.Utility.SparseFields;
 import jakarta.validation.Valid;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
+import java.util.Set;
 
 /**
  * Student REST Controller
@@ -21,9 +45,21 @@ import java.util.List;
 public class StudentController {
 
     private final StudentService studentService;
+    private final ExportService exportService;
+    private final ImportService importService;
+    private final SearchService searchService;
+    private final GradeService gradeService;
+    private final ObjectMapper objectMapper;
 
-    public StudentController(StudentService studentService) {
+    public StudentController(StudentService studentService, ExportService exportService,
+                             ImportService importService, SearchService searchService,
+                             GradeService gradeService, ObjectMapper objectMapper) {
         this.studentService = studentService;
+        this.exportService = exportService;
+        this.importService = importService;
+        this.searchService = searchService;
+        this.gradeService = gradeService;
+        this.objectMapper = objectMapper;
     }
 
     @PostMapping
@@ -32,22 +68,131 @@ public class StudentController {
         return new ResponseEntity<>(createdStudent, HttpStatus.CREATED);
     }
 
+    /**
+     * Imports students from an uploaded CSV (with header row) or NDJSON file.
+     * The response streams one NDJSON event per rejected row and per committed chunk,
+     * followed by the final totals.
+     */
+    @PostMapping(value = "/import", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<StreamingResponseBody> importStudents(@RequestParam("file") MultipartFile file,
+                                                                @RequestParam(required = false) String format) {
+        return ImportResponses.stream(file, format, StudentDTO.class, objectMapper, importService::importStudents);
+    }
+
+    /**
+     * Looks up students by partial or misspelled name or email, best match first.
+     */
+    @GetMapping("/search")
+    public ResponseEntity<SearchPageDTO<StudentDTO>> searchStudents(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "" + KeysetCursor.DEFAULT_PAGE_SIZE) int size,
+            @RequestParam(required = false) String fields) {
+        SearchPageDTO<StudentDTO> results = searchService.searchStudents(q, page, size, fields);
+        return ResponseEntity.ok(results);
+    }
+
+    /**
+     * Returns the student, or 304 Not Modified without loading it if the client's
+     * If-None-Match or If-Modified-Since still matches its version.
+     */
     @GetMapping("/{id}")
-    public ResponseEntity<StudentDTO> getStudentById(@PathVariable Long id) {
-        StudentDTO student = studentService.getStudentById(id);
+    public ResponseEntity<StudentDTO> getStudentById(@PathVariable Long id,
+                                                     @RequestParam(required = false) String fields,
+                                                     WebRequest request) {
+        // read the version before the DTO, so a concurrent update can only make the body newer than the tag
+        EntityVersionDTO version = studentService.getStudentVersion(id);
+        if (request.checkNotModified(EntityTags.withFields(EntityTags.of(version), fields),
+                EntityTags.lastModified(version))) {
+            return null;
+        }
+        // without a selection, through the DTO cache
+        StudentDTO student = SparseFields.selectsAll(fields) ? studentService.getStudentById(id)
+                : studentService.getStudentById(id, fields);
         return ResponseEntity.ok(student);
     }
 
+    /**
+     * Returns the number of grades and the average grade of the student.
+     */
+    @GetMapping("/{id}/transcript")
+    public ResponseEntity<TranscriptDTO> getTranscript(@PathVariable Long id) {
+        TranscriptDTO transcript = gradeService.getTranscript(id);
+        return ResponseEntity.ok(transcript);
+    }
+
     @GetMapping
-    public ResponseEntity<List<StudentDTO>> getAllStudents() {
-        List<StudentDTO> students = studentService.getAllStudents();
-        return ResponseEntity.ok(students);
+    public ResponseEntity<CursorPageDTO<StudentDTO>> getStudents(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + KeysetCursor.DEFAULT_PAGE_SIZE) int size,
+            @RequestParam(required = false) String fields,
+            WebRequest request) {
+        String etag = EntityTags.withFields(studentService.getStudentsPageETag(cursor, size), fields);
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+        CursorPageDTO<StudentDTO> page = studentService.getStudentsPage(cursor, size, fields);
+        return ResponseEntity.ok(page);
+    }
+
+    /**
+     * Returns the students with the given IDs in request order, with the IDs that
+     * do not exist listed in {@code missingIds}; used instead of one GET per ID.
+     */
+    @GetMapping(params = "ids")
+    public ResponseEntity<BatchDTO<StudentDTO>> getStudentsByIds(@RequestParam List<Long> ids,
+            @RequestParam(required = false) String fields) {
+        BatchDTO<StudentDTO> batch = studentService.getStudentsByIds(ids, fields);
+        return ResponseEntity.ok(batch);
+    }
+
+    /**
+     * Exports all students as NDJSON or CSV.
+     * Rows are streamed from the database as they are read, on an async request thread.
+     */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportStudents(@RequestParam(defaultValue = "ndjson") String format) {
+        RowFormat exportFormat = RowFormat.fromParameter(format);
+        StreamingResponseBody body = out -> exportService.exportStudents(exportFormat, out);
+        return ResponseEntity.ok()
+                .contentType(exportFormat.getMediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename("students." + exportFormat.getExtension()).build().toString())
+                .body(body);
     }
 
+    /**
+     * Updates a student. With an If-Match header the update only applies if the
+     * student is still at a version it lists (412 otherwise, 409 if a concurrent update
+     * wins the race); without one it is retried on concurrent updates.
+     */
     @PutMapping("/{id}")
-    public ResponseEntity<StudentDTO> updateStudent(@PathVariable Long id, @Valid @RequestBody StudentDTO studentDTO) {
-        StudentDTO updatedStudent = studentService.updateStudent(id, studentDTO);
-        return ResponseEntity.ok(updatedStudent);
+    public ResponseEntity<StudentDTO> updateStudent(
+            @PathVariable Long id,
+            @Valid @RequestBody StudentDTO studentDTO,
+            @RequestHeader HttpHeaders headers) {
+        Set<Long> expectedVersions = EntityTags.versionsOf(headers.getIfMatch());
+        StudentDTO updatedStudent = expectedVersions == null
+                ? studentService.updateStudent(id, studentDTO)
+                : studentService.updateStudent(id, studentDTO, expectedVersions);
+        return ResponseEntity.ok().eTag(EntityTags.of(updatedStudent.getVersion())).body(updatedStudent);
+    }
+
+    /**
+     * Applies a JSON Merge Patch to a student; only the columns that change are
+     * written, and a patch that changes nothing does not write at all. Responds
+     * 204 with the new ETag. If-Match works as for PUT.
+     */
+    @PatchMapping(value = "/{id}", consumes = {MergePatcher.MEDIA_TYPE, MediaType.APPLICATION_JSON_VALUE})
+    public ResponseEntity<Void> patchStudent(
+            @PathVariable Long id,
+            @RequestBody JsonNode patch,
+            @RequestHeader HttpHeaders headers) {
+        Set<Long> expectedVersions = EntityTags.versionsOf(headers.getIfMatch());
+        EntityVersionDTO version = expectedVersions == null
+                ? studentService.patchStudent(id, patch)
+                : studentService.patchStudent(id, patch, expectedVersions);
+        return ResponseEntity.noContent().eTag(EntityTags.of(version)).build();
     }
 
     @DeleteMapping("/{id}")
@@ -55,4 +200,15 @@ public class StudentController {
         studentService.deleteStudent(id);
         return ResponseEntity.noContent().build();
     }
-}
\ No newline at end of file
+
+    /**
+     * Deletes the students with the given IDs, or all students with an email address in the
+     * given domain, in one transaction. Responds with the number of deleted rows per table.
+     */
+    @DeleteMapping
+    public ResponseEntity<BulkDeleteResultDTO> deleteStudents(@RequestParam(required = false) List<Long> ids,
+            @RequestParam(required = false) String emailDomain) {
+        BulkDeleteResultDTO result = studentService.deleteStudents(ids, emailDomain);
+        return ResponseEntity.ok(result);
+    }
+}
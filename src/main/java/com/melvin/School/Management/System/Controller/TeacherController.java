@@ -1,13 +1,33 @@
 package com.melvin.School.Management.System.Controller;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.melvin.School.Management.System.Dto.BatchDTO;
+import com.melvin.School.Management.System.Dto.BulkDeleteResultDTO;
+import com.melvin.School.Management.System.Dto.CursorPageDTO;
+import com.melvin.School.Management.System.Dto.EntityVersionDTO;
+import com.melvin.School.Management.System.Dto.SearchPageDTO;
 import com.melvin.School.Management.System.Dto.TeacherDTO;
+import com.melvin.School.Management.System.Dto.TeacherSummaryDTO;
+import com.melvin.School.Management.System.Service.ImportService;
+import com.melvin.School.Management.System.Service.MergePatcher;
+import com.melvin.School.Management.System.Service.SearchService;
 import com.melvin.School.Management.System.Service.TeacherService;
+import com.melvin.School.Management.System.Utility.EntityTags;
+import com.melvin.School.Management.System.Utility.KeysetCursor;
+import com.melvin.School.Management.System.Utility.SparseFields;
 import jakarta.validation.Valid;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
+import java.util.Set;
 
 /**
  * Teacher REST Controller
@@ -21,9 +41,16 @@ import java.util.List;
 public class TeacherController {
 
     private final TeacherService teacherService;
+    private final ImportService importService;
+    private final SearchService searchService;
+    private final ObjectMapper objectMapper;
 
-    public TeacherController(TeacherService teacherService) {
+    public TeacherController(TeacherService teacherService, ImportService importService,
+                             SearchService searchService, ObjectMapper objectMapper) {
         this.teacherService = teacherService;
+        this.importService = importService;
+        this.searchService = searchService;
+        this.objectMapper = objectMapper;
     }
 
     @PostMapping
@@ -32,22 +59,113 @@ public class TeacherController {
         return new ResponseEntity<>(createdTeacher, HttpStatus.CREATED);
     }
 
+    /**
+     * Imports teachers from an uploaded CSV (with header row) or NDJSON file.
+     * The response streams one NDJSON event per rejected row and per committed chunk,
+     * followed by the final totals.
+     */
+    @PostMapping(value = "/import", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<StreamingResponseBody> importTeachers(@RequestParam("file") MultipartFile file,
+                                                                @RequestParam(required = false) String format) {
+        return ImportResponses.stream(file, format, TeacherDTO.class, objectMapper, importService::importTeachers);
+    }
+
+    /**
+     * Looks up teachers by partial or misspelled name or email, best match first.
+     */
+    @GetMapping("/search")
+    public ResponseEntity<SearchPageDTO<TeacherDTO>> searchTeachers(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "" + KeysetCursor.DEFAULT_PAGE_SIZE) int size,
+            @RequestParam(required = false) String fields) {
+        SearchPageDTO<TeacherDTO> results = searchService.searchTeachers(q, page, size, fields);
+        return ResponseEntity.ok(results);
+    }
+
+    @GetMapping("/summary")
+    public ResponseEntity<List<TeacherSummaryDTO>> getTeacherSummaries() {
+        List<TeacherSummaryDTO> summaries = teacherService.getTeacherSummaries();
+        return ResponseEntity.ok(summaries);
+    }
+
+    /**
+     * Returns the teacher, or 304 Not Modified without loading it if the client's
+     * If-None-Match or If-Modified-Since still matches its version.
+     */
     @GetMapping("/{id}")
-    public ResponseEntity<TeacherDTO> getTeacherById(@PathVariable Long id) {
-        TeacherDTO teacher = teacherService.getTeacherById(id);
+    public ResponseEntity<TeacherDTO> getTeacherById(@PathVariable Long id,
+                                                     @RequestParam(required = false) String fields,
+                                                     WebRequest request) {
+        // read the version before the DTO, so a concurrent update can only make the body newer than the tag
+        EntityVersionDTO version = teacherService.getTeacherVersion(id);
+        if (request.checkNotModified(EntityTags.withFields(EntityTags.of(version), fields),
+                EntityTags.lastModified(version))) {
+            return null;
+        }
+        // without a selection, through the DTO cache
+        TeacherDTO teacher = SparseFields.selectsAll(fields) ? teacherService.getTeacherById(id)
+                : teacherService.getTeacherById(id, fields);
         return ResponseEntity.ok(teacher);
     }
 
     @GetMapping
-    public ResponseEntity<List<TeacherDTO>> getAllTeachers() {
-        List<TeacherDTO> teachers = teacherService.getAllTeachers();
-        return ResponseEntity.ok(teachers);
+    public ResponseEntity<CursorPageDTO<TeacherDTO>> getTeachers(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + KeysetCursor.DEFAULT_PAGE_SIZE) int size,
+            @RequestParam(required = false) String fields,
+            WebRequest request) {
+        String etag = EntityTags.withFields(teacherService.getTeachersPageETag(cursor, size), fields);
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+        CursorPageDTO<TeacherDTO> page = teacherService.getTeachersPage(cursor, size, fields);
+        return ResponseEntity.ok(page);
     }
 
+    /**
+     * Returns the teachers with the given IDs in request order, with the IDs that
+     * do not exist listed in {@code missingIds}; used instead of one GET per ID.
+     */
+    @GetMapping(params = "ids")
+    public ResponseEntity<BatchDTO<TeacherDTO>> getTeachersByIds(@RequestParam List<Long> ids,
+            @RequestParam(required = false) String fields) {
+        BatchDTO<TeacherDTO> batch = teacherService.getTeachersByIds(ids, fields);
+        return ResponseEntity.ok(batch);
+    }
+
+    /**
+     * Updates a teacher. With an If-Match header the update only applies if the
+     * teacher is still at a version it lists (412 otherwise, 409 if a concurrent update
+     * wins the race); without one it is retried on concurrent updates.
+     */
     @PutMapping("/{id}")
-    public ResponseEntity<TeacherDTO> updateTeacher(@PathVariable Long id, @Valid @RequestBody TeacherDTO teacherDTO) {
-        TeacherDTO updatedTeacher = teacherService.updateTeacher(id, teacherDTO);
-        return ResponseEntity.ok(updatedTeacher);
+    public ResponseEntity<TeacherDTO> updateTeacher(
+            @PathVariable Long id,
+            @Valid @RequestBody TeacherDTO teacherDTO,
+            @RequestHeader HttpHeaders headers) {
+        Set<Long> expectedVersions = EntityTags.versionsOf(headers.getIfMatch());
+        TeacherDTO updatedTeacher = expectedVersions == null
+                ? teacherService.updateTeacher(id, teacherDTO)
+                : teacherService.updateTeacher(id, teacherDTO, expectedVersions);
+        return ResponseEntity.ok().eTag(EntityTags.of(updatedTeacher.getVersion())).body(updatedTeacher);
+    }
+
+    /**
+     * Applies a JSON Merge Patch to a teacher; only the columns that change are
+     * written, and a patch that changes nothing does not write at all. Responds
+     * 204 with the new ETag. If-Match works as for PUT.
+     */
+    @PatchMapping(value = "/{id}", consumes = {MergePatcher.MEDIA_TYPE, MediaType.APPLICATION_JSON_VALUE})
+    public ResponseEntity<Void> patchTeacher(
+            @PathVariable Long id,
+            @RequestBody JsonNode patch,
+            @RequestHeader HttpHeaders headers) {
+        Set<Long> expectedVersions = EntityTags.versionsOf(headers.getIfMatch());
+        EntityVersionDTO version = expectedVersions == null
+                ? teacherService.patchTeacher(id, patch)
+                : teacherService.patchTeacher(id, patch, expectedVersions);
+        return ResponseEntity.noContent().eTag(EntityTags.of(version)).build();
     }
 
     @DeleteMapping("/{id}")
@@ -55,4 +173,16 @@ public class TeacherController {
         teacherService.deleteTeacher(id);
         return ResponseEntity.noContent().build();
     }
-}
\ No newline at end of file
+
+    /**
+     * Deletes the teachers with the given IDs, or all teachers with an email address in the
+     * given domain, together with their courses in one transaction. Responds with the number
+     * of deleted rows per table.
+     */
+    @DeleteMapping
+    public ResponseEntity<BulkDeleteResultDTO> deleteTeachers(@RequestParam(required = false) List<Long> ids,
+            @RequestParam(required = false) String emailDomain) {
+        BulkDeleteResultDTO result = teacherService.deleteTeachers(ids, emailDomain);
+        return ResponseEntity.ok(result);
+    }
+}
@@ -0,0 +1,80 @@
+package com.melvin.School.Management.System.Dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.Positive;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Admission Limits Data Transfer Object (DTO)
+ *
+ * The limits the API admits requests under, and the current state of the
+ * adaptive write limit. The state is read-only and ignored on updates.
+ *
+ * Used for:
+ * - Reading and tuning the admission control at runtime
+ *
+ * @author Melvin Chibanda
+ * @version 1.0
+ * @since 2024
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AdmissionLimitsDTO {
+
+    /**
+     * Whether requests are limited at all.
+     */
+    private boolean enabled;
+
+    /**
+     * Sustained requests per second admitted per client.
+     */
+    @Positive
+    private double requestsPerSecond;
+
+    /**
+     * Requests a client may make at once after being idle.
+     */
+    @Min(1)
+    private int burst;
+
+    /**
+     * Lower bound of the adaptive write concurrency limit.
+     */
+    @Min(1)
+    private int minWriteConcurrency;
+
+    /**
+     * Upper bound, and starting value, of the adaptive write concurrency limit.
+     */
+    @Min(1)
+    private int maxWriteConcurrency;
+
+    /**
+     * Write latency above which the write concurrency limit is lowered.
+     */
+    @Min(1)
+    private long targetWriteLatencyMillis;
+
+    /**
+     * Current write concurrency limit.
+     */
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private int writeConcurrency;
+
+    /**
+     * Writes currently in flight.
+     */
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private int writesInFlight;
+
+    /**
+     * Clients whose token bucket is not full.
+     */
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private int activeClients;
+}
@@ -0,0 +1,37 @@
+package com.melvin.School.Management.System.Dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Batch Data Transfer Object (DTO)
+ * 
+ * Wraps the result of looking up several entities by ID in one request.
+ * 
+ * Used for:
+ * - Batch get responses of the Student, Course and Teacher endpoints
+ * 
+ * @param <T> the type of the items
+ * @author Melvin Chibanda
+ * @version 1.0
+ * @since 2024
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchDTO<T> {
+
+    /**
+     * Items found, in the order their IDs were requested. An ID requested
+     * more than once is returned once.
+     */
+    private List<T> items;
+
+    /**
+     * Requested IDs that do not exist, in request order.
+     */
+    private List<Long> missingIds;
+}
@@ -0,0 +1,36 @@
+package com.melvin.School.Management.System.Dto;
+
+import lombok.Data;
+
+/**
+ * Bulk Delete Result Data Transfer Object (DTO)
+ * 
+ * Number of rows deleted per table by a (bulk) delete, including the rows
+ * deleted along with the requested entities.
+ * 
+ * Used for:
+ * - Bulk delete response payloads
+ * 
+ * @author Melvin Chibanda
+ * @version 1.0
+ * @since 2024
+ */
+@Data
+public class BulkDeleteResultDTO {
+
+    private long teachers;
+
+    private long courses;
+
+    private long students;
+
+    /**
+     * Student/course pairs removed from student_courses.
+     */
+    private long enrollments;
+
+    /**
+     * Enrollment audit and grade records removed from enrollments.
+     */
+    private long enrollmentRecords;
+}
@@ -0,0 +1,70 @@
+package com.melvin.School.Management.System.Dto;
+
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Bulk Enrollment Result Data Transfer Object (DTO)
+ * 
+ * Summarizes the outcome of a bulk enrollment request.
+ * 
+ * Used for:
+ * - Bulk enrollment response payloads
+ * 
+ * @author Melvin Chibanda
+ * @version 1.0
+ * @since 2024
+ */
+@Data
+public class BulkEnrollmentResultDTO {
+
+    /**
+     * Maximum number of error messages kept in the response.
+     */
+    public static final int MAX_ERRORS = 100;
+
+    /**
+     * Number of enrollment requests read from the input.
+     */
+    private long received;
+
+    /**
+     * Number of enrollments inserted.
+     */
+    private long enrolled;
+
+    /**
+     * Number of requests skipped because the student was already enrolled.
+     */
+    private long duplicates;
+
+    /**
+     * Number of requests rejected (missing or unknown IDs, failed chunks).
+     */
+    private long rejected;
+
+    /**
+     * Number of chunks committed.
+     */
+    private int chunks;
+
+    /**
+     * Descriptions of the first rejected requests, capped at MAX_ERRORS.
+     */
+    private List<String> errors = new ArrayList<>();
+
+    /**
+     * Records rejected requests, keeping the message if the cap allows.
+     * 
+     * @param count the number of rejected requests
+     * @param message the reason for the rejection
+     */
+    public void reject(long count, String message) {
+        rejected += count;
+        if (errors.size() < MAX_ERRORS) {
+            errors.add(message);
+        }
+    }
+}
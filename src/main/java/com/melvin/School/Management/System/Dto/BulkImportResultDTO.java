@@ -0,0 +1,40 @@
+package com.melvin.School.Management.System.Dto;
+
+import lombok.Data;
+
+/**
+ * Bulk Import Result Data Transfer Object (DTO)
+ * 
+ * Running totals of a student or teacher import. Sent after every committed
+ * chunk and once more when the import completes.
+ * 
+ * Used for:
+ * - Import progress and summary events
+ * 
+ * @author Melvin Chibanda
+ * @version 1.0
+ * @since 2024
+ */
+@Data
+public class BulkImportResultDTO {
+
+    /**
+     * Number of rows read from the input.
+     */
+    private long received;
+
+    /**
+     * Number of rows inserted.
+     */
+    private long imported;
+
+    /**
+     * Number of rows rejected (failed validation, duplicate email, failed chunks).
+     */
+    private long rejected;
+
+    /**
+     * Number of chunks committed.
+     */
+    private int chunks;
+}
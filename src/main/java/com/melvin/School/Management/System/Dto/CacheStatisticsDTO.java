@@ -0,0 +1,49 @@
+package com.melvin.School.Management.System.Dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Cache Statistics Data Transfer Object (DTO)
+ * 
+ * Hit, miss and put counters of one second-level cache region, or of all
+ * regions combined, since application start.
+ * 
+ * Used for:
+ * - Sizing the second-level cache regions
+ * 
+ * @author Melvin Chibanda
+ * @version 1.0
+ * @since 2024
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CacheStatisticsDTO {
+
+    /**
+     * Region name, or "all" for the totals across regions.
+     */
+    private String region;
+
+    /**
+     * Number of lookups served from the cache.
+     */
+    private long hitCount;
+
+    /**
+     * Number of lookups that had to go to the database.
+     */
+    private long missCount;
+
+    /**
+     * Number of entries put into the cache.
+     */
+    private long putCount;
+
+    /**
+     * Hits divided by lookups, 0 when there were no lookups.
+     */
+    private double hitRatio;
+}
@@ -1,6 +1,9 @@
 package com.melvin.School.Management.System.Dto;
 
+import com.fasterxml.jackson.annotation.JsonProperty;
+import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Positive;
 import jakarta.validation.constraints.Size;
 import lombok.Data;
 
@@ -31,6 +34,13 @@ public class CourseDTO {
      */
     private Long id;
 
+    /**
+     * Version of the course, incremented on every change.
+     * Output only; send it back in an If-Match header to update conditionally.
+     */
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private Long version;
+
     /**
      * Course name.
      * Must be between 2 and 50 characters and cannot be blank.
@@ -46,6 +56,21 @@ public class CourseDTO {
     @Size(max = 200, message = "Description must not exceed 200 characters")
     private String description;
 
+    /**
+     * Maximum number of enrolled students.
+     * Optional; must be positive, null means unlimited.
+     */
+    @Positive(message = "Capacity must be positive")
+    private Integer capacity;
+
+    /**
+     * Weekly meeting times.
+     * Optional; meetings may not overlap each other, nor courses of the
+     * teacher or of enrolled students.
+     */
+    @Valid
+    private List<MeetingSlotDTO> meetings;
+
     /**
      * ID of the teacher assigned to this course.
      * Used for managing teacher-course relationships.
@@ -0,0 +1,37 @@
+package com.melvin.School.Management.System.Dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * Course Grades Data Transfer Object (DTO)
+ * 
+ * Average grade of one course, read from the maintained grade summary.
+ * 
+ * Used for:
+ * - Course average responses
+ * 
+ * @author Melvin Chibanda
+ * @version 1.0
+ * @since 2024
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CourseGradesDTO {
+
+    private Long courseId;
+
+    /**
+     * Number of graded students.
+     */
+    private long gradeCount;
+
+    /**
+     * Average score of the graded students (0 to 100, two decimals), null if none is graded.
+     */
+    private BigDecimal averageScore;
+}
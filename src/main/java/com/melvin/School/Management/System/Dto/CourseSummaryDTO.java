@@ -0,0 +1,37 @@
+package com.melvin.School.Management.System.Dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Course Summary Data Transfer Object (DTO)
+ * 
+ * Enrollment total of one course, read from the maintained summary table.
+ * 
+ * Used for:
+ * - Course summary (dashboard) responses
+ * 
+ * @author Melvin Chibanda
+ * @version 1.0
+ * @since 2024
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CourseSummaryDTO {
+
+    private Long courseId;
+
+    private String name;
+
+    /**
+     * ID of the teacher of the course, null if unassigned.
+     */
+    private Long teacherId;
+
+    /**
+     * Number of students enrolled in the course.
+     */
+    private long enrollmentCount;
+}
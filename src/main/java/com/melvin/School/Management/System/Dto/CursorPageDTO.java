@@ -0,0 +1,39 @@
+package com.melvin.School.Management.System.Dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Cursor Page Data Transfer Object (DTO)
+ * 
+ * Wraps one page of a keyset-paginated listing. Pages are ordered by
+ * ascending ID and the next page is requested by passing {@code nextCursor}
+ * back as the {@code cursor} query parameter.
+ * 
+ * Used for:
+ * - Paginated list responses of the Student, Course and Teacher endpoints
+ * 
+ * @param <T> the type of the items in the page
+ * @author Melvin Chibanda
+ * @version 1.0
+ * @since 2024
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CursorPageDTO<T> {
+
+    /**
+     * Items of the current page, ordered by ascending ID.
+     */
+    private List<T> items;
+
+    /**
+     * Opaque token pointing past the last item of this page.
+     * Null when there are no further pages.
+     */
+    private String nextCursor;
+}
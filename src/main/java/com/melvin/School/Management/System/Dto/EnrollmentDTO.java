@@ -0,0 +1,36 @@
+package com.melvin.School.Management.System.Dto;
+
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Enrollment Data Transfer Object (DTO)
+ * 
+ * This DTO carries a single (student, course) enrollment request.
+ * 
+ * Used for:
+ * - Bulk enrollment request payloads
+ * 
+ * @author Melvin Chibanda
+ * @version 1.0
+ * @since 2024
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EnrollmentDTO {
+
+    /**
+     * ID of the student to enroll.
+     */
+    @NotNull(message = "Student ID is mandatory")
+    private Long studentId;
+
+    /**
+     * ID of the course to enroll the student in.
+     */
+    @NotNull(message = "Course ID is mandatory")
+    private Long courseId;
+}
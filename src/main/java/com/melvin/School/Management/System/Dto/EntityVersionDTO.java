@@ -0,0 +1,37 @@
+package com.melvin.School.Management.System.Dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * Entity Version Data Transfer Object (DTO)
+ * 
+ * Carries the version and last modification time of a student, course or
+ * teacher, from which the ETag and Last-Modified headers of its resource are
+ * derived without loading or mapping the full DTO.
+ * 
+ * Used for:
+ * - Conditional GET requests (If-None-Match, If-Modified-Since)
+ * 
+ * @author Melvin Chibanda
+ * @version 1.0
+ * @since 2024
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EntityVersionDTO {
+
+    /**
+     * Version of the entity, incremented whenever its DTO changes.
+     */
+    private Long version;
+
+    /**
+     * When the version last changed, null for rows that predate versioning.
+     */
+    private Instant updatedAt;
+}
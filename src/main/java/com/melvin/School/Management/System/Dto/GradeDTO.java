@@ -0,0 +1,44 @@
+package com.melvin.School.Management.System.Dto;
+
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Digits;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * Grade Data Transfer Object (DTO)
+ * 
+ * The grade of one student in one course.
+ * 
+ * Used for:
+ * - Grade entry request/response payloads
+ * 
+ * @author Melvin Chibanda
+ * @version 1.0
+ * @since 2024
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class GradeDTO {
+
+    @NotNull(message = "Student ID is mandatory")
+    private Long studentId;
+
+    @NotNull(message = "Course ID is mandatory")
+    private Long courseId;
+
+    /**
+     * Score from 0 to 100 with at most two decimals.
+     */
+    @NotNull(message = "Score is mandatory")
+    @DecimalMin(value = "0", message = "Score must be between 0 and 100")
+    @DecimalMax(value = "100", message = "Score must be between 0 and 100")
+    @Digits(integer = 3, fraction = 2, message = "Score must have at most two decimals")
+    private BigDecimal score;
+}
@@ -0,0 +1,46 @@
+package com.melvin.School.Management.System.Dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * Grade Drift Data Transfer Object (DTO)
+ * 
+ * A maintained grade summary that disagrees with the grades it summarizes.
+ * 
+ * Used for:
+ * - Grade aggregate verification responses
+ * 
+ * @author Melvin Chibanda
+ * @version 1.0
+ * @since 2024
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class GradeDriftDTO {
+
+    /**
+     * STUDENT or COURSE.
+     */
+    private String scope;
+
+    private Long id;
+
+    /**
+     * Sum and count recomputed from the grades.
+     */
+    private BigDecimal expectedScoreSum;
+
+    private long expectedGradeCount;
+
+    /**
+     * Sum and count in the maintained summary.
+     */
+    private BigDecimal actualScoreSum;
+
+    private long actualGradeCount;
+}
@@ -0,0 +1,67 @@
+package com.melvin.School.Management.System.Dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * Import Event Data Transfer Object (DTO)
+ * 
+ * One line of the NDJSON progress stream returned by the import endpoints:
+ * a rejected row with its errors, the running totals after a committed
+ * chunk, or the final totals.
+ * 
+ * Used for:
+ * - Import response payloads (one event per line)
+ * 
+ * @author Melvin Chibanda
+ * @version 1.0
+ * @since 2024
+ */
+@Data
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ImportEventDTO {
+
+    public enum Type {
+        REJECTED, PROGRESS, COMPLETED
+    }
+
+    private Type type;
+
+    /**
+     * Number of the rejected row, starting at 1 (the CSV header is not counted).
+     * Null when the error is not tied to a single row.
+     */
+    private Long row;
+
+    /**
+     * Reasons the row was rejected.
+     */
+    private List<String> errors;
+
+    /**
+     * Totals so far, for progress and completion events.
+     */
+    private BulkImportResultDTO result;
+
+    public static ImportEventDTO rejected(Long row, List<String> errors) {
+        ImportEventDTO event = new ImportEventDTO();
+        event.setType(Type.REJECTED);
+        event.setRow(row);
+        event.setErrors(errors);
+        return event;
+    }
+
+    public static ImportEventDTO progress(Type type, BulkImportResultDTO result) {
+        BulkImportResultDTO snapshot = new BulkImportResultDTO();
+        snapshot.setReceived(result.getReceived());
+        snapshot.setImported(result.getImported());
+        snapshot.setRejected(result.getRejected());
+        snapshot.setChunks(result.getChunks());
+        ImportEventDTO event = new ImportEventDTO();
+        event.setType(type);
+        event.setResult(snapshot);
+        return event;
+    }
+}
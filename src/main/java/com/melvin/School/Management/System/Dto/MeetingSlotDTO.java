@@ -0,0 +1,43 @@
+package com.melvin.School.Management.System.Dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+
+/**
+ * Meeting Slot Data Transfer Object (DTO)
+ *
+ * One weekly meeting of a course, e.g. {@code {"day": "MONDAY", "start": "09:00", "end": "10:30"}}.
+ * The end is exclusive, so back-to-back meetings do not overlap.
+ *
+ * Used for:
+ * - The meetings of course request/response payloads
+ *
+ * @author Melvin Chibanda
+ * @version 1.0
+ * @since 2024
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class MeetingSlotDTO {
+
+    @NotNull(message = "Meeting day is mandatory")
+    private DayOfWeek day;
+
+    @NotNull(message = "Meeting start is mandatory")
+    @JsonFormat(pattern = "HH:mm")
+    private LocalTime start;
+
+    /**
+     * Must be after the start on the same day.
+     */
+    @NotNull(message = "Meeting end is mandatory")
+    @JsonFormat(pattern = "HH:mm")
+    private LocalTime end;
+}
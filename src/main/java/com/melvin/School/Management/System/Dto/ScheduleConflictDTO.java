@@ -0,0 +1,50 @@
+package com.melvin.School.Management.System.Dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+
+/**
+ * Schedule Conflict Data Transfer Object (DTO)
+ *
+ * Two courses of the same student or teacher that meet at overlapping
+ * times, with the time they overlap.
+ *
+ * Used for:
+ * - Timetable conflict report responses
+ *
+ * @author Melvin Chibanda
+ * @version 1.0
+ * @since 2024
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ScheduleConflictDTO {
+
+    /**
+     * STUDENT or TEACHER.
+     */
+    private String ownerType;
+
+    private Long ownerId;
+
+    /**
+     * The course with the lower ID of the two.
+     */
+    private Long courseId;
+
+    private Long conflictingCourseId;
+
+    private DayOfWeek day;
+
+    @JsonFormat(pattern = "HH:mm")
+    private LocalTime start;
+
+    @JsonFormat(pattern = "HH:mm")
+    private LocalTime end;
+}
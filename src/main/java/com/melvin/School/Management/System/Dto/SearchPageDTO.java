@@ -0,0 +1,48 @@
+package com.melvin.School.Management.System.Dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Search Page Data Transfer Object (DTO)
+ * 
+ * Wraps one page of ranked search results. Unlike the keyset-paginated
+ * listings, results are ordered by relevance, so pages are addressed by
+ * number.
+ * 
+ * Used for:
+ * - Student and Teacher search responses
+ * 
+ * @param <T> the type of the items in the page
+ * @author Melvin Chibanda
+ * @version 1.0
+ * @since 2024
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SearchPageDTO<T> {
+
+    /**
+     * Items of the current page, best match first.
+     */
+    private List<T> items;
+
+    /**
+     * Zero-based number of the current page.
+     */
+    private int page;
+
+    /**
+     * Maximum number of items per page.
+     */
+    private int size;
+
+    /**
+     * Number of matches across all pages.
+     */
+    private long total;
+}
@@ -1,6 +1,6 @@
 package com.melvin.School.Management.System.Dto;
 
-
+import com.fasterxml.jackson.annotation.JsonProperty;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
@@ -35,6 +35,13 @@ public class StudentDTO {
      */
     private Long id;
 
+    /**
+     * Version of the student, incremented on every change.
+     * Output only; send it back in an If-Match header to update conditionally.
+     */
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private Long version;
+
     /**
      * Student's first name.
      * Must be between 2 and 30 characters and cannot be blank.
@@ -1,5 +1,6 @@
 package com.melvin.School.Management.System.Dto;
 
+import com.fasterxml.jackson.annotation.JsonProperty;
 
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
@@ -32,6 +33,13 @@ public class TeacherDTO {
      */
     private Long id;
 
+    /**
+     * Version of the teacher, incremented on every change.
+     * Output only; send it back in an If-Match header to update conditionally.
+     */
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private Long version;
+
     /**
      * Teacher's first name.
      * Must be between 2 and 30 characters and cannot be blank.
@@ -0,0 +1,40 @@
+package com.melvin.School.Management.System.Dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Teacher Summary Data Transfer Object (DTO)
+ * 
+ * Course and enrollment totals of one teacher, read from the maintained
+ * course summary table.
+ * 
+ * Used for:
+ * - Teacher summary (dashboard) responses
+ * 
+ * @author Melvin Chibanda
+ * @version 1.0
+ * @since 2024
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TeacherSummaryDTO {
+
+    private Long teacherId;
+
+    private String firstName;
+
+    private String lastName;
+
+    /**
+     * Number of courses taught by the teacher.
+     */
+    private long courseCount;
+
+    /**
+     * Number of enrollments across the teacher's courses.
+     */
+    private long enrollmentCount;
+}
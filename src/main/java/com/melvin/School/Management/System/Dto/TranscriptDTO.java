@@ -0,0 +1,37 @@
+package com.melvin.School.Management.System.Dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * Transcript Data Transfer Object (DTO)
+ * 
+ * Grade point average of one student, read from the maintained grade summary.
+ * 
+ * Used for:
+ * - Student transcript responses
+ * 
+ * @author Melvin Chibanda
+ * @version 1.0
+ * @since 2024
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TranscriptDTO {
+
+    private Long studentId;
+
+    /**
+     * Number of graded courses.
+     */
+    private long gradeCount;
+
+    /**
+     * Average score of the graded courses (0 to 100, two decimals), null if none is graded.
+     */
+    private BigDecimal averageScore;
+}
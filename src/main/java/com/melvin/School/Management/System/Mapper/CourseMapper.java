@@ -2,7 +2,9 @@ package com.melvin.School.Management.System.Mapper;
 
 
 import com.melvin.School.Management.System.Dto.CourseDTO;
+import com.melvin.School.Management.System.Dto.MeetingSlotDTO;
 import com.melvin.School.Management.System.Model.Course;
+import com.melvin.School.Management.System.Model.MeetingSlot;
 import com.melvin.School.Management.System.Model.Student;
 import com.melvin.School.Management.System.Model.Teacher;
 import org.mapstruct.Mapper;
@@ -25,6 +27,8 @@ import java.util.stream.Collectors;
  * Mapping Methods:
  * - toDTO(Course) - Converts Course entity to CourseDTO
  * - toEntity(CourseDTO) - Converts CourseDTO to Course entity
+ * - toMeetingSlots(List) - Converts meeting DTOs to meeting slots
+ * - toMeetingSlotDTOs(List) - Converts meeting slots to meeting DTOs
  * 
  * Note: Additional mapping configuration may be needed for handling
  * teacher and student relationships between entity and DTO.
@@ -60,8 +64,27 @@ public interface CourseMapper {
      */
     @Mapping(target = "teacher", ignore = true)
     @Mapping(target = "students", ignore = true)
+    @Mapping(target = "meetings", ignore = true)
+    @Mapping(target = "version", ignore = true)
+    @Mapping(target = "updatedAt", ignore = true)
     Course toEntity(CourseDTO courseDTO);
 
+    /**
+     * Converts meeting DTOs to meeting slots; the service validates them.
+     * 
+     * @param meetings the meetings of a course request
+     * @return the meeting slots in the same order
+     */
+    List<MeetingSlot> toMeetingSlots(List<MeetingSlotDTO> meetings);
+
+    /**
+     * Converts meeting slots to meeting DTOs.
+     * 
+     * @param meetings the meetings of a course
+     * @return the meeting DTOs in the same order
+     */
+    List<MeetingSlotDTO> toMeetingSlotDTOs(List<MeetingSlot> meetings);
+
     /**
      * Maps a Teacher entity to its ID.
      */
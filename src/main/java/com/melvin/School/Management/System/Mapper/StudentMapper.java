@@ -57,6 +57,8 @@ public interface StudentMapper {
      * @return Student entity representation
      */
     @Mapping(target = "courses", ignore = true)
+    @Mapping(target = "version", ignore = true)
+    @Mapping(target = "updatedAt", ignore = true)
     Student toEntity(StudentDTO studentDTO);
 
     /**
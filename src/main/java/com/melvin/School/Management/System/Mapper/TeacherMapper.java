@@ -56,6 +56,8 @@ public interface TeacherMapper {
      * @return Teacher entity representation
      */
     @Mapping(target = "courses", ignore = true)
+    @Mapping(target = "version", ignore = true)
+    @Mapping(target = "updatedAt", ignore = true)
     Teacher toEntity(TeacherDTO teacherDTO);
 
     /**
@@ -3,9 +3,15 @@ package com.melvin.School.Management.System.Model;
 
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.DynamicUpdate;
+import org.hibernate.annotations.UpdateTimestamp;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.time.Instant;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -22,6 +28,11 @@ import java.util.List;
  * - Many-to-One with Teacher (each course has one teacher)
  * - Many-to-Many with Student (through student_courses join table)
  * 
+ * Cached in the Hibernate second-level cache (read-write).
+ * 
+ * Updated with dynamic UPDATE statements that only set the changed columns,
+ * so a partial update does not rewrite the whole row.
+ * 
  * @author Melvin Chibanda
  * @version 1.0
  * @since 2024
@@ -31,6 +42,8 @@ import java.util.List;
 @NoArgsConstructor
 @Data
 @Table(name = "courses")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+@DynamicUpdate
 public class Course {
 
     /**
@@ -55,12 +68,46 @@ public class Course {
     @Column(name = "description")
     private String description;
 
+    /**
+     * Maximum number of enrolled students.
+     * Optional; null means the course is unlimited.
+     */
+    @Column(name = "capacity")
+    private Integer capacity;
+
+    /**
+     * Weekly meeting times.
+     * Empty for a course without a timetable; students and the teacher of a
+     * course may not have another course at an overlapping time.
+     */
+    @Convert(converter = MeetingSlotsConverter.class)
+    @Column(name = "meetings", length = 1000)
+    private List<MeetingSlot> meetings = new ArrayList<>();
+
+    /**
+     * Version of the course's representation, used for optimistic locking and
+     * as the ETag of its API resource. Incremented by Hibernate when a column
+     * changes and by {@code VersionBumper} when a related ID list in its DTO changes.
+     */
+    @Version
+    @ColumnDefault("0")
+    @Column(name = "version", nullable = false)
+    private Long version;
+
+    /**
+     * When the course was created or its version last changed.
+     */
+    @UpdateTimestamp
+    @Column(name = "updated_at")
+    private Instant updatedAt;
+
     /**
      * Teacher assigned to this course.
      * Many-to-One relationship with Teacher entity.
      * Required field, each course must have a teacher.
+     * Loaded lazily; mapping only needs its ID, which the proxy holds without a SELECT.
      */
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "teacher_id", nullable = false)
     private Teacher teacher;
 
@@ -68,8 +115,11 @@ public class Course {
      * List of students enrolled in this course.
      * Many-to-Many relationship with Student entity.
      * Uses student_courses join table for mapping.
+     * Cached in the second-level cache; writes that bypass this side of the
+     * mapping must evict it (see SecondLevelCacheEvictor).
      */
     @ManyToMany
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
     @JoinTable(
         name = "student_courses",
         joinColumns = @JoinColumn(name = "course_id"),
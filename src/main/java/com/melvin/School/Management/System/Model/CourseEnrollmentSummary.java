@@ -0,0 +1,45 @@
+package com.melvin.School.Management.System.Model;
+
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Course Enrollment Summary Entity
+ * 
+ * Maintained count of the students enrolled in a course, so dashboards can
+ * read enrollment totals per course and per teacher without counting the
+ * student_courses join table. The counts are updated in the same transaction
+ * as every enrollment change by the CourseEnrollmentCounter.
+ * 
+ * Database Table: course_enrollment_summaries
+ * 
+ * The course ID is kept as a plain column (no foreign key), so the summary
+ * can be written with single-row updates without locking the course row.
+ * 
+ * @author Melvin Chibanda
+ * @version 1.0
+ * @since 2024
+ */
+@Entity
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Table(name = "course_enrollment_summaries")
+public class CourseEnrollmentSummary {
+
+    /**
+     * ID of the summarized course.
+     */
+    @Id
+    @Column(name = "course_id")
+    private Long courseId;
+
+    /**
+     * Number of students enrolled in the course.
+     */
+    @Column(name = "student_count", nullable = false)
+    private long studentCount;
+}
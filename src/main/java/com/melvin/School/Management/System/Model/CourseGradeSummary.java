@@ -0,0 +1,53 @@
+package com.melvin.School.Management.System.Model;
+
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * Course Grade Summary Entity
+ * 
+ * Maintained sum and count of the grades of one course, so its average
+ * grade is read from a single row instead of being recomputed from every
+ * grade. Updated in the same transaction as every grade change by the
+ * GradeAggregates.
+ * 
+ * Database Table: course_grade_summaries
+ * 
+ * The course ID is kept as a plain column (no foreign key), so the summary
+ * can be written with single-row updates without locking the course row.
+ * 
+ * @author Melvin Chibanda
+ * @version 1.0
+ * @since 2024
+ */
+@Entity
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Table(name = "course_grade_summaries")
+public class CourseGradeSummary {
+
+    /**
+     * ID of the summarized course.
+     */
+    @Id
+    @Column(name = "course_id")
+    private Long courseId;
+
+    /**
+     * Sum of the course's grades.
+     */
+    @Column(name = "score_sum", nullable = false, precision = 19, scale = 2)
+    private BigDecimal scoreSum;
+
+    /**
+     * Number of grades in the sum.
+     */
+    @Column(name = "grade_count", nullable = false)
+    private long gradeCount;
+}
@@ -6,6 +6,7 @@ import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.math.BigDecimal;
 import java.time.LocalDate;
 
 /**
@@ -17,6 +18,9 @@ import java.time.LocalDate;
  * 
  * Database Table: enrollments
  * 
+ * A student has at most one enrollment record per course, which also
+ * carries the student's grade in the course.
+ * 
  * Relationships:
  * - Many-to-One with Student (multiple enrollments per student)
  * - Many-to-One with Course (multiple enrollments per course)
@@ -29,23 +33,27 @@ import java.time.LocalDate;
 @Data
 @AllArgsConstructor
 @NoArgsConstructor
-@Table(name = "enrollments")
+@Table(name = "enrollments", uniqueConstraints = @UniqueConstraint(
+        name = "uk_enrollments_student_course", columnNames = {"student_id", "course_id"}))
 public class Enrollment {
 
     /**
      * Unique identifier for the enrollment record.
-     * Auto-generated using database identity strategy.
+     * Generated from a pooled sequence so Hibernate can batch inserts;
+     * identity columns force one round trip per row.
      */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "enrollment_seq")
+    @SequenceGenerator(name = "enrollment_seq", sequenceName = "enrollments_seq", allocationSize = 50)
     private Long id;
 
     /**
      * Student who is enrolled.
      * Many-to-One relationship with Student entity.
      * Required field, cannot be null.
+     * Loaded lazily to avoid an extra SELECT per enrollment row.
      */
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "student_id", nullable = false)
     private Student student;
 
@@ -53,8 +61,9 @@ public class Enrollment {
      * Course in which the student is enrolled.
      * Many-to-One relationship with Course entity.
      * Required field, cannot be null.
+     * Loaded lazily to avoid an extra SELECT per enrollment row.
      */
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "course_id", nullable = false)
     private Course course;
 
@@ -63,4 +72,12 @@ public class Enrollment {
      * Defaults to current date when the enrollment is created.
      */
     private LocalDate enrollmentDate = LocalDate.now();
+
+    /**
+     * Grade of the student in the course, from 0 to 100 with two decimals.
+     * Null until graded. Change it through the GradeService only, which
+     * keeps the student and course grade summaries in step.
+     */
+    @Column(name = "score", precision = 5, scale = 2)
+    private BigDecimal score;
 }
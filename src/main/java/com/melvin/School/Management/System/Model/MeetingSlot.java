@@ -0,0 +1,47 @@
+package com.melvin.School.Management.System.Model;
+
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+
+/**
+ * Meeting Slot
+ *
+ * One weekly meeting of a course, e.g. Monday 09:00-10:30. A slot lies
+ * within one day; its end is exclusive, so back-to-back slots do not
+ * overlap.
+ *
+ * Stored with the course in its meetings column (see MeetingSlotsConverter).
+ *
+ * @author Melvin Chibanda
+ * @version 1.0
+ * @since 2024
+ */
+public record MeetingSlot(DayOfWeek day, LocalTime start, LocalTime end) {
+
+    private static final int MINUTES_PER_DAY = 24 * 60;
+
+    /**
+     * @return the start as minutes since Monday 00:00
+     */
+    public int startMinute() {
+        return minuteOfWeek(start);
+    }
+
+    /**
+     * @return the end as minutes since Monday 00:00
+     */
+    public int endMinute() {
+        return minuteOfWeek(end);
+    }
+
+    /**
+     * @return true if both slots are held at the same time for at least a minute
+     */
+    public boolean overlaps(MeetingSlot other) {
+        return startMinute() < other.endMinute() && other.startMinute() < endMinute();
+    }
+
+    private int minuteOfWeek(LocalTime time) {
+        return (day.getValue() - 1) * MINUTES_PER_DAY + time.getHour() * 60 + time.getMinute();
+    }
+}
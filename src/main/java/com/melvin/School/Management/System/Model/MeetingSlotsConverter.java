@@ -0,0 +1,65 @@
+package com.melvin.School.Management.System.Model;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Meeting Slots Converter
+ *
+ * Stores the weekly meetings of a course in a single column, e.g.
+ * {@code MONDAY 09:00-10:30;WEDNESDAY 09:00-10:30}, so they are loaded and
+ * cached with the course instead of needing a table and a query of their own.
+ * A course without meetings is stored as null.
+ *
+ * @author Melvin Chibanda
+ * @version 1.0
+ * @since 2024
+ */
+@Converter
+public class MeetingSlotsConverter implements AttributeConverter<List<MeetingSlot>, String> {
+
+    @Override
+    public String convertToDatabaseColumn(List<MeetingSlot> meetings) {
+        if (meetings == null || meetings.isEmpty()) {
+            return null;
+        }
+        StringBuilder column = new StringBuilder();
+        for (MeetingSlot meeting : meetings) {
+            if (!column.isEmpty()) {
+                column.append(';');
+            }
+            column.append(meeting.day()).append(' ').append(meeting.start()).append('-').append(meeting.end());
+        }
+        return column.toString();
+    }
+
+    @Override
+    public List<MeetingSlot> convertToEntityAttribute(String column) {
+        return parse(column);
+    }
+
+    /**
+     * Parses a meetings column, also for queries that read it without Hibernate.
+     *
+     * @param column the column value, may be null
+     * @return the meetings, empty if there are none
+     */
+    public static List<MeetingSlot> parse(String column) {
+        List<MeetingSlot> meetings = new ArrayList<>();
+        if (column == null || column.isEmpty()) {
+            return meetings;
+        }
+        for (String slot : column.split(";")) {
+            int space = slot.indexOf(' ');
+            int dash = slot.indexOf('-', space);
+            meetings.add(new MeetingSlot(DayOfWeek.valueOf(slot.substring(0, space)),
+                    LocalTime.parse(slot.substring(space + 1, dash)), LocalTime.parse(slot.substring(dash + 1))));
+        }
+        return meetings;
+    }
+}
@@ -3,9 +3,15 @@ package com.melvin.School.Management.System.Model;
 
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.DynamicUpdate;
+import org.hibernate.annotations.UpdateTimestamp;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.time.Instant;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -21,6 +27,11 @@ import java.util.List;
  * Relationships:
  * - Many-to-Many with Course (through student_courses join table)
  * 
+ * Cached in the Hibernate second-level cache (read-write) so cached
+ * Course.students collections resolve without a SELECT per student.
+ * 
+ * Dynamic update: an UPDATE sets only the columns that changed.
+ * 
  * @author Melvin Chibanda
  * @version 1.0
  * @since 2024
@@ -30,6 +41,8 @@ import java.util.List;
 @AllArgsConstructor
 @NoArgsConstructor
 @Table(name = "students")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+@DynamicUpdate
 public class Student {
 
     /**
@@ -61,16 +74,35 @@ public class Student {
     @Column(name = "email", nullable = false, unique = true)
     private String email;
 
+    /**
+     * Version of the student's representation, used for optimistic locking and
+     * as the ETag of its API resource. Incremented by Hibernate when a column
+     * changes and by {@code VersionBumper} when a related ID list in its DTO changes.
+     */
+    @Version
+    @ColumnDefault("0")
+    @Column(name = "version", nullable = false)
+    private Long version;
+
+    /**
+     * When the student was created or its version last changed.
+     */
+    @UpdateTimestamp
+    @Column(name = "updated_at")
+    private Instant updatedAt;
+
     /**
      * List of courses the student is enrolled in.
      * Many-to-Many relationship with Course entity.
-     * Uses student_courses join table for mapping.
+     * Uses student_courses join table for mapping, indexed by student
+     * so per-student enrollment lookups do not scan the whole table.
      */
     @ManyToMany
     @JoinTable(
         name = "student_courses",
         joinColumns = @JoinColumn(name = "student_id"),
-        inverseJoinColumns = @JoinColumn(name = "course_id")
+        inverseJoinColumns = @JoinColumn(name = "course_id"),
+        indexes = @Index(name = "idx_student_courses_student_course", columnList = "student_id, course_id")
     )
     private List<Course> courses = new ArrayList<>();
 
@@ -0,0 +1,53 @@
+package com.melvin.School.Management.System.Model;
+
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * Student Grade Summary Entity
+ * 
+ * Maintained sum and count of the grades of one student, so its average
+ * grade is read from a single row instead of being recomputed from every
+ * grade. Updated in the same transaction as every grade change by the
+ * GradeAggregates.
+ * 
+ * Database Table: student_grade_summaries
+ * 
+ * The student ID is kept as a plain column (no foreign key), so the summary
+ * can be written with single-row updates without locking the student row.
+ * 
+ * @author Melvin Chibanda
+ * @version 1.0
+ * @since 2024
+ */
+@Entity
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Table(name = "student_grade_summaries")
+public class StudentGradeSummary {
+
+    /**
+     * ID of the summarized student.
+     */
+    @Id
+    @Column(name = "student_id")
+    private Long studentId;
+
+    /**
+     * Sum of the student's grades.
+     */
+    @Column(name = "score_sum", nullable = false, precision = 19, scale = 2)
+    private BigDecimal scoreSum;
+
+    /**
+     * Number of grades in the sum.
+     */
+    @Column(name = "grade_count", nullable = false)
+    private long gradeCount;
+}
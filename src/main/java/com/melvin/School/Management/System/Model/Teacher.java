@@ -3,9 +3,15 @@ package com.melvin.School.Management.System.Model;
 
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.DynamicUpdate;
+import org.hibernate.annotations.UpdateTimestamp;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.time.Instant;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -21,6 +27,10 @@ import java.util.List;
  * Relationships:
  * - One-to-Many with Course (a teacher can teach multiple courses)
  * 
+ * Cached in the Hibernate second-level cache (read-write).
+ * 
+ * Dynamic update: an UPDATE sets only the columns that changed.
+ * 
  * @author Melvin Chibanda
  * @version 1.0
  * @since 2024
@@ -30,6 +40,8 @@ import java.util.List;
 @AllArgsConstructor
 @NoArgsConstructor
 @Table(name = "teachers")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+@DynamicUpdate
 public class Teacher {
 
     /**
@@ -61,12 +73,32 @@ public class Teacher {
     @Column(name = "email", nullable = false, unique = true)
     private String email;
 
+    /**
+     * Version of the teacher's representation, used for optimistic locking and
+     * as the ETag of its API resource. Incremented by Hibernate when a column
+     * changes and by {@code VersionBumper} when a related ID list in its DTO changes.
+     */
+    @Version
+    @ColumnDefault("0")
+    @Column(name = "version", nullable = false)
+    private Long version;
+
+    /**
+     * When the teacher was created or its version last changed.
+     */
+    @UpdateTimestamp
+    @Column(name = "updated_at")
+    private Instant updatedAt;
+
     /**
      * List of courses taught by this teacher.
      * One-to-Many relationship with Course entity.
      * Cascades all operations to related courses.
+     * Cached in the second-level cache; as the inverse side it is not
+     * invalidated by Hibernate when a course changes teacher (see SecondLevelCacheEvictor).
      */
     @OneToMany(mappedBy = "teacher", cascade = CascadeType.ALL)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
     private List<Course> courses = new ArrayList<>();
 
     public void setEmail(String email) {
@@ -0,0 +1,51 @@
+package com.melvin.School.Management.System.Repository;
+
+import com.melvin.School.Management.System.Dto.CourseSummaryDTO;
+import com.melvin.School.Management.System.Dto.TeacherSummaryDTO;
+import com.melvin.School.Management.System.Model.CourseEnrollmentSummary;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * Course Enrollment Summary Repository Interface
+ * 
+ * Reads the maintained enrollment counts. Both queries scan courses (and
+ * teachers) only, never the student_courses join table, so their cost grows
+ * with the number of courses rather than the number of enrollments.
+ * Courses without a summary row report zero enrollments.
+ * 
+ * @author Melvin Chibanda
+ * @version 1.0
+ * @since 2024
+ */
+@Repository
+public interface CourseEnrollmentSummaryRepository extends JpaRepository<CourseEnrollmentSummary, Long> {
+
+    /**
+     * Retrieves the enrollment count of every course.
+     * 
+     * @return one summary per course, ordered by course ID
+     */
+    @Query("select new com.melvin.School.Management.System.Dto.CourseSummaryDTO("
+            + "c.id, c.name, t.id, coalesce(s.studentCount, 0L)) "
+            + "from Course c left join c.teacher t "
+            + "left join CourseEnrollmentSummary s on s.courseId = c.id "
+            + "order by c.id")
+    List<CourseSummaryDTO> findCourseSummaries();
+
+    /**
+     * Retrieves the course and enrollment counts of every teacher.
+     * 
+     * @return one summary per teacher, ordered by teacher ID
+     */
+    @Query("select new com.melvin.School.Management.System.Dto.TeacherSummaryDTO("
+            + "t.id, t.firstName, t.lastName, count(c.id), coalesce(sum(s.studentCount), 0L)) "
+            + "from Teacher t left join t.courses c "
+            + "left join CourseEnrollmentSummary s on s.courseId = c.id "
+            + "group by t.id, t.firstName, t.lastName "
+            + "order by t.id")
+    List<TeacherSummaryDTO> findTeacherSummaries();
+}
@@ -0,0 +1,19 @@
+package com.melvin.School.Management.System.Repository;
+
+import com.melvin.School.Management.System.Model.CourseGradeSummary;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Course Grade Summary Repository Interface
+ * 
+ * Reads the maintained grade sums and counts per course by primary key.
+ * Writes go through the GradeAggregates.
+ * 
+ * @author Melvin Chibanda
+ * @version 1.0
+ * @since 2024
+ */
+@Repository
+public interface CourseGradeSummaryRepository extends JpaRepository<CourseGradeSummary, Long> {
+}
@@ -2,9 +2,17 @@ package com.melvin.School.Management.System.Repository;
 
 
 import com.melvin.School.Management.System.Model.Course;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
 /**
  * Course Repository Interface
  * 
@@ -29,4 +37,108 @@ import org.springframework.stereotype.Repository;
  */
 @Repository
 public interface CourseRepository extends JpaRepository<Course, Long> {
+
+    /**
+     * Retrieves the IDs of the next page of courses in ascending order (keyset pagination).
+     * Seeks on the primary key index, so the cost does not grow with the page depth.
+     * 
+     * @param id the ID of the last course of the previous page, 0 for the first page
+     * @param limit the maximum number of IDs to return
+     * @return the course IDs greater than the given one
+     */
+    @Query("select c.id from Course c where c.id > :id order by c.id")
+    List<Long> findIdsAfter(Long id, Limit limit);
+
+    /**
+     * Retrieves the (ID, version) pairs of the next page of courses in
+     * ascending ID order, to compute the ETag of the page without loading it.
+     * 
+     * @param id the ID of the last course of the previous page, 0 for the first page
+     * @param limit the maximum number of pairs to return
+     * @return the pairs as two-element arrays
+     */
+    @Query("select c.id, c.version from Course c where c.id > :id order by c.id")
+    List<Object[]> findIdVersionsAfter(Long id, Limit limit);
+
+    /**
+     * Retrieves the given courses together with their enrolled students in a single query,
+     * so mapping them to DTOs does not trigger one lazy load per row.
+     * 
+     * @param ids the IDs of the courses to load
+     * @return the courses ordered by ID
+     */
+    @EntityGraph(attributePaths = "students")
+    List<Course> findByIdInOrderByIdAsc(Collection<Long> ids);
+
+    /**
+     * Retrieves all courses together with their enrolled students in a single query.
+     * 
+     * @return all courses ordered by ID
+     */
+    @EntityGraph(attributePaths = "students")
+    @Query("select c from Course c order by c.id")
+    List<Course> findAllWithRelations();
+
+    /**
+     * Retrieves a course together with its enrolled students in a single query.
+     * 
+     * @param id the ID of the course
+     * @return the course, or empty if it doesn't exist
+     */
+    @EntityGraph(attributePaths = "students")
+    Optional<Course> findWithRelationsById(Long id);
+
+    /**
+     * Retrieves the (course ID, student ID) pairs of the student_courses join
+     * table for the given courses, without loading any entity.
+     * 
+     * @param courseIds the IDs of the courses
+     * @return the enrolled pairs as two-element arrays
+     */
+    @Query("select c.id, s.id from Course c join c.students s where c.id in :courseIds")
+    List<Object[]> findStudentPairs(Collection<Long> courseIds);
+
+    /**
+     * Retrieves which of the given IDs belong to existing courses.
+     * Used to validate bulk input with one query per chunk.
+     * 
+     * @param ids the candidate course IDs
+     * @return the subset of IDs that exist
+     */
+    @Query("select c.id from Course c where c.id in :ids")
+    Set<Long> findExistingIds(Collection<Long> ids);
+
+    /**
+     * Retrieves the weekly meetings of those of the given courses that have any.
+     * 
+     * @param ids the course IDs
+     * @return (course ID, meetings) pairs as two-element arrays
+     */
+    @Query("select c.id, c.meetings from Course c where c.id in :ids and c.meetings is not null")
+    List<Object[]> findMeetings(Collection<Long> ids);
+
+    /**
+     * Retrieves the teacher and weekly meetings of every course that has meetings.
+     * 
+     * @return (course ID, teacher ID, meetings) triples as three-element arrays
+     */
+    @Query("select c.id, c.teacher.id, c.meetings from Course c where c.meetings is not null")
+    List<Object[]> findTimetable();
+
+    /**
+     * Retrieves the enrollments in courses that have meetings.
+     * 
+     * @return (student ID, course ID) pairs as two-element arrays
+     */
+    @Query("select s.id, c.id from Course c join c.students s where c.meetings is not null")
+    List<Object[]> findTimetabledEnrollments();
+
+    /**
+     * Retrieves the IDs of the courses taught by a teacher.
+     * 
+     * @param teacherId the ID of the teacher
+     * @return the IDs of the teacher's courses
+     */
+    @Query("select c.id from Course c where c.teacher.id = :teacherId")
+    List<Long> findIdsByTeacherId(Long teacherId);
 }
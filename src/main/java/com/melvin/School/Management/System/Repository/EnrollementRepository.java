@@ -1,9 +1,16 @@
 package com.melvin.School.Management.System.Repository;
 
 import com.melvin.School.Management.System.Model.Enrollment;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
 /**
  * Enrollment Repository Interface
  * 
@@ -31,4 +38,45 @@ import org.springframework.stereotype.Repository;
  */
 @Repository
 public interface EnrollementRepository extends JpaRepository <Enrollment, Long> {
+
+    /**
+     * Retrieves the enrollment record of a student in a course and locks it
+     * until the transaction ends, so concurrent grade changes of the same
+     * enrollment are applied one after the other.
+     * 
+     * @param studentId the ID of the student
+     * @param courseId the ID of the course
+     * @return the enrollment record, or empty if none was stored
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select e from Enrollment e where e.student.id = :studentId and e.course.id = :courseId")
+    Optional<Enrollment> findForUpdate(Long studentId, Long courseId);
+
+    /**
+     * Retrieves the (student ID, course ID) pairs that already have an
+     * enrollment record, for the given students.
+     * 
+     * @param studentIds the IDs of the students
+     * @return the recorded pairs as two-element arrays
+     */
+    @Query("select e.student.id, e.course.id from Enrollment e where e.student.id in :studentIds")
+    List<Object[]> findRecordedPairs(Collection<Long> studentIds);
+
+    /**
+     * Recomputes the grade sum and count of every graded student.
+     * 
+     * @return (student ID, score sum, grade count) triples as three-element arrays
+     */
+    @Query("select e.student.id, sum(e.score), count(e.score) from Enrollment e "
+            + "where e.score is not null group by e.student.id")
+    List<Object[]> sumScoresByStudent();
+
+    /**
+     * Recomputes the grade sum and count of every graded course.
+     * 
+     * @return (course ID, score sum, grade count) triples as three-element arrays
+     */
+    @Query("select e.course.id, sum(e.score), count(e.score) from Enrollment e "
+            + "where e.score is not null group by e.course.id")
+    List<Object[]> sumScoresByCourse();
 }
@@ -0,0 +1,19 @@
+package com.melvin.School.Management.System.Repository;
+
+import com.melvin.School.Management.System.Model.StudentGradeSummary;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Student Grade Summary Repository Interface
+ * 
+ * Reads the maintained grade sums and counts per student by primary key.
+ * Writes go through the GradeAggregates.
+ * 
+ * @author Melvin Chibanda
+ * @version 1.0
+ * @since 2024
+ */
+@Repository
+public interface StudentGradeSummaryRepository extends JpaRepository<StudentGradeSummary, Long> {
+}
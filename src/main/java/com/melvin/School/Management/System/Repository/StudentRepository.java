@@ -1,10 +1,23 @@
 package com.melvin.School.Management.System.Repository;
 
 
+import com.melvin.School.Management.System.Dto.EnrollmentDTO;
 import com.melvin.School.Management.System.Model.Student;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
+
 /**
  * Student Repository Interface
  * 
@@ -30,4 +43,154 @@ import org.springframework.stereotype.Repository;
 @Repository
 public interface StudentRepository extends JpaRepository<Student, Long> {
 
+    /**
+     * Retrieves the IDs of the next page of students in ascending order (keyset pagination).
+     * Seeks on the primary key index, so the cost does not grow with the page depth.
+     * 
+     * @param id the ID of the last student of the previous page, 0 for the first page
+     * @param limit the maximum number of IDs to return
+     * @return the student IDs greater than the given one
+     */
+    @Query("select s.id from Student s where s.id > :id order by s.id")
+    List<Long> findIdsAfter(Long id, Limit limit);
+
+    /**
+     * Retrieves the (ID, version) pairs of the next page of students in
+     * ascending ID order, to compute the ETag of the page without loading it.
+     * 
+     * @param id the ID of the last student of the previous page, 0 for the first page
+     * @param limit the maximum number of pairs to return
+     * @return the pairs as two-element arrays
+     */
+    @Query("select s.id, s.version from Student s where s.id > :id order by s.id")
+    List<Object[]> findIdVersionsAfter(Long id, Limit limit);
+
+    /**
+     * Retrieves the given students together with their courses in a single query,
+     * so mapping them to DTOs does not trigger one lazy load per row.
+     * 
+     * @param ids the IDs of the students to load
+     * @return the students ordered by ID
+     */
+    @EntityGraph(attributePaths = "courses")
+    List<Student> findByIdInOrderByIdAsc(Collection<Long> ids);
+
+    /**
+     * Retrieves all students together with their courses in a single query.
+     * 
+     * @return all students ordered by ID
+     */
+    @EntityGraph(attributePaths = "courses")
+    @Query("select s from Student s order by s.id")
+    List<Student> findAllWithRelations();
+
+    /**
+     * Retrieves a student together with its courses in a single query.
+     * 
+     * @param id the ID of the student
+     * @return the student, or empty if it doesn't exist
+     */
+    @EntityGraph(attributePaths = "courses")
+    Optional<Student> findWithRelationsById(Long id);
+
+    /**
+     * Retrieves which of the given IDs belong to existing students.
+     * Used to validate bulk input with one query per chunk.
+     * 
+     * @param ids the candidate student IDs
+     * @return the subset of IDs that exist
+     */
+    @Query("select s.id from Student s where s.id in :ids")
+    Set<Long> findExistingIds(Collection<Long> ids);
+
+    /**
+     * Retrieves the (student ID, course ID) pairs already present in the
+     * student_courses join table for the given students.
+     * 
+     * @param studentIds the IDs of the students
+     * @return the enrolled pairs as two-element arrays
+     */
+    @Query("select s.id, c.id from Student s join s.courses c where s.id in :studentIds")
+    List<Object[]> findEnrollmentPairs(Collection<Long> studentIds);
+
+    /**
+     * Checks whether a student is enrolled in a course.
+     * 
+     * @param studentId the ID of the student
+     * @param courseId the ID of the course
+     * @return true if the pair is in the student_courses join table
+     */
+    @Query("select count(c) > 0 from Student s join s.courses c where s.id = :studentId and c.id = :courseId")
+    boolean isEnrolled(Long studentId, Long courseId);
+
+    /**
+     * Streams all students in ID order from a server-side cursor, for exports.
+     * Rows are fetched from the driver {@code fetchSize} at a time, loaded
+     * read-only and kept out of the second-level cache. The stream must be
+     * consumed inside a transaction and closed afterwards; the caller should
+     * clear the persistence context periodically.
+     * 
+     * @return the students ordered by ID
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_MODE, value = "IGNORE")
+    })
+    @Query("select s from Student s order by s.id")
+    Stream<Student> streamAll();
+
+    /**
+     * Streams every (student ID, course ID) pair of the student_courses join
+     * table, ordered by student and course, without loading any entity.
+     * The stream must be consumed inside a transaction and closed afterwards.
+     * 
+     * @return the enrollment pairs
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("select new com.melvin.School.Management.System.Dto.EnrollmentDTO(s.id, c.id) "
+            + "from Student s join s.courses c order by s.id, c.id")
+    Stream<EnrollmentDTO> streamEnrollmentPairs();
+
+    /**
+     * Retrieves which of the given email addresses are already used by a student.
+     * Used to check a whole import chunk for duplicates with one query.
+     * 
+     * @param emails the candidate email addresses
+     * @return the subset of addresses that are taken
+     */
+    @Query("select s.email from Student s where s.email in :emails")
+    Set<String> findExistingEmails(Collection<String> emails);
+
+    /**
+     * Streams the searchable fields (ID, first name, last name, email) of
+     * every student without loading any entity, to build the search index.
+     * The stream must be consumed inside a transaction and closed afterwards.
+     * 
+     * @return the field values as four-element arrays
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("select s.id, s.firstName, s.lastName, s.email from Student s")
+    Stream<Object[]> streamSearchFields();
+
+    /**
+     * Retrieves the searchable fields (ID, first name, last name, email) of
+     * the students with the given email addresses. Used to index rows inserted
+     * with JDBC, whose generated IDs are not returned.
+     * 
+     * @param emails the email addresses
+     * @return the field values as four-element arrays
+     */
+    @Query("select s.id, s.firstName, s.lastName, s.email from Student s where s.email in :emails")
+    List<Object[]> findSearchFieldsByEmails(Collection<String> emails);
+
+    /**
+     * Retrieves the IDs of the students whose email ends with the given
+     * suffix, ignoring case.
+     * 
+     * @param suffix the lower-case suffix, e.g. {@code @old.school.edu}
+     * @return the IDs of the matching students
+     */
+    @Query("select s.id from Student s where lower(s.email) like concat('%', :suffix)")
+    List<Long> findIdsByEmailSuffix(String suffix);
 }
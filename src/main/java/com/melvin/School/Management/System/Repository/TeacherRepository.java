@@ -2,9 +2,21 @@ package com.melvin.School.Management.System.Repository;
 
 
 import com.melvin.School.Management.System.Model.Teacher;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
+
 /**
  * Teacher Repository Interface
  * 
@@ -29,4 +41,106 @@ import org.springframework.stereotype.Repository;
  */
 @Repository
 public interface TeacherRepository  extends JpaRepository<Teacher, Long> {
+
+    /**
+     * Retrieves the IDs of the next page of teachers in ascending order (keyset pagination).
+     * Seeks on the primary key index, so the cost does not grow with the page depth.
+     * 
+     * @param id the ID of the last teacher of the previous page, 0 for the first page
+     * @param limit the maximum number of IDs to return
+     * @return the teacher IDs greater than the given one
+     */
+    @Query("select t.id from Teacher t where t.id > :id order by t.id")
+    List<Long> findIdsAfter(Long id, Limit limit);
+
+    /**
+     * Retrieves the (ID, version) pairs of the next page of teachers in
+     * ascending ID order, to compute the ETag of the page without loading it.
+     * 
+     * @param id the ID of the last teacher of the previous page, 0 for the first page
+     * @param limit the maximum number of pairs to return
+     * @return the pairs as two-element arrays
+     */
+    @Query("select t.id, t.version from Teacher t where t.id > :id order by t.id")
+    List<Object[]> findIdVersionsAfter(Long id, Limit limit);
+
+    /**
+     * Retrieves the given teachers together with their courses in a single query,
+     * so mapping them to DTOs does not trigger one lazy load per row.
+     * 
+     * @param ids the IDs of the teachers to load
+     * @return the teachers ordered by ID
+     */
+    @EntityGraph(attributePaths = "courses")
+    List<Teacher> findByIdInOrderByIdAsc(Collection<Long> ids);
+
+    /**
+     * Retrieves all teachers together with their courses in a single query.
+     * 
+     * @return all teachers ordered by ID
+     */
+    @EntityGraph(attributePaths = "courses")
+    @Query("select t from Teacher t order by t.id")
+    List<Teacher> findAllWithRelations();
+
+    /**
+     * Retrieves a teacher together with its courses in a single query.
+     * 
+     * @param id the ID of the teacher
+     * @return the teacher, or empty if it doesn't exist
+     */
+    @EntityGraph(attributePaths = "courses")
+    Optional<Teacher> findWithRelationsById(Long id);
+
+    /**
+     * Retrieves the (teacher ID, course ID) pairs of the given teachers'
+     * courses, without loading any entity.
+     * 
+     * @param teacherIds the IDs of the teachers
+     * @return the pairs as two-element arrays
+     */
+    @Query("select c.teacher.id, c.id from Course c where c.teacher.id in :teacherIds")
+    List<Object[]> findCoursePairs(Collection<Long> teacherIds);
+
+    /**
+     * Retrieves which of the given email addresses are already used by a teacher.
+     * Used to check a whole import chunk for duplicates with one query.
+     * 
+     * @param emails the candidate email addresses
+     * @return the subset of addresses that are taken
+     */
+    @Query("select t.email from Teacher t where t.email in :emails")
+    Set<String> findExistingEmails(Collection<String> emails);
+
+    /**
+     * Streams the searchable fields (ID, first name, last name, email) of
+     * every teacher without loading any entity, to build the search index.
+     * The stream must be consumed inside a transaction and closed afterwards.
+     * 
+     * @return the field values as four-element arrays
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("select t.id, t.firstName, t.lastName, t.email from Teacher t")
+    Stream<Object[]> streamSearchFields();
+
+    /**
+     * Retrieves the searchable fields (ID, first name, last name, email) of
+     * the teachers with the given email addresses. Used to index rows inserted
+     * with JDBC, whose generated IDs are not returned.
+     * 
+     * @param emails the email addresses
+     * @return the field values as four-element arrays
+     */
+    @Query("select t.id, t.firstName, t.lastName, t.email from Teacher t where t.email in :emails")
+    List<Object[]> findSearchFieldsByEmails(Collection<String> emails);
+
+    /**
+     * Retrieves the IDs of the teachers whose email ends with the given
+     * suffix, ignoring case.
+     * 
+     * @param suffix the lower-case suffix, e.g. {@code @old.school.edu}
+     * @return the IDs of the matching teachers
+     */
+    @Query("select t.id from Teacher t where lower(t.email) like concat('%', :suffix)")
+    List<Long> findIdsByEmailSuffix(String suffix);
 }
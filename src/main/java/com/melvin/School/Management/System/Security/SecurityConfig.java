@@ -2,6 +2,7 @@ package com.melvin.School.Management.System.Security;
 
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.security.config.Customizer;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.web.SecurityFilterChain;
@@ -10,7 +11,11 @@ import org.springframework.security.web.SecurityFilterChain;
  * Security Configuration
  * 
  * Basic security configuration for the School Management System.
- * Currently configured to permit all requests for development purposes.
+ * The admin endpoints ({@code /api/admin/**}), which can change the
+ * admission limits and switch load shedding off, require HTTP Basic
+ * authentication as a user with the ADMIN role (see
+ * {@code spring.security.user.*}). All other requests are currently
+ * permitted for development purposes.
  * 
  * @author Melvin Chibanda
  * @version 1.0
@@ -25,8 +30,10 @@ public class SecurityConfig {
         http
             .csrf(csrf -> csrf.disable())
             .authorizeHttpRequests(authz -> authz
+                .requestMatchers("/api/admin/**").hasRole("ADMIN")
                 .anyRequest().permitAll()
-            );
+            )
+            .httpBasic(Customizer.withDefaults());
         
         return http.build();
     }
@@ -0,0 +1,167 @@
+package com.melvin.School.Management.System.Service;
+
+import com.melvin.School.Management.System.Dto.AdmissionLimitsDTO;
+import com.melvin.School.Management.System.Utility.AdaptiveLimit;
+import com.melvin.School.Management.System.Utility.TokenBuckets;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Admission Control
+ *
+ * Decides whether an API request is served or shed before it reaches a
+ * controller, so that a surge (registration opening) is turned away in
+ * microseconds instead of queueing for database connections and slowing
+ * down every endpoint:
+ *
+ * - every client (remote address, or the forwarded one behind a trusted proxy) has
+ *   a token bucket of {@code app.admission.burst} requests refilled at
+ *   {@code app.admission.requests-per-second}; beyond it requests are
+ *   rejected with 429
+ * - writes are additionally limited by an adaptive concurrency limit
+ *   between {@code app.admission.write-concurrency.min} and
+ *   {@code .max}, lowered while writes take longer than
+ *   {@code app.admission.target-write-latency}; beyond it writes are
+ *   rejected with 503
+ *
+ * All state lives in atomics and a concurrent map, see {@link TokenBuckets}
+ * and {@link AdaptiveLimit}. The limits can be changed at runtime through
+ * {@link #setLimits}.
+ *
+ * @author Melvin Chibanda
+ * @version 1.0
+ * @since 2024
+ */
+@Component
+public class AdmissionControl {
+
+    public static final String REJECTED_METRIC = "school.admission.rejected";
+    public static final String WRITE_LIMIT_METRIC = "school.admission.write.limit";
+    public static final String WRITES_IN_FLIGHT_METRIC = "school.admission.write.in.flight";
+
+    private final TokenBuckets clients;
+    private final AdaptiveLimit writes;
+    private final Duration busyRetryAfter;
+    private final Counter rateLimited;
+    private final Counter overloaded;
+
+    private volatile AdmissionLimitsDTO limits;
+
+    public AdmissionControl(MeterRegistry meterRegistry,
+                            @Value("${app.admission.enabled:true}") boolean enabled,
+                            @Value("${app.admission.requests-per-second:50}") double requestsPerSecond,
+                            @Value("${app.admission.burst:100}") int burst,
+                            @Value("${app.admission.write-concurrency.min:2}") int minWriteConcurrency,
+                            @Value("${app.admission.write-concurrency.max:10}") int maxWriteConcurrency,
+                            @Value("${app.admission.target-write-latency:250ms}") Duration targetWriteLatency,
+                            @Value("${app.admission.busy-retry-after:1s}") Duration busyRetryAfter) {
+        this.clients = new TokenBuckets(requestsPerSecond, burst);
+        this.writes = new AdaptiveLimit(minWriteConcurrency, maxWriteConcurrency, targetWriteLatency.toNanos());
+        this.busyRetryAfter = busyRetryAfter;
+        this.limits = new AdmissionLimitsDTO(enabled, requestsPerSecond, burst, minWriteConcurrency,
+                maxWriteConcurrency, targetWriteLatency.toMillis(), 0, 0, 0);
+
+        this.rateLimited = Counter.builder(REJECTED_METRIC)
+                .description("API requests rejected by admission control")
+                .tag("reason", "rate")
+                .register(meterRegistry);
+        this.overloaded = Counter.builder(REJECTED_METRIC)
+                .description("API requests rejected by admission control")
+                .tag("reason", "concurrency")
+                .register(meterRegistry);
+        Gauge.builder(WRITE_LIMIT_METRIC, writes, AdaptiveLimit::getLimit)
+                .description("Current adaptive limit of concurrent API writes")
+                .register(meterRegistry);
+        Gauge.builder(WRITES_IN_FLIGHT_METRIC, writes, AdaptiveLimit::getInFlight)
+                .description("API writes in flight")
+                .register(meterRegistry);
+    }
+
+    /**
+     * @return whether requests are limited at all
+     */
+    public boolean isEnabled() {
+        return limits.isEnabled();
+    }
+
+    /**
+     * Takes one request from the client's token bucket.
+     *
+     * @param client the client key, its remote address
+     * @return null if the request is admitted, otherwise how long the client should wait
+     */
+    public Duration admitRequest(String client) {
+        long wait = clients.tryAcquire(client, System.nanoTime());
+        if (wait == 0) {
+            return null;
+        }
+        rateLimited.increment();
+        return Duration.ofNanos(wait);
+    }
+
+    /**
+     * Admits a write if the write concurrency limit allows it. An admitted
+     * write must be {@linkplain #releaseWrite released}.
+     *
+     * @return null if the write is admitted, otherwise how long the client should wait
+     */
+    public Duration admitWrite() {
+        if (writes.tryAcquire()) {
+            return null;
+        }
+        overloaded.increment();
+        return busyRetryAfter;
+    }
+
+    /**
+     * Releases an admitted write.
+     *
+     * @param startNanos the {@link System#nanoTime()} the write was admitted at
+     */
+    public void releaseWrite(long startNanos) {
+        long now = System.nanoTime();
+        writes.release(now - startNanos, now);
+    }
+
+    /**
+     * @return the limits and the current state of the write limit
+     */
+    public AdmissionLimitsDTO getLimits() {
+        AdmissionLimitsDTO current = limits;
+        return new AdmissionLimitsDTO(current.isEnabled(), current.getRequestsPerSecond(), current.getBurst(),
+                current.getMinWriteConcurrency(), current.getMaxWriteConcurrency(),
+                current.getTargetWriteLatencyMillis(), writes.getLimit(), writes.getInFlight(), clients.size());
+    }
+
+    /**
+     * Replaces the limits. Existing buckets and the current write limit are
+     * adjusted immediately.
+     *
+     * @param update the new limits; the state properties are ignored
+     * @return the limits now in effect
+     * @throws IllegalArgumentException if the limits are inconsistent
+     */
+    public synchronized AdmissionLimitsDTO setLimits(AdmissionLimitsDTO update) {
+        writes.setLimits(update.getMinWriteConcurrency(), update.getMaxWriteConcurrency(),
+                Duration.ofMillis(update.getTargetWriteLatencyMillis()).toNanos());
+        clients.setLimits(update.getRequestsPerSecond(), update.getBurst());
+        limits = new AdmissionLimitsDTO(update.isEnabled(), update.getRequestsPerSecond(), update.getBurst(),
+                update.getMinWriteConcurrency(), update.getMaxWriteConcurrency(),
+                update.getTargetWriteLatencyMillis(), 0, 0, 0);
+        return getLimits();
+    }
+
+    /**
+     * Forgets the clients whose bucket has refilled.
+     */
+    @Scheduled(fixedDelayString = "${app.admission.eviction-interval:PT10S}")
+    public void evictIdleClients() {
+        clients.evictFull(System.nanoTime());
+    }
+}
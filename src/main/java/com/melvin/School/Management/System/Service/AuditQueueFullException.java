@@ -0,0 +1,32 @@
+package com.melvin.School.Management.System.Service;
+
+import java.time.Duration;
+
+/**
+ * Audit Queue Full Exception
+ *
+ * Thrown in durable audit mode when the enrollment audit queue stayed full
+ * for the whole offer timeout. Nothing of the rejected enrollment has been
+ * written; earlier chunks of a bulk enrollment have been, and count as
+ * duplicates when the request is repeated.
+ *
+ * @author Melvin Chibanda
+ * @version 1.0
+ * @since 2024
+ */
+public class AuditQueueFullException extends RuntimeException {
+
+    private final Duration retryAfter;
+
+    public AuditQueueFullException(Duration retryAfter) {
+        super("The enrollment audit queue is full; retry later");
+        this.retryAfter = retryAfter;
+    }
+
+    /**
+     * @return how long the caller should wait before retrying
+     */
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+}
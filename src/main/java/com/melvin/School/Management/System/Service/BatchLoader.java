@@ -0,0 +1,78 @@
+package com.melvin.School.Management.System.Service;
+
+import com.melvin.School.Management.System.Dto.BatchDTO;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Batch Loader
+ *
+ * Resolves a list of IDs to DTOs for the batch get endpoints with IN
+ * queries of at most {@code app.batch-get.chunk-size} IDs each, instead of
+ * one lookup per ID, and puts the results back into request order.
+ *
+ * @author Melvin Chibanda
+ * @version 1.0
+ * @since 2024
+ */
+@Component
+public class BatchLoader {
+
+    private final int maxSize;
+    private final int chunkSize;
+
+    public BatchLoader(@Value("${app.batch-get.max-size:1000}") int maxSize,
+                       @Value("${app.batch-get.chunk-size:500}") int chunkSize) {
+        if (maxSize < 1 || chunkSize < 1) {
+            throw new IllegalArgumentException("Batch get max size and chunk size must be positive");
+        }
+        this.maxSize = maxSize;
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Loads the DTOs with the given IDs. Must be called inside a transaction.
+     *
+     * @param ids the requested IDs, possibly with duplicates
+     * @param loader loads the DTOs of one chunk of distinct IDs, in any order
+     * @param idOf the ID of a DTO
+     * @return the DTOs in request order and the IDs that were not found
+     * @throws IllegalArgumentException if more than the maximum number of distinct IDs are requested
+     */
+    public <D> BatchDTO<D> load(List<Long> ids, Function<Collection<Long>, List<D>> loader, Function<D, Long> idOf) {
+        LinkedHashSet<Long> requested = new LinkedHashSet<>(ids);
+        requested.remove(null);
+        if (requested.size() > maxSize) {
+            throw new IllegalArgumentException("At most " + maxSize + " IDs can be requested at once, got "
+                    + requested.size());
+        }
+
+        List<Long> distinct = new ArrayList<>(requested);
+        Map<Long, D> found = new HashMap<>();
+        for (int from = 0; from < distinct.size(); from += chunkSize) {
+            for (D dto : loader.apply(distinct.subList(from, Math.min(from + chunkSize, distinct.size())))) {
+                found.put(idOf.apply(dto), dto);
+            }
+        }
+
+        List<D> items = new ArrayList<>(found.size());
+        List<Long> missingIds = new ArrayList<>();
+        for (Long id : distinct) {
+            D dto = found.get(id);
+            if (dto != null) {
+                items.add(dto);
+            } else {
+                missingIds.add(id);
+            }
+        }
+        return new BatchDTO<>(items, missingIds);
+    }
+}
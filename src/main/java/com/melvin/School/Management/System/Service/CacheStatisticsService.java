@@ -0,0 +1,25 @@
+package com.melvin.School.Management.System.Service;
+
+import com.melvin.School.Management.System.Dto.CacheStatisticsDTO;
+
+import java.util.List;
+
+/**
+ * Cache Statistics Service Interface
+ * 
+ * Exposes the Hibernate second-level cache counters used to size the
+ * cache regions.
+ * 
+ * @author Melvin Chibanda
+ * @version 1.0
+ * @since 2024
+ */
+public interface CacheStatisticsService {
+
+    /**
+     * Retrieves the second-level cache statistics.
+     * 
+     * @return the totals across all regions first, followed by one entry per region
+     */
+    List<CacheStatisticsDTO> getSecondLevelCacheStatistics();
+}
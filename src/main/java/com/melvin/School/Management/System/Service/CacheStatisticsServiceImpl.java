@@ -0,0 +1,56 @@
+package com.melvin.School.Management.System.Service;
+
+import com.melvin.School.Management.System.Dto.CacheStatisticsDTO;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Cache Statistics Service Implementation
+ * 
+ * Reads the counters from Hibernate's Statistics, which requires
+ * hibernate.generate_statistics to be enabled.
+ * 
+ * @author Melvin Chibanda
+ * @version 1.0
+ * @since 2024
+ */
+@Service
+public class CacheStatisticsServiceImpl implements CacheStatisticsService {
+
+    private final Statistics statistics;
+
+    public CacheStatisticsServiceImpl(EntityManagerFactory entityManagerFactory) {
+        this.statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Override
+    public List<CacheStatisticsDTO> getSecondLevelCacheStatistics() {
+        List<CacheStatisticsDTO> result = new ArrayList<>();
+        result.add(toDTO("all",
+                statistics.getSecondLevelCacheHitCount(),
+                statistics.getSecondLevelCacheMissCount(),
+                statistics.getSecondLevelCachePutCount()));
+
+        Arrays.stream(statistics.getSecondLevelCacheRegionNames()).sorted().forEach(region -> {
+            CacheRegionStatistics regionStatistics = statistics.getDomainDataRegionStatistics(region);
+            result.add(toDTO(region,
+                    regionStatistics.getHitCount(),
+                    regionStatistics.getMissCount(),
+                    regionStatistics.getPutCount()));
+        });
+        return result;
+    }
+
+    private static CacheStatisticsDTO toDTO(String region, long hits, long misses, long puts) {
+        long lookups = hits + misses;
+        double hitRatio = lookups == 0 ? 0.0 : (double) hits / lookups;
+        return new CacheStatisticsDTO(region, hits, misses, puts, hitRatio);
+    }
+}
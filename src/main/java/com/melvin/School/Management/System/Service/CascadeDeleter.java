@@ -0,0 +1,236 @@
+package com.melvin.School.Management.System.Service;
+
+import com.melvin.School.Management.System.Dto.BulkDeleteResultDTO;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Cascade Deleter
+ *
+ * Deletes students, courses and teachers together with everything that
+ * references them, using set-based SQL statements in dependency order
+ * (enrollment records, then student_courses, then courses, then teachers
+ * or students) instead of loading and removing entity by entity. The
+ * number of statements does not grow with the number of enrollments or
+ * courses involved: IDs are processed {@value #CHUNK_SIZE} per statement.
+ *
+ * The enrollment records are locked before anything else is changed, and
+ * their grades are taken out of the grade summaries of the students and
+ * courses that remain. Enrollment counts, seats, timetables, versions,
+ * search index and caches are updated the same way as for single changes.
+ *
+ * Runs in the caller's transaction, so a failing statement undoes the
+ * whole delete.
+ *
+ * @author Melvin Chibanda
+ * @version 1.0
+ * @since 2024
+ */
+@Component
+public class CascadeDeleter {
+
+    static final int CHUNK_SIZE = 1000;
+
+    private static final String STUDENT_ENROLLMENTS =
+            "select course_id from student_courses where student_id in (:ids)";
+    private static final String COURSES_BY_ID = "select c.id, c.teacher_id, sc.student_id from courses c "
+            + "left join student_courses sc on sc.course_id = c.id where c.id in (:ids)";
+    private static final String COURSES_BY_TEACHER = "select c.id, c.teacher_id, sc.student_id from courses c "
+            + "left join student_courses sc on sc.course_id = c.id where c.teacher_id in (:ids)";
+    private static final String LOCK_STUDENT_RECORDS =
+            "select student_id, course_id, score from enrollments where student_id in (:ids) for update";
+    private static final String LOCK_COURSE_RECORDS =
+            "select student_id, course_id, score from enrollments where course_id in (:ids) for update";
+
+    private static final RowMapper<GradeAggregates.Grade> GRADE = (row, rowNum) ->
+            new GradeAggregates.Grade(row.getLong(1), row.getLong(2), row.getBigDecimal(3));
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final GradeAggregates gradeAggregates;
+    private final CourseEnrollmentCounter enrollmentCounter;
+    private final SeatAllocator seatAllocator;
+    private final TimetableIndex timetableIndex;
+    private final VersionBumper versionBumper;
+    private final SearchIndex searchIndex;
+    private final SecondLevelCacheEvictor cacheEvictor;
+    private final DtoCacheInvalidator dtoCacheInvalidator;
+
+    public CascadeDeleter(NamedParameterJdbcTemplate jdbcTemplate, GradeAggregates gradeAggregates,
+                          CourseEnrollmentCounter enrollmentCounter, SeatAllocator seatAllocator,
+                          TimetableIndex timetableIndex, VersionBumper versionBumper, SearchIndex searchIndex,
+                          SecondLevelCacheEvictor cacheEvictor, DtoCacheInvalidator dtoCacheInvalidator) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.gradeAggregates = gradeAggregates;
+        this.enrollmentCounter = enrollmentCounter;
+        this.seatAllocator = seatAllocator;
+        this.timetableIndex = timetableIndex;
+        this.versionBumper = versionBumper;
+        this.searchIndex = searchIndex;
+        this.cacheEvictor = cacheEvictor;
+        this.dtoCacheInvalidator = dtoCacheInvalidator;
+    }
+
+    /**
+     * The courses deleted so far, with their teachers and enrolled students.
+     */
+    private static final class DeletedCourses {
+
+        final Set<Long> courseIds = new TreeSet<>();
+        final Set<Long> teacherIds = new TreeSet<>();
+        final Set<Long> studentIds = new TreeSet<>();
+    }
+
+    /**
+     * Deletes students with their enrollments and enrollment records.
+     * Unknown IDs are ignored.
+     *
+     * @return the number of deleted rows per table
+     */
+    @Transactional
+    public BulkDeleteResultDTO deleteStudents(Collection<Long> studentIds) {
+        BulkDeleteResultDTO result = new BulkDeleteResultDTO();
+        // one entry per removed enrollment
+        List<Long> courseIds = new ArrayList<>();
+        List<Long> deleted = new ArrayList<>();
+        for (List<Long> chunk : chunks(studentIds)) {
+            Map<String, Object> ids = Map.of("ids", chunk);
+            jdbcTemplate.query(STUDENT_ENROLLMENTS, ids, (RowCallbackHandler) row -> courseIds.add(row.getLong(1)));
+            gradeAggregates.studentsRemoved(chunk, jdbcTemplate.query(LOCK_STUDENT_RECORDS, ids, GRADE));
+            result.setEnrollmentRecords(result.getEnrollmentRecords()
+                    + jdbcTemplate.update("delete from enrollments where student_id in (:ids)", ids));
+            result.setEnrollments(result.getEnrollments()
+                    + jdbcTemplate.update("delete from student_courses where student_id in (:ids)", ids));
+            result.setStudents(result.getStudents()
+                    + jdbcTemplate.update("delete from students where id in (:ids)", ids));
+            deleted.addAll(chunk);
+        }
+
+        enrollmentCounter.unenrolled(courseIds);
+        seatAllocator.released(courseIds);
+        versionBumper.bumpCourses(courseIds);
+        for (Long studentId : deleted) {
+            timetableIndex.studentRemoved(studentId);
+            searchIndex.removeStudent(studentId);
+        }
+        cacheEvictor.evictStudents(deleted, courseIds);
+        dtoCacheInvalidator.evictStudents(deleted);
+        dtoCacheInvalidator.evictCourses(courseIds);
+        return result;
+    }
+
+    /**
+     * Deletes courses with their enrollments and enrollment records.
+     * Unknown IDs are ignored.
+     *
+     * @return the number of deleted rows per table
+     */
+    @Transactional
+    public BulkDeleteResultDTO deleteCourses(Collection<Long> courseIds) {
+        BulkDeleteResultDTO result = new BulkDeleteResultDTO();
+        DeletedCourses deleted = new DeletedCourses();
+        for (List<Long> chunk : chunks(courseIds)) {
+            deleteCourses(COURSES_BY_ID, chunk, deleted, result);
+        }
+
+        coursesRemoved(deleted);
+        timetableIndex.removed(deleted.courseIds, deleted.teacherIds, deleted.studentIds);
+        versionBumper.bumpTeachers(deleted.teacherIds.toArray(Long[]::new));
+        cacheEvictor.evictCourses(deleted.courseIds, deleted.teacherIds);
+        dtoCacheInvalidator.evictTeachers(deleted.teacherIds.toArray(Long[]::new));
+        return result;
+    }
+
+    /**
+     * Deletes teachers with their courses, and the enrollments and
+     * enrollment records of those courses. Unknown IDs are ignored.
+     *
+     * @return the number of deleted rows per table
+     */
+    @Transactional
+    public BulkDeleteResultDTO deleteTeachers(Collection<Long> teacherIds) {
+        BulkDeleteResultDTO result = new BulkDeleteResultDTO();
+        DeletedCourses deleted = new DeletedCourses();
+        List<Long> deletedTeachers = new ArrayList<>();
+        for (List<Long> chunk : chunks(teacherIds)) {
+            deleteCourses(COURSES_BY_TEACHER, chunk, deleted, result);
+            result.setTeachers(result.getTeachers()
+                    + jdbcTemplate.update("delete from teachers where id in (:ids)", Map.of("ids", chunk)));
+            deletedTeachers.addAll(chunk);
+        }
+
+        coursesRemoved(deleted);
+        timetableIndex.removed(deleted.courseIds, List.of(), deleted.studentIds);
+        for (Long teacherId : deletedTeachers) {
+            timetableIndex.teacherRemoved(teacherId);
+            searchIndex.removeTeacher(teacherId);
+        }
+        cacheEvictor.evictTeachers(deletedTeachers, deleted.courseIds);
+        dtoCacheInvalidator.evictTeachers(deletedTeachers.toArray(Long[]::new));
+        return result;
+    }
+
+    /**
+     * Deletes the courses the query selects for the given IDs.
+     */
+    private void deleteCourses(String select, List<Long> selectIds, DeletedCourses deleted,
+                               BulkDeleteResultDTO result) {
+        Set<Long> courseIds = new TreeSet<>();
+        jdbcTemplate.query(select, Map.of("ids", selectIds), (RowCallbackHandler) row -> {
+            courseIds.add(row.getLong(1));
+            deleted.teacherIds.add(row.getLong(2));
+            long studentId = row.getLong(3);
+            if (!row.wasNull()) {
+                deleted.studentIds.add(studentId);
+            }
+        });
+        deleted.courseIds.addAll(courseIds);
+        for (List<Long> chunk : chunks(courseIds)) {
+            Map<String, Object> ids = Map.of("ids", chunk);
+            gradeAggregates.coursesRemoved(chunk, jdbcTemplate.query(LOCK_COURSE_RECORDS, ids, GRADE));
+            result.setEnrollmentRecords(result.getEnrollmentRecords()
+                    + jdbcTemplate.update("delete from enrollments where course_id in (:ids)", ids));
+            result.setEnrollments(result.getEnrollments()
+                    + jdbcTemplate.update("delete from student_courses where course_id in (:ids)", ids));
+            result.setCourses(result.getCourses()
+                    + jdbcTemplate.update("delete from courses where id in (:ids)", ids));
+        }
+    }
+
+    /**
+     * Updates what tracks courses and their rosters after courses were deleted.
+     */
+    private void coursesRemoved(DeletedCourses deleted) {
+        enrollmentCounter.removed(deleted.courseIds);
+        seatAllocator.removed(deleted.courseIds);
+        versionBumper.bumpStudents(deleted.studentIds);
+        dtoCacheInvalidator.evictCourses(deleted.courseIds);
+        dtoCacheInvalidator.evictStudents(deleted.studentIds);
+    }
+
+    /**
+     * @return the distinct IDs in ascending order, {@value #CHUNK_SIZE} per chunk
+     */
+    private static List<List<Long>> chunks(Collection<Long> ids) {
+        List<Long> sorted = ids.stream()
+                .filter(Objects::nonNull)
+                .distinct()
+                .sorted()
+                .toList();
+        List<List<Long>> chunks = new ArrayList<>();
+        for (int from = 0; from < sorted.size(); from += CHUNK_SIZE) {
+            chunks.add(sorted.subList(from, Math.min(from + CHUNK_SIZE, sorted.size())));
+        }
+        return chunks;
+    }
+}
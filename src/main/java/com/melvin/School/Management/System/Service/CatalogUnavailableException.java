@@ -0,0 +1,31 @@
+package com.melvin.School.Management.System.Service;
+
+import java.time.Duration;
+
+/**
+ * Catalog Unavailable Exception
+ *
+ * Thrown when the course catalog includes changes the request must see, but
+ * their rebuild did not finish within {@code app.catalog.rebuild-timeout}.
+ * Serving the previous catalog would hide the client's own writes.
+ *
+ * @author Melvin Chibanda
+ * @version 1.0
+ * @since 2024
+ */
+public class CatalogUnavailableException extends RuntimeException {
+
+    private final Duration retryAfter;
+
+    public CatalogUnavailableException(Duration retryAfter) {
+        super("The course catalog is being rebuilt; retry later");
+        this.retryAfter = retryAfter;
+    }
+
+    /**
+     * @return how long the caller should wait before retrying
+     */
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+}
@@ -0,0 +1,409 @@
+package com.melvin.School.Management.System.Service;
+
+import com.melvin.School.Management.System.Configuration.ProtobufDtoHttpMessageConverter;
+import com.melvin.School.Management.System.Dto.CourseDTO;
+import com.melvin.School.Management.System.Dto.CursorPageDTO;
+import com.melvin.School.Management.System.Mapper.CourseMapper;
+import com.melvin.School.Management.System.Repository.CourseRepository;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.GenericHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.DigestUtils;
+import org.springframework.util.MimeTypeUtils;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerAdapter;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Type;
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Course Catalog
+ *
+ * Holds the whole course catalog as finished response bodies, one per
+ * encoding the API speaks, each also gzipped when above the compression
+ * threshold. Serving the catalog is then a lookup of ready bytes: no query,
+ * no mapping, no serialization.
+ *
+ * Every change to a course DTO (course writes, enrollments, deletions of
+ * teachers, students or courses) invalidates the catalog through
+ * {@link DtoCacheInvalidator#evictCourses}. Once the change commits the
+ * catalog is rebuilt on a background thread, if it has been served since it
+ * was last built; one nobody reads is rebuilt by its next reader instead. A
+ * request arriving before the rebuild finished waits for it rather than see
+ * the old catalog, so clients read their own writes; changes made after it
+ * arrived do not extend its wait, and a rebuild that takes longer than
+ * {@code app.catalog.rebuild-timeout} fails the request with 503. Changes made behind the application's
+ * back, or by another instance, are picked up by a periodic refresh every
+ * {@code app.catalog.refresh-interval}.
+ *
+ * @author Melvin Chibanda
+ * @version 1.0
+ * @since 2024
+ */
+@Component
+public class CourseCatalog {
+
+    private static final Type PAGE_TYPE = new ParameterizedTypeReference<CursorPageDTO<CourseDTO>>() {
+    }.getType();
+
+    /**
+     * The encodings of the catalog, in order of preference for Accept: *&#47;*.
+     */
+    public enum Encoding {
+        JSON(MediaType.APPLICATION_JSON),
+        CBOR(MediaType.parseMediaType("application/cbor")),
+        SMILE(MediaType.parseMediaType("application/x-jackson-smile")),
+        PROTOBUF(ProtobufDtoHttpMessageConverter.PROTOBUF);
+
+        private static final Encoding[] ALL = values();
+
+        private final MediaType mediaType;
+        private final String name;
+
+        Encoding(MediaType mediaType) {
+            this.mediaType = mediaType;
+            this.name = mediaType.toString();
+        }
+
+        /**
+         * Picks the encoding for an Accept header. A missing header or one
+         * naming a single media type exactly is matched without parsing.
+         * Otherwise the media ranges are tried by quality and specificity; an
+         * encoding is only taken if its most specific range has a quality
+         * above 0, so {@code application/json;q=0, *&#47;*} never yields JSON.
+         *
+         * @return the encoding, or null if the header accepts none of them
+         */
+        public static Encoding forAccept(String accept) {
+            if (accept == null || accept.isEmpty() || accept.equals("*/*")) {
+                return JSON;
+            }
+            for (Encoding encoding : ALL) {
+                if (accept.equals(encoding.name)) {
+                    return encoding;
+                }
+            }
+            List<MediaType> accepted = MediaType.parseMediaTypes(accept);
+            MimeTypeUtils.sortBySpecificity(accepted);
+            for (MediaType mediaType : accepted) {
+                if (mediaType.getQualityValue() == 0) {
+                    break;
+                }
+                for (Encoding encoding : ALL) {
+                    if (mediaType.includes(encoding.mediaType) && qualityOf(encoding.mediaType, accepted) > 0) {
+                        return encoding;
+                    }
+                }
+            }
+            return null;
+        }
+
+        /**
+         * @return the quality of the most specific range that includes the media type
+         */
+        private static double qualityOf(MediaType mediaType, List<MediaType> accepted) {
+            MediaType closest = null;
+            for (MediaType range : accepted) {
+                if (range.includes(mediaType) && (closest == null || specificity(range) > specificity(closest))) {
+                    closest = range;
+                }
+            }
+            return closest != null ? closest.getQualityValue() : 0;
+        }
+
+        private static int specificity(MediaType range) {
+            return range.isWildcardType() ? 0 : range.isWildcardSubtype() ? 1 : 2;
+        }
+    }
+
+    /**
+     * Whether an Accept-Encoding header allows a gzip-compressed body: gzip
+     * (or x-gzip), or else "*", is listed with a quality above 0.
+     *
+     * @param acceptEncoding the header value, possibly null
+     */
+    public static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        double gzip = -1;
+        double any = -1;
+        for (String element : acceptEncoding.split(",")) {
+            String[] parts = element.split(";");
+            String coding = parts[0].trim().toLowerCase(Locale.ROOT);
+            double quality = 1;
+            for (int i = 1; i < parts.length; i++) {
+                String parameter = parts[i].trim();
+                if (parameter.length() > 2 && (parameter.startsWith("q=") || parameter.startsWith("Q="))) {
+                    try {
+                        quality = Double.parseDouble(parameter.substring(2).trim());
+                    } catch (NumberFormatException e) {
+                        quality = 0;
+                    }
+                }
+            }
+            if (coding.equals("gzip") || coding.equals("x-gzip")) {
+                gzip = Math.max(gzip, quality);
+            } else if (coding.equals("*")) {
+                any = Math.max(any, quality);
+            }
+        }
+        return (gzip >= 0 ? gzip : any) > 0;
+    }
+
+    /**
+     * One finished response body.
+     *
+     * @param contentType     the Content-Type header value
+     * @param contentEncoding "gzip", or null if the body is not compressed
+     * @param etag            the quoted entity tag of the body
+     */
+    public record Representation(String contentType, String contentEncoding, String etag, byte[] body) {
+    }
+
+    /**
+     * The catalog as of one generation of course changes: for every encoding
+     * the plain body and the body to send to gzip-accepting clients.
+     */
+    private record Snapshot(long generation, Representation[] plain, Representation[] gzipped) {
+    }
+
+    private final CourseRepository courseRepository;
+    private final CourseMapper courseMapper;
+    private final TransactionTemplate readOnlyTransaction;
+    private final ObjectProvider<RequestMappingHandlerAdapter> handlerAdapter;
+    private final int compressionThreshold;
+    private final Duration rebuildTimeout;
+    private final ExecutorService builder = Executors.newSingleThreadExecutor(
+            Thread.ofPlatform().name("course-catalog-builder").daemon().factory());
+
+    private final AtomicLong generation = new AtomicLong();
+    private volatile Snapshot snapshot;
+    private volatile boolean served;
+    private CompletableFuture<Snapshot> rebuild;
+
+    public CourseCatalog(CourseRepository courseRepository, CourseMapper courseMapper,
+                         PlatformTransactionManager transactionManager,
+                         ObjectProvider<RequestMappingHandlerAdapter> handlerAdapter,
+                         @Value("${server.compression.min-response-size:2KB}") DataSize compressionThreshold,
+                         @Value("${app.catalog.rebuild-timeout:5s}") Duration rebuildTimeout) {
+        this.courseRepository = courseRepository;
+        this.courseMapper = courseMapper;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.handlerAdapter = handlerAdapter;
+        this.compressionThreshold = (int) compressionThreshold.toBytes();
+        this.rebuildTimeout = rebuildTimeout;
+    }
+
+    /**
+     * Returns the catalog in an encoding. Up to date unless a rebuild failed,
+     * in which case the last catalog built is served.
+     *
+     * @param gzip whether the client accepts a gzip-compressed body
+     * @throws CatalogUnavailableException if the rebuild did not finish in time
+     */
+    public Representation get(Encoding encoding, boolean gzip) {
+        Snapshot current = current();
+        if (!served) {
+            served = true;
+        }
+        return (gzip ? current.gzipped() : current.plain())[encoding.ordinal()];
+    }
+
+    /**
+     * Marks the catalog as changed once the current transaction commits, and
+     * starts rebuilding it.
+     */
+    public void invalidate() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    changed();
+                }
+            });
+        } else {
+            changed();
+        }
+    }
+
+    /**
+     * Refreshes the catalog periodically, for changes made outside this instance.
+     */
+    @Scheduled(fixedDelayString = "${app.catalog.refresh-interval:PT1M}",
+            initialDelayString = "${app.catalog.refresh-interval:PT1M}")
+    public void refresh() {
+        changed();
+    }
+
+    /**
+     * Waits until a running rebuild has finished.
+     */
+    public void flush() {
+        CompletableFuture<Snapshot> pending;
+        synchronized (this) {
+            pending = rebuild;
+        }
+        if (pending != null) {
+            pending.exceptionally(e -> null).join();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        builder.shutdownNow();
+    }
+
+    private void changed() {
+        generation.incrementAndGet();
+        if (served) {
+            served = false;
+            rebuild();
+        }
+    }
+
+    /**
+     * Returns the first snapshot that includes every change committed before
+     * the request arrived. Changes made while waiting do not extend the wait:
+     * under a steady stream of writes the request would never be served.
+     * The whole wait is bounded by the rebuild timeout.
+     */
+    private Snapshot current() {
+        long wanted = generation.get();
+        long deadline = System.nanoTime() + rebuildTimeout.toNanos();
+        while (true) {
+            Snapshot current = snapshot;
+            if (current != null && current.generation() >= wanted) {
+                return current;
+            }
+            try {
+                rebuild().get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+            } catch (TimeoutException e) {
+                throw new CatalogUnavailableException(rebuildTimeout);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new CatalogUnavailableException(rebuildTimeout);
+            } catch (ExecutionException e) {
+                if (current == null) {
+                    throw e.getCause() instanceof RuntimeException cause ? cause
+                            : new IllegalStateException("Building the course catalog failed", e.getCause());
+                }
+                return current;
+            }
+        }
+    }
+
+    /**
+     * Starts a rebuild unless one is running. A rebuild that started before
+     * the latest change is followed by another when a request finds it stale.
+     */
+    private synchronized CompletableFuture<Snapshot> rebuild() {
+        if (rebuild == null || rebuild.isDone()) {
+            rebuild = CompletableFuture.supplyAsync(this::build, builder);
+        }
+        return rebuild;
+    }
+
+    private Snapshot build() {
+        // read the generation first: the courses loaded below include at least its changes
+        long built = generation.get();
+        List<CourseDTO> courses = readOnlyTransaction.execute(status -> courseRepository.findAllWithRelations()
+                .stream()
+                .map(courseMapper::toDTO)
+                .collect(Collectors.toList()));
+        CursorPageDTO<CourseDTO> page = new CursorPageDTO<>(courses, null);
+
+        Representation[] plain = new Representation[Encoding.ALL.length];
+        Representation[] gzipped = new Representation[Encoding.ALL.length];
+        for (Encoding encoding : Encoding.ALL) {
+            byte[] body = encode(page, encoding.mediaType);
+            String etag = DigestUtils.md5DigestAsHex(body);
+            plain[encoding.ordinal()] = new Representation(encoding.name, null, "\"" + etag + "\"", body);
+            gzipped[encoding.ordinal()] = body.length < compressionThreshold ? plain[encoding.ordinal()]
+                    : new Representation(encoding.name, "gzip", "\"" + etag + "-gzip\"", gzip(body));
+        }
+
+        Snapshot rebuilt = new Snapshot(built, plain, gzipped);
+        synchronized (this) {
+            if (snapshot == null || snapshot.generation() < built) {
+                snapshot = rebuilt;
+            }
+        }
+        return rebuilt;
+    }
+
+    /**
+     * Serializes with the message converters of the REST API, so the bytes
+     * are exactly what the converters would write for the same page.
+     */
+    @SuppressWarnings("unchecked")
+    private byte[] encode(CursorPageDTO<CourseDTO> page, MediaType mediaType) {
+        for (HttpMessageConverter<?> converter : handlerAdapter.getObject().getMessageConverters()) {
+            if (converter instanceof GenericHttpMessageConverter<?> generic
+                    && generic.canWrite(PAGE_TYPE, CursorPageDTO.class, mediaType)) {
+                BodyOutput output = new BodyOutput();
+                try {
+                    ((GenericHttpMessageConverter<Object>) generic).write(page, PAGE_TYPE, mediaType, output);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                return output.body.toByteArray();
+            }
+        }
+        throw new IllegalStateException("No message converter for " + mediaType);
+    }
+
+    private static byte[] gzip(byte[] body) {
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream(body.length / 4);
+        try (GZIPOutputStream out = new GZIPOutputStream(compressed)) {
+            out.write(body);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return compressed.toByteArray();
+    }
+
+    private static final class BodyOutput implements HttpOutputMessage {
+
+        private final HttpHeaders headers = new HttpHeaders();
+        private final ByteArrayOutputStream body = new ByteArrayOutputStream();
+
+        @Override
+        public OutputStream getBody() {
+            return body;
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return headers;
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package com.melvin.School.Management.System.Service;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Course Enrollment Counter
+ * 
+ * Keeps course_enrollment_summaries in step with student_courses. Removals
+ * are counted inside the transaction that changes the enrollments, so the
+ * counts commit or roll back together with them; new enrollments are counted
+ * shortly after they commit by the SeatAllocator, which keeps registration
+ * off the summary rows of popular courses.
+ * 
+ * Updates are applied in ascending course ID order, so concurrent
+ * transactions lock summary rows in the same order and cannot deadlock.
+ * 
+ * @author Melvin Chibanda
+ * @version 1.0
+ * @since 2024
+ */
+@Component
+public class CourseEnrollmentCounter {
+
+    private static final String INSERT =
+            "insert into course_enrollment_summaries (course_id, student_count) values (?, ?)";
+    private static final String ADD =
+            "update course_enrollment_summaries set student_count = student_count + ? where course_id = ?";
+    private static final String INSERT_IF_COURSE_EXISTS =
+            "insert into course_enrollment_summaries (course_id, student_count) select id, ? from courses where id = ?";
+    private static final String DELETE =
+            "delete from course_enrollment_summaries where course_id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public CourseEnrollmentCounter(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Creates the zero summary of a new course.
+     */
+    public void initialize(Long courseId) {
+        jdbcTemplate.update(INSERT, courseId, 0L);
+    }
+
+    /**
+     * Adds enrollment count changes to the summaries, in ascending course ID
+     * order. Changes of courses deleted meanwhile are dropped.
+     * 
+     * @param deltas the change of the enrollment count per course ID
+     */
+    public void add(Map<Long, Long> deltas) {
+        List<Object[]> updates = new TreeMap<>(deltas).entrySet().stream()
+                .map(entry -> new Object[]{entry.getValue(), entry.getKey()})
+                .collect(Collectors.toList());
+        int[] updated = jdbcTemplate.batchUpdate(ADD, updates);
+
+        // Courses created outside the service layer have no summary row yet.
+        List<Object[]> inserts = new ArrayList<>();
+        for (int i = 0; i < updated.length; i++) {
+            if (updated[i] == 0) {
+                inserts.add(updates.get(i));
+            }
+        }
+        jdbcTemplate.batchUpdate(INSERT_IF_COURSE_EXISTS, inserts);
+    }
+
+    /**
+     * Counts removed enrollments.
+     * 
+     * @param courseIds the course of every removed enrollment, one entry per enrollment
+     */
+    public void unenrolled(Collection<Long> courseIds) {
+        jdbcTemplate.batchUpdate(ADD, countByCourse(courseIds).entrySet().stream()
+                .map(entry -> new Object[]{-entry.getValue(), entry.getKey()})
+                .collect(Collectors.toList()));
+    }
+
+    /**
+     * Drops the summaries of deleted courses.
+     */
+    public void removed(Collection<Long> courseIds) {
+        jdbcTemplate.batchUpdate(DELETE, courseIds.stream().sorted()
+                .map(id -> new Object[]{id})
+                .collect(Collectors.toList()));
+    }
+
+    /**
+     * Recounts every course from student_courses, replacing all summaries.
+     * Repairs the counts after enrollments were changed outside the service layer.
+     */
+    public void rebuild() {
+        jdbcTemplate.update("delete from course_enrollment_summaries");
+        jdbcTemplate.update("insert into course_enrollment_summaries (course_id, student_count) "
+                + "select c.id, count(sc.student_id) from courses c "
+                + "left join student_courses sc on sc.course_id = c.id group by c.id");
+    }
+
+    private static Map<Long, Long> countByCourse(Collection<Long> courseIds) {
+        return courseIds.stream()
+                .collect(Collectors.groupingBy(Function.identity(), TreeMap::new, Collectors.counting()));
+    }
+}
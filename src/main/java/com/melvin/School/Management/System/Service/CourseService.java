@@ -1,8 +1,16 @@
 package com.melvin.School.Management.System.Service;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.melvin.School.Management.System.Dto.BatchDTO;
+import com.melvin.School.Management.System.Dto.BulkDeleteResultDTO;
+import com.melvin.School.Management.System.Dto.CursorPageDTO;
+import com.melvin.School.Management.System.Dto.EntityVersionDTO;
 import com.melvin.School.Management.System.Dto.CourseDTO;
+import com.melvin.School.Management.System.Dto.CourseSummaryDTO;
+import com.melvin.School.Management.System.Dto.ScheduleConflictDTO;
 
 import java.util.List;
+import java.util.Set;
 
 /**
  * Course Service Interface
@@ -44,6 +52,29 @@ public interface CourseService {
      * @throws RuntimeException if course with given ID doesn't exist
      */
     CourseDTO getCourseById(Long id);
+
+    /**
+     * Retrieves the requested properties of a course, loading only those.
+     * 
+     * @param id the unique identifier of the course
+     * @param fields the comma-separated properties to load, null or blank for all (loaded
+     *               without the DTO cache; use {@link #getCourseById(Long)} for those)
+     * @return the course data with the other properties null
+     * @throws IllegalArgumentException if a property is unknown
+     * @throws RuntimeException if course with given ID doesn't exist
+     */
+    CourseDTO getCourseById(Long id, String fields);
+
+    /**
+     * Retrieves the version of a course, from which the ETag of its resource is derived.
+     * Served from the second-level cache, without loading its relations or mapping its DTO.
+     * Cached next to the DTO cache and evicted with it, so a hit needs no transaction.
+     * 
+     * @param id the unique identifier of the course
+     * @return the version and last modification time
+     * @throws RuntimeException if course with given ID doesn't exist
+     */
+    EntityVersionDTO getCourseVersion(Long id);
     
     /**
      * Retrieves all courses in the system.
@@ -51,9 +82,81 @@ public interface CourseService {
      * @return list of all courses, empty list if no courses exist
      */
     List<CourseDTO> getAllCourses();
+
+    /**
+     * Retrieves the enrollment count of every course.
+     * Reads maintained counts, so the cost does not grow with the number of enrollments.
+     * 
+     * @return one summary per course, ordered by ID
+     */
+    List<CourseSummaryDTO> getCourseSummaries();
+
+    /**
+     * Recounts the enrollments of every course, replacing the maintained counts,
+     * and reloads the seat counters from them.
+     * Only needed after enrollments were changed outside the application.
+     *
+     * @throws EnrollmentsInProgressException if enrollments holding seat reservations are in progress
+     */
+    void rebuildCourseSummaries();
+
+    /**
+     * Finds every pair of courses of the same student or teacher that meet
+     * at overlapping times, e.g. created before meeting times were checked.
+     * Students and teachers are checked in parallel.
+     * 
+     * @return the conflicts ordered by student or teacher and course
+     */
+    List<ScheduleConflictDTO> getScheduleConflicts();
+
+    /**
+     * Retrieves one page of courses using keyset pagination on the ID.
+     * 
+     * @param cursor the cursor returned with the previous page, null for the first page
+     * @param size the requested page size, clamped to the allowed maximum
+     * @return the page of courses and the cursor for the next page
+     * @throws IllegalArgumentException if the cursor is malformed
+     */
+    CursorPageDTO<CourseDTO> getCoursesPage(String cursor, int size);
+
+    /**
+     * Retrieves one page of courses with the requested properties only; see
+     * {@link #getCourseById(Long, String)}.
+     * 
+     * @param cursor the cursor returned with the previous page, null for the first page
+     * @param size the requested page size, clamped to the allowed maximum
+     * @param fields the comma-separated properties to load, null for all
+     * @return the page of courses and the cursor for the next page
+     * @throws IllegalArgumentException if the cursor is malformed or a property is unknown
+     */
+    CursorPageDTO<CourseDTO> getCoursesPage(String cursor, int size, String fields);
+
+    /**
+     * Retrieves the courses with the given IDs, in batches of IN queries
+     * rather than one query per ID.
+     * 
+     * @param ids the IDs of the courses
+     * @param fields the comma-separated properties to load, null for all
+     * @return the courses in request order and the IDs that do not exist
+     * @throws IllegalArgumentException if too many IDs are requested or a property is unknown
+     */
+    BatchDTO<CourseDTO> getCoursesByIds(List<Long> ids, String fields);
+
+    /**
+     * Computes the ETag of the page {@link #getCoursesPage} would return, from
+     * the IDs and versions of its courses only.
+     * 
+     * @param cursor the cursor returned with the previous page, null for the first page
+     * @param size the requested page size, clamped to the allowed maximum
+     * @return the quoted ETag of the page
+     * @throws IllegalArgumentException if the cursor is malformed
+     */
+    String getCoursesPageETag(String cursor, int size);
     
     /**
      * Updates an existing course's information.
+     * If another transaction changes the course concurrently, the update is
+     * rerun on the fresh state, up to the configured number of attempts.
      * 
      * @param id the unique identifier of the course to update
      * @param courseDTO the updated course data
@@ -64,10 +167,70 @@ public interface CourseService {
     CourseDTO updateCourse(Long id, CourseDTO courseDTO);
     
     /**
-     * Deletes a course from the system.
+     * Updates an existing course only if it is still at one of the expected versions,
+     * i.e. nobody changed it since the caller read it. The update is not
+     * retried on conflict, since a rerun would overwrite the other change.
+     * 
+     * @param id the unique identifier of the course to update
+     * @param courseDTO the updated course data
+     * @param expectedVersions the versions the caller accepts, any of which may match;
+     *                         null for no precondition
+     * @return the updated course information
+     * @throws StaleVersionException if the course is at none of the expected versions
+     * @throws org.springframework.dao.OptimisticLockingFailureException if another
+     *         transaction changed the course while this one ran
+     * @throws RuntimeException if course with given ID doesn't exist
+     * @throws IllegalArgumentException if courseDTO is null or invalid
+     */
+    CourseDTO updateCourse(Long id, CourseDTO courseDTO, Set<Long> expectedVersions);
+    
+    /**
+     * Applies a JSON Merge Patch to an existing course: only name, description, capacity, meetings and teacherId
+     * may be patched, and only the columns that actually change are written.
+     * A patch that changes nothing does not write at all. The course's
+     * relations are not loaded, and the patch is reapplied to the fresh
+     * state if another transaction changes the course concurrently.
+     * Enrolled students are only loaded when the meetings change.
+     * 
+     * @param id the unique identifier of the course to patch
+     * @param patch the merge patch, a JSON object
+     * @return the version of the course after the patch
+     * @throws RuntimeException if course with given ID doesn't exist
+     * @throws IllegalArgumentException if the patch is malformed or leaves the course invalid
+     */
+    EntityVersionDTO patchCourse(Long id, JsonNode patch);
+    
+    /**
+     * Applies a JSON Merge Patch to an existing course only if it is still at
+     * one of the expected versions, without retrying.
+     * 
+     * @param id the unique identifier of the course to patch
+     * @param patch the merge patch, a JSON object
+     * @param expectedVersions the versions the caller accepts, any of which may match
+     * @return the version of the course after the patch
+     * @throws StaleVersionException if the course is at none of the expected versions
+     * @throws RuntimeException if course with given ID doesn't exist
+     * @throws IllegalArgumentException if the patch is malformed or leaves the course invalid
+     */
+    EntityVersionDTO patchCourse(Long id, JsonNode patch, Set<Long> expectedVersions);
+    
+    /**
+     * Deletes a course from the system, together with its enrollments and
+     * enrollment records.
      * 
      * @param id the unique identifier of the course to delete
      * @throws RuntimeException if course with given ID doesn't exist
      */
     void deleteCourse(Long id);
+
+    /**
+     * Deletes courses in bulk, selected either by ID or by teacher,
+     * together with their enrollments and enrollment records.
+     * 
+     * @param ids the IDs of the courses to delete, unknown IDs are ignored
+     * @param teacherId the teacher whose courses to delete
+     * @return the number of deleted rows per table
+     * @throws IllegalArgumentException unless exactly one of ids and teacherId is given
+     */
+    BulkDeleteResultDTO deleteCourses(List<Long> ids, Long teacherId);
 }
\ No newline at end of file
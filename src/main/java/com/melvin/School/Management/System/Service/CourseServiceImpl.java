@@ -1,13 +1,43 @@
 package com.melvin.School.Management.System.Service;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.melvin.School.Management.System.Configuration.CacheConfig;
+import com.melvin.School.Management.System.Configuration.MetricsConfig;
+import com.melvin.School.Management.System.Dto.BatchDTO;
+import com.melvin.School.Management.System.Dto.BulkDeleteResultDTO;
+import com.melvin.School.Management.System.Dto.CursorPageDTO;
+import com.melvin.School.Management.System.Dto.EntityVersionDTO;
 import com.melvin.School.Management.System.Dto.CourseDTO;
+import com.melvin.School.Management.System.Dto.CourseSummaryDTO;
+import com.melvin.School.Management.System.Dto.ScheduleConflictDTO;
 import com.melvin.School.Management.System.Mapper.CourseMapper;
 import com.melvin.School.Management.System.Model.Course;
+import com.melvin.School.Management.System.Model.MeetingSlot;
+import com.melvin.School.Management.System.Model.Student;
+import com.melvin.School.Management.System.Model.Teacher;
+import com.melvin.School.Management.System.Repository.CourseEnrollmentSummaryRepository;
 import com.melvin.School.Management.System.Repository.CourseRepository;
+import com.melvin.School.Management.System.Repository.TeacherRepository;
+import com.melvin.School.Management.System.Utility.EntityTags;
+import com.melvin.School.Management.System.Utility.KeysetCursor;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.CachePut;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Course Service Implementation
@@ -17,28 +47,80 @@ import java.util.stream.Collectors;
  * @since 2024
  */
 @Service
+@Timed(MetricsConfig.SERVICE_TIMER)
 public class CourseServiceImpl implements CourseService {
 
+    private static final Set<String> PATCHABLE_FIELDS =
+            Set.of("name", "description", "capacity", "meetings", "teacherId");
+
     private final CourseRepository courseRepository;
+    private final TeacherRepository teacherRepository;
     private final CourseMapper courseMapper;
+    private final SecondLevelCacheEvictor cacheEvictor;
+    private final DtoCacheInvalidator dtoCacheInvalidator;
+    private final CourseEnrollmentCounter enrollmentCounter;
+    private final CourseEnrollmentSummaryRepository summaryRepository;
+    private final VersionBumper versionBumper;
+    private final OptimisticRetry optimisticRetry;
+    private final SeatAllocator seatAllocator;
+    private final TimetableIndex timetableIndex;
+    private final CascadeDeleter cascadeDeleter;
+    private final MergePatcher mergePatcher;
+    private final CourseCatalog courseCatalog;
+    private final SparseFieldLoader sparseFieldLoader;
+    private final BatchLoader batchLoader;
 
-    public CourseServiceImpl(CourseRepository courseRepository, CourseMapper courseMapper) {
+    public CourseServiceImpl(CourseRepository courseRepository, TeacherRepository teacherRepository,
+                             CourseMapper courseMapper, SecondLevelCacheEvictor cacheEvictor,
+                             DtoCacheInvalidator dtoCacheInvalidator, CourseEnrollmentCounter enrollmentCounter,
+                             CourseEnrollmentSummaryRepository summaryRepository, VersionBumper versionBumper,
+                             OptimisticRetry optimisticRetry, SeatAllocator seatAllocator,
+                             TimetableIndex timetableIndex, CascadeDeleter cascadeDeleter,
+                             MergePatcher mergePatcher, CourseCatalog courseCatalog,
+                             SparseFieldLoader sparseFieldLoader, BatchLoader batchLoader) {
         this.courseRepository = courseRepository;
+        this.teacherRepository = teacherRepository;
         this.courseMapper = courseMapper;
+        this.cacheEvictor = cacheEvictor;
+        this.dtoCacheInvalidator = dtoCacheInvalidator;
+        this.enrollmentCounter = enrollmentCounter;
+        this.summaryRepository = summaryRepository;
+        this.versionBumper = versionBumper;
+        this.optimisticRetry = optimisticRetry;
+        this.seatAllocator = seatAllocator;
+        this.timetableIndex = timetableIndex;
+        this.cascadeDeleter = cascadeDeleter;
+        this.mergePatcher = mergePatcher;
+        this.courseCatalog = courseCatalog;
+        this.sparseFieldLoader = sparseFieldLoader;
+        this.batchLoader = batchLoader;
     }
 
     @Override
+    @Transactional
     public CourseDTO createCourse(CourseDTO courseDTO) {
         if (courseDTO == null) {
             throw new IllegalArgumentException("CourseDTO cannot be null");
         }
         
         Course course = courseMapper.toEntity(courseDTO);
+        course.setMeetings(meetingsOf(courseDTO));
+        if (courseDTO.getTeacherId() != null) {
+            course.setTeacher(findTeacher(courseDTO.getTeacherId()));
+        }
         Course savedCourse = courseRepository.save(course);
+        bookTeacher(teacherIdOf(savedCourse), savedCourse);
+        enrollmentCounter.initialize(savedCourse.getId());
+        versionBumper.bumpTeachers(teacherIdOf(savedCourse));
+        cacheEvictor.evictCourse(savedCourse.getId(), teacherIdOf(savedCourse));
+        dtoCacheInvalidator.evictTeachers(teacherIdOf(savedCourse));
+        courseCatalog.invalidate();
         return courseMapper.toDTO(savedCourse);
     }
 
     @Override
+    @Cacheable(cacheNames = CacheConfig.COURSE_DTOS, key = "#id")
+    @Transactional(readOnly = true)
     public CourseDTO getCourseById(Long id) {
         Course course = courseRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Course not found with id: " + id));
@@ -46,34 +128,341 @@ public class CourseServiceImpl implements CourseService {
     }
 
     @Override
+    @Transactional(readOnly = true)
+    public CourseDTO getCourseById(Long id, String fields) {
+        Set<String> selected = sparseFieldLoader.courses().parse(fields);
+        if (selected == null) {
+            // not through getCourseById(id): a self-call would bypass the DTO cache without saying so
+            return courseMapper.toDTO(courseRepository.findById(id)
+                    .orElseThrow(() -> new RuntimeException("Course not found with id: " + id)));
+        }
+        return sparseFieldLoader.courses().load(selected, List.of(id)).stream()
+                .findFirst()
+                .orElseThrow(() -> new RuntimeException("Course not found with id: " + id));
+    }
+
+    @Override
+    @Cacheable(cacheNames = CacheConfig.COURSE_VERSIONS, key = "#id")
+    @Transactional(readOnly = true)
+    public EntityVersionDTO getCourseVersion(Long id) {
+        Course course = courseRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("Course not found with id: " + id));
+        return new EntityVersionDTO(course.getVersion(), course.getUpdatedAt());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
     public List<CourseDTO> getAllCourses() {
-        List<Course> courses = courseRepository.findAll();
+        List<Course> courses = courseRepository.findAllWithRelations();
         return courses.stream()
                 .map(courseMapper::toDTO)
                 .collect(Collectors.toList());
     }
 
     @Override
+    @Transactional(readOnly = true)
+    public CursorPageDTO<CourseDTO> getCoursesPage(String cursor, int size) {
+        return getCoursesPage(cursor, size, null);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageDTO<CourseDTO> getCoursesPage(String cursor, int size, String fields) {
+        Set<String> selected = sparseFieldLoader.courses().parse(fields);
+        int pageSize = KeysetCursor.clampSize(size);
+        List<Long> ids = courseRepository.findIdsAfter(KeysetCursor.decode(cursor), Limit.of(pageSize + 1));
+        if (ids.isEmpty()) {
+            return new CursorPageDTO<>(List.of(), null);
+        }
+
+        String nextCursor = null;
+        if (ids.size() > pageSize) {
+            ids = ids.subList(0, pageSize);
+            nextCursor = KeysetCursor.encode(ids.get(pageSize - 1));
+        }
+
+        List<CourseDTO> items = selected != null
+                ? sparseFieldLoader.courses().load(selected, ids)
+                : courseRepository.findByIdInOrderByIdAsc(ids).stream()
+                        .map(courseMapper::toDTO)
+                        .collect(Collectors.toList());
+        return new CursorPageDTO<>(items, nextCursor);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public BatchDTO<CourseDTO> getCoursesByIds(List<Long> ids, String fields) {
+        Set<String> selected = sparseFieldLoader.courses().parse(fields);
+        return batchLoader.load(ids, chunk -> selected != null
+                ? sparseFieldLoader.courses().load(selected, chunk)
+                : courseRepository.findByIdInOrderByIdAsc(chunk).stream()
+                        .map(courseMapper::toDTO)
+                        .collect(Collectors.toList()), CourseDTO::getId);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public String getCoursesPageETag(String cursor, int size) {
+        int pageSize = KeysetCursor.clampSize(size);
+        List<Object[]> idVersions = courseRepository.findIdVersionsAfter(KeysetCursor.decode(cursor),
+                Limit.of(pageSize + 1));
+        return EntityTags.ofPage(idVersions, pageSize);
+    }
+
+    @Override
+    @Caching(put = @CachePut(cacheNames = CacheConfig.COURSE_DTOS, key = "#id"),
+            evict = @CacheEvict(cacheNames = CacheConfig.COURSE_VERSIONS, key = "#id"))
     public CourseDTO updateCourse(Long id, CourseDTO courseDTO) {
+        return optimisticRetry.execute(() -> applyUpdate(id, courseDTO, null));
+    }
+
+    @Override
+    @Caching(put = @CachePut(cacheNames = CacheConfig.COURSE_DTOS, key = "#id"),
+            evict = @CacheEvict(cacheNames = CacheConfig.COURSE_VERSIONS, key = "#id"))
+    public CourseDTO updateCourse(Long id, CourseDTO courseDTO, Set<Long> expectedVersions) {
+        return optimisticRetry.executeOnce(() -> applyUpdate(id, courseDTO, expectedVersions));
+    }
+
+    private CourseDTO applyUpdate(Long id, CourseDTO courseDTO, Set<Long> expectedVersions) {
         if (courseDTO == null) {
             throw new IllegalArgumentException("CourseDTO cannot be null");
         }
         
+        Course existingCourse = courseRepository.findWithRelationsById(id)
+                .orElseThrow(() -> new RuntimeException("Course not found with id: " + id));
+        if (expectedVersions != null && !expectedVersions.contains(existingCourse.getVersion())) {
+            throw new StaleVersionException("Course", id, expectedVersions, existingCourse.getVersion());
+        }
+        return courseMapper.toDTO(applyChanges(existingCourse, courseDTO));
+    }
+
+    @Override
+    public EntityVersionDTO patchCourse(Long id, JsonNode patch) {
+        return optimisticRetry.execute(() -> applyPatch(id, patch, null));
+    }
+
+    @Override
+    public EntityVersionDTO patchCourse(Long id, JsonNode patch, Set<Long> expectedVersions) {
+        return optimisticRetry.executeOnce(() -> applyPatch(id, patch, expectedVersions));
+    }
+
+    private EntityVersionDTO applyPatch(Long id, JsonNode patch, Set<Long> expectedVersions) {
+        // findById leaves teacher and students unloaded; applyChanges only loads the students for new meetings
         Course existingCourse = courseRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Course not found with id: " + id));
-        
+        if (expectedVersions != null && !expectedVersions.contains(existingCourse.getVersion())) {
+            throw new StaleVersionException("Course", id, expectedVersions, existingCourse.getVersion());
+        }
+
+        CourseDTO patched = mergePatcher.apply(patchableFieldsOf(existingCourse), patch, PATCHABLE_FIELDS);
+        if (patched.equals(patchableFieldsOf(existingCourse))) {
+            return new EntityVersionDTO(existingCourse.getVersion(), existingCourse.getUpdatedAt());
+        }
+        if (patched.getTeacherId() == null) {
+            throw new IllegalArgumentException("A course must have a teacher");
+        }
+
+        Course updatedCourse = applyChanges(existingCourse, patched);
+        dtoCacheInvalidator.evictCourses(List.of(id));
+        return new EntityVersionDTO(updatedCourse.getVersion(), updatedCourse.getUpdatedAt());
+    }
+
+    private CourseDTO patchableFieldsOf(Course course) {
+        CourseDTO fields = new CourseDTO();
+        fields.setName(course.getName());
+        fields.setDescription(course.getDescription());
+        fields.setCapacity(course.getCapacity());
+        fields.setMeetings(courseMapper.toMeetingSlotDTOs(course.getMeetings()));
+        fields.setTeacherId(teacherIdOf(course));
+        return fields;
+    }
+
+    /**
+     * Applies the fields of a course request to a loaded course, books changed
+     * meetings and teacher in the timetable, and flushes the update. A null
+     * teacherId keeps the current teacher. The enrolled students are only
+     * loaded when the meetings change.
+     * 
+     * @return the flushed course
+     */
+    private Course applyChanges(Course existingCourse, CourseDTO courseDTO) {
+        Long id = existingCourse.getId();
+        Long previousTeacherId = teacherIdOf(existingCourse);
+        List<MeetingSlot> meetings = meetingsOf(courseDTO);
+        boolean meetingsChanged = !meetings.equals(existingCourse.getMeetings());
         existingCourse.setName(courseDTO.getName());
         existingCourse.setDescription(courseDTO.getDescription());
+        existingCourse.setCapacity(courseDTO.getCapacity());
+        if (meetingsChanged) {
+            existingCourse.setMeetings(meetings);
+        }
+        if (courseDTO.getTeacherId() != null && !courseDTO.getTeacherId().equals(previousTeacherId)) {
+            existingCourse.setTeacher(findTeacher(courseDTO.getTeacherId()));
+        }
+        Long teacherId = teacherIdOf(existingCourse);
+        if (meetingsChanged || !Objects.equals(previousTeacherId, teacherId)) {
+            bookTeacher(teacherId, existingCourse);
+        }
+        if (meetingsChanged) {
+            for (Student student : existingCourse.getStudents()) {
+                Long conflict = timetableIndex.tryBookStudent(student.getId(), id, meetings);
+                if (conflict != null) {
+                    throw new ScheduleConflictException("Student", student.getId(), conflict);
+                }
+            }
+        }
         
-        Course updatedCourse = courseRepository.save(existingCourse);
-        return courseMapper.toDTO(updatedCourse);
+        // flush now so a version conflict surfaces here and the DTO carries the new version
+        Course updatedCourse = courseRepository.saveAndFlush(existingCourse);
+        seatAllocator.capacityChanged(id, updatedCourse.getCapacity());
+        cacheEvictor.evictCourse(id, previousTeacherId, teacherId);
+        courseCatalog.invalidate();
+        if (!Objects.equals(previousTeacherId, teacherId)) {
+            timetableIndex.removed(List.of(id), teacherIds(previousTeacherId), List.of());
+            versionBumper.bumpTeachers(previousTeacherId, teacherId);
+            dtoCacheInvalidator.evictTeachers(previousTeacherId, teacherId);
+        }
+        return updatedCourse;
     }
 
     @Override
+    @CacheEvict(cacheNames = {CacheConfig.COURSE_DTOS, CacheConfig.COURSE_VERSIONS}, key = "#id")
+    @Transactional
     public void deleteCourse(Long id) {
-        if (!courseRepository.existsById(id)) {
+        if (cascadeDeleter.deleteCourses(List.of(id)).getCourses() == 0) {
             throw new RuntimeException("Course not found with id: " + id);
         }
-        courseRepository.deleteById(id);
+    }
+
+    @Override
+    @Transactional
+    public BulkDeleteResultDTO deleteCourses(List<Long> ids, Long teacherId) {
+        if ((ids == null || ids.isEmpty()) == (teacherId == null)) {
+            throw new IllegalArgumentException("Specify either ids or teacherId");
+        }
+        List<Long> courseIds = ids != null && !ids.isEmpty() ? ids : courseRepository.findIdsByTeacherId(teacherId);
+        return cascadeDeleter.deleteCourses(courseIds);
+    }
+
+    @Override
+    public List<CourseSummaryDTO> getCourseSummaries() {
+        // not transactional: the pending counts are written before the read takes a connection
+        seatAllocator.flush();
+        return summaryRepository.findCourseSummaries();
+    }
+
+    @Override
+    public void rebuildCourseSummaries() {
+        seatAllocator.reconcile();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    @SuppressWarnings("unchecked")
+    public List<ScheduleConflictDTO> getScheduleConflicts() {
+        Map<Long, List<MeetingSlot>> meetings = new HashMap<>();
+        Map<Long, List<Long>> coursesOfTeacher = new HashMap<>();
+        for (Object[] row : courseRepository.findTimetable()) {
+            meetings.put((Long) row[0], (List<MeetingSlot>) row[2]);
+            coursesOfTeacher.computeIfAbsent((Long) row[1], teacherId -> new ArrayList<>()).add((Long) row[0]);
+        }
+        Map<Long, List<Long>> coursesOfStudent = new HashMap<>();
+        for (Object[] row : courseRepository.findTimetabledEnrollments()) {
+            coursesOfStudent.computeIfAbsent((Long) row[0], studentId -> new ArrayList<>()).add((Long) row[1]);
+        }
+
+        return Stream.concat(
+                        coursesOfTeacher.entrySet().parallelStream()
+                                .flatMap(owner -> conflictsOf("TEACHER", owner.getKey(), owner.getValue(), meetings)),
+                        coursesOfStudent.entrySet().parallelStream()
+                                .flatMap(owner -> conflictsOf("STUDENT", owner.getKey(), owner.getValue(), meetings)))
+                .sorted(Comparator.comparing(ScheduleConflictDTO::getOwnerType)
+                        .thenComparing(ScheduleConflictDTO::getOwnerId)
+                        .thenComparing(ScheduleConflictDTO::getCourseId)
+                        .thenComparing(ScheduleConflictDTO::getConflictingCourseId)
+                        .thenComparing(ScheduleConflictDTO::getDay)
+                        .thenComparing(ScheduleConflictDTO::getStart))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Sweeps the meetings of one student's or teacher's courses in start
+     * order; each meeting is only compared with those starting before it ends.
+     */
+    private static Stream<ScheduleConflictDTO> conflictsOf(String ownerType, Long ownerId, List<Long> courseIds,
+                                                           Map<Long, List<MeetingSlot>> meetings) {
+        record Booked(Long courseId, MeetingSlot slot) {
+        }
+        List<Booked> booked = new ArrayList<>();
+        for (Long courseId : courseIds) {
+            meetings.get(courseId).forEach(slot -> booked.add(new Booked(courseId, slot)));
+        }
+        booked.sort(Comparator.comparingInt(entry -> entry.slot().startMinute()));
+
+        List<ScheduleConflictDTO> conflicts = new ArrayList<>();
+        for (int i = 0; i < booked.size(); i++) {
+            Booked first = booked.get(i);
+            for (int j = i + 1; j < booked.size()
+                    && booked.get(j).slot().startMinute() < first.slot().endMinute(); j++) {
+                Booked second = booked.get(j);
+                if (!first.courseId().equals(second.courseId())) {
+                    conflicts.add(new ScheduleConflictDTO(ownerType, ownerId,
+                            Math.min(first.courseId(), second.courseId()),
+                            Math.max(first.courseId(), second.courseId()),
+                            second.slot().day(), second.slot().start(),
+                            first.slot().end().isBefore(second.slot().end()) ? first.slot().end() : second.slot().end()));
+                }
+            }
+        }
+        return conflicts.stream();
+    }
+
+    /**
+     * Converts and validates the meetings of a course request: every meeting
+     * ends after it starts, and no two overlap.
+     */
+    private List<MeetingSlot> meetingsOf(CourseDTO courseDTO) {
+        if (courseDTO.getMeetings() == null) {
+            return new ArrayList<>();
+        }
+        List<MeetingSlot> meetings = courseMapper.toMeetingSlots(courseDTO.getMeetings());
+        for (int i = 0; i < meetings.size(); i++) {
+            MeetingSlot meeting = meetings.get(i);
+            if (meeting == null || meeting.day() == null || meeting.start() == null || meeting.end() == null) {
+                throw new IllegalArgumentException("Meeting day, start and end are mandatory");
+            }
+            if (!meeting.end().isAfter(meeting.start())) {
+                throw new IllegalArgumentException("Meeting on " + meeting.day() + " must end after it starts");
+            }
+            for (int j = 0; j < i; j++) {
+                if (meeting.overlaps(meetings.get(j))) {
+                    throw new IllegalArgumentException("Meetings of a course must not overlap");
+                }
+            }
+        }
+        return meetings;
+    }
+
+    private void bookTeacher(Long teacherId, Course course) {
+        if (teacherId == null) {
+            return;
+        }
+        Long conflict = timetableIndex.tryBookTeacher(teacherId, course.getId(), course.getMeetings());
+        if (conflict != null) {
+            throw new ScheduleConflictException("Teacher", teacherId, conflict);
+        }
+    }
+
+    private static List<Long> teacherIds(Long teacherId) {
+        return teacherId != null ? List.of(teacherId) : List.of();
+    }
+
+    private Teacher findTeacher(Long teacherId) {
+        return teacherRepository.findById(teacherId)
+                .orElseThrow(() -> new RuntimeException("Teacher not found with id: " + teacherId));
+    }
+
+    private static Long teacherIdOf(Course course) {
+        return course.getTeacher() != null ? course.getTeacher().getId() : null;
     }
 }
\ No newline at end of file
@@ -0,0 +1,82 @@
+package com.melvin.School.Management.System.Service;
+
+import com.melvin.School.Management.System.Configuration.CacheConfig;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Objects;
+
+/**
+ * DTO Cache Invalidator
+ * 
+ * Evicts cached DTOs of entities affected by a write to another entity,
+ * for example a teacher's courseIds when one of its courses is deleted.
+ * Evictions of the written entity itself are declared on the service
+ * methods with @CachePut / @CacheEvict.
+ * 
+ * The cached versions of the same entities are evicted with their DTOs.
+ * Evictions requested inside a transaction are applied after it commits.
+ * Evicting courses also invalidates the pre-serialized {@link CourseCatalog}.
+ * 
+ * @author Melvin Chibanda
+ * @version 1.0
+ * @since 2024
+ */
+@Component
+public class DtoCacheInvalidator {
+
+    private final Cache studentDtos;
+    private final Cache courseDtos;
+    private final Cache teacherDtos;
+    private final Cache studentVersions;
+    private final Cache courseVersions;
+    private final Cache teacherVersions;
+    private final CourseCatalog courseCatalog;
+
+    public DtoCacheInvalidator(CacheManager cacheManager, CourseCatalog courseCatalog) {
+        this.studentDtos = Objects.requireNonNull(cacheManager.getCache(CacheConfig.STUDENT_DTOS));
+        this.courseDtos = Objects.requireNonNull(cacheManager.getCache(CacheConfig.COURSE_DTOS));
+        this.teacherDtos = Objects.requireNonNull(cacheManager.getCache(CacheConfig.TEACHER_DTOS));
+        this.studentVersions = Objects.requireNonNull(cacheManager.getCache(CacheConfig.STUDENT_VERSIONS));
+        this.courseVersions = Objects.requireNonNull(cacheManager.getCache(CacheConfig.COURSE_VERSIONS));
+        this.teacherVersions = Objects.requireNonNull(cacheManager.getCache(CacheConfig.TEACHER_VERSIONS));
+        this.courseCatalog = courseCatalog;
+    }
+
+    /**
+     * Evicts the cached DTOs of the given students (their courseIds changed).
+     */
+    public void evictStudents(Collection<Long> studentIds) {
+        evict(studentDtos, studentIds);
+        evict(studentVersions, studentIds);
+    }
+
+    /**
+     * Evicts the cached DTOs of the given courses (their studentIds or teacherId changed).
+     */
+    public void evictCourses(Collection<Long> courseIds) {
+        evict(courseDtos, courseIds);
+        evict(courseVersions, courseIds);
+        if (!courseIds.isEmpty()) {
+            courseCatalog.invalidate();
+        }
+    }
+
+    /**
+     * Evicts the cached DTOs of the given teachers (their courseIds changed), nulls are ignored.
+     */
+    public void evictTeachers(Long... teacherIds) {
+        evict(teacherDtos, Arrays.asList(teacherIds));
+        evict(teacherVersions, Arrays.asList(teacherIds));
+    }
+
+    private static void evict(Cache cache, Collection<Long> ids) {
+        ids.stream()
+                .filter(Objects::nonNull)
+                .distinct()
+                .forEach(cache::evict);
+    }
+}
@@ -0,0 +1,166 @@
+package com.melvin.School.Management.System.Service;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Enrollment Audit Journal
+ *
+ * Local append-only file backing the audit queue in durable mode. Every
+ * event is appended with a sequence number and forced to disk before the
+ * enrolling request is answered; once the writer has stored events in the
+ * database it records the highest stored sequence number in a checkpoint
+ * file next to the journal. Events after the checkpoint are replayed on
+ * startup. The journal is emptied whenever everything in it is stored.
+ *
+ * Lines have the form {@code sequence,studentId,courseId,enrollmentDate}.
+ *
+ * @author Melvin Chibanda
+ * @version 1.0
+ * @since 2024
+ */
+final class EnrollmentAuditJournal implements Closeable {
+
+    private final Path checkpointFile;
+    private final FileChannel channel;
+    private final List<EnrollmentAuditWriter.Event> pending;
+    private long lastAppended;
+    private long checkpoint;
+
+    EnrollmentAuditJournal(Path file) throws IOException {
+        Path parent = file.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        this.checkpointFile = file.resolveSibling(file.getFileName() + ".checkpoint");
+        this.checkpoint = Files.exists(checkpointFile)
+                ? Long.parseLong(Files.readString(checkpointFile, StandardCharsets.UTF_8).trim())
+                : 0;
+        this.lastAppended = checkpoint;
+        this.pending = new ArrayList<>();
+        if (Files.exists(file)) {
+            try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    EnrollmentAuditWriter.Event event = parse(line);
+                    // a line cut short by a crash was never acknowledged
+                    if (event == null) {
+                        continue;
+                    }
+                    lastAppended = Math.max(lastAppended, event.sequence());
+                    if (event.sequence() > checkpoint) {
+                        pending.add(event);
+                    }
+                }
+            }
+        }
+        boolean torn = endsWithTornLine(file);
+        this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.APPEND);
+        if (torn) {
+            // end the cut line, so the next append starts on a line of its own
+            channel.write(ByteBuffer.wrap(new byte[]{'\n'}));
+            channel.force(false);
+        }
+    }
+
+    private static boolean endsWithTornLine(Path file) throws IOException {
+        if (!Files.exists(file)) {
+            return false;
+        }
+        try (FileChannel reader = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = reader.size();
+            if (size == 0) {
+                return false;
+            }
+            ByteBuffer last = ByteBuffer.allocate(1);
+            reader.read(last, size - 1);
+            return last.get(0) != '\n';
+        }
+    }
+
+    /**
+     * @return the journal line of an event, with its line break
+     */
+    static String format(EnrollmentAuditWriter.Event event) {
+        return event.sequence() + "," + event.studentId() + "," + event.courseId() + ","
+                + event.enrollmentDate() + "\n";
+    }
+
+    private static EnrollmentAuditWriter.Event parse(String line) {
+        String[] fields = line.split(",");
+        if (fields.length != 4) {
+            return null;
+        }
+        try {
+            return new EnrollmentAuditWriter.Event(Long.parseLong(fields[0]), Long.parseLong(fields[1]),
+                    Long.parseLong(fields[2]), LocalDate.parse(fields[3]));
+        } catch (NumberFormatException | DateTimeParseException e) {
+            return null;
+        }
+    }
+
+    /**
+     * @return the events appended but not stored before the last shutdown or crash
+     */
+    synchronized List<EnrollmentAuditWriter.Event> pending() {
+        return List.copyOf(pending);
+    }
+
+    /**
+     * Appends events and forces them to disk.
+     *
+     * @return the events with their sequence numbers assigned
+     */
+    synchronized List<EnrollmentAuditWriter.Event> append(List<EnrollmentAuditWriter.Event> events) throws IOException {
+        List<EnrollmentAuditWriter.Event> numbered = new ArrayList<>(events.size());
+        StringBuilder lines = new StringBuilder();
+        for (EnrollmentAuditWriter.Event event : events) {
+            EnrollmentAuditWriter.Event withSequence = event.withSequence(++lastAppended);
+            numbered.add(withSequence);
+            lines.append(format(withSequence));
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(lines.toString().getBytes(StandardCharsets.UTF_8));
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        channel.force(false);
+        return numbered;
+    }
+
+    /**
+     * Records that every event up to the sequence number is stored, and
+     * empties the journal if nothing after it remains.
+     */
+    synchronized void checkpoint(long sequence) throws IOException {
+        if (sequence <= checkpoint) {
+            return;
+        }
+        Path temporary = checkpointFile.resolveSibling(checkpointFile.getFileName() + ".tmp");
+        Files.writeString(temporary, Long.toString(sequence), StandardCharsets.UTF_8);
+        Files.move(temporary, checkpointFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        checkpoint = sequence;
+        pending.clear();
+        if (checkpoint == lastAppended) {
+            channel.truncate(0);
+            channel.force(false);
+        }
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        channel.close();
+    }
+}
@@ -0,0 +1,502 @@
+package com.melvin.School.Management.System.Service;
+
+import com.melvin.School.Management.System.Model.Course;
+import com.melvin.School.Management.System.Model.Enrollment;
+import com.melvin.School.Management.System.Model.Student;
+import com.melvin.School.Management.System.Repository.CourseRepository;
+import com.melvin.School.Management.System.Repository.EnrollementRepository;
+import com.melvin.School.Management.System.Repository.StudentRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.persistence.EntityManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Collectors;
+
+/**
+ * Enrollment Audit Writer
+ *
+ * Write-behind for the Enrollment audit trail. Enrollment requests submit
+ * their events to a bounded in-memory queue once their transaction has
+ * committed, and a background thread stores them through the
+ * EnrollementRepository in batches of up to
+ * {@code app.enrollment.audit.batch-size}, so enrolling costs no extra
+ * round trip.
+ *
+ * Backpressure: callers {@linkplain #reserve reserve} queue space
+ * ({@code app.enrollment.audit.queue-capacity}) before they enroll. When the
+ * writer falls behind, reserving waits for space, without holding any lock,
+ * for at most {@code app.enrollment.audit.offer-timeout} per call. Events
+ * that found no space by then are dropped and counted, unless durable mode
+ * is on, in which case the reservation fails with
+ * {@link AuditQueueFullException} before anything is enrolled.
+ *
+ * Durable mode ({@code app.enrollment.audit.durable}) appends every event to
+ * a local journal file and forces it to disk before the submit returns, and
+ * then never drops events; events not yet stored at a crash are replayed
+ * from the journal on startup. Delivery is at least once, so a crash right
+ * after a batch was stored can repeat it.
+ *
+ * Failed batches are retried every {@code app.enrollment.audit.retry-backoff},
+ * up to {@code app.enrollment.audit.max-attempts} times. A batch that still
+ * fails is then stored event by event, and the events that cannot be stored
+ * are appended to the dead-letter file ({@code app.enrollment.audit.dead-letter},
+ * in the journal's line format), logged and counted, so that one bad event
+ * cannot stop the writer. Replaying the journal on startup does the same
+ * instead of failing the startup. Events of students or courses deleted in
+ * the meantime are skipped, as are enrollments that already have a record.
+ * On shutdown the queue is drained before the database goes away.
+ *
+ * Metrics: {@code school.enrollment.audit.queue.depth} (gauge),
+ * {@code school.enrollment.audit.flush} (timer per stored batch),
+ * {@code school.enrollment.audit.dropped} and
+ * {@code school.enrollment.audit.dead.lettered} (counters).
+ *
+ * @author Melvin Chibanda
+ * @version 1.0
+ * @since 2024
+ */
+@Component
+public class EnrollmentAuditWriter implements SmartLifecycle {
+
+    public static final String QUEUE_DEPTH_METRIC = "school.enrollment.audit.queue.depth";
+    public static final String FLUSH_TIMER = "school.enrollment.audit.flush";
+    public static final String DROPPED_METRIC = "school.enrollment.audit.dropped";
+    public static final String DEAD_LETTERED_METRIC = "school.enrollment.audit.dead.lettered";
+
+    private static final Logger log = LoggerFactory.getLogger(EnrollmentAuditWriter.class);
+
+    private static final long POLL_MILLIS = 100;
+
+    /**
+     * One enrollment to record.
+     *
+     * @param sequence the position in the journal, 0 outside durable mode
+     * @param studentId the enrolled student
+     * @param courseId the course enrolled in
+     * @param enrollmentDate the day of the enrollment
+     */
+    public record Event(long sequence, Long studentId, Long courseId, LocalDate enrollmentDate) {
+
+        public Event(Long studentId, Long courseId, LocalDate enrollmentDate) {
+            this(0, studentId, courseId, enrollmentDate);
+        }
+
+        Event withSequence(long sequence) {
+            return new Event(sequence, studentId, courseId, enrollmentDate);
+        }
+    }
+
+    /**
+     * Queue space reserved by {@link #reserve}, handed back to
+     * {@link #submit(Reservation, List)}.
+     *
+     * @param permits the number of events that may be queued
+     */
+    public record Reservation(int permits) {
+    }
+
+    private final EnrollementRepository enrollementRepository;
+    private final StudentRepository studentRepository;
+    private final CourseRepository courseRepository;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+
+    private final BlockingQueue<Event> queue;
+    private final Semaphore space;
+    private final int queueCapacity;
+    private final int batchSize;
+    private final Duration offerTimeout;
+    private final Duration retryBackoff;
+    private final int maxAttempts;
+    private final EnrollmentAuditJournal journal;
+    private final Path deadLetter;
+
+    private final Lock submitLock = new ReentrantLock();
+    private final AtomicLong submitted = new AtomicLong();
+    private final AtomicLong processed = new AtomicLong();
+    private final Timer flushTimer;
+    private final Counter dropped;
+    private final Counter deadLettered;
+
+    private volatile boolean running;
+    private volatile boolean stopped;
+    private Thread writer;
+
+    public EnrollmentAuditWriter(EnrollementRepository enrollementRepository, StudentRepository studentRepository,
+                                 CourseRepository courseRepository, EntityManager entityManager,
+                                 PlatformTransactionManager transactionManager, MeterRegistry meterRegistry,
+                                 @Value("${app.enrollment.audit.queue-capacity:10000}") int queueCapacity,
+                                 @Value("${app.enrollment.audit.batch-size:500}") int batchSize,
+                                 @Value("${app.enrollment.audit.offer-timeout:5s}") Duration offerTimeout,
+                                 @Value("${app.enrollment.audit.retry-backoff:1s}") Duration retryBackoff,
+                                 @Value("${app.enrollment.audit.max-attempts:5}") int maxAttempts,
+                                 @Value("${app.enrollment.audit.durable:false}") boolean durable,
+                                 @Value("${app.enrollment.audit.journal:data/enrollment-audit.journal}") Path journal,
+                                 @Value("${app.enrollment.audit.dead-letter:data/enrollment-audit.dead-letter}") Path deadLetter) {
+        if (queueCapacity < 1 || batchSize < 1 || maxAttempts < 1) {
+            throw new IllegalArgumentException("Audit queue capacity, batch size and max attempts must be positive");
+        }
+        this.enrollementRepository = enrollementRepository;
+        this.studentRepository = studentRepository;
+        this.courseRepository = courseRepository;
+        this.entityManager = entityManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.space = new Semaphore(queueCapacity);
+        this.queueCapacity = queueCapacity;
+        this.batchSize = batchSize;
+        this.offerTimeout = offerTimeout;
+        this.retryBackoff = retryBackoff;
+        this.maxAttempts = maxAttempts;
+        this.deadLetter = deadLetter;
+        try {
+            this.journal = durable ? new EnrollmentAuditJournal(journal) : null;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot open the enrollment audit journal " + journal, e);
+        }
+
+        Gauge.builder(QUEUE_DEPTH_METRIC, queue, BlockingQueue::size)
+                .description("Enrollment audit events waiting to be stored")
+                .register(meterRegistry);
+        this.flushTimer = Timer.builder(FLUSH_TIMER)
+                .description("Time to store one batch of enrollment audit events")
+                .register(meterRegistry);
+        this.dropped = Counter.builder(DROPPED_METRIC)
+                .description("Enrollment audit events dropped because the queue stayed full")
+                .register(meterRegistry);
+        this.deadLettered = Counter.builder(DEAD_LETTERED_METRIC)
+                .description("Enrollment audit events that could not be stored and went to the dead-letter file")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Reserves queue space for the events of an enrollment that is about to
+     * be made. Waits at most {@code app.enrollment.audit.offer-timeout} in
+     * total, and holds no lock while waiting. Must be called outside a
+     * transaction, so that a caller waiting for space holds no database
+     * connection the writer needs.
+     *
+     * @param count the number of events the enrollment may produce
+     * @return the reservation, covering fewer events than requested if the
+     *         queue stayed full (outside durable mode)
+     * @throws AuditQueueFullException in durable mode, if the queue stayed full
+     */
+    public Reservation reserve(int count) {
+        if (count == 0 || stopped) {
+            return new Reservation(0);
+        }
+        if (journal != null && count > queueCapacity) {
+            throw new IllegalArgumentException("Cannot reserve " + count + " audit events, the queue holds "
+                    + queueCapacity);
+        }
+        int acquired = 0;
+        if (space.tryAcquire(count)) {
+            acquired = count;
+        } else {
+            long deadline = System.nanoTime() + offerTimeout.toNanos();
+            try {
+                while (acquired < count && space.tryAcquire(Math.max(0, deadline - System.nanoTime()),
+                        TimeUnit.NANOSECONDS)) {
+                    acquired++;
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                space.release(acquired);
+                throw new IllegalStateException("Interrupted while waiting for enrollment audit queue space", e);
+            }
+        }
+        if (journal != null && acquired < count) {
+            space.release(acquired);
+            throw new AuditQueueFullException(offerTimeout);
+        }
+        return new Reservation(acquired);
+    }
+
+    /**
+     * Queues events of committed enrollments, waiting for space as
+     * {@link #reserve} does.
+     *
+     * @param events the events to record
+     * @throws AuditQueueFullException in durable mode, if the queue stayed full
+     */
+    public void submit(List<Event> events) {
+        if (journal == null || events.size() <= queueCapacity) {
+            submit(reserve(events.size()), events);
+            return;
+        }
+        for (int from = 0; from < events.size(); from += queueCapacity) {
+            List<Event> part = events.subList(from, Math.min(from + queueCapacity, events.size()));
+            submit(reserve(part.size()), part);
+        }
+    }
+
+    /**
+     * Queues events of committed enrollments into reserved space, without
+     * waiting. Events beyond the reservation are dropped; reserved space
+     * left unused is released, so a rolled back enrollment submits no events.
+     *
+     * @param reservation the space reserved before the enrollment
+     * @param events the events to record
+     */
+    public void submit(Reservation reservation, List<Event> events) {
+        if (stopped) {
+            space.release(reservation.permits());
+            if (!events.isEmpty()) {
+                write(events);
+            }
+            return;
+        }
+        int queueable = Math.min(reservation.permits(), events.size());
+        space.release(reservation.permits() - queueable);
+        if (events.size() > queueable) {
+            dropped.increment(events.size() - queueable);
+        }
+        if (queueable == 0) {
+            return;
+        }
+        submitLock.lock();
+        try {
+            // appending and queueing under one lock keeps the queue in journal order
+            List<Event> queued = journal != null ? journal.append(events.subList(0, queueable))
+                    : events.subList(0, queueable);
+            queue.addAll(queued);
+            submitted.addAndGet(queued.size());
+        } catch (IOException e) {
+            space.release(queueable);
+            throw new UncheckedIOException("Cannot append to the enrollment audit journal", e);
+        } finally {
+            submitLock.unlock();
+        }
+    }
+
+    /**
+     * Waits until every event queued before the call has been stored or
+     * given up on.
+     */
+    public void flush() {
+        long target = submitted.get();
+        while (processed.get() < target && running) {
+            try {
+                Thread.sleep(5);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    /**
+     * Stores the events left in the journal by the previous run, then starts
+     * the background writer.
+     */
+    @Override
+    public void start() {
+        if (journal != null) {
+            List<Event> pending = journal.pending();
+            for (int from = 0; from < pending.size(); from += batchSize) {
+                List<Event> batch = pending.subList(from, Math.min(from + batchSize, pending.size()));
+                try {
+                    write(batch);
+                } catch (RuntimeException e) {
+                    // a failed replay must not keep the application from starting
+                    deadLetter(batch, e);
+                }
+            }
+        }
+        running = true;
+        writer = Thread.ofPlatform().name("enrollment-audit-writer").daemon().start(this::run);
+    }
+
+    /**
+     * Stops taking events into the queue, stores what is queued and stops the
+     * background writer. Events submitted afterwards are stored by the caller.
+     */
+    @Override
+    public void stop() {
+        stopped = true;
+        running = false;
+        if (writer != null) {
+            try {
+                writer.join(Duration.ofSeconds(30));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        if (journal != null) {
+            try {
+                journal.close();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Starts before and stops after the web server, so no request can submit
+     * to a writer that is not running.
+     */
+    @Override
+    public int getPhase() {
+        return SmartLifecycle.DEFAULT_PHASE - 4096;
+    }
+
+    private void run() {
+        List<Event> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                Event first = queue.poll(POLL_MILLIS, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                space.release(batch.size());
+                writeWithRetry(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void writeWithRetry(List<Event> batch) throws InterruptedException {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                write(batch);
+                return;
+            } catch (RuntimeException e) {
+                if (!running) {
+                    // still in the journal in durable mode, replayed on the next start
+                    dropped.increment(batch.size());
+                    processed.addAndGet(batch.size());
+                    return;
+                }
+                if (attempt >= maxAttempts) {
+                    deadLetter(batch, e);
+                    return;
+                }
+                Thread.sleep(retryBackoff.toMillis());
+            }
+        }
+    }
+
+    /**
+     * Stores the events of a batch that keeps failing one by one, and moves
+     * the ones that still fail to the dead-letter file.
+     */
+    private void deadLetter(List<Event> batch, RuntimeException failure) {
+        List<Event> failed = new ArrayList<>();
+        if (batch.size() == 1) {
+            failed.add(batch.get(0));
+        } else {
+            for (Event event : batch) {
+                try {
+                    write(List.of(event));
+                } catch (RuntimeException e) {
+                    failed.add(event);
+                }
+            }
+        }
+
+        log.error("Moving {} enrollment audit events to {} after: {}", failed.size(), deadLetter, failure.toString());
+        StringBuilder lines = new StringBuilder();
+        for (Event event : failed) {
+            lines.append(EnrollmentAuditJournal.format(event));
+        }
+        try {
+            Path parent = deadLetter.toAbsolutePath().getParent();
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+            Files.writeString(deadLetter, lines, StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        } catch (IOException e) {
+            log.error("Cannot write the enrollment audit dead-letter file, lost events:\n{}", lines, e);
+        }
+        deadLettered.increment(failed.size());
+        if (journal != null) {
+            try {
+                journal.checkpoint(batch.get(batch.size() - 1).sequence());
+            } catch (IOException e) {
+                // replayed, and dead-lettered again, on the next start
+                log.error("Cannot checkpoint the enrollment audit journal", e);
+            }
+        }
+        processed.addAndGet(failed.size());
+    }
+
+    private void write(List<Event> batch) {
+        flushTimer.record(() -> transactionTemplate.executeWithoutResult(status -> store(batch)));
+        if (journal != null) {
+            try {
+                journal.checkpoint(batch.get(batch.size() - 1).sequence());
+            } catch (IOException e) {
+                throw new UncheckedIOException("Cannot checkpoint the enrollment audit journal", e);
+            }
+        }
+        processed.addAndGet(batch.size());
+    }
+
+    private void store(List<Event> batch) {
+        Set<Long> students = studentRepository.findExistingIds(batch.stream()
+                .map(Event::studentId).collect(Collectors.toSet()));
+        Set<Long> courses = courseRepository.findExistingIds(batch.stream()
+                .map(Event::courseId).collect(Collectors.toSet()));
+        // grading creates missing records itself, and replays from the journal may repeat events
+        Set<List<Long>> recorded = new HashSet<>();
+        if (!students.isEmpty()) {
+            for (Object[] pair : enrollementRepository.findRecordedPairs(students)) {
+                recorded.add(List.of((Long) pair[0], (Long) pair[1]));
+            }
+        }
+        List<Enrollment> enrollments = new ArrayList<>(batch.size());
+        for (Event event : batch) {
+            if (students.contains(event.studentId()) && courses.contains(event.courseId())
+                    && recorded.add(List.of(event.studentId(), event.courseId()))) {
+                Enrollment enrollment = new Enrollment();
+                enrollment.setStudent(entityManager.getReference(Student.class, event.studentId()));
+                enrollment.setCourse(entityManager.getReference(Course.class, event.courseId()));
+                enrollment.setEnrollmentDate(event.enrollmentDate());
+                enrollments.add(enrollment);
+            }
+        }
+        enrollementRepository.saveAll(enrollments);
+        entityManager.flush();
+        entityManager.clear();
+    }
+}
@@ -0,0 +1,33 @@
+package com.melvin.School.Management.System.Service;
+
+import com.melvin.School.Management.System.Dto.BulkEnrollmentResultDTO;
+import com.melvin.School.Management.System.Dto.EnrollmentDTO;
+
+import java.util.Iterator;
+
+/**
+ * Enrollment Service Interface
+ * 
+ * This service interface defines the business logic operations for enrolling
+ * students in courses.
+ * 
+ * Operations:
+ * - Bulk enroll students in courses
+ * 
+ * @author Melvin Chibanda
+ * @version 1.0
+ * @since 2024
+ */
+public interface EnrollmentService {
+
+    /**
+     * Enrolls students in courses in bulk.
+     * The input is consumed lazily and processed in chunks, each chunk being
+     * validated with set-based queries and committed in its own transaction.
+     * A failing chunk is reported as rejected without rolling back the others.
+     * 
+     * @param enrollments the enrollment requests, read one at a time
+     * @return the counts of enrolled, duplicate and rejected requests
+     */
+    BulkEnrollmentResultDTO bulkEnroll(Iterator<EnrollmentDTO> enrollments);
+}
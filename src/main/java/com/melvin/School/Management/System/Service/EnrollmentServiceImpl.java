@@ -0,0 +1,240 @@
+package com.melvin.School.Management.System.Service;
+
+import com.melvin.School.Management.System.Configuration.MetricsConfig;
+import com.melvin.School.Management.System.Dto.BulkEnrollmentResultDTO;
+import com.melvin.School.Management.System.Dto.EnrollmentDTO;
+import com.melvin.School.Management.System.Model.MeetingSlot;
+import com.melvin.School.Management.System.Repository.CourseRepository;
+import com.melvin.School.Management.System.Repository.StudentRepository;
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Enrollment Service Implementation
+ * 
+ * Bulk enrollment reads its input one record at a time and works in chunks
+ * of {@code app.enrollment.bulk.chunk-size} records. Every chunk:
+ * - validates all student and course IDs with one IN query each
+ * - skips pairs that are already enrolled (one query for the whole chunk)
+ * - rejects records whose course meets at the same time as another course
+ *   of the student, checked against the in-memory TimetableIndex with the
+ *   meetings of the chunk's courses read in one query
+ * - takes a seat for every new enrollment from the in-memory SeatAllocator,
+ *   rejecting records for full courses; seats of a chunk that rolls back are
+ *   given back, and enrollment counts are written behind after commit
+ * - inserts the student_courses rows as one JDBC batch
+ * - commits in its own transaction, then hands the Enrollment audit records
+ *   to the EnrollmentAuditWriter, which stores them in the background
+ * - evicts the cached rosters and DTOs of the affected courses and students,
+ *   as the JDBC inserts bypass Hibernate
+ * 
+ * @author Melvin Chibanda
+ * @version 1.0
+ * @since 2024
+ */
+@Service
+@Timed(MetricsConfig.SERVICE_TIMER)
+public class EnrollmentServiceImpl implements EnrollmentService {
+
+    private static final String INSERT_STUDENT_COURSE =
+            "insert into student_courses (student_id, course_id) values (?, ?)";
+
+    private final StudentRepository studentRepository;
+    private final CourseRepository courseRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final SecondLevelCacheEvictor cacheEvictor;
+    private final DtoCacheInvalidator dtoCacheInvalidator;
+    private final SeatAllocator seatAllocator;
+    private final TimetableIndex timetableIndex;
+    private final VersionBumper versionBumper;
+    private final EnrollmentAuditWriter auditWriter;
+    private final int chunkSize;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public EnrollmentServiceImpl(StudentRepository studentRepository,
+                                 CourseRepository courseRepository,
+                                 JdbcTemplate jdbcTemplate,
+                                 TransactionTemplate transactionTemplate,
+                                 SecondLevelCacheEvictor cacheEvictor,
+                                 DtoCacheInvalidator dtoCacheInvalidator,
+                                 SeatAllocator seatAllocator,
+                                 TimetableIndex timetableIndex,
+                                 VersionBumper versionBumper,
+                                 EnrollmentAuditWriter auditWriter,
+                                 @Value("${app.enrollment.bulk.chunk-size:1000}") int chunkSize) {
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("Bulk enrollment chunk size must be positive");
+        }
+        this.studentRepository = studentRepository;
+        this.courseRepository = courseRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.cacheEvictor = cacheEvictor;
+        this.dtoCacheInvalidator = dtoCacheInvalidator;
+        this.seatAllocator = seatAllocator;
+        this.timetableIndex = timetableIndex;
+        this.versionBumper = versionBumper;
+        this.auditWriter = auditWriter;
+        this.chunkSize = chunkSize;
+    }
+
+    @Override
+    public BulkEnrollmentResultDTO bulkEnroll(Iterator<EnrollmentDTO> enrollments) {
+        BulkEnrollmentResultDTO result = new BulkEnrollmentResultDTO();
+        List<EnrollmentDTO> chunk = new ArrayList<>(chunkSize);
+        while (true) {
+            EnrollmentDTO next;
+            try {
+                if (!enrollments.hasNext()) {
+                    break;
+                }
+                next = enrollments.next();
+            } catch (RuntimeException e) {
+                result.reject(0, "Malformed input after record " + (result.getReceived() + chunk.size())
+                        + ", stopped reading: " + e.getMessage());
+                break;
+            }
+            chunk.add(next);
+            if (chunk.size() == chunkSize) {
+                processChunk(chunk, result);
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            processChunk(chunk, result);
+        }
+        return result;
+    }
+
+    /**
+     * Validates and inserts one chunk in its own transaction.
+     * Counts are only added to the overall result once the chunk committed,
+     * and its audit records are only submitted then, outside the transaction.
+     */
+    private void processChunk(List<EnrollmentDTO> chunk, BulkEnrollmentResultDTO result) {
+        long offset = result.getReceived();
+        result.setReceived(offset + chunk.size());
+        List<EnrollmentAuditWriter.Event> auditEvents = new ArrayList<>();
+        // reserve audit queue space first, so a full queue turns the chunk away before anything is written
+        EnrollmentAuditWriter.Reservation reservation = auditWriter.reserve(chunk.size());
+        try {
+            BulkEnrollmentResultDTO chunkResult = transactionTemplate.execute(
+                    status -> insertChunk(chunk, offset, auditEvents));
+            result.setEnrolled(result.getEnrolled() + chunkResult.getEnrolled());
+            result.setDuplicates(result.getDuplicates() + chunkResult.getDuplicates());
+            result.setChunks(result.getChunks() + 1);
+            for (String error : chunkResult.getErrors()) {
+                result.reject(0, error);
+            }
+            result.setRejected(result.getRejected() + chunkResult.getRejected());
+        } catch (RuntimeException e) {
+            auditWriter.submit(reservation, List.of());
+            result.reject(chunk.size(), "Records " + (offset + 1) + "-" + (offset + chunk.size())
+                    + " rolled back: " + e.getMessage());
+            return;
+        }
+        auditWriter.submit(reservation, auditEvents);
+    }
+
+    private BulkEnrollmentResultDTO insertChunk(List<EnrollmentDTO> chunk, long offset,
+                                                List<EnrollmentAuditWriter.Event> auditEvents) {
+        BulkEnrollmentResultDTO chunkResult = new BulkEnrollmentResultDTO();
+
+        Set<Long> studentIds = chunk.stream().filter(Objects::nonNull)
+                .map(EnrollmentDTO::getStudentId).filter(Objects::nonNull).collect(Collectors.toSet());
+        Set<Long> courseIds = chunk.stream().filter(Objects::nonNull)
+                .map(EnrollmentDTO::getCourseId).filter(Objects::nonNull).collect(Collectors.toSet());
+        Set<Long> knownStudents = studentIds.isEmpty() ? Set.of() : studentRepository.findExistingIds(studentIds);
+        Set<Long> knownCourses = courseIds.isEmpty() ? Set.of() : courseRepository.findExistingIds(courseIds);
+        Map<Long, List<MeetingSlot>> meetings = new HashMap<>();
+        if (!knownCourses.isEmpty()) {
+            for (Object[] row : courseRepository.findMeetings(knownCourses)) {
+                @SuppressWarnings("unchecked")
+                List<MeetingSlot> courseMeetings = (List<MeetingSlot>) row[1];
+                meetings.put((Long) row[0], courseMeetings);
+            }
+        }
+        Set<List<Long>> enrolledPairs = new HashSet<>();
+        if (!knownStudents.isEmpty()) {
+            for (Object[] pair : studentRepository.findEnrollmentPairs(knownStudents)) {
+                enrolledPairs.add(List.of((Long) pair[0], (Long) pair[1]));
+            }
+        }
+
+        LocalDate today = LocalDate.now();
+        List<Object[]> studentCourseRows = new ArrayList<>();
+        for (int i = 0; i < chunk.size(); i++) {
+            EnrollmentDTO dto = chunk.get(i);
+            long record = offset + i + 1;
+            if (dto == null || dto.getStudentId() == null || dto.getCourseId() == null) {
+                chunkResult.reject(1, "Record " + record + ": student ID and course ID are mandatory");
+            } else if (!knownStudents.contains(dto.getStudentId())) {
+                chunkResult.reject(1, "Record " + record + ": student not found with id: " + dto.getStudentId());
+            } else if (!knownCourses.contains(dto.getCourseId())) {
+                chunkResult.reject(1, "Record " + record + ": course not found with id: " + dto.getCourseId());
+            } else if (enrolledPairs.contains(List.of(dto.getStudentId(), dto.getCourseId()))) {
+                chunkResult.setDuplicates(chunkResult.getDuplicates() + 1);
+            } else if (book(dto, meetings.getOrDefault(dto.getCourseId(), List.of()), record, chunkResult)) {
+                enrolledPairs.add(List.of(dto.getStudentId(), dto.getCourseId()));
+                auditEvents.add(new EnrollmentAuditWriter.Event(dto.getStudentId(), dto.getCourseId(), today));
+                studentCourseRows.add(new Object[]{dto.getStudentId(), dto.getCourseId()});
+            }
+        }
+
+        jdbcTemplate.batchUpdate(INSERT_STUDENT_COURSE, studentCourseRows);
+        entityManager.flush();
+        entityManager.clear();
+        List<Long> enrolledCourseIds = studentCourseRows.stream()
+                .map(row -> (Long) row[1])
+                .collect(Collectors.toList());
+        List<Long> enrolledStudentIds = studentCourseRows.stream()
+                .map(row -> (Long) row[0])
+                .collect(Collectors.toList());
+        versionBumper.bumpStudents(enrolledStudentIds);
+        versionBumper.bumpCourses(enrolledCourseIds);
+        cacheEvictor.evictCourseRosters(enrolledCourseIds);
+        dtoCacheInvalidator.evictCourses(enrolledCourseIds);
+        dtoCacheInvalidator.evictStudents(enrolledStudentIds);
+
+        chunkResult.setEnrolled(studentCourseRows.size());
+        return chunkResult;
+    }
+
+    /**
+     * Books the course in the student's timetable and takes a seat,
+     * rejecting the record if either is not available.
+     */
+    private boolean book(EnrollmentDTO dto, List<MeetingSlot> meetings, long record,
+                         BulkEnrollmentResultDTO chunkResult) {
+        Long conflict = timetableIndex.tryBookStudent(dto.getStudentId(), dto.getCourseId(), meetings);
+        if (conflict != null) {
+            chunkResult.reject(1, "Record " + record + ": schedule conflict with course id: " + conflict);
+            return false;
+        }
+        if (!seatAllocator.tryReserve(dto.getCourseId())) {
+            timetableIndex.releaseStudent(dto.getStudentId(), dto.getCourseId());
+            chunkResult.reject(1, "Record " + record + ": course is full with id: " + dto.getCourseId());
+            return false;
+        }
+        return true;
+    }
+}
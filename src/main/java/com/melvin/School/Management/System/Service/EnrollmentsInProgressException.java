@@ -0,0 +1,19 @@
+package com.melvin.School.Management.System.Service;
+
+/**
+ * Enrollments In Progress Exception
+ *
+ * Thrown when the seat counters cannot be reconciled because enrollments
+ * holding seat reservations have not completed yet; reconciling then would
+ * lose their seats and let courses oversell.
+ *
+ * @author Melvin Chibanda
+ * @version 1.0
+ * @since 2024
+ */
+public class EnrollmentsInProgressException extends RuntimeException {
+
+    public EnrollmentsInProgressException() {
+        super("Enrollments are in progress; retry the rebuild once they have completed");
+    }
+}
@@ -0,0 +1,40 @@
+package com.melvin.School.Management.System.Service;
+
+import com.melvin.School.Management.System.Utility.RowFormat;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Export Service Interface
+ * 
+ * This service interface defines the full-table exports used by administrators.
+ * Rows are streamed from the database to the output as they are read, so
+ * memory use does not depend on the number of rows.
+ * 
+ * Operations:
+ * - Export all students
+ * - Export all enrollments (student/course pairs)
+ * 
+ * @author Melvin Chibanda
+ * @version 1.0
+ * @since 2024
+ */
+public interface ExportService {
+
+    /**
+     * Writes every student (id, firstName, lastName, email) in ID order.
+     * 
+     * @param format the output format
+     * @param out the stream to write to; closed when the export completes
+     */
+    void exportStudents(RowFormat format, OutputStream out) throws IOException;
+
+    /**
+     * Writes every enrollment (studentId, courseId) ordered by student and course.
+     * 
+     * @param format the output format
+     * @param out the stream to write to; closed when the export completes
+     */
+    void exportEnrollments(RowFormat format, OutputStream out) throws IOException;
+}
@@ -0,0 +1,95 @@
+package com.melvin.School.Management.System.Service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.melvin.School.Management.System.Configuration.MetricsConfig;
+import com.melvin.School.Management.System.Dto.EnrollmentDTO;
+import com.melvin.School.Management.System.Model.Student;
+import com.melvin.School.Management.System.Repository.StudentRepository;
+import com.melvin.School.Management.System.Utility.RowFormat;
+import com.melvin.School.Management.System.Utility.RowWriter;
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Export Service Implementation
+ * 
+ * Streams rows from a database cursor straight into a {@link RowWriter}.
+ * The first row is flushed as soon as it is read, later output every
+ * {@link #CHUNK_SIZE} rows, at which point the persistence context is also
+ * cleared so loaded entities do not accumulate.
+ * 
+ * @author Melvin Chibanda
+ * @version 1.0
+ * @since 2024
+ */
+@Service
+@Timed(MetricsConfig.SERVICE_TIMER)
+public class ExportServiceImpl implements ExportService {
+
+    static final int CHUNK_SIZE = 1000;
+
+    private static final String[] STUDENT_COLUMNS = {"id", "firstName", "lastName", "email"};
+    private static final String[] ENROLLMENT_COLUMNS = {"studentId", "courseId"};
+
+    private final StudentRepository studentRepository;
+    private final ObjectMapper objectMapper;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public ExportServiceImpl(StudentRepository studentRepository, ObjectMapper objectMapper) {
+        this.studentRepository = studentRepository;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void exportStudents(RowFormat format, OutputStream out) throws IOException {
+        // Keep lazy loads triggered during the export out of the second-level cache as well.
+        entityManager.unwrap(Session.class).setCacheMode(CacheMode.IGNORE);
+        try (Stream<Student> students = studentRepository.streamAll();
+             RowWriter writer = RowWriter.create(format, out, objectMapper, STUDENT_COLUMNS)) {
+            long rows = 0;
+            Iterator<Student> iterator = students.iterator();
+            while (iterator.hasNext()) {
+                Student student = iterator.next();
+                writer.writeRow(student.getId(), student.getFirstName(), student.getLastName(), student.getEmail());
+                rows++;
+                if (rows % CHUNK_SIZE == 0) {
+                    entityManager.clear();
+                    writer.flush();
+                } else if (rows == 1) {
+                    writer.flush();
+                }
+            }
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void exportEnrollments(RowFormat format, OutputStream out) throws IOException {
+        try (Stream<EnrollmentDTO> enrollments = studentRepository.streamEnrollmentPairs();
+             RowWriter writer = RowWriter.create(format, out, objectMapper, ENROLLMENT_COLUMNS)) {
+            long rows = 0;
+            Iterator<EnrollmentDTO> iterator = enrollments.iterator();
+            while (iterator.hasNext()) {
+                EnrollmentDTO enrollment = iterator.next();
+                writer.writeRow(enrollment.getStudentId(), enrollment.getCourseId());
+                rows++;
+                if (rows == 1 || rows % CHUNK_SIZE == 0) {
+                    writer.flush();
+                }
+            }
+        }
+    }
+}
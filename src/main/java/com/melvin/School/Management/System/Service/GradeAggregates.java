@@ -0,0 +1,119 @@
+package com.melvin.School.Management.System.Service;
+
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Grade Aggregates
+ *
+ * Keeps student_grade_summaries and course_grade_summaries in step with the
+ * grades on the enrollment records. Every grade change adds its difference
+ * to the running sum and count of its student and of its course inside the
+ * transaction that changes the grade, so the aggregates commit or roll back
+ * together with it.
+ *
+ * Within a transaction the enrollment records are locked first, then the
+ * student summaries, then the course summaries, so concurrent grade changes
+ * and deletions lock rows in the same order and cannot deadlock.
+ *
+ * @author Melvin Chibanda
+ * @version 1.0
+ * @since 2024
+ */
+@Component
+public class GradeAggregates {
+
+    private static final String ADD_STUDENT = "update student_grade_summaries "
+            + "set score_sum = score_sum + ?, grade_count = grade_count + ? where student_id = ?";
+    private static final String INSERT_STUDENT =
+            "insert into student_grade_summaries (score_sum, grade_count, student_id) values (?, ?, ?)";
+    private static final String ADD_COURSE = "update course_grade_summaries "
+            + "set score_sum = score_sum + ?, grade_count = grade_count + ? where course_id = ?";
+    private static final String INSERT_COURSE =
+            "insert into course_grade_summaries (score_sum, grade_count, course_id) values (?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public GradeAggregates(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Adds the difference made by one grade change.
+     *
+     * @param scoreDelta the new score minus the old one, a missing score counting as zero
+     * @param countDelta 1 for a new grade, -1 for a removed one, 0 for a changed one
+     */
+    public void add(Long studentId, Long courseId, BigDecimal scoreDelta, int countDelta) {
+        if (scoreDelta.signum() == 0 && countDelta == 0) {
+            return;
+        }
+        add(ADD_STUDENT, INSERT_STUDENT, studentId, scoreDelta, countDelta);
+        add(ADD_COURSE, INSERT_COURSE, courseId, scoreDelta, countDelta);
+    }
+
+    /**
+     * A grade on a deleted enrollment record.
+     */
+    public record Grade(Long studentId, Long courseId, BigDecimal score) {
+    }
+
+    /**
+     * Drops the summaries of deleted students and takes their grades out of
+     * the summaries of their courses.
+     *
+     * @param grades the grades of the students' deleted enrollment records
+     */
+    public void studentsRemoved(Collection<Long> studentIds, Collection<Grade> grades) {
+        jdbcTemplate.batchUpdate("delete from student_grade_summaries where student_id = ?",
+                studentIds.stream().sorted().map(id -> new Object[]{id}).collect(Collectors.toList()));
+        subtract(ADD_COURSE, grades, Grade::courseId);
+    }
+
+    /**
+     * Drops the summaries of deleted courses and takes their grades out of
+     * the summaries of their students.
+     *
+     * @param grades the grades of the courses' deleted enrollment records
+     */
+    public void coursesRemoved(Collection<Long> courseIds, Collection<Grade> grades) {
+        subtract(ADD_STUDENT, grades, Grade::studentId);
+        jdbcTemplate.batchUpdate("delete from course_grade_summaries where course_id = ?",
+                courseIds.stream().sorted().map(id -> new Object[]{id}).collect(Collectors.toList()));
+    }
+
+    private void subtract(String update, Collection<Grade> grades, Function<Grade, Long> summaryId) {
+        Map<Long, BigDecimal> sums = new TreeMap<>();
+        Map<Long, Integer> counts = new HashMap<>();
+        for (Grade grade : grades) {
+            if (grade.score() != null) {
+                sums.merge(summaryId.apply(grade), grade.score(), BigDecimal::add);
+                counts.merge(summaryId.apply(grade), 1, Integer::sum);
+            }
+        }
+        jdbcTemplate.batchUpdate(update, sums.entrySet().stream()
+                .map(sum -> new Object[]{sum.getValue().negate(), -counts.get(sum.getKey()), sum.getKey()})
+                .collect(Collectors.toList()));
+    }
+
+    private void add(String update, String insert, Long id, BigDecimal scoreDelta, int countDelta) {
+        if (jdbcTemplate.update(update, scoreDelta, countDelta, id) > 0) {
+            return;
+        }
+        try {
+            jdbcTemplate.update(insert, scoreDelta, countDelta, id);
+        } catch (DuplicateKeyException e) {
+            // a concurrent first grade created the row in the meantime
+            jdbcTemplate.update(update, scoreDelta, countDelta, id);
+        }
+    }
+}
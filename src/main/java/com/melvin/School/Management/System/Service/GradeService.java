@@ -0,0 +1,76 @@
+package com.melvin.School.Management.System.Service;
+
+import com.melvin.School.Management.System.Dto.CourseGradesDTO;
+import com.melvin.School.Management.System.Dto.GradeDTO;
+import com.melvin.School.Management.System.Dto.GradeDriftDTO;
+import com.melvin.School.Management.System.Dto.TranscriptDTO;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Grade Service Interface
+ * 
+ * This service interface defines the business logic operations for grading
+ * students in the courses they are enrolled in.
+ * 
+ * Operations:
+ * - Record, change and clear the grade of a student in a course
+ * - Read the average grade of a student (transcript) or of a course
+ * - Verify the maintained grade summaries against the grades
+ * 
+ * @author Melvin Chibanda
+ * @version 1.0
+ * @since 2024
+ */
+public interface GradeService {
+
+    /**
+     * Records or changes the grade of a student in a course, and updates the
+     * student's and the course's grade summary in the same transaction.
+     * 
+     * @param studentId the ID of the student
+     * @param courseId the ID of the course
+     * @param score the score from 0 to 100, with at most two decimals
+     * @return the recorded grade
+     * @throws IllegalArgumentException if the score is out of range or too precise
+     * @throws RuntimeException if the student is not enrolled in the course
+     */
+    GradeDTO recordGrade(Long studentId, Long courseId, BigDecimal score);
+
+    /**
+     * Removes the grade of a student in a course, if any, and updates the
+     * grade summaries in the same transaction.
+     * 
+     * @param studentId the ID of the student
+     * @param courseId the ID of the course
+     * @throws RuntimeException if the student is not enrolled in the course
+     */
+    void clearGrade(Long studentId, Long courseId);
+
+    /**
+     * Retrieves the average grade of a student from its grade summary.
+     * 
+     * @param studentId the ID of the student
+     * @return the number of grades and their average
+     * @throws RuntimeException if student with given ID doesn't exist
+     */
+    TranscriptDTO getTranscript(Long studentId);
+
+    /**
+     * Retrieves the average grade of a course from its grade summary.
+     * 
+     * @param courseId the ID of the course
+     * @return the number of grades and their average
+     * @throws RuntimeException if course with given ID doesn't exist
+     */
+    CourseGradesDTO getCourseGrades(Long courseId);
+
+    /**
+     * Recomputes every student's and course's grade sum and count from the
+     * grades and compares them with the maintained summaries.
+     * 
+     * @return the summaries that differ, empty if all agree
+     */
+    List<GradeDriftDTO> verifyGradeAggregates();
+}
@@ -0,0 +1,234 @@
+package com.melvin.School.Management.System.Service;
+
+import com.melvin.School.Management.System.Configuration.MetricsConfig;
+import com.melvin.School.Management.System.Dto.CourseGradesDTO;
+import com.melvin.School.Management.System.Dto.GradeDTO;
+import com.melvin.School.Management.System.Dto.GradeDriftDTO;
+import com.melvin.School.Management.System.Dto.TranscriptDTO;
+import com.melvin.School.Management.System.Model.Course;
+import com.melvin.School.Management.System.Model.CourseGradeSummary;
+import com.melvin.School.Management.System.Model.Enrollment;
+import com.melvin.School.Management.System.Model.Student;
+import com.melvin.School.Management.System.Model.StudentGradeSummary;
+import com.melvin.School.Management.System.Repository.CourseGradeSummaryRepository;
+import com.melvin.School.Management.System.Repository.CourseRepository;
+import com.melvin.School.Management.System.Repository.EnrollementRepository;
+import com.melvin.School.Management.System.Repository.StudentGradeSummaryRepository;
+import com.melvin.School.Management.System.Repository.StudentRepository;
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Grade Service Implementation
+ * 
+ * Grades live on the enrollment records. Every grade change locks its
+ * record, computes the difference it makes to the sum and count of grades
+ * and hands it to the GradeAggregates in the same transaction, so the
+ * student and course grade summaries always match the committed grades and
+ * averages are read from one summary row.
+ * 
+ * A student enrolled in bulk may be graded before the EnrollmentAuditWriter
+ * stored the enrollment record; the record is then created here and the
+ * writer skips it later.
+ * 
+ * The summaries are verified against the grades every night
+ * ({@code app.grades.verify-cron}) and on request. The number of summaries
+ * found out of step is published as the {@code school.grades.drift} gauge.
+ * 
+ * @author Melvin Chibanda
+ * @version 1.0
+ * @since 2024
+ */
+@Service
+@Timed(MetricsConfig.SERVICE_TIMER)
+public class GradeServiceImpl implements GradeService {
+
+    public static final String DRIFT_METRIC = "school.grades.drift";
+
+    private static final BigDecimal MAX_SCORE = BigDecimal.valueOf(100);
+    private static final int SCORE_SCALE = 2;
+
+    private final EnrollementRepository enrollementRepository;
+    private final StudentRepository studentRepository;
+    private final CourseRepository courseRepository;
+    private final StudentGradeSummaryRepository studentGradeSummaryRepository;
+    private final CourseGradeSummaryRepository courseGradeSummaryRepository;
+    private final GradeAggregates gradeAggregates;
+    private final AtomicLong drift = new AtomicLong();
+
+    /**
+     * Sum and count of the grades of one student or course.
+     */
+    private record Totals(BigDecimal scoreSum, long gradeCount) {
+
+        static final Totals NONE = new Totals(BigDecimal.ZERO, 0);
+    }
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public GradeServiceImpl(EnrollementRepository enrollementRepository, StudentRepository studentRepository,
+                            CourseRepository courseRepository,
+                            StudentGradeSummaryRepository studentGradeSummaryRepository,
+                            CourseGradeSummaryRepository courseGradeSummaryRepository,
+                            GradeAggregates gradeAggregates, MeterRegistry meterRegistry) {
+        this.enrollementRepository = enrollementRepository;
+        this.studentRepository = studentRepository;
+        this.courseRepository = courseRepository;
+        this.studentGradeSummaryRepository = studentGradeSummaryRepository;
+        this.courseGradeSummaryRepository = courseGradeSummaryRepository;
+        this.gradeAggregates = gradeAggregates;
+        Gauge.builder(DRIFT_METRIC, drift, AtomicLong::get)
+                .description("Grade summaries found out of step with the grades by the last verification")
+                .register(meterRegistry);
+    }
+
+    @Override
+    @Transactional
+    public GradeDTO recordGrade(Long studentId, Long courseId, BigDecimal score) {
+        if (score == null || score.signum() < 0 || score.compareTo(MAX_SCORE) > 0) {
+            throw new IllegalArgumentException("Score must be between 0 and 100");
+        }
+        if (score.stripTrailingZeros().scale() > SCORE_SCALE) {
+            throw new IllegalArgumentException("Score must have at most two decimals");
+        }
+        BigDecimal newScore = score.setScale(SCORE_SCALE);
+        Enrollment enrollment = lockEnrollment(studentId, courseId);
+        changeScore(enrollment, newScore);
+        return new GradeDTO(studentId, courseId, newScore);
+    }
+
+    @Override
+    @Transactional
+    public void clearGrade(Long studentId, Long courseId) {
+        enrollementRepository.findForUpdate(studentId, courseId).ifPresentOrElse(
+                enrollment -> changeScore(enrollment, null),
+                () -> requireEnrolled(studentId, courseId));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public TranscriptDTO getTranscript(Long studentId) {
+        return studentGradeSummaryRepository.findById(studentId)
+                .map(summary -> new TranscriptDTO(studentId, summary.getGradeCount(),
+                        average(summary.getScoreSum(), summary.getGradeCount())))
+                .orElseGet(() -> {
+                    if (!studentRepository.existsById(studentId)) {
+                        throw new RuntimeException("Student not found with id: " + studentId);
+                    }
+                    return new TranscriptDTO(studentId, 0, null);
+                });
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CourseGradesDTO getCourseGrades(Long courseId) {
+        return courseGradeSummaryRepository.findById(courseId)
+                .map(summary -> new CourseGradesDTO(courseId, summary.getGradeCount(),
+                        average(summary.getScoreSum(), summary.getGradeCount())))
+                .orElseGet(() -> {
+                    if (!courseRepository.existsById(courseId)) {
+                        throw new RuntimeException("Course not found with id: " + courseId);
+                    }
+                    return new CourseGradesDTO(courseId, 0, null);
+                });
+    }
+
+    /**
+     * Reads the grades and the summaries from one snapshot, so grade changes
+     * committed while verifying are not reported as drift.
+     */
+    @Override
+    @Transactional(readOnly = true, isolation = Isolation.REPEATABLE_READ)
+    public List<GradeDriftDTO> verifyGradeAggregates() {
+        Map<Long, Totals> studentSummaries = new TreeMap<>();
+        for (StudentGradeSummary summary : studentGradeSummaryRepository.findAll()) {
+            studentSummaries.put(summary.getStudentId(), new Totals(summary.getScoreSum(), summary.getGradeCount()));
+        }
+        Map<Long, Totals> courseSummaries = new TreeMap<>();
+        for (CourseGradeSummary summary : courseGradeSummaryRepository.findAll()) {
+            courseSummaries.put(summary.getCourseId(), new Totals(summary.getScoreSum(), summary.getGradeCount()));
+        }
+        List<GradeDriftDTO> drifts = new ArrayList<>();
+        compare("STUDENT", enrollementRepository.sumScoresByStudent(), studentSummaries, drifts);
+        compare("COURSE", enrollementRepository.sumScoresByCourse(), courseSummaries, drifts);
+        drift.set(drifts.size());
+        return drifts;
+    }
+
+    /**
+     * Nightly verification; the result is published through the drift gauge.
+     */
+    @Scheduled(cron = "${app.grades.verify-cron:0 0 3 * * *}")
+    public void verifyOnSchedule() {
+        verifyGradeAggregates();
+    }
+
+    private Enrollment lockEnrollment(Long studentId, Long courseId) {
+        return enrollementRepository.findForUpdate(studentId, courseId).orElseGet(() -> {
+            // enrolled, but the audit writer has not stored the record yet
+            requireEnrolled(studentId, courseId);
+            Enrollment enrollment = new Enrollment();
+            enrollment.setStudent(entityManager.getReference(Student.class, studentId));
+            enrollment.setCourse(entityManager.getReference(Course.class, courseId));
+            return enrollementRepository.save(enrollment);
+        });
+    }
+
+    private void requireEnrolled(Long studentId, Long courseId) {
+        if (!studentRepository.isEnrolled(studentId, courseId)) {
+            throw new RuntimeException("Enrollment not found for student id: " + studentId
+                    + " and course id: " + courseId);
+        }
+    }
+
+    private void changeScore(Enrollment enrollment, BigDecimal newScore) {
+        BigDecimal oldScore = enrollment.getScore();
+        BigDecimal scoreDelta = orZero(newScore).subtract(orZero(oldScore));
+        int countDelta = (newScore != null ? 1 : 0) - (oldScore != null ? 1 : 0);
+        enrollment.setScore(newScore);
+        gradeAggregates.add(enrollment.getStudent().getId(), enrollment.getCourse().getId(), scoreDelta, countDelta);
+    }
+
+    private static void compare(String scope, List<Object[]> expectedRows, Map<Long, Totals> actual,
+                                List<GradeDriftDTO> drifts) {
+        Map<Long, Totals> expected = new TreeMap<>();
+        for (Object[] row : expectedRows) {
+            expected.put((Long) row[0], new Totals((BigDecimal) row[1], ((Number) row[2]).longValue()));
+        }
+        TreeSet<Long> ids = new TreeSet<>(expected.keySet());
+        ids.addAll(actual.keySet());
+        for (Long id : ids) {
+            Totals want = expected.getOrDefault(id, Totals.NONE);
+            Totals have = actual.getOrDefault(id, Totals.NONE);
+            if (want.scoreSum().compareTo(have.scoreSum()) != 0 || want.gradeCount() != have.gradeCount()) {
+                drifts.add(new GradeDriftDTO(scope, id, want.scoreSum(), want.gradeCount(),
+                        have.scoreSum(), have.gradeCount()));
+            }
+        }
+    }
+
+    private static BigDecimal average(BigDecimal sum, long count) {
+        return count == 0 ? null : sum.divide(BigDecimal.valueOf(count), SCORE_SCALE, RoundingMode.HALF_UP);
+    }
+
+    private static BigDecimal orZero(BigDecimal score) {
+        return score != null ? score : BigDecimal.ZERO;
+    }
+}
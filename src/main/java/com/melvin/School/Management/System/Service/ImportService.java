@@ -0,0 +1,49 @@
+package com.melvin.School.Management.System.Service;
+
+import com.melvin.School.Management.System.Dto.BulkImportResultDTO;
+import com.melvin.School.Management.System.Dto.ImportEventDTO;
+import com.melvin.School.Management.System.Dto.StudentDTO;
+import com.melvin.School.Management.System.Dto.TeacherDTO;
+
+import java.util.Iterator;
+import java.util.function.Consumer;
+
+/**
+ * Import Service Interface
+ * 
+ * This service interface defines the bulk imports used to onboard a school.
+ * Rows are consumed lazily and processed in chunks: every row is validated
+ * against the DTO constraints, the emails of a chunk are checked for
+ * uniqueness with one query, and the valid rows are inserted with a JDBC
+ * batch in the chunk's own transaction. Bad rows are rejected individually
+ * without affecting the rest of the import.
+ * 
+ * Operations:
+ * - Import students
+ * - Import teachers
+ * 
+ * @author Melvin Chibanda
+ * @version 1.0
+ * @since 2024
+ */
+public interface ImportService {
+
+    /**
+     * Imports students. Course IDs in the input are ignored; enroll imported
+     * students through the bulk enrollment endpoint.
+     * 
+     * @param rows the students to import, read one at a time
+     * @param events receives every rejected row, progress after each committed chunk and the final totals
+     * @return the final totals
+     */
+    BulkImportResultDTO importStudents(Iterator<StudentDTO> rows, Consumer<ImportEventDTO> events);
+
+    /**
+     * Imports teachers. Course IDs in the input are ignored.
+     * 
+     * @param rows the teachers to import, read one at a time
+     * @param events receives every rejected row, progress after each committed chunk and the final totals
+     * @return the final totals
+     */
+    BulkImportResultDTO importTeachers(Iterator<TeacherDTO> rows, Consumer<ImportEventDTO> events);
+}
@@ -0,0 +1,214 @@
+package com.melvin.School.Management.System.Service;
+
+import com.melvin.School.Management.System.Configuration.MetricsConfig;
+import com.melvin.School.Management.System.Dto.BulkImportResultDTO;
+import com.melvin.School.Management.System.Dto.ImportEventDTO;
+import com.melvin.School.Management.System.Dto.StudentDTO;
+import com.melvin.School.Management.System.Dto.TeacherDTO;
+import com.melvin.School.Management.System.Repository.StudentRepository;
+import com.melvin.School.Management.System.Repository.TeacherRepository;
+import io.micrometer.core.annotation.Timed;
+import jakarta.validation.Validator;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Import Service Implementation
+ * 
+ * Rows are inserted with plain JDBC batches: Student and Teacher use
+ * identity keys, which would make Hibernate insert them one statement at a
+ * time. New rows have no cached entities or DTOs, so no cache needs evicting.
+ * 
+ * @author Melvin Chibanda
+ * @version 1.0
+ * @since 2024
+ */
+@Service
+@Timed(MetricsConfig.SERVICE_TIMER)
+public class ImportServiceImpl implements ImportService {
+
+    private static final String INSERT_STUDENT =
+            "insert into students (first_name, last_name, email, version, updated_at) values (?, ?, ?, 0, ?)";
+    private static final String INSERT_TEACHER =
+            "insert into teachers (first_name, last_name, email, version, updated_at) values (?, ?, ?, 0, ?)";
+
+    private final StudentRepository studentRepository;
+    private final TeacherRepository teacherRepository;
+    private final SearchIndex searchIndex;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final Validator validator;
+    private final int chunkSize;
+
+    public ImportServiceImpl(StudentRepository studentRepository,
+                             TeacherRepository teacherRepository,
+                             SearchIndex searchIndex,
+                             JdbcTemplate jdbcTemplate,
+                             TransactionTemplate transactionTemplate,
+                             Validator validator,
+                             @Value("${app.import.chunk-size:1000}") int chunkSize) {
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("Import chunk size must be positive");
+        }
+        this.studentRepository = studentRepository;
+        this.teacherRepository = teacherRepository;
+        this.searchIndex = searchIndex;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.validator = validator;
+        this.chunkSize = chunkSize;
+    }
+
+    @Override
+    public BulkImportResultDTO importStudents(Iterator<StudentDTO> rows, Consumer<ImportEventDTO> events) {
+        return importRows(rows, events, new Target<>(INSERT_STUDENT, studentRepository::findExistingEmails,
+                StudentDTO::getEmail,
+                (student, now) -> new Object[]{student.getFirstName(), student.getLastName(), student.getEmail(), now},
+                searchIndex::indexStudentsByEmail));
+    }
+
+    @Override
+    public BulkImportResultDTO importTeachers(Iterator<TeacherDTO> rows, Consumer<ImportEventDTO> events) {
+        return importRows(rows, events, new Target<>(INSERT_TEACHER, teacherRepository::findExistingEmails,
+                TeacherDTO::getEmail,
+                (teacher, now) -> new Object[]{teacher.getFirstName(), teacher.getLastName(), teacher.getEmail(), now},
+                searchIndex::indexTeachersByEmail));
+    }
+
+    /**
+     * How rows of one DTO type are checked for existing emails, inserted and
+     * made searchable.
+     */
+    private record Target<T>(String insertSql,
+                             Function<Collection<String>, Set<String>> existingEmails,
+                             Function<T, String> email,
+                             BiFunction<T, Timestamp, Object[]> columns,
+                             Consumer<Collection<String>> index) {
+    }
+
+    private record Row<T>(long number, T value) {
+    }
+
+    private record Rejection(long row, List<String> errors) {
+    }
+
+    private <T> BulkImportResultDTO importRows(Iterator<T> rows, Consumer<ImportEventDTO> events, Target<T> target) {
+        BulkImportResultDTO result = new BulkImportResultDTO();
+        List<Row<T>> chunk = new ArrayList<>(chunkSize);
+        while (true) {
+            T next;
+            try {
+                if (!rows.hasNext()) {
+                    break;
+                }
+                next = rows.next();
+            } catch (RuntimeException e) {
+                long row = result.getReceived() + chunk.size() + 1;
+                result.setRejected(result.getRejected() + 1);
+                events.accept(ImportEventDTO.rejected(row, List.of("Malformed input, stopped reading: " + e.getMessage())));
+                break;
+            }
+            chunk.add(new Row<>(result.getReceived() + chunk.size() + 1, next));
+            if (chunk.size() == chunkSize) {
+                processChunk(chunk, target, result, events);
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            processChunk(chunk, target, result, events);
+        }
+        events.accept(ImportEventDTO.progress(ImportEventDTO.Type.COMPLETED, result));
+        return result;
+    }
+
+    /**
+     * Validates and inserts one chunk in its own transaction. Rejected rows
+     * are reported once the outcome of the chunk is known; if the chunk
+     * fails as a whole, each of its valid rows is reported with the cause.
+     */
+    private <T> void processChunk(List<Row<T>> chunk, Target<T> target, BulkImportResultDTO result,
+                                  Consumer<ImportEventDTO> events) {
+        result.setReceived(result.getReceived() + chunk.size());
+
+        List<Rejection> rejections = new ArrayList<>();
+        List<Row<T>> valid = new ArrayList<>();
+        for (Row<T> row : chunk) {
+            List<String> errors = validate(row.value());
+            if (errors.isEmpty()) {
+                valid.add(row);
+            } else {
+                rejections.add(new Rejection(row.number(), errors));
+            }
+        }
+
+        List<Row<T>> inserted = new ArrayList<>();
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                Set<String> emails = valid.stream().map(row -> target.email().apply(row.value()))
+                        .collect(Collectors.toSet());
+                Set<String> taken = emails.isEmpty() ? Set.of() : target.existingEmails().apply(emails);
+                Set<String> seen = new HashSet<>();
+                for (Row<T> row : valid) {
+                    String email = target.email().apply(row.value());
+                    if (taken.contains(email)) {
+                        rejections.add(new Rejection(row.number(), List.of("email: Email is already in use")));
+                    } else if (!seen.add(email)) {
+                        rejections.add(new Rejection(row.number(), List.of("email: Email appears more than once in the import")));
+                    } else {
+                        inserted.add(row);
+                    }
+                }
+                Timestamp now = Timestamp.from(Instant.now());
+                jdbcTemplate.batchUpdate(target.insertSql(), inserted.stream()
+                        .map(row -> target.columns().apply(row.value(), now))
+                        .collect(Collectors.toList()));
+                target.index().accept(inserted.stream()
+                        .map(row -> target.email().apply(row.value()))
+                        .collect(Collectors.toList()));
+            });
+            result.setImported(result.getImported() + inserted.size());
+            result.setChunks(result.getChunks() + 1);
+        } catch (RuntimeException e) {
+            String cause = "Rows " + chunk.get(0).number() + "-" + chunk.get(chunk.size() - 1).number()
+                    + " rolled back: " + e.getMessage();
+            Set<Long> rejected = rejections.stream().map(Rejection::row).collect(Collectors.toSet());
+            for (Row<T> row : valid) {
+                if (!rejected.contains(row.number())) {
+                    rejections.add(new Rejection(row.number(), List.of(cause)));
+                }
+            }
+        }
+
+        rejections.sort((a, b) -> Long.compare(a.row(), b.row()));
+        for (Rejection rejection : rejections) {
+            events.accept(ImportEventDTO.rejected(rejection.row(), rejection.errors()));
+        }
+        result.setRejected(result.getRejected() + rejections.size());
+        events.accept(ImportEventDTO.progress(ImportEventDTO.Type.PROGRESS, result));
+    }
+
+    private List<String> validate(Object row) {
+        if (row == null) {
+            return List.of("Row is empty");
+        }
+        return validator.validate(row).stream()
+                .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                .sorted()
+                .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,83 @@
+package com.melvin.School.Management.System.Service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Merge Patcher
+ *
+ * Applies a JSON Merge Patch (RFC 7396) to a DTO holding the patchable
+ * fields of an entity: a member present in the patch replaces the field,
+ * null clears it, and absent members keep their value. Every field is a
+ * scalar or a list, which a merge patch replaces as a whole.
+ *
+ * The patched fields are checked against the constraints the DTO declares
+ * for full updates, so PATCH accepts exactly the values PUT does.
+ *
+ * @author Melvin Chibanda
+ * @version 1.0
+ * @since 2024
+ */
+@Component
+public class MergePatcher {
+
+    public static final String MEDIA_TYPE = "application/merge-patch+json";
+
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+
+    public MergePatcher(ObjectMapper objectMapper, Validator validator) {
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+    }
+
+    /**
+     * Applies a patch to the target in place.
+     *
+     * @param target    the current values of the patchable fields
+     * @param patch     the merge patch, a JSON object
+     * @param patchable the fields the patch may change
+     * @return the patched target
+     * @throws IllegalArgumentException if the patch is not an object, names another
+     *                                  field, or leaves a patched field invalid
+     */
+    public <T> T apply(T target, JsonNode patch, Set<String> patchable) {
+        if (patch == null || !patch.isObject()) {
+            throw new IllegalArgumentException("A merge patch must be a JSON object");
+        }
+        List<String> fields = new ArrayList<>();
+        patch.fieldNames().forEachRemaining(fields::add);
+        for (String field : fields) {
+            if (!patchable.contains(field)) {
+                throw new IllegalArgumentException("Field " + field + " cannot be patched");
+            }
+        }
+
+        try {
+            objectMapper.readerForUpdating(target).readValue(patch);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Invalid merge patch: " + e.getOriginalMessage());
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Invalid merge patch: " + e.getMessage());
+        }
+
+        String violations = fields.stream()
+                .flatMap(field -> validator.validateProperty(target, field).stream())
+                .map(ConstraintViolation::getMessage)
+                .collect(Collectors.joining("; "));
+        if (!violations.isEmpty()) {
+            throw new IllegalArgumentException(violations);
+        }
+        return target;
+    }
+}
@@ -0,0 +1,105 @@
+package com.melvin.School.Management.System.Service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+/**
+ * Optimistic Retry
+ *
+ * Runs read-modify-write operations on versioned entities in their own
+ * transaction. When the version check fails because another transaction
+ * committed first, the whole transaction is rolled back and run again on
+ * fresh state, up to {@code app.optimistic-retry.max-attempts} times with a
+ * jittered, linearly growing pause between attempts.
+ *
+ * Callers already inside a transaction cannot be retried here, since the
+ * failed attempt marks their transaction rollback-only; the conflict is
+ * passed on to them after one attempt.
+ *
+ * @author Melvin Chibanda
+ * @version 1.0
+ * @since 2024
+ */
+@Component
+public class OptimisticRetry {
+
+    public static final String RETRY_METRIC = "school.optimistic.retries";
+
+    private final TransactionTemplate transactionTemplate;
+    private final int maxAttempts;
+    private final Duration backoff;
+    private final Counter retries;
+
+    public OptimisticRetry(TransactionTemplate transactionTemplate, MeterRegistry meterRegistry,
+                           @Value("${app.optimistic-retry.max-attempts:3}") int maxAttempts,
+                           @Value("${app.optimistic-retry.backoff:20ms}") Duration backoff) {
+        if (maxAttempts < 1) {
+            throw new IllegalArgumentException("Optimistic retry attempts must be positive");
+        }
+        this.transactionTemplate = transactionTemplate;
+        this.maxAttempts = maxAttempts;
+        this.backoff = backoff;
+        this.retries = Counter.builder(RETRY_METRIC)
+                .description("Transactions rerun after an optimistic locking conflict")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Runs the operation in a transaction, rerunning it on optimistic locking
+     * conflicts.
+     *
+     * @param operation the read-modify-write operation
+     * @return the result of the first attempt that commits
+     * @throws OptimisticLockingFailureException if every attempt conflicted
+     */
+    public <T> T execute(Supplier<T> operation) {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            return executeOnce(operation);
+        }
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return executeOnce(operation);
+            } catch (OptimisticLockingFailureException e) {
+                if (attempt >= maxAttempts) {
+                    throw e;
+                }
+                retries.increment();
+                pause(attempt);
+            }
+        }
+    }
+
+    /**
+     * Runs the operation in a transaction without retrying, for conditional
+     * updates whose precondition a rerun could no longer honour.
+     *
+     * @param operation the read-modify-write operation
+     * @return the result of the operation
+     * @throws OptimisticLockingFailureException if another transaction committed first
+     */
+    public <T> T executeOnce(Supplier<T> operation) {
+        return transactionTemplate.execute(status -> operation.get());
+    }
+
+    private void pause(int attempt) {
+        long millis = backoff.toMillis() * attempt;
+        if (millis <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(millis / 2 + ThreadLocalRandom.current().nextLong(millis / 2 + 1));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting to retry", e);
+        }
+    }
+}
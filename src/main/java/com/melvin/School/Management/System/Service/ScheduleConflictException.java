@@ -0,0 +1,18 @@
+package com.melvin.School.Management.System.Service;
+
+/**
+ * Schedule Conflict Exception
+ *
+ * Thrown when a course change would make a teacher or an enrolled student
+ * attend two courses at overlapping times.
+ *
+ * @author Melvin Chibanda
+ * @version 1.0
+ * @since 2024
+ */
+public class ScheduleConflictException extends RuntimeException {
+
+    public ScheduleConflictException(String owner, Long ownerId, Long conflictingCourseId) {
+        super(owner + " " + ownerId + " already has course " + conflictingCourseId + " at that time");
+    }
+}
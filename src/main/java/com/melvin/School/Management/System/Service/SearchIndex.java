@@ -0,0 +1,136 @@
+package com.melvin.School.Management.System.Service;
+
+import com.melvin.School.Management.System.Repository.StudentRepository;
+import com.melvin.School.Management.System.Repository.TeacherRepository;
+import com.melvin.School.Management.System.Utility.TrigramIndex;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Search Index
+ *
+ * Holds the in-memory name and email indexes of students and teachers. They
+ * are loaded from the database once the application is ready and then kept
+ * up to date by the services on every create, update, delete and import.
+ *
+ * When called inside a transaction, index updates run after commit so that
+ * rolled-back changes never become searchable.
+ *
+ * @author Melvin Chibanda
+ * @version 1.0
+ * @since 2024
+ */
+@Component
+public class SearchIndex {
+
+    private final TrigramIndex students = new TrigramIndex();
+    private final TrigramIndex teachers = new TrigramIndex();
+
+    private final StudentRepository studentRepository;
+    private final TeacherRepository teacherRepository;
+    private final TransactionTemplate readOnlyTransaction;
+
+    public SearchIndex(StudentRepository studentRepository, TeacherRepository teacherRepository,
+                       PlatformTransactionManager transactionManager) {
+        this.studentRepository = studentRepository;
+        this.teacherRepository = teacherRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    /**
+     * @return the index of student names and emails, keyed by student ID
+     */
+    TrigramIndex students() {
+        return students;
+    }
+
+    /**
+     * @return the index of teacher names and emails, keyed by teacher ID
+     */
+    TrigramIndex teachers() {
+        return teachers;
+    }
+
+    public void indexStudent(Long id, String firstName, String lastName, String email) {
+        afterCommit(() -> students.put(id, firstName, lastName, email));
+    }
+
+    public void removeStudent(Long id) {
+        afterCommit(() -> students.remove(id));
+    }
+
+    public void indexTeacher(Long id, String firstName, String lastName, String email) {
+        afterCommit(() -> teachers.put(id, firstName, lastName, email));
+    }
+
+    public void removeTeacher(Long id) {
+        afterCommit(() -> teachers.remove(id));
+    }
+
+    /**
+     * Indexes the students with the given emails, for rows inserted with JDBC.
+     */
+    public void indexStudentsByEmail(Collection<String> emails) {
+        if (!emails.isEmpty()) {
+            List<Object[]> rows = studentRepository.findSearchFieldsByEmails(emails);
+            afterCommit(() -> rows.forEach(row -> put(students, row)));
+        }
+    }
+
+    /**
+     * Indexes the teachers with the given emails, for rows inserted with JDBC.
+     */
+    public void indexTeachersByEmail(Collection<String> emails) {
+        if (!emails.isEmpty()) {
+            List<Object[]> rows = teacherRepository.findSearchFieldsByEmails(emails);
+            afterCommit(() -> rows.forEach(row -> put(teachers, row)));
+        }
+    }
+
+    /**
+     * Reloads both indexes from the database. Searches running meanwhile see
+     * a partially loaded index, so this is meant for startup and repairs.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        load(students, studentRepository::streamSearchFields);
+        load(teachers, teacherRepository::streamSearchFields);
+    }
+
+    private void load(TrigramIndex index, Supplier<Stream<Object[]>> rows) {
+        index.clear();
+        readOnlyTransaction.executeWithoutResult(status -> {
+            try (Stream<Object[]> stream = rows.get()) {
+                stream.forEach(row -> put(index, row));
+            }
+        });
+    }
+
+    private static void put(TrigramIndex index, Object[] row) {
+        index.put((Long) row[0], (String) row[1], (String) row[2], (String) row[3]);
+    }
+
+    private static void afterCommit(Runnable update) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    update.run();
+                }
+            });
+        } else {
+            update.run();
+        }
+    }
+}
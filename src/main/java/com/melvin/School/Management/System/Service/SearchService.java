@@ -0,0 +1,72 @@
+package com.melvin.School.Management.System.Service;
+
+import com.melvin.School.Management.System.Dto.SearchPageDTO;
+import com.melvin.School.Management.System.Dto.StudentDTO;
+import com.melvin.School.Management.System.Dto.TeacherDTO;
+
+/**
+ * Search Service Interface
+ * 
+ * This service interface defines the name and email lookups used by the
+ * front desk. Queries are answered from an in-memory trigram index, so a
+ * partial or misspelled name is found without scanning the tables.
+ * 
+ * Every word of the query must match the first name, last name or email
+ * exactly, as a prefix, or with a typo. Results are ranked by how well they
+ * match, exact before prefix before fuzzy.
+ * 
+ * @author Melvin Chibanda
+ * @version 1.0
+ * @since 2024
+ */
+public interface SearchService {
+
+    /**
+     * Searches students by name and email.
+     * 
+     * @param query the words to look up
+     * @param page the zero-based page number
+     * @param size the page size, clamped to the allowed range
+     * @return the requested page of ranked results
+     */
+    SearchPageDTO<StudentDTO> searchStudents(String query, int page, int size);
+
+    /**
+     * Searches students by name and email, loading only the requested properties.
+     * 
+     * @param query the words to look up
+     * @param page the zero-based page number
+     * @param size the page size, clamped to the allowed range
+     * @param fields the comma-separated properties to load, null for all
+     * @return the requested page of ranked results
+     * @throws IllegalArgumentException if a property is unknown
+     */
+    SearchPageDTO<StudentDTO> searchStudents(String query, int page, int size, String fields);
+
+    /**
+     * Searches teachers by name and email.
+     * 
+     * @param query the words to look up
+     * @param page the zero-based page number
+     * @param size the page size, clamped to the allowed range
+     * @return the requested page of ranked results
+     */
+    SearchPageDTO<TeacherDTO> searchTeachers(String query, int page, int size);
+
+    /**
+     * Searches teachers by name and email, loading only the requested properties.
+     * 
+     * @param query the words to look up
+     * @param page the zero-based page number
+     * @param size the page size, clamped to the allowed range
+     * @param fields the comma-separated properties to load, null for all
+     * @return the requested page of ranked results
+     * @throws IllegalArgumentException if a property is unknown
+     */
+    SearchPageDTO<TeacherDTO> searchTeachers(String query, int page, int size, String fields);
+
+    /**
+     * Reloads the search index from the database.
+     */
+    void rebuildIndex();
+}
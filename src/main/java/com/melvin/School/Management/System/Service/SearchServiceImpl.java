@@ -0,0 +1,125 @@
+package com.melvin.School.Management.System.Service;
+
+import com.melvin.School.Management.System.Configuration.MetricsConfig;
+import com.melvin.School.Management.System.Dto.SearchPageDTO;
+import com.melvin.School.Management.System.Dto.StudentDTO;
+import com.melvin.School.Management.System.Dto.TeacherDTO;
+import com.melvin.School.Management.System.Mapper.StudentMapper;
+import com.melvin.School.Management.System.Mapper.TeacherMapper;
+import com.melvin.School.Management.System.Repository.StudentRepository;
+import com.melvin.School.Management.System.Repository.TeacherRepository;
+import com.melvin.School.Management.System.Utility.KeysetCursor;
+import com.melvin.School.Management.System.Utility.TrigramIndex;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Search Service Implementation
+ * 
+ * @author Melvin Chibanda
+ * @version 1.0
+ * @since 2024
+ */
+@Service
+@Timed(MetricsConfig.SERVICE_TIMER)
+public class SearchServiceImpl implements SearchService {
+
+    private final SearchIndex searchIndex;
+    private final StudentRepository studentRepository;
+    private final TeacherRepository teacherRepository;
+    private final StudentMapper studentMapper;
+    private final TeacherMapper teacherMapper;
+    private final SparseFieldLoader sparseFieldLoader;
+
+    public SearchServiceImpl(SearchIndex searchIndex, StudentRepository studentRepository,
+                             TeacherRepository teacherRepository, StudentMapper studentMapper,
+                             TeacherMapper teacherMapper, SparseFieldLoader sparseFieldLoader) {
+        this.searchIndex = searchIndex;
+        this.studentRepository = studentRepository;
+        this.teacherRepository = teacherRepository;
+        this.studentMapper = studentMapper;
+        this.teacherMapper = teacherMapper;
+        this.sparseFieldLoader = sparseFieldLoader;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public SearchPageDTO<StudentDTO> searchStudents(String query, int page, int size) {
+        return searchStudents(query, page, size, null);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public SearchPageDTO<StudentDTO> searchStudents(String query, int page, int size, String fields) {
+        Set<String> selected = sparseFieldLoader.students().parse(fields);
+        return search(searchIndex.students(), query, page, size,
+                ids -> (selected != null
+                        ? sparseFieldLoader.students().load(selected, ids).stream()
+                        : studentRepository.findByIdInOrderByIdAsc(ids).stream().map(studentMapper::toDTO))
+                        .collect(Collectors.toMap(StudentDTO::getId, Function.identity())));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public SearchPageDTO<TeacherDTO> searchTeachers(String query, int page, int size) {
+        return searchTeachers(query, page, size, null);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public SearchPageDTO<TeacherDTO> searchTeachers(String query, int page, int size, String fields) {
+        Set<String> selected = sparseFieldLoader.teachers().parse(fields);
+        return search(searchIndex.teachers(), query, page, size,
+                ids -> (selected != null
+                        ? sparseFieldLoader.teachers().load(selected, ids).stream()
+                        : teacherRepository.findByIdInOrderByIdAsc(ids).stream().map(teacherMapper::toDTO))
+                        .collect(Collectors.toMap(TeacherDTO::getId, Function.identity())));
+    }
+
+    @Override
+    public void rebuildIndex() {
+        searchIndex.rebuild();
+    }
+
+    /**
+     * Ranks the matches in the index and loads the DTOs of the requested page
+     * with one query. IDs that no longer exist (rows deleted outside the
+     * application) are dropped from the index and from the page.
+     */
+    private <T> SearchPageDTO<T> search(TrigramIndex index, String query, int page, int size,
+                                        Function<Collection<Long>, Map<Long, T>> loader) {
+        if (page < 0) {
+            throw new IllegalArgumentException("Page must not be negative");
+        }
+        int pageSize = KeysetCursor.clampSize(size);
+        TrigramIndex.Result result = index.search(query, (int) Math.min((long) page * pageSize, Integer.MAX_VALUE),
+                pageSize);
+        if (result.hits().isEmpty()) {
+            return new SearchPageDTO<>(List.of(), page, pageSize, result.total());
+        }
+
+        List<Long> ids = result.hits().stream().map(TrigramIndex.Hit::id).collect(Collectors.toList());
+        Map<Long, T> loaded = loader.apply(ids);
+        List<T> items = new ArrayList<>(ids.size());
+        int stale = 0;
+        for (Long id : ids) {
+            T item = loaded.get(id);
+            if (item != null) {
+                items.add(item);
+            } else {
+                index.remove(id);
+                stale++;
+            }
+        }
+        return new SearchPageDTO<>(items, page, pageSize, result.total() - stale);
+    }
+}
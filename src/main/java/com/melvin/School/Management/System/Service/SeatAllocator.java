@@ -0,0 +1,339 @@
+package com.melvin.School.Management.System.Service;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * Seat Allocator
+ *
+ * Decides in memory whether a course still has a free seat, so that
+ * registration traffic on popular courses never queues on database row
+ * locks. Every course has one lock-free counter holding its capacity and
+ * the seats taken; a reservation succeeds only while seats taken is below
+ * the capacity, so concurrent reservations can never oversubscribe a course.
+ *
+ * Reservations made inside a transaction belong to it: they are released
+ * if it rolls back, and once it commits their counts are queued and written
+ * to course_enrollment_summaries in the background every
+ * {@code app.seats.flush-interval}. The enrollments themselves are in
+ * student_courses, so queued counts lost in a crash are recovered on
+ * startup by recounting the summaries from there and reloading the
+ * counters from them.
+ *
+ * Recounting the summaries and reloading the counters ({@link #reconcile})
+ * would lose the seats of reservations in flight, so it only runs while no
+ * transaction holds one: every reserving transaction holds a read stamp of
+ * a gate until it completes, and reconciling takes the write stamp, failing
+ * if any is held. New reservations wait for a running reconcile.
+ *
+ * The counters live in this JVM; with several application instances the
+ * capacity is only enforced per instance.
+ *
+ * @author Melvin Chibanda
+ * @version 1.0
+ * @since 2024
+ */
+@Component
+public class SeatAllocator {
+
+    private static final String LOAD_COURSE = "select c.capacity, "
+            + "(select count(*) from student_courses sc where sc.course_id = c.id) from courses c where c.id = ?";
+    private static final String LOAD_ALL = "select c.id, c.capacity, coalesce(s.student_count, 0) from courses c "
+            + "left join course_enrollment_summaries s on s.course_id = c.id";
+
+    private final ConcurrentMap<Long, Seats> seats = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Long, Long> unflushed = new ConcurrentHashMap<>();
+    // flushes share it while they write; reconciling excludes them
+    private final ReadWriteLock summaryLock = new ReentrantReadWriteLock();
+    private final StampedLock reservationGate = new StampedLock();
+
+    private final CourseEnrollmentCounter enrollmentCounter;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate newTransaction;
+
+    public SeatAllocator(CourseEnrollmentCounter enrollmentCounter, JdbcTemplate jdbcTemplate,
+                         PlatformTransactionManager transactionManager) {
+        this.enrollmentCounter = enrollmentCounter;
+        this.jdbcTemplate = jdbcTemplate;
+        this.newTransaction = new TransactionTemplate(transactionManager);
+        this.newTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * Seats of one course. The capacity is kept in the high and the seats
+     * taken in the low 32 bits of a single word, so a reservation checks and
+     * takes a seat with one compare-and-set, and capacity changes are atomic
+     * with respect to reservations.
+     */
+    private static final class Seats {
+
+        private static final long TAKEN_MASK = 0xFFFFFFFFL;
+
+        private final AtomicLong state;
+
+        Seats(Integer capacity, long taken) {
+            this.state = new AtomicLong(pack(capacity, taken));
+        }
+
+        boolean tryReserve() {
+            while (true) {
+                long current = state.get();
+                if ((current & TAKEN_MASK) >= (current >>> 32)) {
+                    return false;
+                }
+                if (state.compareAndSet(current, current + 1)) {
+                    return true;
+                }
+            }
+        }
+
+        void release(long count) {
+            state.getAndUpdate(current -> current - Math.min(count, current & TAKEN_MASK));
+        }
+
+        void setCapacity(Integer capacity) {
+            state.getAndUpdate(current -> pack(capacity, current & TAKEN_MASK));
+        }
+
+        long taken() {
+            return state.get() & TAKEN_MASK;
+        }
+
+        private static long pack(Integer capacity, long taken) {
+            long limit = capacity == null ? Integer.MAX_VALUE : Math.max(capacity, 0);
+            return limit << 32 | Math.min(taken, TAKEN_MASK);
+        }
+    }
+
+    /**
+     * Takes a seat in the course if one is free. Inside a transaction the
+     * seat is given back if the transaction rolls back.
+     *
+     * @param courseId the ID of an existing course
+     * @return true if a seat was taken, false if the course is full or unknown
+     */
+    public boolean tryReserve(Long courseId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            // holds the gate until the transaction completes
+            Map<Long, Long> held = reservationsOfTransaction();
+            Seats courseSeats = seatsOf(courseId);
+            if (courseSeats == null || !courseSeats.tryReserve()) {
+                return false;
+            }
+            held.merge(courseId, 1L, Long::sum);
+            return true;
+        }
+        long stamp = reservationGate.readLock();
+        try {
+            Seats courseSeats = seatsOf(courseId);
+            if (courseSeats == null || !courseSeats.tryReserve()) {
+                return false;
+            }
+            unflushed.merge(courseId, 1L, Long::sum);
+            return true;
+        } finally {
+            reservationGate.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Gives back the seats of removed enrollments once the transaction
+     * commits. Their summary counts are updated by the caller.
+     *
+     * @param courseIds the course of every removed enrollment, one entry per enrollment
+     */
+    public void released(Collection<Long> courseIds) {
+        afterCommit(() -> courseIds.forEach(courseId -> {
+            Seats courseSeats = seats.get(courseId);
+            if (courseSeats != null) {
+                courseSeats.release(1);
+            }
+        }));
+    }
+
+    /**
+     * Applies a new capacity once the transaction commits.
+     *
+     * @param capacity the new capacity, null for unlimited
+     */
+    public void capacityChanged(Long courseId, Integer capacity) {
+        afterCommit(() -> {
+            Seats courseSeats = seats.get(courseId);
+            if (courseSeats != null) {
+                courseSeats.setCapacity(capacity);
+            }
+        });
+    }
+
+    /**
+     * Forgets deleted courses once the transaction commits.
+     */
+    public void removed(Collection<Long> courseIds) {
+        afterCommit(() -> courseIds.forEach(courseId -> {
+            seats.remove(courseId);
+            unflushed.remove(courseId);
+        }));
+    }
+
+    /**
+     * @return the seats currently taken in the course, including those of
+     *         uncommitted reservations
+     */
+    public long taken(Long courseId) {
+        Seats courseSeats = seatsOf(courseId);
+        return courseSeats == null ? 0 : courseSeats.taken();
+    }
+
+    /**
+     * Writes the counts of committed reservations to the course summaries
+     * and waits for flushes already writing, so that the summaries read
+     * afterwards include every reservation committed before the call. Runs in
+     * the background and before the summaries are read; counts that fail to
+     * be written are kept for the next attempt.
+     *
+     * Each flush takes the counts it drains for itself, so concurrent flushes
+     * write in parallel and none waits for a connection while another holds
+     * a lock. Must not be called inside a transaction, as it opens its own.
+     */
+    @Scheduled(fixedDelayString = "${app.seats.flush-interval:PT1S}")
+    public void flush() {
+        summaryLock.readLock().lock();
+        try {
+            Map<Long, Long> deltas = new TreeMap<>();
+            for (Long courseId : unflushed.keySet()) {
+                Long delta = unflushed.remove(courseId);
+                if (delta != null && delta != 0) {
+                    deltas.put(courseId, delta);
+                }
+            }
+            if (!deltas.isEmpty()) {
+                try {
+                    newTransaction.executeWithoutResult(status -> enrollmentCounter.add(deltas));
+                } catch (RuntimeException e) {
+                    deltas.forEach((courseId, delta) -> unflushed.merge(courseId, delta, Long::sum));
+                    throw e;
+                }
+            }
+        } finally {
+            summaryLock.readLock().unlock();
+        }
+        // counts drained by a concurrent flush may not be committed yet
+        summaryLock.writeLock().lock();
+        summaryLock.writeLock().unlock();
+    }
+
+    /**
+     * Recounts the course summaries from student_courses and reloads every
+     * counter from them, discarding unwritten counts. Runs on startup to
+     * recover from a crash, and on demand to repair changes made outside the
+     * application. Reservations wait until it has finished.
+     *
+     * @throws EnrollmentsInProgressException if a transaction holds a reservation
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void reconcile() {
+        long stamp = reservationGate.tryWriteLock();
+        if (stamp == 0) {
+            throw new EnrollmentsInProgressException();
+        }
+        summaryLock.writeLock().lock();
+        try {
+            unflushed.clear();
+            newTransaction.executeWithoutResult(status -> {
+                enrollmentCounter.rebuild();
+                Map<Long, Seats> loaded = new HashMap<>();
+                jdbcTemplate.query(LOAD_ALL, (RowCallbackHandler) row -> loaded.put(row.getLong(1),
+                        new Seats(row.getObject(2, Integer.class), row.getLong(3))));
+                seats.clear();
+                seats.putAll(loaded);
+            });
+        } finally {
+            summaryLock.writeLock().unlock();
+            reservationGate.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Returns the counter of a course, loading it on first use for courses
+     * created since startup.
+     */
+    private Seats seatsOf(Long courseId) {
+        Seats courseSeats = seats.get(courseId);
+        if (courseSeats != null) {
+            return courseSeats;
+        }
+        List<Seats> loaded = jdbcTemplate.query(LOAD_COURSE,
+                (row, rowNum) -> new Seats(row.getObject(1, Integer.class), row.getLong(2)), courseId);
+        if (loaded.isEmpty()) {
+            return null;
+        }
+        Seats existing = seats.putIfAbsent(courseId, loaded.get(0));
+        return existing != null ? existing : loaded.get(0);
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<Long, Long> reservationsOfTransaction() {
+        Map<Long, Long> reservations = (Map<Long, Long>) TransactionSynchronizationManager.getResource(this);
+        if (reservations != null) {
+            return reservations;
+        }
+        long stamp = reservationGate.readLock();
+        Map<Long, Long> held = new HashMap<>();
+        TransactionSynchronizationManager.bindResource(this, held);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(SeatAllocator.this);
+                try {
+                    if (status == STATUS_COMMITTED) {
+                        held.forEach((courseId, count) -> unflushed.merge(courseId, count, Long::sum));
+                    } else {
+                        held.forEach((courseId, count) -> {
+                            Seats courseSeats = seats.get(courseId);
+                            if (courseSeats != null) {
+                                courseSeats.release(count);
+                            }
+                        });
+                    }
+                } finally {
+                    reservationGate.unlockRead(stamp);
+                }
+            }
+        });
+        return held;
+    }
+
+    private static void afterCommit(Runnable update) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    update.run();
+                }
+            });
+        } else {
+            update.run();
+        }
+    }
+}
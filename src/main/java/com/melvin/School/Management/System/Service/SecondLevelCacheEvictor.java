@@ -0,0 +1,160 @@
+package com.melvin.School.Management.System.Service;
+
+import com.melvin.School.Management.System.Model.Course;
+import com.melvin.School.Management.System.Model.Student;
+import com.melvin.School.Management.System.Model.Teacher;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Cache;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Second-Level Cache Evictor
+ * 
+ * Evicts Hibernate second-level cache entries that Hibernate cannot keep
+ * consistent on its own:
+ * - Teacher.courses is the inverse side of Course.teacher, so it is not
+ *   invalidated when a course is created, deleted or moves to another teacher
+ * - Course.students shares the student_courses table with Student.courses
+ *   and with the JDBC bulk enrollment inserts
+ * 
+ * When called inside a transaction, evictions run after commit so that a
+ * concurrent reader cannot re-populate the cache with pre-commit data.
+ * 
+ * @author Melvin Chibanda
+ * @version 1.0
+ * @since 2024
+ */
+@Component
+public class SecondLevelCacheEvictor {
+
+    static final String COURSE_STUDENTS = Course.class.getName() + ".students";
+    static final String TEACHER_COURSES = Teacher.class.getName() + ".courses";
+
+    private final Cache cache;
+
+    public SecondLevelCacheEvictor(EntityManagerFactory entityManagerFactory) {
+        this.cache = entityManagerFactory.getCache().unwrap(Cache.class);
+    }
+
+    /**
+     * Evicts a course, its roster and the course lists of the given teachers.
+     * 
+     * @param courseId the ID of the course
+     * @param teacherIds the IDs of the teachers whose course lists changed (old and new), nulls are ignored
+     */
+    public void evictCourse(Long courseId, Long... teacherIds) {
+        afterCommit(() -> {
+            cache.evictEntityData(Course.class, courseId);
+            cache.evictCollectionData(COURSE_STUDENTS, courseId);
+            for (Long teacherId : teacherIds) {
+                if (teacherId != null) {
+                    cache.evictCollectionData(TEACHER_COURSES, teacherId);
+                }
+            }
+        });
+    }
+
+    /**
+     * Evicts courses, their rosters and the course lists of the given teachers.
+     * 
+     * @param courseIds the IDs of the courses
+     * @param teacherIds the IDs of the teachers whose course lists changed
+     */
+    public void evictCourses(Collection<Long> courseIds, Collection<Long> teacherIds) {
+        afterCommit(() -> {
+            for (Long courseId : courseIds) {
+                cache.evictEntityData(Course.class, courseId);
+                cache.evictCollectionData(COURSE_STUDENTS, courseId);
+            }
+            for (Long teacherId : teacherIds) {
+                cache.evictCollectionData(TEACHER_COURSES, teacherId);
+            }
+        });
+    }
+
+    /**
+     * Evicts a teacher, its course list and the given courses with their rosters.
+     * 
+     * @param teacherId the ID of the teacher
+     * @param courseIds the IDs of the teacher's courses
+     */
+    public void evictTeacher(Long teacherId, Collection<Long> courseIds) {
+        evictTeachers(List.of(teacherId), courseIds);
+    }
+
+    /**
+     * Evicts teachers, their course lists and the given courses with their rosters.
+     * 
+     * @param teacherIds the IDs of the teachers
+     * @param courseIds the IDs of the teachers' courses
+     */
+    public void evictTeachers(Collection<Long> teacherIds, Collection<Long> courseIds) {
+        afterCommit(() -> {
+            for (Long teacherId : teacherIds) {
+                cache.evictEntityData(Teacher.class, teacherId);
+            }
+        });
+        evictCourses(courseIds, teacherIds);
+    }
+
+    /**
+     * Evicts students and the rosters of the courses they were enrolled in.
+     * 
+     * @param studentIds the IDs of the students
+     * @param courseIds the IDs of the students' courses
+     */
+    public void evictStudents(Collection<Long> studentIds, Collection<Long> courseIds) {
+        afterCommit(() -> {
+            studentIds.forEach(studentId -> cache.evictEntityData(Student.class, studentId));
+            evictRostersNow(courseIds);
+        });
+    }
+
+    /**
+     * Evicts the rosters (Course.students) of the given courses.
+     * 
+     * @param courseIds the IDs of the courses whose enrollments changed
+     */
+    public void evictCourseRosters(Collection<Long> courseIds) {
+        afterCommit(() -> evictRostersNow(courseIds));
+    }
+
+    /**
+     * Evicts the given entities whose rows were updated with JDBC.
+     * 
+     * @param type the entity class
+     * @param ids the IDs of the updated rows, nulls are ignored
+     */
+    public void evictEntities(Class<?> type, Collection<Long> ids) {
+        afterCommit(() -> ids.stream()
+                .filter(Objects::nonNull)
+                .distinct()
+                .forEach(id -> cache.evictEntityData(type, id)));
+    }
+
+    private void evictRostersNow(Collection<Long> courseIds) {
+        courseIds.stream()
+                .filter(Objects::nonNull)
+                .distinct()
+                .forEach(courseId -> cache.evictCollectionData(COURSE_STUDENTS, courseId));
+    }
+
+    private void afterCommit(Runnable eviction) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    eviction.run();
+                }
+            });
+        } else {
+            eviction.run();
+        }
+    }
+}
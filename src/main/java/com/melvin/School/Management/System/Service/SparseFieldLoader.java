@@ -0,0 +1,211 @@
+package com.melvin.School.Management.System.Service;
+
+import com.melvin.School.Management.System.Dto.CourseDTO;
+import com.melvin.School.Management.System.Dto.StudentDTO;
+import com.melvin.School.Management.System.Dto.TeacherDTO;
+import com.melvin.School.Management.System.Mapper.CourseMapper;
+import com.melvin.School.Management.System.Model.Course;
+import com.melvin.School.Management.System.Model.MeetingSlot;
+import com.melvin.School.Management.System.Model.Student;
+import com.melvin.School.Management.System.Model.Teacher;
+import com.melvin.School.Management.System.Repository.CourseRepository;
+import com.melvin.School.Management.System.Repository.StudentRepository;
+import com.melvin.School.Management.System.Repository.TeacherRepository;
+import com.melvin.School.Management.System.Utility.SparseFields;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Sparse Field Loader
+ *
+ * Loads Student, Course and Teacher DTOs with only the properties a client
+ * asked for with {@code ?fields=}. Column properties are selected in one
+ * query over the requested columns, without loading the entities; each
+ * requested relation (a list of related IDs) adds one query of (owner ID,
+ * related ID) pairs. Relations that are not requested are never queried.
+ *
+ * @author Melvin Chibanda
+ * @version 1.0
+ * @since 2024
+ */
+@Component
+public class SparseFieldLoader {
+
+    /**
+     * How the properties of a DTO are loaded: each is either a column, an
+     * attribute path of the entity, or a relation, loaded as ID pairs.
+     *
+     * @param <D> the DTO type
+     */
+    public final class Fields<D> {
+
+        private final Class<?> entityClass;
+        private final Supplier<D> factory;
+        private final Map<String, Column<D>> columns = new LinkedHashMap<>();
+        private final Map<String, Relation<D>> relations = new LinkedHashMap<>();
+
+        private Fields(Class<?> entityClass, Supplier<D> factory, BiConsumer<D, Object> id) {
+            this.entityClass = entityClass;
+            this.factory = factory;
+            columns.put("id", new Column<>("id", id));
+        }
+
+        private Fields<D> column(String field, String path, BiConsumer<D, Object> setter) {
+            columns.put(field, new Column<>(path, setter));
+            return this;
+        }
+
+        private Fields<D> relation(String field, Function<Collection<Long>, List<Object[]>> pairs,
+                                   BiConsumer<D, List<Long>> setter) {
+            relations.put(field, new Relation<>(pairs, setter));
+            return this;
+        }
+
+        /**
+         * Parses the {@code fields} parameter against the properties of the DTO.
+         *
+         * @return the requested properties, or null for all of them
+         * @throws IllegalArgumentException if a property is unknown
+         */
+        public Set<String> parse(String fields) {
+            List<String> known = new ArrayList<>(columns.keySet());
+            known.addAll(relations.keySet());
+            return SparseFields.parse(fields, known);
+        }
+
+        /**
+         * Loads the requested properties of the entities with the given IDs.
+         * Must be called inside a transaction.
+         *
+         * @param selected the requested properties, as returned by {@link #parse}
+         * @param ids the IDs of the entities
+         * @return the DTOs ordered by ID, without the IDs that do not exist
+         */
+        public List<D> load(Set<String> selected, Collection<Long> ids) {
+            if (ids.isEmpty()) {
+                return List.of();
+            }
+            // the ID comes first, it is always selected
+            List<Column<D>> selectedColumns = new ArrayList<>();
+            columns.forEach((field, column) -> {
+                if (selected.contains(field)) {
+                    selectedColumns.add(column);
+                }
+            });
+
+            CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+            CriteriaQuery<Object[]> query = builder.createQuery(Object[].class);
+            Root<?> root = query.from(entityClass);
+            List<Selection<?>> selections = new ArrayList<>(selectedColumns.size());
+            for (Column<D> column : selectedColumns) {
+                Path<?> path = root;
+                for (String attribute : column.path().split("\\.")) {
+                    path = path.get(attribute);
+                }
+                selections.add(path);
+            }
+            query.multiselect(selections)
+                    .where(root.get("id").in(ids))
+                    .orderBy(builder.asc(root.get("id")));
+
+            List<D> dtos = new ArrayList<>(ids.size());
+            Map<Long, D> byId = new HashMap<>();
+            for (Object[] row : entityManager.createQuery(query).getResultList()) {
+                D dto = factory.get();
+                for (int i = 0; i < selectedColumns.size(); i++) {
+                    selectedColumns.get(i).setter().accept(dto, row[i]);
+                }
+                dtos.add(dto);
+                byId.put((Long) row[0], dto);
+            }
+
+            relations.forEach((field, relation) -> {
+                if (selected.contains(field) && !byId.isEmpty()) {
+                    Map<Long, List<Long>> related = new HashMap<>();
+                    for (Object[] pair : relation.pairs().apply(byId.keySet())) {
+                        related.computeIfAbsent((Long) pair[0], owner -> new ArrayList<>()).add((Long) pair[1]);
+                    }
+                    byId.forEach((id, dto) -> relation.setter().accept(dto,
+                            related.getOrDefault(id, new ArrayList<>())));
+                }
+            });
+            return dtos;
+        }
+    }
+
+    private record Column<D>(String path, BiConsumer<D, Object> setter) {
+    }
+
+    private record Relation<D>(Function<Collection<Long>, List<Object[]>> pairs, BiConsumer<D, List<Long>> setter) {
+    }
+
+    private final EntityManager entityManager;
+    private final Fields<StudentDTO> students;
+    private final Fields<CourseDTO> courses;
+    private final Fields<TeacherDTO> teachers;
+
+    @SuppressWarnings("unchecked")
+    public SparseFieldLoader(EntityManager entityManager, StudentRepository studentRepository,
+                             CourseRepository courseRepository, TeacherRepository teacherRepository,
+                             CourseMapper courseMapper) {
+        this.entityManager = entityManager;
+        this.students = new Fields<StudentDTO>(Student.class, StudentDTO::new, (dto, id) -> dto.setId((Long) id))
+                .column("version", "version", (dto, version) -> dto.setVersion((Long) version))
+                .column("firstName", "firstName", (dto, name) -> dto.setFirstName((String) name))
+                .column("lastName", "lastName", (dto, name) -> dto.setLastName((String) name))
+                .column("email", "email", (dto, email) -> dto.setEmail((String) email))
+                .relation("courseIds", studentRepository::findEnrollmentPairs, StudentDTO::setCourseIds);
+        this.courses = new Fields<CourseDTO>(Course.class, CourseDTO::new, (dto, id) -> dto.setId((Long) id))
+                .column("version", "version", (dto, version) -> dto.setVersion((Long) version))
+                .column("name", "name", (dto, name) -> dto.setName((String) name))
+                .column("description", "description", (dto, description) -> dto.setDescription((String) description))
+                .column("capacity", "capacity", (dto, capacity) -> dto.setCapacity((Integer) capacity))
+                .column("meetings", "meetings", (dto, meetings) ->
+                        dto.setMeetings(courseMapper.toMeetingSlotDTOs((List<MeetingSlot>) meetings)))
+                .column("teacherId", "teacher.id", (dto, teacherId) -> dto.setTeacherId((Long) teacherId))
+                .relation("studentIds", courseRepository::findStudentPairs, CourseDTO::setStudentIds);
+        this.teachers = new Fields<TeacherDTO>(Teacher.class, TeacherDTO::new, (dto, id) -> dto.setId((Long) id))
+                .column("version", "version", (dto, version) -> dto.setVersion((Long) version))
+                .column("firstName", "firstName", (dto, name) -> dto.setFirstName((String) name))
+                .column("lastName", "lastName", (dto, name) -> dto.setLastName((String) name))
+                .column("email", "email", (dto, email) -> dto.setEmail((String) email))
+                .relation("courseIds", teacherRepository::findCoursePairs, TeacherDTO::setCourseIds);
+    }
+
+    /**
+     * @return the properties of the student DTO
+     */
+    public Fields<StudentDTO> students() {
+        return students;
+    }
+
+    /**
+     * @return the properties of the course DTO
+     */
+    public Fields<CourseDTO> courses() {
+        return courses;
+    }
+
+    /**
+     * @return the properties of the teacher DTO
+     */
+    public Fields<TeacherDTO> teachers() {
+        return teachers;
+    }
+}
@@ -0,0 +1,32 @@
+package com.melvin.School.Management.System.Service;
+
+import java.util.Collection;
+
+/**
+ * Stale Version Exception
+ *
+ * Thrown by conditional updates when none of the client's expected versions
+ * of an entity is the current one, i.e. the client edited a copy that
+ * someone else has changed since.
+ *
+ * @author Melvin Chibanda
+ * @version 1.0
+ * @since 2024
+ */
+public class StaleVersionException extends RuntimeException {
+
+    private final long currentVersion;
+
+    public StaleVersionException(String entity, Long id, Collection<Long> expectedVersions, long currentVersion) {
+        super(entity + " " + id + " is at version " + currentVersion + ", not "
+                + (expectedVersions.size() == 1 ? expectedVersions.iterator().next() : "one of " + expectedVersions));
+        this.currentVersion = currentVersion;
+    }
+
+    /**
+     * @return the version the entity had when the update was rejected
+     */
+    public long getCurrentVersion() {
+        return currentVersion;
+    }
+}
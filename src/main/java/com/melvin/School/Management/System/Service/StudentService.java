@@ -1,8 +1,14 @@
 package com.melvin.School.Management.System.Service;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.melvin.School.Management.System.Dto.BatchDTO;
+import com.melvin.School.Management.System.Dto.BulkDeleteResultDTO;
+import com.melvin.School.Management.System.Dto.CursorPageDTO;
+import com.melvin.School.Management.System.Dto.EntityVersionDTO;
 import com.melvin.School.Management.System.Dto.StudentDTO;
 
 import java.util.List;
+import java.util.Set;
 
 /**
  * Student Service Interface
@@ -44,6 +50,29 @@ public interface StudentService {
      * @throws RuntimeException if student with given ID doesn't exist
      */
     StudentDTO getStudentById(Long id);
+
+    /**
+     * Retrieves the requested properties of a student, loading only those.
+     * 
+     * @param id the unique identifier of the student
+     * @param fields the comma-separated properties to load, null or blank for all (loaded
+     *               without the DTO cache; use {@link #getStudentById(Long)} for those)
+     * @return the student data with the other properties null
+     * @throws IllegalArgumentException if a property is unknown
+     * @throws RuntimeException if student with given ID doesn't exist
+     */
+    StudentDTO getStudentById(Long id, String fields);
+
+    /**
+     * Retrieves the version of a student, from which the ETag of its resource is derived.
+     * Served from the second-level cache, without loading its relations or mapping its DTO.
+     * Cached next to the DTO cache and evicted with it, so a hit needs no transaction.
+     * 
+     * @param id the unique identifier of the student
+     * @return the version and last modification time
+     * @throws RuntimeException if student with given ID doesn't exist
+     */
+    EntityVersionDTO getStudentVersion(Long id);
     
     /**
      * Retrieves all students in the system.
@@ -51,9 +80,55 @@ public interface StudentService {
      * @return list of all students, empty list if no students exist
      */
     List<StudentDTO> getAllStudents();
+
+    /**
+     * Retrieves one page of students using keyset pagination on the ID.
+     * 
+     * @param cursor the cursor returned with the previous page, null for the first page
+     * @param size the requested page size, clamped to the allowed maximum
+     * @return the page of students and the cursor for the next page
+     * @throws IllegalArgumentException if the cursor is malformed
+     */
+    CursorPageDTO<StudentDTO> getStudentsPage(String cursor, int size);
+
+    /**
+     * Retrieves one page of students with the requested properties only; see
+     * {@link #getStudentById(Long, String)}.
+     * 
+     * @param cursor the cursor returned with the previous page, null for the first page
+     * @param size the requested page size, clamped to the allowed maximum
+     * @param fields the comma-separated properties to load, null for all
+     * @return the page of students and the cursor for the next page
+     * @throws IllegalArgumentException if the cursor is malformed or a property is unknown
+     */
+    CursorPageDTO<StudentDTO> getStudentsPage(String cursor, int size, String fields);
+
+    /**
+     * Retrieves the students with the given IDs, in batches of IN queries
+     * rather than one query per ID.
+     * 
+     * @param ids the IDs of the students
+     * @param fields the comma-separated properties to load, null for all
+     * @return the students in request order and the IDs that do not exist
+     * @throws IllegalArgumentException if too many IDs are requested or a property is unknown
+     */
+    BatchDTO<StudentDTO> getStudentsByIds(List<Long> ids, String fields);
+
+    /**
+     * Computes the ETag of the page {@link #getStudentsPage} would return, from
+     * the IDs and versions of its students only.
+     * 
+     * @param cursor the cursor returned with the previous page, null for the first page
+     * @param size the requested page size, clamped to the allowed maximum
+     * @return the quoted ETag of the page
+     * @throws IllegalArgumentException if the cursor is malformed
+     */
+    String getStudentsPageETag(String cursor, int size);
     
     /**
      * Updates an existing student's information.
+     * If another transaction changes the student concurrently, the update is
+     * rerun on the fresh state, up to the configured number of attempts.
      * 
      * @param id the unique identifier of the student to update
      * @param studentDTO the updated student data
@@ -64,10 +139,69 @@ public interface StudentService {
     StudentDTO updateStudent(Long id, StudentDTO studentDTO);
     
     /**
-     * Deletes a student from the system.
+     * Updates an existing student only if it is still at one of the expected versions,
+     * i.e. nobody changed it since the caller read it. The update is not
+     * retried on conflict, since a rerun would overwrite the other change.
+     * 
+     * @param id the unique identifier of the student to update
+     * @param studentDTO the updated student data
+     * @param expectedVersions the versions the caller accepts, any of which may match;
+     *                         null for no precondition
+     * @return the updated student information
+     * @throws StaleVersionException if the student is at none of the expected versions
+     * @throws org.springframework.dao.OptimisticLockingFailureException if another
+     *         transaction changed the student while this one ran
+     * @throws RuntimeException if student with given ID doesn't exist
+     * @throws IllegalArgumentException if studentDTO is null or invalid
+     */
+    StudentDTO updateStudent(Long id, StudentDTO studentDTO, Set<Long> expectedVersions);
+    
+    /**
+     * Applies a JSON Merge Patch to an existing student: only firstName, lastName and email
+     * may be patched, and only the columns that actually change are written.
+     * A patch that changes nothing does not write at all. The student's
+     * relations are not loaded, and the patch is reapplied to the fresh
+     * state if another transaction changes the student concurrently.
+     * 
+     * @param id the unique identifier of the student to patch
+     * @param patch the merge patch, a JSON object
+     * @return the version of the student after the patch
+     * @throws RuntimeException if student with given ID doesn't exist
+     * @throws IllegalArgumentException if the patch is malformed or leaves the student invalid
+     */
+    EntityVersionDTO patchStudent(Long id, JsonNode patch);
+    
+    /**
+     * Applies a JSON Merge Patch to an existing student only if it is still at
+     * one of the expected versions, without retrying.
+     * 
+     * @param id the unique identifier of the student to patch
+     * @param patch the merge patch, a JSON object
+     * @param expectedVersions the versions the caller accepts, any of which may match
+     * @return the version of the student after the patch
+     * @throws StaleVersionException if the student is at none of the expected versions
+     * @throws RuntimeException if student with given ID doesn't exist
+     * @throws IllegalArgumentException if the patch is malformed or leaves the student invalid
+     */
+    EntityVersionDTO patchStudent(Long id, JsonNode patch, Set<Long> expectedVersions);
+    
+    /**
+     * Deletes a student from the system, together with its enrollments and
+     * enrollment records.
      * 
      * @param id the unique identifier of the student to delete
      * @throws RuntimeException if student with given ID doesn't exist
      */
     void deleteStudent(Long id);
+
+    /**
+     * Deletes students in bulk, selected either by ID or by email domain,
+     * together with their enrollments and enrollment records.
+     * 
+     * @param ids the IDs of the students to delete, unknown IDs are ignored
+     * @param emailDomain the email domain of the students to delete
+     * @return the number of deleted rows per table
+     * @throws IllegalArgumentException unless exactly one of ids and emailDomain is given
+     */
+    BulkDeleteResultDTO deleteStudents(List<Long> ids, String emailDomain);
 }
\ No newline at end of file
@@ -1,12 +1,30 @@
 package com.melvin.School.Management.System.Service;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.melvin.School.Management.System.Configuration.CacheConfig;
+import com.melvin.School.Management.System.Configuration.MetricsConfig;
+import com.melvin.School.Management.System.Dto.BatchDTO;
+import com.melvin.School.Management.System.Dto.BulkDeleteResultDTO;
+import com.melvin.School.Management.System.Dto.CursorPageDTO;
+import com.melvin.School.Management.System.Dto.EntityVersionDTO;
 import com.melvin.School.Management.System.Dto.StudentDTO;
 import com.melvin.School.Management.System.Mapper.StudentMapper;
 import com.melvin.School.Management.System.Model.Student;
 import com.melvin.School.Management.System.Repository.StudentRepository;
+import com.melvin.School.Management.System.Utility.EmailDomains;
+import com.melvin.School.Management.System.Utility.EntityTags;
+import com.melvin.School.Management.System.Utility.KeysetCursor;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.data.domain.Limit;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.CachePut;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 /**
@@ -17,14 +35,35 @@ import java.util.stream.Collectors;
  * @since 2024
  */
 @Service
+@Timed(MetricsConfig.SERVICE_TIMER)
 public class StudentServiceImpl implements StudentService {
 
+    private static final Set<String> PATCHABLE_FIELDS = Set.of("firstName", "lastName", "email");
+
     private final StudentRepository studentRepository;
     private final StudentMapper studentMapper;
+    private final SearchIndex searchIndex;
+    private final OptimisticRetry optimisticRetry;
+    private final CascadeDeleter cascadeDeleter;
+    private final MergePatcher mergePatcher;
+    private final DtoCacheInvalidator dtoCacheInvalidator;
+    private final SparseFieldLoader sparseFieldLoader;
+    private final BatchLoader batchLoader;
 
-    public StudentServiceImpl(StudentRepository studentRepository, StudentMapper studentMapper) {
+    public StudentServiceImpl(StudentRepository studentRepository, StudentMapper studentMapper,
+                              SearchIndex searchIndex, OptimisticRetry optimisticRetry,
+                              CascadeDeleter cascadeDeleter, MergePatcher mergePatcher,
+                              DtoCacheInvalidator dtoCacheInvalidator, SparseFieldLoader sparseFieldLoader,
+                              BatchLoader batchLoader) {
         this.studentRepository = studentRepository;
         this.studentMapper = studentMapper;
+        this.searchIndex = searchIndex;
+        this.optimisticRetry = optimisticRetry;
+        this.cascadeDeleter = cascadeDeleter;
+        this.mergePatcher = mergePatcher;
+        this.dtoCacheInvalidator = dtoCacheInvalidator;
+        this.sparseFieldLoader = sparseFieldLoader;
+        this.batchLoader = batchLoader;
     }
 
     @Override
@@ -35,46 +74,196 @@ public class StudentServiceImpl implements StudentService {
         
         Student student = studentMapper.toEntity(studentDTO);
         Student savedStudent = studentRepository.save(student);
+        searchIndex.indexStudent(savedStudent.getId(), savedStudent.getFirstName(),
+                savedStudent.getLastName(), savedStudent.getEmail());
         return studentMapper.toDTO(savedStudent);
     }
 
     @Override
+    @Cacheable(cacheNames = CacheConfig.STUDENT_DTOS, key = "#id")
+    @Transactional(readOnly = true)
     public StudentDTO getStudentById(Long id) {
-        Student student = studentRepository.findById(id)
+        Student student = studentRepository.findWithRelationsById(id)
                 .orElseThrow(() -> new RuntimeException("Student not found with id: " + id));
         return studentMapper.toDTO(student);
     }
 
     @Override
+    @Transactional(readOnly = true)
+    public StudentDTO getStudentById(Long id, String fields) {
+        Set<String> selected = sparseFieldLoader.students().parse(fields);
+        if (selected == null) {
+            // not through getStudentById(id): a self-call would bypass the DTO cache without saying so
+            return studentMapper.toDTO(studentRepository.findWithRelationsById(id)
+                    .orElseThrow(() -> new RuntimeException("Student not found with id: " + id)));
+        }
+        return sparseFieldLoader.students().load(selected, List.of(id)).stream()
+                .findFirst()
+                .orElseThrow(() -> new RuntimeException("Student not found with id: " + id));
+    }
+
+    @Override
+    @Cacheable(cacheNames = CacheConfig.STUDENT_VERSIONS, key = "#id")
+    @Transactional(readOnly = true)
+    public EntityVersionDTO getStudentVersion(Long id) {
+        Student student = studentRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("Student not found with id: " + id));
+        return new EntityVersionDTO(student.getVersion(), student.getUpdatedAt());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
     public List<StudentDTO> getAllStudents() {
-        List<Student> students = studentRepository.findAll();
+        List<Student> students = studentRepository.findAllWithRelations();
         return students.stream()
                 .map(studentMapper::toDTO)
                 .collect(Collectors.toList());
     }
 
     @Override
+    @Transactional(readOnly = true)
+    public CursorPageDTO<StudentDTO> getStudentsPage(String cursor, int size) {
+        return getStudentsPage(cursor, size, null);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageDTO<StudentDTO> getStudentsPage(String cursor, int size, String fields) {
+        Set<String> selected = sparseFieldLoader.students().parse(fields);
+        int pageSize = KeysetCursor.clampSize(size);
+        List<Long> ids = studentRepository.findIdsAfter(KeysetCursor.decode(cursor), Limit.of(pageSize + 1));
+        if (ids.isEmpty()) {
+            return new CursorPageDTO<>(List.of(), null);
+        }
+
+        String nextCursor = null;
+        if (ids.size() > pageSize) {
+            ids = ids.subList(0, pageSize);
+            nextCursor = KeysetCursor.encode(ids.get(pageSize - 1));
+        }
+
+        List<StudentDTO> items = selected != null
+                ? sparseFieldLoader.students().load(selected, ids)
+                : studentRepository.findByIdInOrderByIdAsc(ids).stream()
+                        .map(studentMapper::toDTO)
+                        .collect(Collectors.toList());
+        return new CursorPageDTO<>(items, nextCursor);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public BatchDTO<StudentDTO> getStudentsByIds(List<Long> ids, String fields) {
+        Set<String> selected = sparseFieldLoader.students().parse(fields);
+        return batchLoader.load(ids, chunk -> selected != null
+                ? sparseFieldLoader.students().load(selected, chunk)
+                : studentRepository.findByIdInOrderByIdAsc(chunk).stream()
+                        .map(studentMapper::toDTO)
+                        .collect(Collectors.toList()), StudentDTO::getId);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public String getStudentsPageETag(String cursor, int size) {
+        int pageSize = KeysetCursor.clampSize(size);
+        List<Object[]> idVersions = studentRepository.findIdVersionsAfter(KeysetCursor.decode(cursor),
+                Limit.of(pageSize + 1));
+        return EntityTags.ofPage(idVersions, pageSize);
+    }
+
+    @Override
+    @Caching(put = @CachePut(cacheNames = CacheConfig.STUDENT_DTOS, key = "#id"),
+            evict = @CacheEvict(cacheNames = CacheConfig.STUDENT_VERSIONS, key = "#id"))
     public StudentDTO updateStudent(Long id, StudentDTO studentDTO) {
+        return optimisticRetry.execute(() -> applyUpdate(id, studentDTO, null));
+    }
+
+    @Override
+    @Caching(put = @CachePut(cacheNames = CacheConfig.STUDENT_DTOS, key = "#id"),
+            evict = @CacheEvict(cacheNames = CacheConfig.STUDENT_VERSIONS, key = "#id"))
+    public StudentDTO updateStudent(Long id, StudentDTO studentDTO, Set<Long> expectedVersions) {
+        return optimisticRetry.executeOnce(() -> applyUpdate(id, studentDTO, expectedVersions));
+    }
+
+    private StudentDTO applyUpdate(Long id, StudentDTO studentDTO, Set<Long> expectedVersions) {
         if (studentDTO == null) {
             throw new IllegalArgumentException("StudentDTO cannot be null");
         }
         
-        Student existingStudent = studentRepository.findById(id)
+        Student existingStudent = studentRepository.findWithRelationsById(id)
                 .orElseThrow(() -> new RuntimeException("Student not found with id: " + id));
+        if (expectedVersions != null && !expectedVersions.contains(existingStudent.getVersion())) {
+            throw new StaleVersionException("Student", id, expectedVersions, existingStudent.getVersion());
+        }
         
         existingStudent.setFirstName(studentDTO.getFirstName());
         existingStudent.setLastName(studentDTO.getLastName());
         existingStudent.setEmail(studentDTO.getEmail());
         
-        Student updatedStudent = studentRepository.save(existingStudent);
+        // flush now so a version conflict surfaces here and the DTO carries the new version
+        Student updatedStudent = studentRepository.saveAndFlush(existingStudent);
+        searchIndex.indexStudent(id, updatedStudent.getFirstName(), updatedStudent.getLastName(),
+                updatedStudent.getEmail());
         return studentMapper.toDTO(updatedStudent);
     }
 
     @Override
+    public EntityVersionDTO patchStudent(Long id, JsonNode patch) {
+        return optimisticRetry.execute(() -> applyPatch(id, patch, null));
+    }
+
+    @Override
+    public EntityVersionDTO patchStudent(Long id, JsonNode patch, Set<Long> expectedVersions) {
+        return optimisticRetry.executeOnce(() -> applyPatch(id, patch, expectedVersions));
+    }
+
+    private EntityVersionDTO applyPatch(Long id, JsonNode patch, Set<Long> expectedVersions) {
+        // findById leaves the courses unloaded and is served from the second-level cache when possible
+        Student student = studentRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("Student not found with id: " + id));
+        if (expectedVersions != null && !expectedVersions.contains(student.getVersion())) {
+            throw new StaleVersionException("Student", id, expectedVersions, student.getVersion());
+        }
+
+        StudentDTO patched = mergePatcher.apply(patchableFieldsOf(student), patch, PATCHABLE_FIELDS);
+        if (patched.equals(patchableFieldsOf(student))) {
+            return new EntityVersionDTO(student.getVersion(), student.getUpdatedAt());
+        }
+
+        student.setFirstName(patched.getFirstName());
+        student.setLastName(patched.getLastName());
+        student.setEmail(patched.getEmail());
+        Student updatedStudent = studentRepository.saveAndFlush(student);
+        searchIndex.indexStudent(id, updatedStudent.getFirstName(), updatedStudent.getLastName(),
+                updatedStudent.getEmail());
+        dtoCacheInvalidator.evictStudents(List.of(id));
+        return new EntityVersionDTO(updatedStudent.getVersion(), updatedStudent.getUpdatedAt());
+    }
+
+    private static StudentDTO patchableFieldsOf(Student student) {
+        StudentDTO fields = new StudentDTO();
+        fields.setFirstName(student.getFirstName());
+        fields.setLastName(student.getLastName());
+        fields.setEmail(student.getEmail());
+        return fields;
+    }
+
+    @Override
+    @CacheEvict(cacheNames = {CacheConfig.STUDENT_DTOS, CacheConfig.STUDENT_VERSIONS}, key = "#id")
+    @Transactional
     public void deleteStudent(Long id) {
-        if (!studentRepository.existsById(id)) {
+        if (cascadeDeleter.deleteStudents(List.of(id)).getStudents() == 0) {
             throw new RuntimeException("Student not found with id: " + id);
         }
-        studentRepository.deleteById(id);
+    }
+
+    @Override
+    @Transactional
+    public BulkDeleteResultDTO deleteStudents(List<Long> ids, String emailDomain) {
+        if ((ids == null || ids.isEmpty()) == (emailDomain == null)) {
+            throw new IllegalArgumentException("Specify either ids or emailDomain");
+        }
+        List<Long> studentIds = ids != null && !ids.isEmpty() ? ids
+                : studentRepository.findIdsByEmailSuffix(EmailDomains.suffixOf(emailDomain));
+        return cascadeDeleter.deleteStudents(studentIds);
     }
 }
\ No newline at end of file
@@ -1,8 +1,15 @@
 package com.melvin.School.Management.System.Service;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.melvin.School.Management.System.Dto.BatchDTO;
+import com.melvin.School.Management.System.Dto.BulkDeleteResultDTO;
+import com.melvin.School.Management.System.Dto.CursorPageDTO;
+import com.melvin.School.Management.System.Dto.EntityVersionDTO;
 import com.melvin.School.Management.System.Dto.TeacherDTO;
+import com.melvin.School.Management.System.Dto.TeacherSummaryDTO;
 
 import java.util.List;
+import java.util.Set;
 
 /**
  * Teacher Service Interface
@@ -44,6 +51,29 @@ public interface TeacherService {
      * @throws EntityNotFoundException if teacher with given ID doesn't exist
      */
     TeacherDTO getTeacherById(Long id);
+
+    /**
+     * Retrieves the requested properties of a teacher, loading only those.
+     * 
+     * @param id the unique identifier of the teacher
+     * @param fields the comma-separated properties to load, null or blank for all (loaded
+     *               without the DTO cache; use {@link #getTeacherById(Long)} for those)
+     * @return the teacher data with the other properties null
+     * @throws IllegalArgumentException if a property is unknown
+     * @throws RuntimeException if teacher with given ID doesn't exist
+     */
+    TeacherDTO getTeacherById(Long id, String fields);
+
+    /**
+     * Retrieves the version of a teacher, from which the ETag of its resource is derived.
+     * Served from the second-level cache, without loading its relations or mapping its DTO.
+     * Cached next to the DTO cache and evicted with it, so a hit needs no transaction.
+     * 
+     * @param id the unique identifier of the teacher
+     * @return the version and last modification time
+     * @throws RuntimeException if teacher with given ID doesn't exist
+     */
+    EntityVersionDTO getTeacherVersion(Long id);
     
     /**
      * Retrieves all teachers in the system.
@@ -51,9 +81,62 @@ public interface TeacherService {
      * @return list of all teachers, empty list if no teachers exist
      */
     List<TeacherDTO> getAllTeachers();
+
+    /**
+     * Retrieves the number of courses and enrollments of every teacher.
+     * 
+     * @return one summary per teacher, ordered by ID
+     */
+    List<TeacherSummaryDTO> getTeacherSummaries();
+
+    /**
+     * Retrieves one page of teachers using keyset pagination on the ID.
+     * 
+     * @param cursor the cursor returned with the previous page, null for the first page
+     * @param size the requested page size, clamped to the allowed maximum
+     * @return the page of teachers and the cursor for the next page
+     * @throws IllegalArgumentException if the cursor is malformed
+     */
+    CursorPageDTO<TeacherDTO> getTeachersPage(String cursor, int size);
+
+    /**
+     * Retrieves one page of teachers with the requested properties only; see
+     * {@link #getTeacherById(Long, String)}.
+     * 
+     * @param cursor the cursor returned with the previous page, null for the first page
+     * @param size the requested page size, clamped to the allowed maximum
+     * @param fields the comma-separated properties to load, null for all
+     * @return the page of teachers and the cursor for the next page
+     * @throws IllegalArgumentException if the cursor is malformed or a property is unknown
+     */
+    CursorPageDTO<TeacherDTO> getTeachersPage(String cursor, int size, String fields);
+
+    /**
+     * Retrieves the teachers with the given IDs, in batches of IN queries
+     * rather than one query per ID.
+     * 
+     * @param ids the IDs of the teachers
+     * @param fields the comma-separated properties to load, null for all
+     * @return the teachers in request order and the IDs that do not exist
+     * @throws IllegalArgumentException if too many IDs are requested or a property is unknown
+     */
+    BatchDTO<TeacherDTO> getTeachersByIds(List<Long> ids, String fields);
+
+    /**
+     * Computes the ETag of the page {@link #getTeachersPage} would return, from
+     * the IDs and versions of its teachers only.
+     * 
+     * @param cursor the cursor returned with the previous page, null for the first page
+     * @param size the requested page size, clamped to the allowed maximum
+     * @return the quoted ETag of the page
+     * @throws IllegalArgumentException if the cursor is malformed
+     */
+    String getTeachersPageETag(String cursor, int size);
     
     /**
      * Updates an existing teacher's information.
+     * If another transaction changes the teacher concurrently, the update is
+     * rerun on the fresh state, up to the configured number of attempts.
      * 
      * @param id the unique identifier of the teacher to update
      * @param teacherDTO the updated teacher data
@@ -64,10 +147,70 @@ public interface TeacherService {
     TeacherDTO updateTeacher(Long id, TeacherDTO teacherDTO);
     
     /**
-     * Deletes a teacher from the system.
+     * Updates an existing teacher only if it is still at one of the expected versions,
+     * i.e. nobody changed it since the caller read it. The update is not
+     * retried on conflict, since a rerun would overwrite the other change.
+     * 
+     * @param id the unique identifier of the teacher to update
+     * @param teacherDTO the updated teacher data
+     * @param expectedVersions the versions the caller accepts, any of which may match;
+     *                         null for no precondition
+     * @return the updated teacher information
+     * @throws StaleVersionException if the teacher is at none of the expected versions
+     * @throws org.springframework.dao.OptimisticLockingFailureException if another
+     *         transaction changed the teacher while this one ran
+     * @throws EntityNotFoundException if teacher with given ID doesn't exist
+     * @throws IllegalArgumentException if teacherDTO is null or invalid
+     */
+    TeacherDTO updateTeacher(Long id, TeacherDTO teacherDTO, Set<Long> expectedVersions);
+    
+    /**
+     * Applies a JSON Merge Patch to an existing teacher: only firstName, lastName and email
+     * may be patched, and only the columns that actually change are written.
+     * A patch that changes nothing does not write at all. The teacher's
+     * relations are not loaded, and the patch is reapplied to the fresh
+     * state if another transaction changes the teacher concurrently.
+     * 
+     * @param id the unique identifier of the teacher to patch
+     * @param patch the merge patch, a JSON object
+     * @return the version of the teacher after the patch
+     * @throws RuntimeException if teacher with given ID doesn't exist
+     * @throws IllegalArgumentException if the patch is malformed or leaves the teacher invalid
+     */
+    EntityVersionDTO patchTeacher(Long id, JsonNode patch);
+    
+    /**
+     * Applies a JSON Merge Patch to an existing teacher only if it is still at
+     * one of the expected versions, without retrying.
+     * 
+     * @param id the unique identifier of the teacher to patch
+     * @param patch the merge patch, a JSON object
+     * @param expectedVersions the versions the caller accepts, any of which may match
+     * @return the version of the teacher after the patch
+     * @throws StaleVersionException if the teacher is at none of the expected versions
+     * @throws RuntimeException if teacher with given ID doesn't exist
+     * @throws IllegalArgumentException if the patch is malformed or leaves the teacher invalid
+     */
+    EntityVersionDTO patchTeacher(Long id, JsonNode patch, Set<Long> expectedVersions);
+    
+    /**
+     * Deletes a teacher from the system, together with its courses and their
+     * enrollments and enrollment records.
      * 
      * @param id the unique identifier of the teacher to delete
      * @throws EntityNotFoundException if teacher with given ID doesn't exist
      */
     void deleteTeacher(Long id);
+
+    /**
+     * Deletes teachers in bulk, selected either by ID or by email domain,
+     * together with their courses and the courses' enrollments and
+     * enrollment records.
+     * 
+     * @param ids the IDs of the teachers to delete, unknown IDs are ignored
+     * @param emailDomain the email domain of the teachers to delete
+     * @return the number of deleted rows per table
+     * @throws IllegalArgumentException unless exactly one of ids and emailDomain is given
+     */
+    BulkDeleteResultDTO deleteTeachers(List<Long> ids, String emailDomain);
 }
@@ -1,13 +1,33 @@
 package com.melvin.School.Management.System.Service;
 
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.melvin.School.Management.System.Configuration.CacheConfig;
+import com.melvin.School.Management.System.Configuration.MetricsConfig;
+import com.melvin.School.Management.System.Dto.BatchDTO;
+import com.melvin.School.Management.System.Dto.BulkDeleteResultDTO;
+import com.melvin.School.Management.System.Dto.CursorPageDTO;
+import com.melvin.School.Management.System.Dto.EntityVersionDTO;
 import com.melvin.School.Management.System.Dto.TeacherDTO;
+import com.melvin.School.Management.System.Dto.TeacherSummaryDTO;
 import com.melvin.School.Management.System.Mapper.TeacherMapper;
 import com.melvin.School.Management.System.Model.Teacher;
+import com.melvin.School.Management.System.Repository.CourseEnrollmentSummaryRepository;
 import com.melvin.School.Management.System.Repository.TeacherRepository;
+import com.melvin.School.Management.System.Utility.EmailDomains;
+import com.melvin.School.Management.System.Utility.EntityTags;
+import com.melvin.School.Management.System.Utility.KeysetCursor;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.data.domain.Limit;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.CachePut;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 /**
@@ -32,8 +52,14 @@ import java.util.stream.Collectors;
  * @since 2024
  */
 @Service
+@Timed(MetricsConfig.SERVICE_TIMER)
 public class TeacherServiceImpl implements TeacherService {
 
+    /**
+     * Fields a merge patch may change.
+     */
+    private static final Set<String> PATCHABLE_FIELDS = Set.of("firstName", "lastName", "email");
+
     /**
      * Repository for teacher data access operations.
      */
@@ -44,15 +70,91 @@ public class TeacherServiceImpl implements TeacherService {
      */
     private final TeacherMapper teacherMapper;
 
+    /**
+     * Evicts second-level cache entries Hibernate does not invalidate itself.
+     */
+    private final SecondLevelCacheEvictor cacheEvictor;
+
+    /**
+     * Reads the maintained enrollment counts.
+     */
+    private final CourseEnrollmentSummaryRepository summaryRepository;
+
+    /**
+     * Keeps the name and email search index in step with teacher writes.
+     */
+    private final SearchIndex searchIndex;
+
+    /**
+     * Runs updates in their own transaction and reruns them on version conflicts.
+     */
+    private final OptimisticRetry optimisticRetry;
+
+    /**
+     * Writes pending enrollment counts before summaries are read.
+     */
+    private final SeatAllocator seatAllocator;
+
+    /**
+     * Deletes teachers with their courses by set-based statements.
+     */
+    private final CascadeDeleter cascadeDeleter;
+
+    /**
+     * Applies merge patches to the patchable fields of a teacher.
+     */
+    private final MergePatcher mergePatcher;
+
+    /**
+     * Evicts the cached DTO of a patched teacher.
+     */
+    private final DtoCacheInvalidator dtoCacheInvalidator;
+
+    /**
+     * Loads teachers with the requested properties only.
+     */
+    private final SparseFieldLoader sparseFieldLoader;
+
+    /**
+     * Loads teachers by ID in chunks of IN queries.
+     */
+    private final BatchLoader batchLoader;
+
     /**
      * Constructor for dependency injection.
      * 
      * @param teacherRepository the teacher repository
      * @param teacherMapper the teacher mapper
+     * @param cacheEvictor the second-level cache evictor
+     * @param summaryRepository the course enrollment summary repository
+     * @param searchIndex the search index
+     * @param optimisticRetry the optimistic retry policy
+     * @param seatAllocator the seat allocator
+     * @param cascadeDeleter the cascade deleter
+     * @param mergePatcher the merge patcher
+     * @param dtoCacheInvalidator the DTO cache invalidator
+     * @param sparseFieldLoader the sparse field loader
+     * @param batchLoader the batch loader
      */
-    public TeacherServiceImpl(TeacherRepository teacherRepository, TeacherMapper teacherMapper) {
+    public TeacherServiceImpl(TeacherRepository teacherRepository, TeacherMapper teacherMapper,
+                              SecondLevelCacheEvictor cacheEvictor,
+                              CourseEnrollmentSummaryRepository summaryRepository, SearchIndex searchIndex,
+                              OptimisticRetry optimisticRetry, SeatAllocator seatAllocator,
+                              CascadeDeleter cascadeDeleter, MergePatcher mergePatcher,
+                              DtoCacheInvalidator dtoCacheInvalidator, SparseFieldLoader sparseFieldLoader,
+                              BatchLoader batchLoader) {
         this.teacherRepository = teacherRepository;
         this.teacherMapper = teacherMapper;
+        this.cacheEvictor = cacheEvictor;
+        this.summaryRepository = summaryRepository;
+        this.searchIndex = searchIndex;
+        this.optimisticRetry = optimisticRetry;
+        this.seatAllocator = seatAllocator;
+        this.cascadeDeleter = cascadeDeleter;
+        this.mergePatcher = mergePatcher;
+        this.dtoCacheInvalidator = dtoCacheInvalidator;
+        this.sparseFieldLoader = sparseFieldLoader;
+        this.batchLoader = batchLoader;
     }
 
     /**
@@ -71,38 +173,183 @@ public class TeacherServiceImpl implements TeacherService {
         
         Teacher teacher = teacherMapper.toEntity(teacherDTO);
         Teacher savedTeacher = teacherRepository.save(teacher);
+        searchIndex.indexTeacher(savedTeacher.getId(), savedTeacher.getFirstName(),
+                savedTeacher.getLastName(), savedTeacher.getEmail());
         return teacherMapper.toDTO(savedTeacher);
     }
 
     /**
      * Retrieves a teacher by their unique identifier.
+     * Served from the DTO cache, or else from the second-level cache when the
+     * teacher and its course list are cached there.
      * 
      * @param id the unique identifier of the teacher
      * @return the teacher data if found
      * @throws RuntimeException if teacher with given ID doesn't exist
      */
     @Override
+    @Cacheable(cacheNames = CacheConfig.TEACHER_DTOS, key = "#id")
+    @Transactional(readOnly = true)
     public TeacherDTO getTeacherById(Long id) {
         Teacher teacher = teacherRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Teacher not found with id: " + id));
         return teacherMapper.toDTO(teacher);
     }
 
+    /**
+     * Retrieves the requested properties of a teacher. The course list is
+     * only queried if courseIds is requested.
+     * 
+     * @param id the unique identifier of the teacher
+     * @param fields the comma-separated properties to load, null for all
+     * @return the teacher data with the other properties null
+     * @throws IllegalArgumentException if a property is unknown
+     * @throws RuntimeException if teacher with given ID doesn't exist
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public TeacherDTO getTeacherById(Long id, String fields) {
+        Set<String> selected = sparseFieldLoader.teachers().parse(fields);
+        if (selected == null) {
+            // not through getTeacherById(id): a self-call would bypass the DTO cache without saying so
+            return teacherMapper.toDTO(teacherRepository.findById(id)
+                    .orElseThrow(() -> new RuntimeException("Teacher not found with id: " + id)));
+        }
+        return sparseFieldLoader.teachers().load(selected, List.of(id)).stream()
+                .findFirst()
+                .orElseThrow(() -> new RuntimeException("Teacher not found with id: " + id));
+    }
+
+    /**
+     * Retrieves the version of a teacher for its ETag.
+     * Served from the second-level cache without initializing the course list.
+     * 
+     * @param id the unique identifier of the teacher
+     * @return the version and last modification time
+     * @throws RuntimeException if teacher with given ID doesn't exist
+     */
+    @Override
+    @Cacheable(cacheNames = CacheConfig.TEACHER_VERSIONS, key = "#id")
+    @Transactional(readOnly = true)
+    public EntityVersionDTO getTeacherVersion(Long id) {
+        Teacher teacher = teacherRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("Teacher not found with id: " + id));
+        return new EntityVersionDTO(teacher.getVersion(), teacher.getUpdatedAt());
+    }
+
     /**
      * Retrieves all teachers in the system.
      * 
      * @return list of all teachers, empty list if no teachers exist
      */
     @Override
+    @Transactional(readOnly = true)
     public List<TeacherDTO> getAllTeachers() {
-        List<Teacher> teachers = teacherRepository.findAll();
+        List<Teacher> teachers = teacherRepository.findAllWithRelations();
         return teachers.stream()
                 .map(teacherMapper::toDTO)
                 .collect(Collectors.toList());
     }
 
     /**
-     * Updates an existing teacher's information.
+     * Retrieves the course and enrollment counts of every teacher from the
+     * maintained course summaries, without touching the enrollments.
+     * Not transactional, so that the pending counts are written before a
+     * connection is taken for the read.
+     * 
+     * @return one summary per teacher, ordered by ID
+     */
+    @Override
+    public List<TeacherSummaryDTO> getTeacherSummaries() {
+        seatAllocator.flush();
+        return summaryRepository.findTeacherSummaries();
+    }
+
+    /**
+     * Retrieves one page of teachers using keyset pagination on the ID.
+     * Fetches one extra row to find out whether a further page exists.
+     * 
+     * @param cursor the cursor returned with the previous page, null for the first page
+     * @param size the requested page size, clamped to the allowed maximum
+     * @return the page of teachers and the cursor for the next page
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageDTO<TeacherDTO> getTeachersPage(String cursor, int size) {
+        return getTeachersPage(cursor, size, null);
+    }
+
+    /**
+     * Retrieves one page of teachers with the requested properties only.
+     * 
+     * @param cursor the cursor returned with the previous page, null for the first page
+     * @param size the requested page size, clamped to the allowed maximum
+     * @param fields the comma-separated properties to load, null for all
+     * @return the page of teachers and the cursor for the next page
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageDTO<TeacherDTO> getTeachersPage(String cursor, int size, String fields) {
+        Set<String> selected = sparseFieldLoader.teachers().parse(fields);
+        int pageSize = KeysetCursor.clampSize(size);
+        List<Long> ids = teacherRepository.findIdsAfter(KeysetCursor.decode(cursor), Limit.of(pageSize + 1));
+        if (ids.isEmpty()) {
+            return new CursorPageDTO<>(List.of(), null);
+        }
+
+        String nextCursor = null;
+        if (ids.size() > pageSize) {
+            ids = ids.subList(0, pageSize);
+            nextCursor = KeysetCursor.encode(ids.get(pageSize - 1));
+        }
+
+        List<TeacherDTO> items = selected != null
+                ? sparseFieldLoader.teachers().load(selected, ids)
+                : teacherRepository.findByIdInOrderByIdAsc(ids).stream()
+                        .map(teacherMapper::toDTO)
+                        .collect(Collectors.toList());
+        return new CursorPageDTO<>(items, nextCursor);
+    }
+
+    /**
+     * Retrieves the teachers with the given IDs, with one IN query per chunk
+     * of IDs.
+     * 
+     * @param ids the IDs of the teachers
+     * @param fields the comma-separated properties to load, null for all
+     * @return the teachers in request order and the IDs that do not exist
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public BatchDTO<TeacherDTO> getTeachersByIds(List<Long> ids, String fields) {
+        Set<String> selected = sparseFieldLoader.teachers().parse(fields);
+        return batchLoader.load(ids, chunk -> selected != null
+                ? sparseFieldLoader.teachers().load(selected, chunk)
+                : teacherRepository.findByIdInOrderByIdAsc(chunk).stream()
+                        .map(teacherMapper::toDTO)
+                        .collect(Collectors.toList()), TeacherDTO::getId);
+    }
+
+    /**
+     * Computes the ETag of a keyset page of teachers from their IDs and versions,
+     * with one index seek and without loading any entity.
+     * 
+     * @param cursor the cursor returned with the previous page, null for the first page
+     * @param size the requested page size, clamped to the allowed maximum
+     * @return the quoted ETag of the page
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public String getTeachersPageETag(String cursor, int size) {
+        int pageSize = KeysetCursor.clampSize(size);
+        List<Object[]> idVersions = teacherRepository.findIdVersionsAfter(KeysetCursor.decode(cursor),
+                Limit.of(pageSize + 1));
+        return EntityTags.ofPage(idVersions, pageSize);
+    }
+
+    /**
+     * Updates an existing teacher's information, rerunning the update on
+     * optimistic locking conflicts.
      * 
      * @param id the unique identifier of the teacher to update
      * @param teacherDTO the updated teacher data
@@ -111,34 +358,138 @@ public class TeacherServiceImpl implements TeacherService {
      * @throws IllegalArgumentException if teacherDTO is null or invalid
      */
     @Override
+    @Caching(put = @CachePut(cacheNames = CacheConfig.TEACHER_DTOS, key = "#id"),
+            evict = @CacheEvict(cacheNames = CacheConfig.TEACHER_VERSIONS, key = "#id"))
     public TeacherDTO updateTeacher(Long id, TeacherDTO teacherDTO) {
+        return optimisticRetry.execute(() -> applyUpdate(id, teacherDTO, null));
+    }
+
+    /**
+     * Updates an existing teacher's information if it is still at one of
+     * the expected versions, without retrying.
+     * 
+     * @param id the unique identifier of the teacher to update
+     * @param teacherDTO the updated teacher data
+     * @param expectedVersions the versions the caller accepts, any of which may match;
+     *                         null for no precondition
+     * @return the updated teacher information
+     * @throws StaleVersionException if the teacher is at none of the expected versions
+     * @throws RuntimeException if teacher with given ID doesn't exist
+     * @throws IllegalArgumentException if teacherDTO is null or invalid
+     */
+    @Override
+    @Caching(put = @CachePut(cacheNames = CacheConfig.TEACHER_DTOS, key = "#id"),
+            evict = @CacheEvict(cacheNames = CacheConfig.TEACHER_VERSIONS, key = "#id"))
+    public TeacherDTO updateTeacher(Long id, TeacherDTO teacherDTO, Set<Long> expectedVersions) {
+        return optimisticRetry.executeOnce(() -> applyUpdate(id, teacherDTO, expectedVersions));
+    }
+
+    private TeacherDTO applyUpdate(Long id, TeacherDTO teacherDTO, Set<Long> expectedVersions) {
         if (teacherDTO == null) {
             throw new IllegalArgumentException("TeacherDTO cannot be null");
         }
         
-        Teacher existingTeacher = teacherRepository.findById(id)
+        Teacher existingTeacher = teacherRepository.findWithRelationsById(id)
                 .orElseThrow(() -> new RuntimeException("Teacher not found with id: " + id));
+        if (expectedVersions != null && !expectedVersions.contains(existingTeacher.getVersion())) {
+            throw new StaleVersionException("Teacher", id, expectedVersions, existingTeacher.getVersion());
+        }
         
         // Update fields
         existingTeacher.setFirstName(teacherDTO.getFirstName());
         existingTeacher.setLastName(teacherDTO.getLastName());
         existingTeacher.setEmail(teacherDTO.getEmail());
         
-        Teacher updatedTeacher = teacherRepository.save(existingTeacher);
+        // Flush now so a version conflict surfaces here and the DTO carries the new version
+        Teacher updatedTeacher = teacherRepository.saveAndFlush(existingTeacher);
+        searchIndex.indexTeacher(id, updatedTeacher.getFirstName(), updatedTeacher.getLastName(),
+                updatedTeacher.getEmail());
+        cacheEvictor.evictTeacher(id, List.of());
         return teacherMapper.toDTO(updatedTeacher);
     }
 
+    /**
+     * Applies a JSON Merge Patch to a teacher, retrying on concurrent updates.
+     * 
+     * @param id the unique identifier of the teacher to patch
+     * @param patch the merge patch
+     * @return the version of the teacher after the patch
+     */
+    @Override
+    public EntityVersionDTO patchTeacher(Long id, JsonNode patch) {
+        return optimisticRetry.execute(() -> applyPatch(id, patch, null));
+    }
+
+    /**
+     * Applies a JSON Merge Patch to a teacher still at one of the expected versions.
+     * 
+     * @param id the unique identifier of the teacher to patch
+     * @param patch the merge patch
+     * @param expectedVersions the versions the caller accepts, any of which may match
+     * @return the version of the teacher after the patch
+     */
+    @Override
+    public EntityVersionDTO patchTeacher(Long id, JsonNode patch, Set<Long> expectedVersions) {
+        return optimisticRetry.executeOnce(() -> applyPatch(id, patch, expectedVersions));
+    }
+
+    private EntityVersionDTO applyPatch(Long id, JsonNode patch, Set<Long> expectedVersions) {
+        // Plain findById: the courses stay unloaded and a cached teacher needs no SELECT
+        Teacher teacher = teacherRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("Teacher not found with id: " + id));
+        if (expectedVersions != null && !expectedVersions.contains(teacher.getVersion())) {
+            throw new StaleVersionException("Teacher", id, expectedVersions, teacher.getVersion());
+        }
+
+        TeacherDTO patched = mergePatcher.apply(patchableFieldsOf(teacher), patch, PATCHABLE_FIELDS);
+        if (patched.equals(patchableFieldsOf(teacher))) {
+            return new EntityVersionDTO(teacher.getVersion(), teacher.getUpdatedAt());
+        }
+
+        teacher.setFirstName(patched.getFirstName());
+        teacher.setLastName(patched.getLastName());
+        teacher.setEmail(patched.getEmail());
+        Teacher updatedTeacher = teacherRepository.saveAndFlush(teacher);
+        searchIndex.indexTeacher(id, updatedTeacher.getFirstName(), updatedTeacher.getLastName(),
+                updatedTeacher.getEmail());
+        dtoCacheInvalidator.evictTeachers(id);
+        return new EntityVersionDTO(updatedTeacher.getVersion(), updatedTeacher.getUpdatedAt());
+    }
+
+    private static TeacherDTO patchableFieldsOf(Teacher teacher) {
+        TeacherDTO fields = new TeacherDTO();
+        fields.setFirstName(teacher.getFirstName());
+        fields.setLastName(teacher.getLastName());
+        fields.setEmail(teacher.getEmail());
+        return fields;
+    }
+
     /**
      * Deletes a teacher from the system.
+     * The teacher's courses are deleted with it by set-based statements,
+     * without loading them, and the cache entries of the courses and the DTOs
+     * of their students are evicted together with the teacher's.
      * 
      * @param id the unique identifier of the teacher to delete
      * @throws RuntimeException if teacher with given ID doesn't exist
      */
     @Override
+    @CacheEvict(cacheNames = {CacheConfig.TEACHER_DTOS, CacheConfig.TEACHER_VERSIONS}, key = "#id")
+    @Transactional
     public void deleteTeacher(Long id) {
-        if (!teacherRepository.existsById(id)) {
+        if (cascadeDeleter.deleteTeachers(List.of(id)).getTeachers() == 0) {
             throw new RuntimeException("Teacher not found with id: " + id);
         }
-        teacherRepository.deleteById(id);
+    }
+
+    @Override
+    @Transactional
+    public BulkDeleteResultDTO deleteTeachers(List<Long> ids, String emailDomain) {
+        if ((ids == null || ids.isEmpty()) == (emailDomain == null)) {
+            throw new IllegalArgumentException("Specify either ids or emailDomain");
+        }
+        List<Long> teacherIds = ids != null && !ids.isEmpty() ? ids
+                : teacherRepository.findIdsByEmailSuffix(EmailDomains.suffixOf(emailDomain));
+        return cascadeDeleter.deleteTeachers(teacherIds);
     }
 }
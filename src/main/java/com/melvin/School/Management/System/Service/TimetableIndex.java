@@ -0,0 +1,283 @@
+package com.melvin.School.Management.System.Service;
+
+import com.melvin.School.Management.System.Model.MeetingSlot;
+import com.melvin.School.Management.System.Model.MeetingSlotsConverter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Timetable Index
+ *
+ * Keeps the weekly meeting times of every student's and teacher's courses
+ * in memory, so checking a new course for overlaps is a lookup in a sorted
+ * set instead of loading every course the student or teacher already has.
+ *
+ * A schedule is loaded from the database the first time its student or
+ * teacher is checked. Bookings made inside a transaction are undone if it
+ * rolls back; a schedule first loaded inside a transaction that rolls back
+ * is dropped and reloaded on next use, as it may contain the transaction's
+ * own uncommitted changes. Removals apply once their transaction commits.
+ *
+ * The schedules live in this JVM; with several application instances the
+ * check is only enforced per instance, and the conflict report
+ * ({@code GET /api/courses/conflicts}) finds what slipped through.
+ *
+ * @author Melvin Chibanda
+ * @version 1.0
+ * @since 2024
+ */
+@Component
+public class TimetableIndex {
+
+    private static final String LOAD_STUDENT = "select c.id, c.meetings from student_courses sc "
+            + "join courses c on c.id = sc.course_id where sc.student_id = ? and c.meetings is not null";
+    private static final String LOAD_TEACHER =
+            "select id, meetings from courses where teacher_id = ? and meetings is not null";
+
+    private final ConcurrentMap<Long, Schedule> students = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Long, Schedule> teachers = new ConcurrentHashMap<>();
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public TimetableIndex(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * One meeting of a course in a schedule, in minutes since Monday 00:00.
+     */
+    private record Interval(int start, int end, Long courseId) {
+
+        static final Comparator<Interval> ORDER = Comparator.comparingInt(Interval::start)
+                .thenComparingInt(Interval::end)
+                .thenComparing(Interval::courseId);
+
+        /**
+         * @return a key ordered before every interval starting at the minute
+         */
+        static Interval probe(int start) {
+            return new Interval(start, Integer.MIN_VALUE, Long.MIN_VALUE);
+        }
+    }
+
+    /**
+     * The meetings of all courses of one student or teacher, ordered by
+     * start. Loaded schedules may already contain overlaps (made before
+     * the check existed or behind its back), so a lookup cannot assume the
+     * intervals are disjoint; instead it scans the intervals starting within
+     * the longest meeting length before the candidate, which is a handful.
+     */
+    private static final class Schedule {
+
+        private final NavigableSet<Interval> intervals = new TreeSet<>(Interval.ORDER);
+        private final Map<Long, List<Interval>> byCourse = new HashMap<>();
+        private int longest;
+
+        /**
+         * @return a course other than the given one meeting at an overlapping time, or null
+         */
+        synchronized Long conflictWith(Long courseId, List<Interval> candidates) {
+            for (Interval candidate : candidates) {
+                for (Interval other : intervals.subSet(Interval.probe(candidate.start() - longest), true,
+                        Interval.probe(candidate.end()), false)) {
+                    if (other.end() > candidate.start() && !other.courseId().equals(courseId)) {
+                        return other.courseId();
+                    }
+                }
+            }
+            return null;
+        }
+
+        /**
+         * Replaces the meetings of a course.
+         *
+         * @return the meetings it replaced, empty if the course was not in the schedule
+         */
+        synchronized List<Interval> put(Long courseId, List<Interval> meetings) {
+            List<Interval> previous = byCourse.remove(courseId);
+            if (previous != null) {
+                previous.forEach(intervals::remove);
+            }
+            if (!meetings.isEmpty()) {
+                byCourse.put(courseId, meetings);
+                for (Interval meeting : meetings) {
+                    intervals.add(meeting);
+                    longest = Math.max(longest, meeting.end() - meeting.start());
+                }
+            }
+            return previous != null ? previous : List.of();
+        }
+    }
+
+    /**
+     * Books the meetings of a course in a student's schedule unless they
+     * overlap another of the student's courses. Inside a transaction the
+     * booking is undone if it rolls back.
+     *
+     * @return the ID of a course meeting at an overlapping time, or null if booked
+     */
+    public Long tryBookStudent(Long studentId, Long courseId, List<MeetingSlot> meetings) {
+        return tryBook(students, LOAD_STUDENT, studentId, courseId, meetings);
+    }
+
+    /**
+     * Books the meetings of a course in a teacher's schedule unless they
+     * overlap another of the teacher's courses. Inside a transaction the
+     * booking is undone if it rolls back.
+     *
+     * @return the ID of a course meeting at an overlapping time, or null if booked
+     */
+    public Long tryBookTeacher(Long teacherId, Long courseId, List<MeetingSlot> meetings) {
+        return tryBook(teachers, LOAD_TEACHER, teacherId, courseId, meetings);
+    }
+
+    /**
+     * Immediately takes a course out of a student's schedule again, for a
+     * booking the caller could not complete.
+     */
+    public void releaseStudent(Long studentId, Long courseId) {
+        Schedule schedule = students.get(studentId);
+        if (schedule != null) {
+            schedule.put(courseId, List.of());
+        }
+    }
+
+    /**
+     * Takes courses out of the schedules of the given students and teachers
+     * once the transaction commits.
+     */
+    public void removed(Collection<Long> courseIds, Collection<Long> teacherIds, Collection<Long> studentIds) {
+        afterCommit(() -> {
+            remove(teachers, teacherIds, courseIds);
+            remove(students, studentIds, courseIds);
+        });
+    }
+
+    /**
+     * Forgets the schedule of a deleted student once the transaction commits.
+     */
+    public void studentRemoved(Long studentId) {
+        afterCommit(() -> students.remove(studentId));
+    }
+
+    /**
+     * Forgets the schedule of a deleted teacher once the transaction commits.
+     */
+    public void teacherRemoved(Long teacherId) {
+        afterCommit(() -> teachers.remove(teacherId));
+    }
+
+    private Long tryBook(ConcurrentMap<Long, Schedule> owners, String load, Long ownerId, Long courseId,
+                         List<MeetingSlot> meetings) {
+        List<Interval> booked = new ArrayList<>(meetings.size());
+        for (MeetingSlot meeting : meetings) {
+            booked.add(new Interval(meeting.startMinute(), meeting.endMinute(), courseId));
+        }
+        // a course without meetings cannot conflict; only an already loaded schedule needs updating
+        Schedule schedule = booked.isEmpty() ? owners.get(ownerId) : scheduleOf(owners, load, ownerId);
+        if (schedule == null) {
+            return null;
+        }
+        List<Interval> previous;
+        synchronized (schedule) {
+            Long conflict = schedule.conflictWith(courseId, booked);
+            if (conflict != null) {
+                return conflict;
+            }
+            previous = schedule.put(courseId, booked);
+        }
+        onRollback(() -> schedule.put(courseId, previous));
+        return null;
+    }
+
+    private Schedule scheduleOf(ConcurrentMap<Long, Schedule> owners, String load, Long ownerId) {
+        Schedule schedule = owners.get(ownerId);
+        if (schedule != null) {
+            return schedule;
+        }
+        Schedule loaded = new Schedule();
+        Map<Long, List<Interval>> meetings = new HashMap<>();
+        jdbcTemplate.query(load, (RowCallbackHandler) row -> {
+            Long courseId = row.getLong(1);
+            for (MeetingSlot meeting : MeetingSlotsConverter.parse(row.getString(2))) {
+                meetings.computeIfAbsent(courseId, id -> new ArrayList<>())
+                        .add(new Interval(meeting.startMinute(), meeting.endMinute(), courseId));
+            }
+        }, ownerId);
+        meetings.forEach(loaded::put);
+        Schedule existing = owners.putIfAbsent(ownerId, loaded);
+        if (existing != null) {
+            return existing;
+        }
+        // loaded in this transaction, so it may hold the transaction's own changes
+        onRollback(() -> owners.remove(ownerId, loaded));
+        return loaded;
+    }
+
+    private static void remove(ConcurrentMap<Long, Schedule> owners, Collection<Long> ownerIds,
+                               Collection<Long> courseIds) {
+        for (Long ownerId : ownerIds) {
+            Schedule schedule = owners.get(ownerId);
+            if (schedule != null) {
+                courseIds.forEach(courseId -> schedule.put(courseId, List.of()));
+            }
+        }
+    }
+
+    /**
+     * Registers an undo action of the current transaction. Actions run in
+     * reverse order on rollback, so repeated bookings of the same course
+     * restore the state before the first one.
+     */
+    @SuppressWarnings("unchecked")
+    private void onRollback(Runnable undo) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        Deque<Runnable> undos = (Deque<Runnable>) TransactionSynchronizationManager.getResource(this);
+        if (undos == null) {
+            Deque<Runnable> pending = new ArrayDeque<>();
+            TransactionSynchronizationManager.bindResource(this, pending);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(TimetableIndex.this);
+                    if (status != STATUS_COMMITTED) {
+                        pending.forEach(Runnable::run);
+                    }
+                }
+            });
+            undos = pending;
+        }
+        undos.push(undo);
+    }
+
+    private static void afterCommit(Runnable update) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    update.run();
+                }
+            });
+        } else {
+            update.run();
+        }
+    }
+}
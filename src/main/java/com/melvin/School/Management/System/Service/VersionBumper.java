@@ -0,0 +1,85 @@
+package com.melvin.School.Management.System.Service;
+
+import com.melvin.School.Management.System.Model.Course;
+import com.melvin.School.Management.System.Model.Student;
+import com.melvin.School.Management.System.Model.Teacher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+/**
+ * Version Bumper
+ * 
+ * Increments the version of students, courses and teachers whose DTO changed
+ * without a change to their own row: their courseIds, studentIds or
+ * courseIds lists are maintained through student_courses or the inverse
+ * side of Course.teacher, which Hibernate does not version. Keeping the
+ * version in step with the representation lets it serve as a strong ETag.
+ * 
+ * Every method must be called inside the transaction that makes the change.
+ * Rows are updated in ascending ID order, so concurrent transactions lock
+ * them in the same order, and their second-level cache entries are evicted
+ * after commit.
+ * 
+ * @author Melvin Chibanda
+ * @version 1.0
+ * @since 2024
+ */
+@Component
+public class VersionBumper {
+
+    private static final String BUMP =
+            "update %s set version = version + 1, updated_at = ? where id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final SecondLevelCacheEvictor cacheEvictor;
+
+    public VersionBumper(JdbcTemplate jdbcTemplate, SecondLevelCacheEvictor cacheEvictor) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.cacheEvictor = cacheEvictor;
+    }
+
+    /**
+     * Bumps the given students (their courseIds changed).
+     */
+    public void bumpStudents(Collection<Long> studentIds) {
+        bump("students", Student.class, studentIds);
+    }
+
+    /**
+     * Bumps the given courses (their studentIds changed).
+     */
+    public void bumpCourses(Collection<Long> courseIds) {
+        bump("courses", Course.class, courseIds);
+    }
+
+    /**
+     * Bumps the given teachers (their courseIds changed), nulls are ignored.
+     */
+    public void bumpTeachers(Long... teacherIds) {
+        bump("teachers", Teacher.class, Arrays.asList(teacherIds));
+    }
+
+    private void bump(String table, Class<?> type, Collection<Long> ids) {
+        List<Long> sorted = ids.stream()
+                .filter(Objects::nonNull)
+                .distinct()
+                .sorted()
+                .collect(Collectors.toList());
+        if (sorted.isEmpty()) {
+            return;
+        }
+        Timestamp now = Timestamp.from(Instant.now());
+        jdbcTemplate.batchUpdate(BUMP.formatted(table), sorted.stream()
+                .map(id -> new Object[]{now, id})
+                .collect(Collectors.toList()));
+        cacheEvictor.evictEntities(type, sorted);
+    }
+}
@@ -0,0 +1,111 @@
+package com.melvin.School.Management.System.Utility;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Adaptive Limit
+ *
+ * Limits the number of requests in flight, and adapts the limit to the
+ * latency the requests observe (additive increase, multiplicative
+ * decrease). A request slower than the target latency cuts the limit by a
+ * tenth, at most once per target latency so that one slow burst does not
+ * collapse it; a faster one raises it by one while the limit is at least
+ * half used. The limit stays between a minimum and a maximum.
+ *
+ * The counters are atomics updated by compare-and-set; admitting and
+ * releasing a request never blocks.
+ *
+ * @author Melvin Chibanda
+ * @version 1.0
+ * @since 2024
+ */
+public final class AdaptiveLimit {
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger limit = new AtomicInteger();
+    private final AtomicLong lastDecrease;
+
+    private volatile int minLimit;
+    private volatile int maxLimit;
+    private volatile long targetLatencyNanos;
+
+    /**
+     * Starts at the maximum limit.
+     *
+     * @param targetLatencyNanos latency above which the limit is decreased
+     */
+    public AdaptiveLimit(int minLimit, int maxLimit, long targetLatencyNanos) {
+        setLimits(minLimit, maxLimit, targetLatencyNanos);
+        this.limit.set(maxLimit);
+        this.lastDecrease = new AtomicLong(System.nanoTime() - targetLatencyNanos);
+    }
+
+    /**
+     * Changes the bounds and the target latency, moving the current limit
+     * into the new bounds.
+     *
+     * @throws IllegalArgumentException if the bounds are not positive or the minimum exceeds the maximum
+     */
+    public void setLimits(int minLimit, int maxLimit, long targetLatencyNanos) {
+        if (minLimit < 1 || maxLimit < minLimit || targetLatencyNanos <= 0) {
+            throw new IllegalArgumentException("Limits must satisfy 1 <= min <= max and the target latency be positive");
+        }
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.targetLatencyNanos = targetLatencyNanos;
+        limit.updateAndGet(current -> Math.min(maxLimit, Math.max(minLimit, current)));
+    }
+
+    /**
+     * Admits a request if fewer than the limit are in flight. An admitted
+     * request must be {@linkplain #release released}.
+     *
+     * @return whether the request was admitted
+     */
+    public boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= limit.get()) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Releases an admitted request and adapts the limit to its latency.
+     *
+     * @param latencyNanos how long the request took
+     * @param now the current {@link System#nanoTime()}
+     */
+    public void release(long latencyNanos, long now) {
+        int wasInFlight = inFlight.getAndDecrement();
+        if (latencyNanos > targetLatencyNanos) {
+            long last = lastDecrease.get();
+            if (now - last >= targetLatencyNanos && lastDecrease.compareAndSet(last, now)) {
+                int min = minLimit;
+                limit.updateAndGet(current -> Math.max(min, Math.min(current - 1, current * 9 / 10)));
+            }
+        } else if (wasInFlight * 2 >= limit.get()) {
+            int max = maxLimit;
+            limit.updateAndGet(current -> Math.min(max, current + 1));
+        }
+    }
+
+    /**
+     * @return the current limit
+     */
+    public int getLimit() {
+        return limit.get();
+    }
+
+    /**
+     * @return the number of requests in flight
+     */
+    public int getInFlight() {
+        return inFlight.get();
+    }
+}
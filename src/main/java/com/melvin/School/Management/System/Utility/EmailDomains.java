@@ -0,0 +1,35 @@
+package com.melvin.School.Management.System.Utility;
+
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * Email Domains Utility
+ * 
+ * Turns an email domain given as a filter (e.g. {@code old.school.edu})
+ * into the lower-case address suffix matched against stored emails.
+ * 
+ * @author Melvin Chibanda
+ * @version 1.0
+ * @since 2024
+ */
+public final class EmailDomains {
+
+    // no LIKE wildcards, so the suffix can be matched as is
+    private static final Pattern DOMAIN = Pattern.compile("[A-Za-z0-9.-]+");
+
+    private EmailDomains() {
+    }
+
+    /**
+     * @param domain the domain, without the {@code @}
+     * @return the suffix of all addresses in the domain, e.g. {@code @old.school.edu}
+     * @throws IllegalArgumentException if the domain contains other characters than letters, digits, dots and dashes
+     */
+    public static String suffixOf(String domain) {
+        if (domain == null || !DOMAIN.matcher(domain).matches()) {
+            throw new IllegalArgumentException("Invalid email domain: " + domain);
+        }
+        return "@" + domain.toLowerCase(Locale.ROOT);
+    }
+}
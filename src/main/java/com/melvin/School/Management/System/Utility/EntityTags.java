@@ -0,0 +1,156 @@
+package com.melvin.School.Management.System.Utility;
+
+import com.melvin.School.Management.System.Dto.EntityVersionDTO;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Entity Tags Utility
+ * 
+ * Derives the strong ETags of the API resources from entity versions. A
+ * single resource is tagged with its version; a keyset page is tagged with
+ * a digest of the IDs and versions it contains and of whether a next page
+ * exists, so the tag changes whenever any byte of the page would. A
+ * sparse representation ({@code ?fields=}) carries a digest of its field
+ * selection in addition, so it never validates the full body or a
+ * different selection.
+ * 
+ * Conditional updates read the expected versions back from If-Match.
+ * 
+ * @author Melvin Chibanda
+ * @version 1.0
+ * @since 2024
+ */
+public final class EntityTags {
+
+    private EntityTags() {
+    }
+
+    /**
+     * @param version the version of the resource
+     * @return the quoted ETag of a single resource
+     */
+    public static String of(EntityVersionDTO version) {
+        return of(version.getVersion());
+    }
+
+    /**
+     * @param version the version of the resource
+     * @return the quoted ETag of a single resource
+     */
+    public static String of(Long version) {
+        return "\"" + version + "\"";
+    }
+
+    /**
+     * Tags the representation of a resource or page restricted to a field
+     * selection. The selection is normalized first, so the order of the
+     * fields and repeated or blank entries do not change the tag.
+     * 
+     * @param etag the quoted ETag of the full representation
+     * @param fields the {@code fields} parameter, may be null
+     * @return {@code etag} itself if every field is selected, otherwise a tag
+     *         unique to the selection
+     */
+    public static String withFields(String etag, String fields) {
+        Set<String> selected = SparseFields.parse(fields);
+        if (selected == null) {
+            return etag;
+        }
+        byte[] selection = String.join(",", new TreeSet<>(selected)).getBytes(StandardCharsets.UTF_8);
+        String digest = HexFormat.of().formatHex(sha256().digest(selection), 0, 8);
+        return etag.substring(0, etag.length() - 1) + "-f" + digest + "\"";
+    }
+
+    /**
+     * Reads the versions a client expects from an If-Match header. Only
+     * strong comparison is allowed for If-Match, so weak tags, and tags that
+     * are not a version (such as those of sparse representations), match no
+     * version; a header listing nothing else yields an empty set.
+     * 
+     * @param ifMatch the tags of the If-Match header, as parsed by
+     *                {@link org.springframework.http.HttpHeaders#getIfMatch()}
+     * @return the expected versions, or null if the header is absent or "*"
+     */
+    public static Set<Long> versionsOf(List<String> ifMatch) {
+        if (ifMatch.isEmpty() || ifMatch.contains("*")) {
+            return null;
+        }
+        Set<Long> versions = new LinkedHashSet<>();
+        for (String tag : ifMatch) {
+            if (tag.length() > 2 && tag.charAt(0) == '"' && tag.charAt(tag.length() - 1) == '"') {
+                try {
+                    versions.add(Long.parseLong(tag.substring(1, tag.length() - 1)));
+                } catch (NumberFormatException e) {
+                    // not a version tag, matches nothing
+                }
+            }
+        }
+        return versions;
+    }
+
+    /**
+     * Whether an If-None-Match header matches a representation, using the
+     * weak comparison If-None-Match calls for: "*" matches any tag, and a
+     * weak tag matches the strong tag with the same value.
+     * 
+     * @param ifNoneMatch the tags of the If-None-Match header, as parsed by
+     *                    {@link org.springframework.http.HttpHeaders#getIfNoneMatch()}
+     * @param etag the quoted ETag of the representation
+     * @return whether the client's copy is current
+     */
+    public static boolean matchesIfNoneMatch(List<String> ifNoneMatch, String etag) {
+        for (String tag : ifNoneMatch) {
+            if (tag.equals("*") || tag.equals(etag) || tag.equals("W/" + etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @param version the version of the resource
+     * @return the Last-Modified time in epoch milliseconds, or -1 if unknown
+     */
+    public static long lastModified(EntityVersionDTO version) {
+        return version.getUpdatedAt() != null ? version.getUpdatedAt().toEpochMilli() : -1;
+    }
+
+    /**
+     * Tags a keyset page.
+     * 
+     * @param idVersions the (ID, version) pairs of the page in ID order, plus
+     *                   one more pair if a next page exists
+     * @param pageSize the page size
+     * @return the quoted ETag of the page
+     */
+    public static String ofPage(List<Object[]> idVersions, int pageSize) {
+        MessageDigest digest = sha256();
+        ByteBuffer buffer = ByteBuffer.allocate(2 * Long.BYTES);
+        int count = Math.min(idVersions.size(), pageSize);
+        for (int i = 0; i < count; i++) {
+            Object[] row = idVersions.get(i);
+            buffer.clear();
+            buffer.putLong((Long) row[0]).putLong((Long) row[1]);
+            digest.update(buffer.array());
+        }
+        digest.update((byte) (idVersions.size() > pageSize ? 1 : 0));
+        return "\"" + HexFormat.of().formatHex(digest.digest(), 0, 16) + "\"";
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.melvin.School.Management.System.Utility;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Keyset Cursor Utility
+ * 
+ * Encodes and decodes the opaque cursor tokens used by the paginated list
+ * endpoints. A cursor carries the ID of the last row returned, so the next
+ * page is fetched with an indexed {@code id > ?} seek instead of an OFFSET
+ * scan, keeping latency flat regardless of how deep the client pages.
+ * 
+ * @author Melvin Chibanda
+ * @version 1.0
+ * @since 2024
+ */
+public final class KeysetCursor {
+
+    /**
+     * Page size used when the client does not request one.
+     */
+    public static final int DEFAULT_PAGE_SIZE = 50;
+
+    /**
+     * Upper bound on the page size a client may request.
+     */
+    public static final int MAX_PAGE_SIZE = 500;
+
+    private KeysetCursor() {
+    }
+
+    /**
+     * Encodes the ID of the last returned row into a cursor token.
+     * 
+     * @param lastId the ID of the last row of the current page
+     * @return the URL-safe cursor token
+     */
+    public static String encode(Long lastId) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(String.valueOf(lastId).getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodes a cursor token into the ID to seek past.
+     * 
+     * @param cursor the cursor token, may be null or blank for the first page
+     * @return the ID after which the next page starts, 0 for the first page
+     * @throws IllegalArgumentException if the cursor is malformed
+     */
+    public static long decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return 0L;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            return Long.parseLong(raw);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor);
+        }
+    }
+
+    /**
+     * Clamps a requested page size into the range [1, MAX_PAGE_SIZE].
+     * 
+     * @param size the requested page size
+     * @return the page size to use
+     */
+    public static int clampSize(int size) {
+        if (size < 1) {
+            return DEFAULT_PAGE_SIZE;
+        }
+        return Math.min(size, MAX_PAGE_SIZE);
+    }
+}
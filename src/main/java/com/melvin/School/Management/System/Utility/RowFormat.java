@@ -0,0 +1,79 @@
+package com.melvin.School.Management.System.Utility;
+
+import org.springframework.http.MediaType;
+
+import java.util.Locale;
+
+/**
+ * Row Format
+ * 
+ * Flat row formats supported by the streaming export and import endpoints.
+ * 
+ * @author Melvin Chibanda
+ * @version 1.0
+ * @since 2024
+ */
+public enum RowFormat {
+
+    /**
+     * Newline-delimited JSON, one object per row.
+     */
+    NDJSON(MediaType.APPLICATION_NDJSON, "ndjson"),
+
+    /**
+     * Comma-separated values with a header row (RFC 4180 quoting).
+     */
+    CSV(new MediaType("text", "csv"), "csv");
+
+    private final MediaType mediaType;
+    private final String extension;
+
+    RowFormat(MediaType mediaType, String extension) {
+        this.mediaType = mediaType;
+        this.extension = extension;
+    }
+
+    public MediaType getMediaType() {
+        return mediaType;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+
+    /**
+     * Resolves a request parameter such as {@code csv} or {@code ndjson}.
+     * 
+     * @param value the parameter value, case-insensitive
+     * @return the matching format
+     * @throws IllegalArgumentException if the format is not supported
+     */
+    public static RowFormat fromParameter(String value) {
+        for (RowFormat format : values()) {
+            if (format.extension.equals(value.trim().toLowerCase(Locale.ROOT))) {
+                return format;
+            }
+        }
+        throw new IllegalArgumentException("Unsupported format: " + value);
+    }
+
+    /**
+     * Resolves the format of an uploaded file from its extension
+     * ({@code .csv}, {@code .ndjson} or {@code .jsonl}).
+     * 
+     * @param filename the original file name, may be null
+     * @return the matching format
+     * @throws IllegalArgumentException if the extension is missing or not supported
+     */
+    public static RowFormat fromFilename(String filename) {
+        String name = filename == null ? "" : filename.toLowerCase(Locale.ROOT);
+        if (name.endsWith(".csv")) {
+            return CSV;
+        }
+        if (name.endsWith(".ndjson") || name.endsWith(".jsonl")) {
+            return NDJSON;
+        }
+        throw new IllegalArgumentException("Cannot determine the format of '" + filename
+                + "', pass format=csv or format=ndjson");
+    }
+}
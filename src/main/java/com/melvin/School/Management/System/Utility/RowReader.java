@@ -0,0 +1,199 @@
+package com.melvin.School.Management.System.Utility;
+
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+/**
+ * Row Reader
+ * 
+ * Reads rows of one of the {@link RowFormat}s from an input stream one at a
+ * time and binds each to a DTO, so an upload is never held in memory as a
+ * whole. CSV input must start with a header row naming the DTO properties;
+ * unknown columns are ignored and empty fields are read as null.
+ * 
+ * Malformed input (invalid JSON, a value that cannot be bound) surfaces as a
+ * runtime exception from {@link #hasNext()} or {@link #next()}.
+ * 
+ * @author Melvin Chibanda
+ * @version 1.0
+ * @since 2024
+ */
+public abstract class RowReader<T> implements Iterator<T>, Closeable {
+
+    /**
+     * Opens a reader for the given format.
+     * 
+     * @param format the input format
+     * @param in the stream to read from, closed together with the reader
+     * @param objectMapper the mapper used to bind rows
+     * @param type the DTO type each row is bound to
+     * @return the row reader
+     */
+    public static <T> RowReader<T> open(RowFormat format, InputStream in, ObjectMapper objectMapper,
+                                        Class<T> type) throws IOException {
+        return switch (format) {
+            case NDJSON -> new NdjsonRowReader<>(objectMapper.readerFor(type).readValues(in));
+            case CSV -> new CsvRowReader<>(in, objectMapper, type);
+        };
+    }
+
+    private static final class NdjsonRowReader<T> extends RowReader<T> {
+
+        private final MappingIterator<T> rows;
+
+        NdjsonRowReader(MappingIterator<T> rows) {
+            this.rows = rows;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return rows.hasNext();
+        }
+
+        @Override
+        public T next() {
+            return rows.next();
+        }
+
+        @Override
+        public void close() throws IOException {
+            rows.close();
+        }
+    }
+
+    private static final class CsvRowReader<T> extends RowReader<T> {
+
+        private final Reader reader;
+        private final ObjectMapper objectMapper;
+        private final Class<T> type;
+        private final List<String> header;
+        private long row;
+        private List<String> next;
+
+        CsvRowReader(InputStream in, ObjectMapper objectMapper, Class<T> type) throws IOException {
+            this.reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+            this.objectMapper = objectMapper;
+            this.type = type;
+            skipByteOrderMark();
+            List<String> columns = readRecord();
+            this.header = columns == null ? List.of() : columns.stream().map(String::trim).toList();
+        }
+
+        private void skipByteOrderMark() throws IOException {
+            reader.mark(1);
+            if (reader.read() != '\uFEFF') {
+                reader.reset();
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (next == null) {
+                try {
+                    next = readRecord();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+            return next != null;
+        }
+
+        @Override
+        public T next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            List<String> fields = next;
+            next = null;
+            row++;
+            Map<String, String> values = new HashMap<>();
+            for (int i = 0; i < header.size() && i < fields.size(); i++) {
+                String value = fields.get(i);
+                values.put(header.get(i), value.isEmpty() ? null : value);
+            }
+            try {
+                return objectMapper.convertValue(values, type);
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Row " + row + ": " + e.getMessage(), e);
+            }
+        }
+
+        /**
+         * Reads one RFC 4180 record. Quoted fields may contain commas, quotes
+         * (doubled) and line breaks. Blank lines are skipped.
+         * 
+         * @return the fields, or null at the end of the input
+         */
+        private List<String> readRecord() throws IOException {
+            List<String> fields = new ArrayList<>();
+            StringBuilder field = new StringBuilder();
+            boolean quoted = false;
+            boolean any = false;
+            int c;
+            while ((c = reader.read()) != -1) {
+                any = true;
+                if (quoted) {
+                    if (c == '"') {
+                        reader.mark(1);
+                        if (reader.read() == '"') {
+                            field.append('"');
+                        } else {
+                            reader.reset();
+                            quoted = false;
+                        }
+                    } else {
+                        field.append((char) c);
+                    }
+                } else if (c == '"') {
+                    quoted = true;
+                } else if (c == ',') {
+                    fields.add(field.toString());
+                    field.setLength(0);
+                } else if (c == '\r' || c == '\n') {
+                    if (c == '\r') {
+                        reader.mark(1);
+                        if (reader.read() != '\n') {
+                            reader.reset();
+                        }
+                    }
+                    if (fields.isEmpty() && field.isEmpty()) {
+                        any = false;
+                        continue;
+                    }
+                    fields.add(field.toString());
+                    return fields;
+                } else {
+                    field.append((char) c);
+                }
+            }
+            if (quoted) {
+                throw new IllegalArgumentException("Unterminated quoted field at end of input");
+            }
+            if (!any) {
+                return null;
+            }
+            fields.add(field.toString());
+            return fields;
+        }
+
+        @Override
+        public void close() throws IOException {
+            reader.close();
+        }
+    }
+}
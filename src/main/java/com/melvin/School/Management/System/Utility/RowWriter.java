@@ -0,0 +1,143 @@
+package com.melvin.School.Management.System.Utility;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Row Writer
+ * 
+ * Writes flat rows of named columns to an output stream in one of the
+ * {@link RowFormat}s. Rows are buffered and only reach the stream on
+ * {@link #flush()} or {@link #close()}, so callers decide how often output
+ * is pushed to the client.
+ * 
+ * @author Melvin Chibanda
+ * @version 1.0
+ * @since 2024
+ */
+public abstract class RowWriter implements Closeable {
+
+    protected final String[] columns;
+
+    protected RowWriter(String[] columns) {
+        this.columns = columns;
+    }
+
+    /**
+     * Creates a writer for the given format. CSV output starts with a header row.
+     * 
+     * @param format the output format
+     * @param out the stream to write to, closed together with the writer
+     * @param objectMapper the mapper used to render NDJSON values
+     * @param columns the column names, in the order values are passed to {@link #writeRow}
+     * @return the row writer
+     */
+    public static RowWriter create(RowFormat format, OutputStream out, ObjectMapper objectMapper,
+                                   String... columns) throws IOException {
+        return switch (format) {
+            case NDJSON -> new NdjsonRowWriter(out, objectMapper, columns);
+            case CSV -> new CsvRowWriter(out, columns);
+        };
+    }
+
+    /**
+     * Writes one row.
+     * 
+     * @param values the column values, in column order; null values are allowed
+     */
+    public abstract void writeRow(Object... values) throws IOException;
+
+    /**
+     * Pushes the buffered rows to the underlying stream.
+     */
+    public abstract void flush() throws IOException;
+
+    private static final class NdjsonRowWriter extends RowWriter {
+
+        private final JsonGenerator generator;
+
+        NdjsonRowWriter(OutputStream out, ObjectMapper objectMapper, String[] columns) throws IOException {
+            super(columns);
+            this.generator = objectMapper.getFactory().createGenerator(out);
+            this.generator.setRootValueSeparator(null);
+        }
+
+        @Override
+        public void writeRow(Object... values) throws IOException {
+            generator.writeStartObject();
+            for (int i = 0; i < columns.length; i++) {
+                generator.writeFieldName(columns[i]);
+                generator.writeObject(values[i]);
+            }
+            generator.writeEndObject();
+            generator.writeRaw('\n');
+        }
+
+        @Override
+        public void flush() throws IOException {
+            generator.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            generator.close();
+        }
+    }
+
+    private static final class CsvRowWriter extends RowWriter {
+
+        private final Writer writer;
+
+        CsvRowWriter(OutputStream out, String[] columns) throws IOException {
+            super(columns);
+            this.writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+            writeRow((Object[]) columns);
+        }
+
+        @Override
+        public void writeRow(Object... values) throws IOException {
+            for (int i = 0; i < values.length; i++) {
+                if (i > 0) {
+                    writer.write(',');
+                }
+                if (values[i] != null) {
+                    writeField(values[i].toString());
+                }
+            }
+            writer.write("\r\n");
+        }
+
+        private void writeField(String value) throws IOException {
+            boolean quote = false;
+            for (int i = 0; i < value.length() && !quote; i++) {
+                char c = value.charAt(i);
+                quote = c == ',' || c == '"' || c == '\r' || c == '\n';
+            }
+            if (!quote) {
+                writer.write(value);
+                return;
+            }
+            writer.write('"');
+            writer.write(value.replace("\"", "\"\""));
+            writer.write('"');
+        }
+
+        @Override
+        public void flush() throws IOException {
+            writer.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            writer.close();
+        }
+    }
+}
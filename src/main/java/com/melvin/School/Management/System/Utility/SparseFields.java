@@ -0,0 +1,109 @@
+package com.melvin.School.Management.System.Utility;
+
+import com.fasterxml.jackson.annotation.JsonFilter;
+import com.fasterxml.jackson.databind.ser.FilterProvider;
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Sparse Fields Utility
+ *
+ * Parses the {@code fields} request parameter of the read endpoints, a
+ * comma-separated list of the DTO properties the client wants, e.g.
+ * {@code ?fields=firstName,email}. The ID is always included. Without the
+ * parameter every property is returned.
+ *
+ * The services load only the requested properties; the response body
+ * advice removes the others from the Jackson output through the
+ * {@value #FILTER} property filter, which the Student, Course and Teacher
+ * DTOs carry through the {@link Filtered} mix-in.
+ *
+ * @author Melvin Chibanda
+ * @version 1.0
+ * @since 2024
+ */
+public final class SparseFields {
+
+    /**
+     * Name of the request parameter.
+     */
+    public static final String PARAMETER = "fields";
+
+    /**
+     * ID of the Jackson property filter of the sparse DTOs.
+     */
+    public static final String FILTER = "sparseFields";
+
+    private static final String ID = "id";
+
+    private SparseFields() {
+    }
+
+    /**
+     * Mix-in that puts the sparse fields filter on a DTO.
+     */
+    @JsonFilter(FILTER)
+    public interface Filtered {
+    }
+
+    /**
+     * @param fields the parameter value, may be null
+     * @return whether the parameter asks for every property, i.e. is absent or blank
+     */
+    public static boolean selectsAll(String fields) {
+        return fields == null || fields.isBlank();
+    }
+
+    /**
+     * Parses the parameter without checking the property names.
+     *
+     * @param fields the parameter value, may be null
+     * @return the requested properties including the ID, or null for all of them
+     */
+    public static Set<String> parse(String fields) {
+        if (selectsAll(fields)) {
+            return null;
+        }
+        Set<String> selected = new LinkedHashSet<>();
+        selected.add(ID);
+        for (String field : fields.split(",")) {
+            String name = field.trim();
+            if (!name.isEmpty()) {
+                selected.add(name);
+            }
+        }
+        return selected;
+    }
+
+    /**
+     * Parses the parameter and checks the property names.
+     *
+     * @param fields the parameter value, may be null
+     * @param known the properties of the DTO
+     * @return the requested properties including the ID, or null for all of them
+     * @throws IllegalArgumentException if a property is unknown
+     */
+    public static Set<String> parse(String fields, Collection<String> known) {
+        Set<String> selected = parse(fields);
+        if (selected != null) {
+            for (String field : selected) {
+                if (!known.contains(field)) {
+                    throw new IllegalArgumentException("Unknown field: " + field + "; fields are " + String.join(", ", known));
+                }
+            }
+        }
+        return selected;
+    }
+
+    /**
+     * @return the Jackson filters that write only the given properties of the sparse DTOs
+     */
+    public static FilterProvider filters(Set<String> fields) {
+        return new SimpleFilterProvider()
+                .addFilter(FILTER, SimpleBeanPropertyFilter.filterOutAllExcept(fields));
+    }
+}
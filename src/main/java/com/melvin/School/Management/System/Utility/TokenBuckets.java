@@ -0,0 +1,97 @@
+package com.melvin.School.Management.System.Utility;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Token Buckets
+ *
+ * One token bucket per client key, refilled at {@code rate} tokens per
+ * second up to {@code burst} tokens. Each bucket is a single
+ * {@link AtomicLong}: the time at which it will be full again (the
+ * "theoretical arrival time" of the generic cell rate algorithm). Taking a
+ * token moves that time one refill interval ahead with a compare-and-set,
+ * and is refused while the time lies more than {@code burst} intervals
+ * ahead, so neither taking a token nor a refill timer needs a lock.
+ *
+ * A bucket whose time has passed is full, and is indistinguishable from a
+ * new one; {@link #evictFull} drops those so idle clients do not pile up.
+ *
+ * @author Melvin Chibanda
+ * @version 1.0
+ * @since 2024
+ */
+public final class TokenBuckets {
+
+    private record Limits(long intervalNanos, long burstNanos) {
+    }
+
+    private final ConcurrentMap<String, AtomicLong> buckets = new ConcurrentHashMap<>();
+    private volatile Limits limits;
+
+    /**
+     * @param rate tokens added per second
+     * @param burst bucket capacity, the requests a client may make at once
+     */
+    public TokenBuckets(double rate, int burst) {
+        setLimits(rate, burst);
+    }
+
+    /**
+     * Changes the rate and capacity of every bucket, including the existing ones.
+     *
+     * @throws IllegalArgumentException if the rate or capacity is not positive
+     */
+    public void setLimits(double rate, int burst) {
+        if (!(rate > 0) || burst < 1) {
+            throw new IllegalArgumentException("Rate and burst must be positive");
+        }
+        long intervalNanos = Math.max(1, (long) (1_000_000_000L / rate));
+        limits = new Limits(intervalNanos, intervalNanos * burst);
+    }
+
+    /**
+     * Takes a token from the bucket of a client.
+     *
+     * @param key the client
+     * @param now the current {@link System#nanoTime()}
+     * @return 0 if a token was taken, otherwise the nanoseconds until one is available
+     */
+    public long tryAcquire(String key, long now) {
+        Limits current = limits;
+        AtomicLong bucket = buckets.get(key);
+        if (bucket == null) {
+            bucket = buckets.computeIfAbsent(key, k -> new AtomicLong(now));
+        }
+        while (true) {
+            long full = bucket.get();
+            long next = Math.max(full, now) + current.intervalNanos();
+            long wait = next - current.burstNanos() - now;
+            if (wait > 0) {
+                return wait;
+            }
+            if (bucket.compareAndSet(full, next)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * Drops the buckets that are full. A request racing with the eviction may
+     * take its token from the dropped bucket, which at worst grants that
+     * client one extra token.
+     *
+     * @param now the current {@link System#nanoTime()}
+     */
+    public void evictFull(long now) {
+        buckets.values().removeIf(bucket -> bucket.get() - now <= 0);
+    }
+
+    /**
+     * @return the number of clients with a bucket that is not full
+     */
+    public int size() {
+        return buckets.size();
+    }
+}
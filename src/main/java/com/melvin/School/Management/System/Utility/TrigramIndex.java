@@ -0,0 +1,384 @@
+package com.melvin.School.Management.System.Utility;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+/**
+ * Trigram Index
+ *
+ * In-memory inverted index from character trigrams to document IDs, used to
+ * answer partial and misspelled lookups without scanning the table. Each
+ * document is indexed under its field values as a whole and under every
+ * word of them, so "mel", "chibanda" and "melvin.c" all find
+ * "Melvin Chibanda, melvin.chibanda@school.edu". Matching ignores case
+ * and accents.
+ *
+ * Every word of a query must match a term of the document, either exactly,
+ * as a prefix, or within a small edit distance (typos, swapped letters).
+ * Documents are ranked by the sum of their best match per query word, exact
+ * over prefix over fuzzy, then by ascending ID.
+ *
+ * The index is safe for concurrent use; updates take a write lock and
+ * replace the previous terms of the document.
+ *
+ * @author Melvin Chibanda
+ * @version 1.0
+ * @since 2024
+ */
+public final class TrigramIndex {
+
+    private static final Pattern WORD_SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}+");
+
+    private static final double EXACT_SCORE = 1.0;
+    private static final double PREFIX_SCORE = 0.6;
+    private static final double FUZZY_SCORE = 0.5;
+
+    /**
+     * One ranked search result.
+     *
+     * @param id the document ID
+     * @param score the relevance, higher is better
+     */
+    public record Hit(long id, double score) {
+    }
+
+    /**
+     * One page of ranked results.
+     *
+     * @param hits the results of the requested page
+     * @param total the number of matching documents across all pages
+     */
+    public record Result(List<Hit> hits, int total) {
+    }
+
+    /**
+     * Documents are stored in dense slots so that candidate counting works on
+     * int arrays. A replaced or removed document only leaves a dead slot
+     * behind, which is skipped during searches; the postings are rebuilt once
+     * dead slots outnumber the live ones.
+     */
+    private static final int MIN_DEAD_SLOTS_TO_COMPACT = 1024;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, Postings> postings = new HashMap<>();
+    private final Map<Long, Integer> slots = new HashMap<>();
+    private long[] ids = new long[16];
+    private String[][] documents = new String[16][];
+    private int slotCount;
+
+    /**
+     * Growable list of the slots containing one trigram.
+     */
+    private static final class Postings {
+
+        private int[] slots = new int[4];
+        private int size;
+
+        void add(int slot) {
+            if (size == slots.length) {
+                slots = Arrays.copyOf(slots, size * 2);
+            }
+            slots[size++] = slot;
+        }
+    }
+
+    /**
+     * Indexes a document, replacing what was indexed under the same ID.
+     *
+     * @param id the document ID
+     * @param fields the searchable field values, nulls are skipped
+     */
+    public void put(long id, String... fields) {
+        String[] terms = terms(fields);
+        lock.writeLock().lock();
+        try {
+            unindex(id);
+            if (slotCount == ids.length) {
+                ids = Arrays.copyOf(ids, slotCount * 2);
+                documents = Arrays.copyOf(documents, slotCount * 2);
+            }
+            int slot = slotCount++;
+            ids[slot] = id;
+            documents[slot] = terms;
+            slots.put(id, slot);
+            addPostings(slot, terms);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Removes a document, ignoring unknown IDs.
+     */
+    public void remove(long id) {
+        lock.writeLock().lock();
+        try {
+            unindex(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Removes every document.
+     */
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            postings.clear();
+            slots.clear();
+            ids = new long[16];
+            documents = new String[16][];
+            slotCount = 0;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * @return the number of indexed documents
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return slots.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void addPostings(int slot, String[] terms) {
+        Set<String> trigrams = new HashSet<>();
+        for (String term : terms) {
+            trigrams.addAll(trigrams(term));
+        }
+        for (String trigram : trigrams) {
+            postings.computeIfAbsent(trigram, key -> new Postings()).add(slot);
+        }
+    }
+
+    private void unindex(long id) {
+        Integer slot = slots.remove(id);
+        if (slot == null) {
+            return;
+        }
+        documents[slot] = null;
+        int dead = slotCount - slots.size();
+        if (dead >= MIN_DEAD_SLOTS_TO_COMPACT && dead > slots.size()) {
+            compact();
+        }
+    }
+
+    private void compact() {
+        int live = 0;
+        for (int slot = 0; slot < slotCount; slot++) {
+            if (documents[slot] != null) {
+                ids[live] = ids[slot];
+                documents[live] = documents[slot];
+                live++;
+            }
+        }
+        Arrays.fill(documents, live, slotCount, null);
+        slotCount = live;
+        postings.clear();
+        slots.clear();
+        for (int slot = 0; slot < slotCount; slot++) {
+            slots.put(ids[slot], slot);
+            addPostings(slot, documents[slot]);
+        }
+    }
+
+    /**
+     * Finds the documents matching every word of the query.
+     *
+     * @param query the words to look up, separated by whitespace
+     * @param offset the number of ranked results to skip
+     * @param limit the maximum number of results to return
+     * @return the requested page of results and the total number of matches
+     */
+    public Result search(String query, int offset, int limit) {
+        String[] words = query == null ? new String[0] : Arrays.stream(WHITESPACE.split(normalize(query)))
+                .filter(word -> !word.isEmpty())
+                .distinct()
+                .toArray(String[]::new);
+        if (words.length == 0) {
+            return new Result(List.of(), 0);
+        }
+        // the longest word has the most trigrams and so the fewest candidates
+        String driver = Arrays.stream(words).max(Comparator.comparingInt(String::length)).orElseThrow();
+
+        List<Hit> matches = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            int[] shared = sharedTrigrams(driver);
+            int required = Math.max(1, trigrams(driver).size() - 3 * maxEdits(driver) - 1);
+            for (int slot = 0; slot < slotCount; slot++) {
+                if (shared[slot] < required || documents[slot] == null) {
+                    continue;
+                }
+                double score = score(words, documents[slot]);
+                if (score > 0) {
+                    matches.add(new Hit(ids[slot], score));
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        matches.sort(Comparator.comparingDouble(Hit::score).reversed().thenComparingLong(Hit::id));
+        int from = Math.min(Math.max(offset, 0), matches.size());
+        int to = Math.min(from + Math.max(limit, 0), matches.size());
+        return new Result(List.copyOf(matches.subList(from, to)), matches.size());
+    }
+
+    /**
+     * Counts, per slot, how many trigrams of the word the document contains.
+     * Only documents sharing enough of them can match the word as a prefix or
+     * within its edit budget: an edit changes at most three trigrams, one
+     * more of which may be the padded end of the word.
+     */
+    private int[] sharedTrigrams(String word) {
+        int[] shared = new int[slotCount];
+        for (String trigram : trigrams(word)) {
+            Postings list = postings.get(trigram);
+            if (list != null) {
+                for (int i = 0; i < list.size; i++) {
+                    shared[list.slots[i]]++;
+                }
+            }
+        }
+        return shared;
+    }
+
+    /**
+     * Sums the best match of every word against the terms, or returns zero if
+     * a word matches none of them.
+     */
+    private static double score(String[] words, String[] terms) {
+        double score = 0;
+        for (String word : words) {
+            double best = 0;
+            for (String term : terms) {
+                best = Math.max(best, score(word, term));
+            }
+            if (best == 0) {
+                return 0;
+            }
+            score += best;
+        }
+        return score;
+    }
+
+    private static double score(String word, String term) {
+        if (term.equals(word)) {
+            return EXACT_SCORE;
+        }
+        if (term.startsWith(word)) {
+            return PREFIX_SCORE + (EXACT_SCORE - PREFIX_SCORE) * word.length() / term.length();
+        }
+        int budget = maxEdits(word);
+        if (budget == 0) {
+            return 0;
+        }
+        int distance = editDistance(word, term, budget);
+        return distance > budget ? 0 : FUZZY_SCORE * (1.0 - (double) distance / word.length());
+    }
+
+    /**
+     * Number of typos tolerated in a query word: none for very short words,
+     * where any edit produces a different name.
+     */
+    private static int maxEdits(String word) {
+        return word.length() < 3 ? 0 : word.length() < 8 ? 1 : 2;
+    }
+
+    /**
+     * Optimal string alignment distance (Levenshtein plus adjacent
+     * transpositions), abandoning early once it exceeds the budget.
+     *
+     * @return the distance, or budget + 1 if it exceeds the budget
+     */
+    private static int editDistance(String a, String b, int budget) {
+        if (Math.abs(a.length() - b.length()) > budget) {
+            return budget + 1;
+        }
+        int[] before = new int[b.length() + 1];
+        int[] previous = new int[b.length() + 1];
+        int[] current = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) {
+            previous[j] = j;
+        }
+        for (int i = 1; i <= a.length(); i++) {
+            current[0] = i;
+            int rowMinimum = i;
+            for (int j = 1; j <= b.length(); j++) {
+                int cost = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                int value = Math.min(Math.min(previous[j] + 1, current[j - 1] + 1), previous[j - 1] + cost);
+                if (i > 1 && j > 1 && a.charAt(i - 1) == b.charAt(j - 2) && a.charAt(i - 2) == b.charAt(j - 1)) {
+                    value = Math.min(value, before[j - 2] + 1);
+                }
+                current[j] = value;
+                rowMinimum = Math.min(rowMinimum, value);
+            }
+            if (rowMinimum > budget) {
+                return budget + 1;
+            }
+            int[] recycled = before;
+            before = previous;
+            previous = current;
+            current = recycled;
+        }
+        return previous[b.length()];
+    }
+
+    private static String[] terms(String... fields) {
+        Set<String> terms = new LinkedHashSet<>();
+        for (String field : fields) {
+            if (field == null) {
+                continue;
+            }
+            String value = normalize(field).trim();
+            if (!value.isEmpty()) {
+                terms.add(value);
+            }
+            for (String word : WORD_SEPARATOR.split(value)) {
+                if (!word.isEmpty()) {
+                    terms.add(word);
+                }
+            }
+        }
+        return terms.toArray(String[]::new);
+    }
+
+    /**
+     * Trigrams of the term padded with two leading blanks and one trailing
+     * blank, so short words and word starts produce trigrams as well.
+     */
+    private static Set<String> trigrams(String term) {
+        String padded = "  " + term + " ";
+        Set<String> trigrams = new HashSet<>();
+        for (int i = 0; i + 3 <= padded.length(); i++) {
+            trigrams.add(padded.substring(i, i + 3));
+        }
+        return trigrams;
+    }
+
+    private static String normalize(String value) {
+        String decomposed = Normalizer.normalize(value, Normalizer.Form.NFD);
+        return COMBINING_MARKS.matcher(decomposed).replaceAll("").toLowerCase(Locale.ROOT);
+    }
+}
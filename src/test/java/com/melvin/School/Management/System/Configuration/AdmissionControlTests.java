@@ -0,0 +1,238 @@
+package com.melvin.School.Management.System.Configuration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.melvin.School.Management.System.Dto.AdmissionLimitsDTO;
+import com.melvin.School.Management.System.Service.AdmissionControl;
+import com.melvin.School.Management.System.Utility.AdaptiveLimit;
+import com.melvin.School.Management.System.Utility.TokenBuckets;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.test.web.servlet.request.RequestPostProcessor;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Verifies that admission control sheds requests over a client's rate with
+ * 429 and writes over the concurrency limit with 503, that the write limit
+ * follows the observed latency, and that the limits can be changed at
+ * runtime by an admin only.
+ */
+@SpringBootTest
+class AdmissionControlTests {
+
+	private static final long MILLI = Duration.ofMillis(1).toNanos();
+
+	@Autowired
+	private WebApplicationContext context;
+
+	@Autowired
+	private AdmissionControlFilter admissionControlFilter;
+
+	@Autowired
+	private AdmissionControl admissionControl;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	@Autowired
+	private MeterRegistry meterRegistry;
+
+	private MockMvc mockMvc;
+	private AdmissionLimitsDTO defaults;
+
+	@BeforeEach
+	void setUp() {
+		mockMvc = MockMvcBuilders.webAppContextSetup(context)
+				.addFilters(admissionControlFilter)
+				.apply(springSecurity())
+				.build();
+		defaults = admissionControl.getLimits();
+	}
+
+	@AfterEach
+	void tearDown() {
+		admissionControl.setLimits(defaults);
+	}
+
+	private AdmissionLimitsDTO limits(double requestsPerSecond, int burst, int minWrites, int maxWrites) {
+		return new AdmissionLimitsDTO(true, requestsPerSecond, burst, minWrites, maxWrites, 250, 0, 0, 0);
+	}
+
+	private static RequestPostProcessor admin() {
+		return user("admin").roles("ADMIN");
+	}
+
+	private static MockHttpServletRequestBuilder from(String client, MockHttpServletRequestBuilder request) {
+		return request.with(mockRequest -> {
+			mockRequest.setRemoteAddr(client);
+			return mockRequest;
+		});
+	}
+
+	@Test
+	void clientsOverTheirRateAreRejected() throws Exception {
+		admissionControl.setLimits(limits(0.5, 2, 1, 10));
+
+		mockMvc.perform(from("10.0.0.1", get("/api/students"))).andExpect(status().isOk());
+		mockMvc.perform(from("10.0.0.1", get("/api/students"))).andExpect(status().isOk());
+		mockMvc.perform(from("10.0.0.1", get("/api/students")))
+				.andExpect(status().isTooManyRequests())
+				.andExpect(header().string(HttpHeaders.RETRY_AFTER, "2"))
+				.andExpect(jsonPath("$.status").value(429));
+
+		// other clients are unaffected; the admin endpoints are rate limited too
+		mockMvc.perform(from("10.0.0.2", get("/api/students"))).andExpect(status().isOk());
+		mockMvc.perform(from("10.0.0.1", get("/api/admin/admission")).with(admin()))
+				.andExpect(status().isTooManyRequests());
+		assertThat(meterRegistry.find(AdmissionControl.REJECTED_METRIC).tag("reason", "rate").counter().count())
+				.isPositive();
+	}
+
+	@Test
+	void forwardedAddressesAreNotTrustedByDefault() throws Exception {
+		admissionControl.setLimits(limits(0.5, 1, 1, 10));
+
+		// a client rotating X-Forwarded-For still draws from its own bucket
+		mockMvc.perform(from("10.0.2.1", get("/api/students")).header("X-Forwarded-For", "203.0.113.1"))
+				.andExpect(status().isOk());
+		mockMvc.perform(from("10.0.2.1", get("/api/students")).header("X-Forwarded-For", "203.0.113.2"))
+				.andExpect(status().isTooManyRequests());
+		mockMvc.perform(from("10.0.2.1", get("/api/students")).header("Forwarded", "for=203.0.113.3"))
+				.andExpect(status().isTooManyRequests());
+	}
+
+	@Test
+	void writesOverTheConcurrencyLimitAreShed() throws Exception {
+		admissionControl.setLimits(limits(1000, 1000, 1, 1));
+		String student = "{\"firstName\":\"Admitted\",\"lastName\":\"Student\",\"email\":\"admitted.student@school.edu\"}";
+
+		assertThat(admissionControl.admitWrite()).isNull();
+		long start = System.nanoTime();
+		try {
+			mockMvc.perform(from("10.0.1.1", post("/api/students"))
+							.contentType(MediaType.APPLICATION_JSON)
+							.content(student))
+					.andExpect(status().isServiceUnavailable())
+					.andExpect(header().string(HttpHeaders.RETRY_AFTER, "1"));
+			// reads and admin writes are not limited by the writes in flight
+			mockMvc.perform(from("10.0.1.1", get("/api/students"))).andExpect(status().isOk());
+			mockMvc.perform(from("10.0.1.1", put("/api/admin/admission")).with(admin())
+							.contentType(MediaType.APPLICATION_JSON)
+							.content(objectMapper.writeValueAsBytes(limits(1000, 1000, 1, 1))))
+					.andExpect(status().isOk());
+		} finally {
+			admissionControl.releaseWrite(start);
+		}
+
+		mockMvc.perform(from("10.0.1.1", post("/api/students"))
+						.contentType(MediaType.APPLICATION_JSON)
+						.content(student))
+				.andExpect(status().isCreated());
+		assertThat(admissionControl.getLimits().getWritesInFlight()).isZero();
+	}
+
+	@Test
+	void limitsCanBeChangedAtRuntime() throws Exception {
+		AdmissionLimitsDTO update = limits(5, 10, 3, 6);
+		mockMvc.perform(put("/api/admin/admission").with(admin())
+						.contentType(MediaType.APPLICATION_JSON)
+						.content(objectMapper.writeValueAsBytes(update)))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.burst").value(10))
+				.andExpect(jsonPath("$.maxWriteConcurrency").value(6));
+		assertThat(admissionControl.getLimits().getRequestsPerSecond()).isEqualTo(5);
+		// the current write limit is moved into the new bounds, not reset
+		assertThat(admissionControl.getLimits().getWriteConcurrency()).isBetween(3, 6);
+
+		mockMvc.perform(put("/api/admin/admission").with(admin())
+						.contentType(MediaType.APPLICATION_JSON)
+						.content(objectMapper.writeValueAsBytes(limits(5, 10, 6, 3))))
+				.andExpect(status().isBadRequest());
+		mockMvc.perform(put("/api/admin/admission").with(admin())
+						.contentType(MediaType.APPLICATION_JSON)
+						.content(objectMapper.writeValueAsBytes(limits(0, 10, 3, 6))))
+				.andExpect(status().isBadRequest());
+	}
+
+	@Test
+	void onlyAdminsCanChangeTheLimits() throws Exception {
+		byte[] disabled = objectMapper.writeValueAsBytes(new AdmissionLimitsDTO(false, 5, 10, 3, 6, 250, 0, 0, 0));
+
+		mockMvc.perform(put("/api/admin/admission")
+						.contentType(MediaType.APPLICATION_JSON)
+						.content(disabled))
+				.andExpect(status().isUnauthorized());
+		mockMvc.perform(put("/api/admin/admission").with(user("student").roles("USER"))
+						.contentType(MediaType.APPLICATION_JSON)
+						.content(disabled))
+				.andExpect(status().isForbidden());
+		mockMvc.perform(get("/api/admin/admission")).andExpect(status().isUnauthorized());
+		assertThat(admissionControl.isEnabled()).isTrue();
+	}
+
+	@Test
+	void tokenBucketsRefillAtTheirRate() {
+		TokenBuckets buckets = new TokenBuckets(10, 2);
+		long now = System.nanoTime();
+		assertThat(buckets.tryAcquire("client", now)).isZero();
+		assertThat(buckets.tryAcquire("client", now)).isZero();
+		assertThat(buckets.tryAcquire("client", now)).isEqualTo(100 * MILLI);
+		assertThat(buckets.tryAcquire("client", now + 100 * MILLI)).isZero();
+
+		buckets.evictFull(now + 100 * MILLI);
+		assertThat(buckets.size()).isOne();
+		buckets.evictFull(now + 300 * MILLI);
+		assertThat(buckets.size()).isZero();
+	}
+
+	@Test
+	void writeLimitFollowsTheLatency() {
+		AdaptiveLimit limit = new AdaptiveLimit(2, 10, 100 * MILLI);
+		long now = System.nanoTime();
+		assertThat(limit.getLimit()).isEqualTo(10);
+
+		// a slow write lowers the limit, once per target latency
+		assertThat(limit.tryAcquire()).isTrue();
+		limit.release(500 * MILLI, now);
+		assertThat(limit.getLimit()).isEqualTo(9);
+		assertThat(limit.tryAcquire()).isTrue();
+		limit.release(500 * MILLI, now + 50 * MILLI);
+		assertThat(limit.getLimit()).isEqualTo(9);
+		for (int i = 1; i <= 20; i++) {
+			assertThat(limit.tryAcquire()).isTrue();
+			limit.release(500 * MILLI, now + i * 100 * MILLI);
+		}
+		assertThat(limit.getLimit()).isEqualTo(2);
+
+		// no more than the limit are admitted
+		assertThat(limit.tryAcquire()).isTrue();
+		assertThat(limit.tryAcquire()).isTrue();
+		assertThat(limit.tryAcquire()).isFalse();
+
+		// fast writes raise it again while it is in use
+		limit.release(10 * MILLI, now);
+		limit.release(10 * MILLI, now);
+		assertThat(limit.getLimit()).isEqualTo(3);
+		assertThat(limit.getInFlight()).isZero();
+	}
+}
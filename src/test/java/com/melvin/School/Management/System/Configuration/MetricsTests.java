@@ -0,0 +1,73 @@
+package com.melvin.School.Management.System.Configuration;
+
+import com.melvin.School.Management.System.Dto.StudentDTO;
+import com.melvin.School.Management.System.Service.StudentService;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Verifies the service timers, the per-request statement count and the
+ * meters contributed by Hibernate and HikariCP.
+ */
+@SpringBootTest
+class MetricsTests {
+
+	@Autowired
+	private WebApplicationContext context;
+
+	@Autowired
+	private QueryCountFilter queryCountFilter;
+
+	@Autowired
+	private StudentService studentService;
+
+	@Autowired
+	private MeterRegistry meterRegistry;
+
+	@Test
+	void serviceMethodsAreTimed() {
+		StudentDTO student = new StudentDTO();
+		student.setFirstName("Timed");
+		student.setLastName("Student");
+		student.setEmail("timed.student@school.edu");
+		studentService.createStudent(student);
+
+		Timer timer = meterRegistry.find(MetricsConfig.SERVICE_TIMER)
+				.tag("method", "createStudent")
+				.timer();
+		assertThat(timer).isNotNull();
+		assertThat(timer.count()).isPositive();
+	}
+
+	@Test
+	void statementsAreRecordedPerRequest() throws Exception {
+		MockMvc mockMvc = MockMvcBuilders.webAppContextSetup(context).addFilters(queryCountFilter).build();
+
+		mockMvc.perform(get("/api/students").param("size", "10")).andExpect(status().isOk());
+
+		DistributionSummary summary = meterRegistry.find(QueryCountFilter.METRIC_NAME)
+				.tag("method", "GET")
+				.tag("uri", "/api/students")
+				.summary();
+		assertThat(summary).isNotNull();
+		assertThat(summary.count()).isPositive();
+		assertThat(summary.totalAmount()).isPositive();
+	}
+
+	@Test
+	void hibernateAndPoolMetricsAreExported() {
+		assertThat(meterRegistry.find("hibernate.sessions.open").meter()).isNotNull();
+		assertThat(meterRegistry.find("hikaricp.connections.active").meter()).isNotNull();
+	}
+}
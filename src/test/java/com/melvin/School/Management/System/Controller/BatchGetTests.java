@@ -0,0 +1,253 @@
+package com.melvin.School.Management.System.Controller;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.melvin.School.Management.System.Configuration.ProtobufDtoHttpMessageConverter;
+import com.melvin.School.Management.System.Dto.BatchDTO;
+import com.melvin.School.Management.System.Dto.CourseDTO;
+import com.melvin.School.Management.System.Dto.EnrollmentDTO;
+import com.melvin.School.Management.System.Dto.StudentDTO;
+import com.melvin.School.Management.System.Dto.TeacherDTO;
+import com.melvin.School.Management.System.Repository.CourseRepository;
+import com.melvin.School.Management.System.Repository.EnrollementRepository;
+import com.melvin.School.Management.System.Repository.StudentRepository;
+import com.melvin.School.Management.System.Repository.TeacherRepository;
+import com.melvin.School.Management.System.Service.BatchLoader;
+import com.melvin.School.Management.System.Service.CourseCatalog;
+import com.melvin.School.Management.System.Service.CourseService;
+import com.melvin.School.Management.System.Service.EnrollmentAuditWriter;
+import com.melvin.School.Management.System.Service.EnrollmentService;
+import com.melvin.School.Management.System.Service.SeatAllocator;
+import com.melvin.School.Management.System.Service.StudentService;
+import com.melvin.School.Management.System.Service.TeacherService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.mock.http.MockHttpInputMessage;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Verifies that the batch get endpoints return the requested entities in
+ * request order, report the missing IDs, load them with IN queries, and
+ * are served as Protobuf too.
+ */
+@SpringBootTest
+class BatchGetTests {
+
+	@Autowired
+	private WebApplicationContext context;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	@Autowired
+	private StudentService studentService;
+
+	@Autowired
+	private CourseService courseService;
+
+	@Autowired
+	private TeacherService teacherService;
+
+	@Autowired
+	private EnrollmentService enrollmentService;
+
+	@Autowired
+	private EnrollementRepository enrollementRepository;
+
+	@Autowired
+	private EnrollmentAuditWriter auditWriter;
+
+	@Autowired
+	private StudentRepository studentRepository;
+
+	@Autowired
+	private CourseRepository courseRepository;
+
+	@Autowired
+	private TeacherRepository teacherRepository;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	@Autowired
+	private CourseCatalog courseCatalog;
+
+	@Autowired
+	private SeatAllocator seatAllocator;
+
+	private MockMvc mockMvc;
+	private Statistics statistics;
+	private Long teacherId;
+	private Long courseId;
+	private final List<Long> studentIds = new ArrayList<>();
+
+	@BeforeEach
+	void setUp() {
+		auditWriter.flush();
+		enrollementRepository.deleteAll();
+		studentRepository.deleteAll();
+		courseRepository.deleteAll();
+		teacherRepository.deleteAll();
+		mockMvc = MockMvcBuilders.webAppContextSetup(context).build();
+		statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+		TeacherDTO teacher = new TeacherDTO();
+		teacher.setFirstName("Batch");
+		teacher.setLastName("Teacher");
+		teacher.setEmail("batch.teacher@school.edu");
+		teacherId = teacherService.createTeacher(teacher).getId();
+
+		CourseDTO course = new CourseDTO();
+		course.setName("Batch Course");
+		course.setDescription("Looked up by ID");
+		course.setCapacity(20);
+		course.setTeacherId(teacherId);
+		courseId = courseService.createCourse(course).getId();
+
+		List<EnrollmentDTO> enrollments = new ArrayList<>();
+		for (int i = 0; i < 5; i++) {
+			StudentDTO student = new StudentDTO();
+			student.setFirstName("Batch");
+			student.setLastName("Student" + i);
+			student.setEmail("batch.student" + i + "@school.edu");
+			Long studentId = studentService.createStudent(student).getId();
+			studentIds.add(studentId);
+			enrollments.add(new EnrollmentDTO(studentId, courseId));
+		}
+		enrollmentService.bulkEnroll(enrollments.iterator());
+		// finish the background writes of the enrollments, which would add to the statement counts
+		auditWriter.flush();
+		seatAllocator.flush();
+		courseCatalog.flush();
+	}
+
+	@AfterEach
+	void tearDown() {
+		auditWriter.flush();
+		enrollementRepository.deleteAll();
+	}
+
+	@Test
+	void itemsComeBackInRequestOrderWithTheMissingIds() throws Exception {
+		Long missingId = studentIds.get(4) + 1000;
+		String ids = studentIds.get(3) + "," + missingId + "," + studentIds.get(0) + "," + studentIds.get(3);
+		JsonNode batch = objectMapper.readTree(mockMvc.perform(get("/api/students?ids=" + ids))
+				.andExpect(status().isOk())
+				.andReturn().getResponse().getContentAsByteArray());
+
+		assertThat(batch.get("items")).extracting(student -> student.get("id").asLong())
+				.containsExactly(studentIds.get(3), studentIds.get(0));
+		assertThat(batch.get("items").get(0).get("courseIds")).extracting(JsonNode::asLong)
+				.containsExactly(courseId);
+		assertThat(batch.get("missingIds")).extracting(JsonNode::asLong).containsExactly(missingId);
+
+		JsonNode courses = objectMapper.readTree(mockMvc.perform(get("/api/courses?ids=" + courseId + "&fields=name"))
+				.andExpect(status().isOk())
+				.andReturn().getResponse().getContentAsByteArray());
+		assertThat(courses.get("items").get(0).get("name").asText()).isEqualTo("Batch Course");
+		assertThat(courses.get("items").get(0).has("capacity")).isFalse();
+	}
+
+	@Test
+	void batchesAreServedAsProtobuf() throws Exception {
+		Long missingId = studentIds.get(4) + 1000;
+		byte[] body = mockMvc.perform(get("/api/students?ids=" + studentIds.get(1) + "," + missingId)
+						.accept(ProtobufDtoHttpMessageConverter.PROTOBUF))
+				.andExpect(status().isOk())
+				.andExpect(content().contentType(ProtobufDtoHttpMessageConverter.PROTOBUF))
+				.andReturn().getResponse().getContentAsByteArray();
+
+		ProtobufDtoHttpMessageConverter converter = new ProtobufDtoHttpMessageConverter(Jackson2ObjectMapperBuilder.json());
+		@SuppressWarnings("unchecked")
+		BatchDTO<StudentDTO> batch = (BatchDTO<StudentDTO>) converter.read(
+				new TypeReference<BatchDTO<StudentDTO>>() {
+				}.getType(), null, new MockHttpInputMessage(body));
+		// the version is read-only, so it is not read back
+		assertThat(batch.getItems()).singleElement()
+				.usingRecursiveComparison()
+				.ignoringFields("version")
+				.isEqualTo(studentService.getStudentById(studentIds.get(1)));
+		assertThat(batch.getMissingIds()).containsExactly(missingId);
+
+		mockMvc.perform(get("/api/courses?ids=" + courseId).accept(ProtobufDtoHttpMessageConverter.PROTOBUF))
+				.andExpect(status().isOk())
+				.andExpect(content().contentType(ProtobufDtoHttpMessageConverter.PROTOBUF));
+		mockMvc.perform(get("/api/teachers?ids=" + teacherId).accept(ProtobufDtoHttpMessageConverter.PROTOBUF))
+				.andExpect(status().isOk())
+				.andExpect(content().contentType(ProtobufDtoHttpMessageConverter.PROTOBUF));
+	}
+
+	@Test
+	void batchesIssueOneQuery() {
+		List<StudentDTO> expected = studentIds.stream()
+				.map(studentService::getStudentById)
+				.collect(Collectors.toList());
+
+		statistics.clear();
+		BatchDTO<StudentDTO> students = studentService.getStudentsByIds(studentIds, null);
+		assertThat(students.getItems()).isEqualTo(expected);
+		assertThat(students.getMissingIds()).isEmpty();
+		// the students with their courses in one IN query
+		assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+
+		statistics.clear();
+		BatchDTO<TeacherDTO> teachers = teacherService.getTeachersByIds(List.of(teacherId), null);
+		assertThat(teachers.getItems()).singleElement()
+				.satisfies(teacher -> assertThat(teacher.getCourseIds()).containsExactly(courseId));
+		assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+	}
+
+	@Test
+	void idsAreLoadedInChunks() {
+		BatchLoader batchLoader = new BatchLoader(5, 2);
+		List<Collection<Long>> chunks = new ArrayList<>();
+		BatchDTO<Long> batch = batchLoader.load(List.of(5L, 4L, 3L, 2L, 1L, 4L), chunk -> {
+			chunks.add(List.copyOf(chunk));
+			return chunk.stream().filter(id -> id % 2 == 1).collect(Collectors.toList());
+		}, id -> id);
+
+		assertThat(chunks).containsExactly(List.of(5L, 4L), List.of(3L, 2L), List.of(1L));
+		assertThat(batch.getItems()).containsExactly(5L, 3L, 1L);
+		assertThat(batch.getMissingIds()).containsExactly(4L, 2L);
+
+		assertThatThrownBy(() -> batchLoader.<Long>load(List.of(1L, 2L, 3L, 4L, 5L, 6L), chunk -> List.of(), id -> id))
+				.isInstanceOf(IllegalArgumentException.class);
+	}
+
+	@Test
+	void nonPositiveSizesAreRejected() {
+		assertThatThrownBy(() -> new BatchLoader(0, 500)).isInstanceOf(IllegalArgumentException.class);
+		assertThatThrownBy(() -> new BatchLoader(1000, 0)).isInstanceOf(IllegalArgumentException.class);
+	}
+
+	@Test
+	void tooManyIdsAreRejected() throws Exception {
+		String ids = LongStream.rangeClosed(1, 1001)
+				.mapToObj(Long::toString)
+				.collect(Collectors.joining(","));
+		mockMvc.perform(get("/api/teachers?ids=" + ids))
+				.andExpect(status().isBadRequest());
+	}
+}
@@ -0,0 +1,271 @@
+package com.melvin.School.Management.System.Controller;
+
+import com.melvin.School.Management.System.Dto.BulkEnrollmentResultDTO;
+import com.melvin.School.Management.System.Dto.CourseDTO;
+import com.melvin.School.Management.System.Dto.EnrollmentDTO;
+import com.melvin.School.Management.System.Dto.StudentDTO;
+import com.melvin.School.Management.System.Dto.TeacherDTO;
+import com.melvin.School.Management.System.Repository.CourseRepository;
+import com.melvin.School.Management.System.Repository.EnrollementRepository;
+import com.melvin.School.Management.System.Repository.StudentRepository;
+import com.melvin.School.Management.System.Repository.TeacherRepository;
+import com.melvin.School.Management.System.Service.CourseService;
+import com.melvin.School.Management.System.Service.DtoCacheInvalidator;
+import com.melvin.School.Management.System.Service.EnrollmentAuditWriter;
+import com.melvin.School.Management.System.Service.EnrollmentService;
+import com.melvin.School.Management.System.Service.EnrollmentServiceImpl;
+import com.melvin.School.Management.System.Service.SeatAllocator;
+import com.melvin.School.Management.System.Service.SecondLevelCacheEvictor;
+import com.melvin.School.Management.System.Service.StudentService;
+import com.melvin.School.Management.System.Service.TeacherService;
+import com.melvin.School.Management.System.Service.TimetableIndex;
+import com.melvin.School.Management.System.Service.VersionBumper;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Verifies that bulk enrollment accepts JSON arrays and NDJSON, rejects
+ * unknown students and courses per record, counts pairs that are already
+ * enrolled (or repeated in the request) as duplicates, and rolls back a
+ * failing chunk without affecting the others.
+ */
+@SpringBootTest
+class BulkEnrollmentTests {
+
+	@Autowired
+	private WebApplicationContext context;
+
+	@Autowired
+	private StudentService studentService;
+
+	@Autowired
+	private CourseService courseService;
+
+	@Autowired
+	private TeacherService teacherService;
+
+	@Autowired
+	private EnrollmentService enrollmentService;
+
+	@Autowired
+	private EnrollementRepository enrollementRepository;
+
+	@Autowired
+	private EnrollmentAuditWriter auditWriter;
+
+	@Autowired
+	private StudentRepository studentRepository;
+
+	@Autowired
+	private CourseRepository courseRepository;
+
+	@Autowired
+	private TeacherRepository teacherRepository;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	private TransactionTemplate transactionTemplate;
+
+	@Autowired
+	private SecondLevelCacheEvictor cacheEvictor;
+
+	@Autowired
+	private DtoCacheInvalidator dtoCacheInvalidator;
+
+	@Autowired
+	private SeatAllocator seatAllocator;
+
+	@Autowired
+	private TimetableIndex timetableIndex;
+
+	@Autowired
+	private EntityManager entityManager;
+
+	private MockMvc mockMvc;
+	private Long courseId;
+	private Long otherCourseId;
+	private final List<Long> studentIds = new ArrayList<>();
+
+	@BeforeEach
+	void setUp() {
+		auditWriter.flush();
+		enrollementRepository.deleteAll();
+		studentRepository.deleteAll();
+		courseRepository.deleteAll();
+		teacherRepository.deleteAll();
+		mockMvc = MockMvcBuilders.webAppContextSetup(context).build();
+
+		TeacherDTO teacher = new TeacherDTO();
+		teacher.setFirstName("Bulk");
+		teacher.setLastName("Teacher");
+		teacher.setEmail("bulk.teacher@school.edu");
+		Long teacherId = teacherService.createTeacher(teacher).getId();
+
+		CourseDTO course = new CourseDTO();
+		course.setName("Bulk Course");
+		course.setCapacity(30);
+		course.setTeacherId(teacherId);
+		courseId = courseService.createCourse(course).getId();
+		course.setName("Other Bulk Course");
+		otherCourseId = courseService.createCourse(course).getId();
+
+		for (int i = 0; i < 6; i++) {
+			StudentDTO student = new StudentDTO();
+			student.setFirstName("Bulk");
+			student.setLastName("Student" + i);
+			student.setEmail("bulk.student" + i + "@school.edu");
+			studentIds.add(studentService.createStudent(student).getId());
+		}
+	}
+
+	@AfterEach
+	void tearDown() {
+		auditWriter.flush();
+		enrollementRepository.deleteAll();
+	}
+
+	private static String pair(Long studentId, Long courseId) {
+		return "{\"studentId\":" + studentId + ",\"courseId\":" + courseId + "}";
+	}
+
+	private List<Long> coursesOf(Long studentId) {
+		return studentService.getStudentById(studentId).getCourseIds();
+	}
+
+	@Test
+	void jsonArraysAndNdjsonAreEnrolled() throws Exception {
+		mockMvc.perform(post("/api/enrollments/bulk")
+						.contentType(MediaType.APPLICATION_JSON)
+						.content("[" + pair(studentIds.get(0), courseId) + "," + pair(studentIds.get(1), courseId) + "]"))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.received").value(2))
+				.andExpect(jsonPath("$.enrolled").value(2))
+				.andExpect(jsonPath("$.rejected").value(0))
+				.andExpect(jsonPath("$.chunks").value(1));
+
+		mockMvc.perform(post("/api/enrollments/bulk")
+						.contentType(MediaType.APPLICATION_NDJSON)
+						.content(pair(studentIds.get(2), courseId) + "\n" + pair(studentIds.get(2), otherCourseId) + "\n"))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.received").value(2))
+				.andExpect(jsonPath("$.enrolled").value(2));
+
+		assertThat(coursesOf(studentIds.get(0))).containsExactly(courseId);
+		assertThat(coursesOf(studentIds.get(1))).containsExactly(courseId);
+		assertThat(coursesOf(studentIds.get(2))).containsExactlyInAnyOrder(courseId, otherCourseId);
+
+		// the records read before malformed input are still enrolled
+		mockMvc.perform(post("/api/enrollments/bulk")
+						.contentType(MediaType.APPLICATION_NDJSON)
+						.content(pair(studentIds.get(3), courseId) + "\n{\"studentId\":"))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.enrolled").value(1))
+				.andExpect(jsonPath("$.errors[0]").value(containsString("Malformed input after record 1")));
+		assertThat(coursesOf(studentIds.get(3))).containsExactly(courseId);
+	}
+
+	@Test
+	void unknownStudentsAndCoursesAreRejected() throws Exception {
+		Long unknownStudent = studentIds.get(5) + 1000;
+		Long unknownCourse = otherCourseId + 1000;
+		mockMvc.perform(post("/api/enrollments/bulk")
+						.contentType(MediaType.APPLICATION_NDJSON)
+						.content(pair(unknownStudent, courseId) + "\n"
+								+ pair(studentIds.get(0), unknownCourse) + "\n"
+								+ "{\"studentId\":" + studentIds.get(0) + "}\n"
+								+ pair(studentIds.get(0), courseId) + "\n"))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.received").value(4))
+				.andExpect(jsonPath("$.enrolled").value(1))
+				.andExpect(jsonPath("$.rejected").value(3))
+				.andExpect(jsonPath("$.errors[0]").value("Record 1: student not found with id: " + unknownStudent))
+				.andExpect(jsonPath("$.errors[1]").value("Record 2: course not found with id: " + unknownCourse))
+				.andExpect(jsonPath("$.errors[2]").value("Record 3: student ID and course ID are mandatory"));
+
+		assertThat(coursesOf(studentIds.get(0))).containsExactly(courseId);
+	}
+
+	@Test
+	void enrolledPairsAreCountedAsDuplicates() {
+		enrollmentService.bulkEnroll(List.of(new EnrollmentDTO(studentIds.get(0), courseId)).iterator());
+
+		BulkEnrollmentResultDTO result = enrollmentService.bulkEnroll(List.of(
+				new EnrollmentDTO(studentIds.get(0), courseId),
+				new EnrollmentDTO(studentIds.get(1), courseId),
+				new EnrollmentDTO(studentIds.get(1), courseId)).iterator());
+
+		// one pair already stored, one repeated within the request
+		assertThat(result.getEnrolled()).isEqualTo(1);
+		assertThat(result.getDuplicates()).isEqualTo(2);
+		assertThat(result.getRejected()).isZero();
+		assertThat(coursesOf(studentIds.get(0))).containsExactly(courseId);
+		assertThat(coursesOf(studentIds.get(1))).containsExactly(courseId);
+		assertThat(courseService.getCourseById(courseId).getStudentIds()).hasSize(2);
+	}
+
+	@Test
+	void failingChunkRollsBackOnlyItself() {
+		Long failing = studentIds.get(3);
+		VersionBumper failingBumper = new VersionBumper(jdbcTemplate, cacheEvictor) {
+			@Override
+			public void bumpStudents(Collection<Long> ids) {
+				if (ids.contains(failing)) {
+					throw new IllegalStateException("cannot update student " + failing);
+				}
+				super.bumpStudents(ids);
+			}
+		};
+		EnrollmentServiceImpl chunked = new EnrollmentServiceImpl(studentRepository, courseRepository, jdbcTemplate,
+				transactionTemplate, cacheEvictor, dtoCacheInvalidator, seatAllocator, timetableIndex,
+				failingBumper, auditWriter, 2);
+		ReflectionTestUtils.setField(chunked, "entityManager", entityManager);
+
+		BulkEnrollmentResultDTO result = chunked.bulkEnroll(studentIds.stream()
+				.map(studentId -> new EnrollmentDTO(studentId, courseId))
+				.iterator());
+
+		assertThat(result.getReceived()).isEqualTo(6);
+		assertThat(result.getChunks()).isEqualTo(2);
+		assertThat(result.getEnrolled()).isEqualTo(4);
+		assertThat(result.getRejected()).isEqualTo(2);
+		assertThat(result.getErrors()).containsExactly(
+				"Records 3-4 rolled back: cannot update student " + failing);
+		for (int i = 0; i < studentIds.size(); i++) {
+			if (i == 2 || i == 3) {
+				assertThat(coursesOf(studentIds.get(i))).isEmpty();
+			} else {
+				assertThat(coursesOf(studentIds.get(i))).containsExactly(courseId);
+			}
+		}
+
+		// nothing of the failed chunk was kept, so it can simply be retried
+		BulkEnrollmentResultDTO retried = enrollmentService.bulkEnroll(List.of(
+				new EnrollmentDTO(studentIds.get(2), courseId),
+				new EnrollmentDTO(studentIds.get(3), courseId)).iterator());
+		assertThat(retried.getEnrolled()).isEqualTo(2);
+		assertThat(retried.getDuplicates()).isZero();
+	}
+}
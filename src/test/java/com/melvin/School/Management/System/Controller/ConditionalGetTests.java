@@ -0,0 +1,224 @@
+package com.melvin.School.Management.System.Controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.melvin.School.Management.System.Configuration.CacheConfig;
+import com.melvin.School.Management.System.Dto.CourseDTO;
+import com.melvin.School.Management.System.Dto.EnrollmentDTO;
+import com.melvin.School.Management.System.Dto.StudentDTO;
+import com.melvin.School.Management.System.Dto.TeacherDTO;
+import com.melvin.School.Management.System.Repository.CourseRepository;
+import com.melvin.School.Management.System.Repository.EnrollementRepository;
+import com.melvin.School.Management.System.Repository.StudentRepository;
+import com.melvin.School.Management.System.Repository.TeacherRepository;
+import com.melvin.School.Management.System.Service.CourseService;
+import com.melvin.School.Management.System.Service.EnrollmentAuditWriter;
+import com.melvin.School.Management.System.Service.EnrollmentService;
+import com.melvin.School.Management.System.Service.StudentService;
+import com.melvin.School.Management.System.Service.TeacherService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Verifies the version-based ETags of single resources and keyset pages,
+ * including changes that only affect a related ID list.
+ */
+@SpringBootTest
+class ConditionalGetTests {
+
+	@Autowired
+	private WebApplicationContext context;
+
+	@Autowired
+	private StudentService studentService;
+
+	@Autowired
+	private CourseService courseService;
+
+	@Autowired
+	private TeacherService teacherService;
+
+	@Autowired
+	private EnrollmentService enrollmentService;
+
+	@Autowired
+	private EnrollementRepository enrollementRepository;
+
+	@Autowired
+	private EnrollmentAuditWriter auditWriter;
+
+	@Autowired
+	private StudentRepository studentRepository;
+
+	@Autowired
+	private CourseRepository courseRepository;
+
+	@Autowired
+	private TeacherRepository teacherRepository;
+
+	@Autowired
+	private CacheManager cacheManager;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	private MockMvc mockMvc;
+	private Long teacherId;
+	private Long courseId;
+	private Long studentId;
+
+	@BeforeEach
+	void setUp() {
+		auditWriter.flush();
+		enrollementRepository.deleteAll();
+		studentRepository.deleteAll();
+		courseRepository.deleteAll();
+		teacherRepository.deleteAll();
+		mockMvc = MockMvcBuilders.webAppContextSetup(context).build();
+
+		TeacherDTO teacher = new TeacherDTO();
+		teacher.setFirstName("Etag");
+		teacher.setLastName("Teacher");
+		teacher.setEmail("etag.teacher@school.edu");
+		teacherId = teacherService.createTeacher(teacher).getId();
+
+		CourseDTO course = new CourseDTO();
+		course.setName("Etag Course");
+		course.setTeacherId(teacherId);
+		courseId = courseService.createCourse(course).getId();
+
+		StudentDTO student = new StudentDTO();
+		student.setFirstName("Etag");
+		student.setLastName("Student");
+		student.setEmail("etag.student@school.edu");
+		studentId = studentService.createStudent(student).getId();
+	}
+
+	@AfterEach
+	void tearDown() {
+		auditWriter.flush();
+		enrollementRepository.deleteAll();
+	}
+
+	private String etag(String uri) throws Exception {
+		MvcResult result = mockMvc.perform(get(uri))
+				.andExpect(status().isOk())
+				.andExpect(header().exists(HttpHeaders.ETAG))
+				.andReturn();
+		return result.getResponse().getHeader(HttpHeaders.ETAG);
+	}
+
+	@Test
+	void unchangedResourceIsNotModified() throws Exception {
+		String uri = "/api/students/" + studentId;
+		String etag = etag(uri);
+		cacheManager.getCache(CacheConfig.STUDENT_DTOS).clear();
+
+		mockMvc.perform(get(uri).header(HttpHeaders.IF_NONE_MATCH, etag))
+				.andExpect(status().isNotModified())
+				.andExpect(header().string(HttpHeaders.ETAG, etag))
+				.andExpect(header().exists(HttpHeaders.LAST_MODIFIED))
+				.andExpect(content().string(""));
+		assertThat(cacheManager.getCache(CacheConfig.STUDENT_DTOS).get(studentId)).isNull();
+	}
+
+	@Test
+	void cachedVersionsAnswerWithoutATransaction() throws Exception {
+		Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+		for (String uri : List.of("/api/students/" + studentId, "/api/courses/" + courseId,
+				"/api/teachers/" + teacherId, "/api/students/" + studentId + "?fields=email")) {
+			String etag = etag(uri);
+
+			statistics.clear();
+			mockMvc.perform(get(uri).header(HttpHeaders.IF_NONE_MATCH, etag))
+					.andExpect(status().isNotModified())
+					.andExpect(header().exists(HttpHeaders.LAST_MODIFIED));
+			assertThat(statistics.getTransactionCount()).isZero();
+			assertThat(statistics.getConnectCount()).isZero();
+		}
+
+		// a patch evicts the cached version with the DTO
+		String uri = "/api/students/" + studentId;
+		String etag = etag(uri);
+		studentService.patchStudent(studentId, new ObjectMapper().readTree("{\"firstName\":\"Patched\"}"));
+		mockMvc.perform(get(uri).header(HttpHeaders.IF_NONE_MATCH, etag))
+				.andExpect(status().isOk())
+				.andExpect(content().string(containsString("Patched")));
+	}
+
+	@Test
+	void updateChangesTheTag() throws Exception {
+		String uri = "/api/students/" + studentId;
+		String etag = etag(uri);
+
+		StudentDTO student = studentService.getStudentById(studentId);
+		student.setFirstName("Renamed");
+		studentService.updateStudent(studentId, student);
+
+		mockMvc.perform(get(uri).header(HttpHeaders.IF_NONE_MATCH, etag))
+				.andExpect(status().isOk())
+				.andExpect(content().string(containsString("Renamed")));
+		assertThat(etag(uri)).isNotEqualTo(etag);
+	}
+
+	@Test
+	void relatedListChangesTheTag() throws Exception {
+		String studentUri = "/api/students/" + studentId;
+		String courseUri = "/api/courses/" + courseId;
+		String teacherUri = "/api/teachers/" + teacherId;
+		String studentTag = etag(studentUri);
+		String courseTag = etag(courseUri);
+		String teacherTag = etag(teacherUri);
+
+		enrollmentService.bulkEnroll(List.of(new EnrollmentDTO(studentId, courseId)).iterator());
+		assertThat(etag(studentUri)).isNotEqualTo(studentTag);
+		assertThat(etag(courseUri)).isNotEqualTo(courseTag);
+		assertThat(etag(teacherUri)).isEqualTo(teacherTag);
+
+		CourseDTO course = new CourseDTO();
+		course.setName("Second Course");
+		course.setTeacherId(teacherId);
+		courseService.createCourse(course);
+		assertThat(etag(teacherUri)).isNotEqualTo(teacherTag);
+	}
+
+	@Test
+	void pagesAreTaggedByTheirContent() throws Exception {
+		String uri = "/api/students?size=10";
+		String etag = etag(uri);
+
+		mockMvc.perform(get(uri).header(HttpHeaders.IF_NONE_MATCH, etag))
+				.andExpect(status().isNotModified());
+		assertThat(etag("/api/students?size=5")).isEqualTo(etag);
+
+		StudentDTO student = new StudentDTO();
+		student.setFirstName("Another");
+		student.setLastName("Student");
+		student.setEmail("another.student@school.edu");
+		studentService.createStudent(student);
+
+		mockMvc.perform(get(uri).header(HttpHeaders.IF_NONE_MATCH, etag))
+				.andExpect(status().isOk());
+		assertThat(etag(uri)).isNotEqualTo(etag);
+	}
+}
@@ -0,0 +1,293 @@
+package com.melvin.School.Management.System.Controller;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.melvin.School.Management.System.Configuration.ProtobufDtoHttpMessageConverter;
+import com.melvin.School.Management.System.Dto.CourseDTO;
+import com.melvin.School.Management.System.Dto.CursorPageDTO;
+import com.melvin.School.Management.System.Dto.EnrollmentDTO;
+import com.melvin.School.Management.System.Dto.StudentDTO;
+import com.melvin.School.Management.System.Dto.TeacherDTO;
+import com.melvin.School.Management.System.Repository.CourseRepository;
+import com.melvin.School.Management.System.Repository.EnrollementRepository;
+import com.melvin.School.Management.System.Repository.StudentRepository;
+import com.melvin.School.Management.System.Repository.TeacherRepository;
+import com.melvin.School.Management.System.Service.CourseCatalog;
+import com.melvin.School.Management.System.Service.CourseService;
+import com.melvin.School.Management.System.Service.EnrollmentAuditWriter;
+import com.melvin.School.Management.System.Service.EnrollmentService;
+import com.melvin.School.Management.System.Service.StudentService;
+import com.melvin.School.Management.System.Service.TeacherService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.mock.http.MockHttpInputMessage;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.io.ByteArrayInputStream;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Verifies that the pre-serialized course catalog carries the same courses
+ * as the paginated list, is served without SQL, and reflects course,
+ * enrollment and teacher changes as soon as they commit.
+ */
+@SpringBootTest
+class CourseCatalogTests {
+
+	private static final TypeReference<CursorPageDTO<CourseDTO>> PAGE = new TypeReference<>() {
+	};
+
+	@Autowired
+	private WebApplicationContext context;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	@Autowired
+	private StudentService studentService;
+
+	@Autowired
+	private CourseService courseService;
+
+	@Autowired
+	private TeacherService teacherService;
+
+	@Autowired
+	private EnrollmentService enrollmentService;
+
+	@Autowired
+	private EnrollementRepository enrollementRepository;
+
+	@Autowired
+	private EnrollmentAuditWriter auditWriter;
+
+	@Autowired
+	private StudentRepository studentRepository;
+
+	@Autowired
+	private CourseRepository courseRepository;
+
+	@Autowired
+	private TeacherRepository teacherRepository;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	@Autowired
+	private CourseCatalog courseCatalog;
+
+	private MockMvc mockMvc;
+	private Statistics statistics;
+	private Long teacherId;
+	private final List<Long> courseIds = new ArrayList<>();
+
+	@BeforeEach
+	void setUp() {
+		auditWriter.flush();
+		enrollementRepository.deleteAll();
+		studentRepository.deleteAll();
+		courseRepository.deleteAll();
+		teacherRepository.deleteAll();
+		mockMvc = MockMvcBuilders.webAppContextSetup(context).build();
+		statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+		TeacherDTO teacher = new TeacherDTO();
+		teacher.setFirstName("Catalog");
+		teacher.setLastName("Teacher");
+		teacher.setEmail("catalog.teacher@school.edu");
+		teacherId = teacherService.createTeacher(teacher).getId();
+
+		for (int i = 0; i < 20; i++) {
+			CourseDTO course = new CourseDTO();
+			course.setName("Catalog Course " + i);
+			course.setDescription("An introduction to the topics of catalog course number " + i);
+			course.setCapacity(30);
+			course.setTeacherId(teacherId);
+			courseIds.add(courseService.createCourse(course).getId());
+		}
+	}
+
+	@AfterEach
+	void tearDown() {
+		auditWriter.flush();
+		enrollementRepository.deleteAll();
+	}
+
+	private CursorPageDTO<CourseDTO> catalog() throws Exception {
+		byte[] body = mockMvc.perform(get("/api/courses/catalog"))
+				.andExpect(status().isOk())
+				.andReturn().getResponse().getContentAsByteArray();
+		return objectMapper.readValue(body, PAGE);
+	}
+
+	@Test
+	void catalogMatchesTheCoursePages() throws Exception {
+		CursorPageDTO<CourseDTO> pages = objectMapper.readValue(mockMvc.perform(get("/api/courses?size=100"))
+				.andReturn().getResponse().getContentAsByteArray(), PAGE);
+
+		CursorPageDTO<CourseDTO> catalog = catalog();
+		assertThat(catalog.getNextCursor()).isNull();
+		assertThat(catalog.getItems())
+				.hasSize(20)
+				.containsExactlyInAnyOrderElementsOf(pages.getItems());
+	}
+
+	@Test
+	void catalogHitsIssueNoStatementsAndHonourIfNoneMatch() throws Exception {
+		catalog();
+
+		statistics.clear();
+		MockHttpServletResponse response = mockMvc.perform(get("/api/courses/catalog"))
+				.andExpect(status().isOk())
+				.andReturn().getResponse();
+		assertThat(statistics.getPrepareStatementCount()).isZero();
+
+		String etag = response.getHeader(HttpHeaders.ETAG);
+		assertThat(etag).isNotNull();
+		assertThat(response.getHeader(HttpHeaders.VARY)).contains("Accept-Encoding");
+		mockMvc.perform(get("/api/courses/catalog").header(HttpHeaders.IF_NONE_MATCH, etag))
+				.andExpect(status().isNotModified());
+		mockMvc.perform(get("/api/courses/catalog").header(HttpHeaders.IF_NONE_MATCH, "\"other\", W/" + etag))
+				.andExpect(status().isNotModified());
+		mockMvc.perform(get("/api/courses/catalog").header(HttpHeaders.IF_NONE_MATCH, "*"))
+				.andExpect(status().isNotModified());
+		// a tag that merely contains the current one is a different tag
+		String longer = etag.substring(0, etag.length() - 1) + "-old\"";
+		mockMvc.perform(get("/api/courses/catalog").header(HttpHeaders.IF_NONE_MATCH, longer))
+				.andExpect(status().isOk());
+		mockMvc.perform(get("/api/courses/catalog").header(HttpHeaders.IF_NONE_MATCH, "\"x" + etag.substring(1)))
+				.andExpect(status().isOk());
+	}
+
+	@Test
+	void catalogReflectsCommittedChanges() throws Exception {
+		StudentDTO student = new StudentDTO();
+		student.setFirstName("Catalog");
+		student.setLastName("Student");
+		student.setEmail("catalog.student@school.edu");
+		Long studentId = studentService.createStudent(student).getId();
+		catalog();
+
+		enrollmentService.bulkEnroll(List.of(new EnrollmentDTO(studentId, courseIds.get(0))).iterator());
+		assertThat(catalog().getItems())
+				.filteredOn(course -> course.getId().equals(courseIds.get(0)))
+				.singleElement()
+				.satisfies(course -> assertThat(course.getStudentIds()).containsExactly(studentId));
+
+		CourseDTO renamed = courseService.getCourseById(courseIds.get(1));
+		renamed.setName("Renamed Course");
+		courseService.updateCourse(courseIds.get(1), renamed);
+		assertThat(catalog().getItems()).extracting(CourseDTO::getName).contains("Renamed Course");
+
+		teacherService.deleteTeacher(teacherId);
+		assertThat(catalog().getItems()).isEmpty();
+	}
+
+	@Test
+	void catalogIsNegotiatedAndPreGzipped() throws Exception {
+		CursorPageDTO<CourseDTO> json = catalog();
+
+		MockHttpServletResponse gzipped = mockMvc.perform(get("/api/courses/catalog")
+						.header(HttpHeaders.ACCEPT_ENCODING, "gzip, deflate"))
+				.andExpect(status().isOk())
+				.andReturn().getResponse();
+		assertThat(gzipped.getHeader(HttpHeaders.CONTENT_ENCODING)).isEqualTo("gzip");
+		byte[] gunzipped = new GZIPInputStream(new ByteArrayInputStream(gzipped.getContentAsByteArray())).readAllBytes();
+		assertThat(objectMapper.readValue(gunzipped, PAGE)).isEqualTo(json);
+
+		MockHttpServletResponse protobuf = mockMvc.perform(get("/api/courses/catalog")
+						.accept(ProtobufDtoHttpMessageConverter.PROTOBUF))
+				.andExpect(status().isOk())
+				.andReturn().getResponse();
+		assertThat(protobuf.getContentType()).isEqualTo(ProtobufDtoHttpMessageConverter.PROTOBUF.toString());
+		ProtobufDtoHttpMessageConverter converter = new ProtobufDtoHttpMessageConverter(Jackson2ObjectMapperBuilder.json());
+		Object decoded = converter.read(PAGE.getType(), null, new MockHttpInputMessage(protobuf.getContentAsByteArray()));
+		// protobuf cannot tell an empty list from a missing one
+		assertThat(decoded).usingRecursiveComparison().ignoringFields("items.meetings").isEqualTo(json);
+
+		mockMvc.perform(get("/api/courses/catalog").header(HttpHeaders.ACCEPT, "text/html;q=0.9, application/cbor"))
+				.andExpect(status().isOk())
+				.andExpect(result -> assertThat(result.getResponse().getContentType()).isEqualTo("application/cbor"));
+		mockMvc.perform(get("/api/courses/catalog").accept(MediaType.TEXT_HTML))
+				.andExpect(status().isNotAcceptable());
+	}
+
+	private String contentEncodingFor(String acceptEncoding) throws Exception {
+		return mockMvc.perform(get("/api/courses/catalog").header(HttpHeaders.ACCEPT_ENCODING, acceptEncoding))
+				.andExpect(status().isOk())
+				.andReturn().getResponse().getHeader(HttpHeaders.CONTENT_ENCODING);
+	}
+
+	private String contentTypeFor(String accept) throws Exception {
+		return mockMvc.perform(get("/api/courses/catalog").header(HttpHeaders.ACCEPT, accept))
+				.andExpect(status().isOk())
+				.andReturn().getResponse().getContentType();
+	}
+
+	@Test
+	void qualityValuesAreHonoured() throws Exception {
+		catalog();
+		assertThat(contentEncodingFor("gzip;q=0.5, deflate")).isEqualTo("gzip");
+		assertThat(contentEncodingFor("*")).isEqualTo("gzip");
+		assertThat(contentEncodingFor("gzip;q=0, deflate")).isNull();
+		assertThat(contentEncodingFor("identity;q=1, *;q=0")).isNull();
+		assertThat(contentEncodingFor("br, gzip;q=0.0, *;q=1")).isNull();
+		assertThat(contentEncodingFor("xgzip")).isNull();
+		assertThat(CourseCatalog.acceptsGzip(null)).isFalse();
+		assertThat(CourseCatalog.acceptsGzip("GZIP ; Q=0.8")).isTrue();
+
+		// a refused type is not picked through a wildcard
+		assertThat(contentTypeFor("application/json;q=0, */*")).isEqualTo("application/cbor");
+		assertThat(contentTypeFor("application/*;q=0.5, application/x-protobuf;q=0, application/cbor;q=0.1"))
+				.isEqualTo("application/json");
+		assertThat(contentTypeFor("*/*;q=0.1, application/x-jackson-smile")).isEqualTo("application/x-jackson-smile");
+		mockMvc.perform(get("/api/courses/catalog").header(HttpHeaders.ACCEPT, "*/*;q=0"))
+				.andExpect(status().isNotAcceptable());
+	}
+
+	@Test
+	void slowRebuildsAreAnsweredWith503() throws Exception {
+		catalog();
+		ExecutorService builder = (ExecutorService) ReflectionTestUtils.getField(courseCatalog, "builder");
+		CountDownLatch release = new CountDownLatch(1);
+		// occupy the builder thread, so the rebuild cannot start
+		builder.submit(() -> {
+			release.await();
+			return null;
+		});
+		ReflectionTestUtils.setField(courseCatalog, "rebuildTimeout", Duration.ofMillis(50));
+		try {
+			courseCatalog.refresh();
+			mockMvc.perform(get("/api/courses/catalog"))
+					.andExpect(status().isServiceUnavailable())
+					.andExpect(header().string(HttpHeaders.RETRY_AFTER, "1"));
+		} finally {
+			ReflectionTestUtils.setField(courseCatalog, "rebuildTimeout", Duration.ofSeconds(5));
+			release.countDown();
+		}
+		assertThat(catalog().getItems()).hasSize(20);
+	}
+}
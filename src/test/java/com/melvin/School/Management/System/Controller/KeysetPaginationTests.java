@@ -0,0 +1,232 @@
+package com.melvin.School.Management.System.Controller;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.melvin.School.Management.System.Dto.CourseDTO;
+import com.melvin.School.Management.System.Dto.CursorPageDTO;
+import com.melvin.School.Management.System.Dto.StudentDTO;
+import com.melvin.School.Management.System.Dto.TeacherDTO;
+import com.melvin.School.Management.System.Model.Course;
+import com.melvin.School.Management.System.Model.Student;
+import com.melvin.School.Management.System.Model.Teacher;
+import com.melvin.School.Management.System.Repository.CourseRepository;
+import com.melvin.School.Management.System.Repository.EnrollementRepository;
+import com.melvin.School.Management.System.Repository.StudentRepository;
+import com.melvin.School.Management.System.Repository.TeacherRepository;
+import com.melvin.School.Management.System.Service.CourseService;
+import com.melvin.School.Management.System.Service.EnrollmentAuditWriter;
+import com.melvin.School.Management.System.Service.StudentService;
+import com.melvin.School.Management.System.Service.TeacherService;
+import com.melvin.School.Management.System.Utility.KeysetCursor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Verifies that following the cursors of the paginated list endpoints
+ * visits every row exactly once, that the last page has no cursor, that a
+ * malformed cursor is rejected with 400, and that page sizes are clamped.
+ */
+@SpringBootTest
+class KeysetPaginationTests {
+
+	private static final int STUDENTS = KeysetCursor.MAX_PAGE_SIZE + 1;
+	private static final int COURSES = 7;
+
+	private static final TypeReference<CursorPageDTO<StudentDTO>> STUDENT_PAGE = new TypeReference<>() {
+	};
+
+	@Autowired
+	private WebApplicationContext context;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	@Autowired
+	private StudentService studentService;
+
+	@Autowired
+	private CourseService courseService;
+
+	@Autowired
+	private TeacherService teacherService;
+
+	@Autowired
+	private EnrollementRepository enrollementRepository;
+
+	@Autowired
+	private EnrollmentAuditWriter auditWriter;
+
+	@Autowired
+	private StudentRepository studentRepository;
+
+	@Autowired
+	private CourseRepository courseRepository;
+
+	@Autowired
+	private TeacherRepository teacherRepository;
+
+	private MockMvc mockMvc;
+	private List<Long> studentIds;
+	private List<Long> courseIds;
+	private Long teacherId;
+
+	@BeforeEach
+	void setUp() {
+		auditWriter.flush();
+		enrollementRepository.deleteAll();
+		studentRepository.deleteAll();
+		courseRepository.deleteAll();
+		teacherRepository.deleteAll();
+		mockMvc = MockMvcBuilders.webAppContextSetup(context).build();
+
+		Teacher teacher = new Teacher();
+		teacher.setFirstName("Paged");
+		teacher.setLastName("Teacher");
+		teacher.setEmail("paged.teacher@school.edu");
+		teacherId = teacherRepository.save(teacher).getId();
+
+		List<Course> courses = new ArrayList<>();
+		for (int i = 0; i < COURSES; i++) {
+			Course course = new Course();
+			course.setName("Paged Course " + i);
+			course.setTeacher(teacher);
+			courses.add(course);
+		}
+		courseIds = courseRepository.saveAll(courses).stream().map(Course::getId).sorted().toList();
+
+		List<Student> students = new ArrayList<>();
+		for (int i = 0; i < STUDENTS; i++) {
+			Student student = new Student();
+			student.setFirstName("Paged");
+			student.setLastName("Student" + i);
+			student.setEmail("paged.student" + i + "@school.edu");
+			students.add(student);
+		}
+		studentIds = studentRepository.saveAll(students).stream().map(Student::getId).sorted().toList();
+	}
+
+	@AfterEach
+	void tearDown() {
+		auditWriter.flush();
+		enrollementRepository.deleteAll();
+	}
+
+	private CursorPageDTO<StudentDTO> studentPage(String cursor, int size) throws Exception {
+		String uri = "/api/students?size=" + size + (cursor != null ? "&cursor=" + cursor : "");
+		byte[] body = mockMvc.perform(get(uri))
+				.andExpect(status().isOk())
+				.andReturn().getResponse().getContentAsByteArray();
+		return objectMapper.readValue(body, STUDENT_PAGE);
+	}
+
+	/**
+	 * Follows the cursors from the first page to the last.
+	 *
+	 * @return the sizes of the pages; the IDs seen are added to {@code ids}
+	 */
+	private static <D> List<Integer> pageThrough(BiFunction<String, Integer, CursorPageDTO<D>> pages, int size,
+												 Function<D, Long> idOf, List<Long> ids) {
+		List<Integer> sizes = new ArrayList<>();
+		String cursor = null;
+		do {
+			CursorPageDTO<D> page = pages.apply(cursor, size);
+			sizes.add(page.getItems().size());
+			page.getItems().forEach(item -> ids.add(idOf.apply(item)));
+			cursor = page.getNextCursor();
+		} while (cursor != null);
+		return sizes;
+	}
+
+	@Test
+	void cursorsVisitEveryRowOnce() throws Exception {
+		List<Long> seen = new ArrayList<>();
+		String cursor = null;
+		int pages = 0;
+		do {
+			CursorPageDTO<StudentDTO> page = studentPage(cursor, 100);
+			page.getItems().forEach(student -> seen.add(student.getId()));
+			cursor = page.getNextCursor();
+			pages++;
+		} while (cursor != null);
+		assertThat(seen).containsExactlyElementsOf(studentIds);
+		assertThat(pages).isEqualTo(6);
+
+		List<Long> courses = new ArrayList<>();
+		assertThat(pageThrough(courseService::getCoursesPage, 3, CourseDTO::getId, courses))
+				.containsExactly(3, 3, 1);
+		assertThat(courses).containsExactlyElementsOf(courseIds);
+
+		List<Long> teachers = new ArrayList<>();
+		assertThat(pageThrough(teacherService::getTeachersPage, 3, TeacherDTO::getId, teachers))
+				.containsExactly(1);
+		assertThat(teachers).containsExactly(teacherId);
+	}
+
+	@Test
+	void lastPageHasNoCursor() throws Exception {
+		// a last page that is exactly full is recognised as the last
+		CursorPageDTO<CourseDTO> all = courseService.getCoursesPage(null, COURSES);
+		assertThat(all.getItems()).hasSize(COURSES);
+		assertThat(all.getNextCursor()).isNull();
+
+		CursorPageDTO<CourseDTO> first = courseService.getCoursesPage(null, COURSES - 1);
+		assertThat(first.getNextCursor()).isEqualTo(KeysetCursor.encode(courseIds.get(COURSES - 2)));
+		CursorPageDTO<CourseDTO> last = courseService.getCoursesPage(first.getNextCursor(), COURSES - 1);
+		assertThat(last.getItems()).extracting(CourseDTO::getId).containsExactly(courseIds.get(COURSES - 1));
+		assertThat(last.getNextCursor()).isNull();
+
+		// a cursor past the last row yields an empty page, still without a cursor
+		CursorPageDTO<StudentDTO> beyond = studentPage(KeysetCursor.encode(studentIds.get(STUDENTS - 1)), 10);
+		assertThat(beyond.getItems()).isEmpty();
+		assertThat(beyond.getNextCursor()).isNull();
+	}
+
+	@Test
+	void malformedCursorsAreRejected() throws Exception {
+		mockMvc.perform(get("/api/students?cursor=not*base64"))
+				.andExpect(status().isBadRequest())
+				.andExpect(jsonPath("$.status").value(400))
+				.andExpect(jsonPath("$.detail").value("Invalid cursor: not*base64"));
+		// valid Base64 of something that is not an ID
+		mockMvc.perform(get("/api/courses?cursor=YWJj"))
+				.andExpect(status().isBadRequest());
+		mockMvc.perform(get("/api/teachers?cursor=YWJj"))
+				.andExpect(status().isBadRequest());
+	}
+
+	@Test
+	void pageSizesAreClamped() throws Exception {
+		assertThat(KeysetCursor.clampSize(1)).isEqualTo(1);
+		assertThat(KeysetCursor.clampSize(KeysetCursor.MAX_PAGE_SIZE)).isEqualTo(KeysetCursor.MAX_PAGE_SIZE);
+		assertThat(KeysetCursor.clampSize(KeysetCursor.MAX_PAGE_SIZE + 1)).isEqualTo(KeysetCursor.MAX_PAGE_SIZE);
+		assertThat(KeysetCursor.clampSize(0)).isEqualTo(KeysetCursor.DEFAULT_PAGE_SIZE);
+		assertThat(KeysetCursor.clampSize(-1)).isEqualTo(KeysetCursor.DEFAULT_PAGE_SIZE);
+
+		CursorPageDTO<StudentDTO> largest = studentPage(null, 10_000);
+		assertThat(largest.getItems()).hasSize(KeysetCursor.MAX_PAGE_SIZE);
+		assertThat(largest.getNextCursor()).isNotNull();
+
+		assertThat(studentPage(null, 0).getItems()).hasSize(KeysetCursor.DEFAULT_PAGE_SIZE);
+		assertThat(studentService.getStudentsPage(null, -5).getItems()).hasSize(KeysetCursor.DEFAULT_PAGE_SIZE);
+
+		CursorPageDTO<StudentDTO> smallest = studentPage(null, 1);
+		assertThat(smallest.getItems()).extracting(StudentDTO::getId).containsExactly(studentIds.get(0));
+		assertThat(smallest.getNextCursor()).isEqualTo(KeysetCursor.encode(studentIds.get(0)));
+	}
+}
@@ -0,0 +1,208 @@
+package com.melvin.School.Management.System.Controller;
+
+import com.melvin.School.Management.System.Dto.CourseDTO;
+import com.melvin.School.Management.System.Dto.StudentDTO;
+import com.melvin.School.Management.System.Dto.TeacherDTO;
+import com.melvin.School.Management.System.Repository.CourseRepository;
+import com.melvin.School.Management.System.Repository.EnrollementRepository;
+import com.melvin.School.Management.System.Repository.StudentRepository;
+import com.melvin.School.Management.System.Repository.TeacherRepository;
+import com.melvin.School.Management.System.Service.CourseCatalog;
+import com.melvin.School.Management.System.Service.CourseService;
+import com.melvin.School.Management.System.Service.EnrollmentAuditWriter;
+import com.melvin.School.Management.System.Service.MergePatcher;
+import com.melvin.School.Management.System.Service.StudentService;
+import com.melvin.School.Management.System.Service.TeacherService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Verifies that merge patches write only the changed columns in a single
+ * UPDATE, that a patch changing nothing issues no SQL, and that patches
+ * are validated like full updates.
+ */
+@SpringBootTest
+class MergePatchTests {
+
+	@Autowired
+	private WebApplicationContext context;
+
+	@Autowired
+	private StudentService studentService;
+
+	@Autowired
+	private CourseService courseService;
+
+	@Autowired
+	private TeacherService teacherService;
+
+	@Autowired
+	private EnrollementRepository enrollementRepository;
+
+	@Autowired
+	private EnrollmentAuditWriter auditWriter;
+
+	@Autowired
+	private StudentRepository studentRepository;
+
+	@Autowired
+	private CourseRepository courseRepository;
+
+	@Autowired
+	private TeacherRepository teacherRepository;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	@Autowired
+	private CourseCatalog courseCatalog;
+
+	private MockMvc mockMvc;
+	private Statistics statistics;
+	private Long teacherId;
+	private Long courseId;
+	private Long studentId;
+
+	@BeforeEach
+	void setUp() {
+		auditWriter.flush();
+		enrollementRepository.deleteAll();
+		studentRepository.deleteAll();
+		courseRepository.deleteAll();
+		teacherRepository.deleteAll();
+		mockMvc = MockMvcBuilders.webAppContextSetup(context).build();
+		statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+		TeacherDTO teacher = new TeacherDTO();
+		teacher.setFirstName("Patch");
+		teacher.setLastName("Teacher");
+		teacher.setEmail("patch.teacher@school.edu");
+		teacherId = teacherService.createTeacher(teacher).getId();
+
+		CourseDTO course = new CourseDTO();
+		course.setName("Patch Course");
+		course.setDescription("Before");
+		course.setTeacherId(teacherId);
+		courseId = courseService.createCourse(course).getId();
+
+		StudentDTO student = new StudentDTO();
+		student.setFirstName("Patch");
+		student.setLastName("Student");
+		student.setEmail("patch.student@school.edu");
+		studentId = studentService.createStudent(student).getId();
+		// the catalog rebuild the new course may have started would add to the statement counts
+		courseCatalog.flush();
+	}
+
+	@AfterEach
+	void tearDown() {
+		auditWriter.flush();
+		enrollementRepository.deleteAll();
+	}
+
+	private ResultActions patchJson(String uri, String body, String... ifMatch) throws Exception {
+		return mockMvc.perform(patch(uri)
+				.contentType(MergePatcher.MEDIA_TYPE)
+				.headers(ifMatch.length > 0 ? headersOf(ifMatch[0]) : new HttpHeaders())
+				.content(body));
+	}
+
+	private static HttpHeaders headersOf(String ifMatch) {
+		HttpHeaders headers = new HttpHeaders();
+		headers.setIfMatch(ifMatch);
+		return headers;
+	}
+
+	@Test
+	void patchWritesOnlyTheChangedColumns() throws Exception {
+		// warm the second-level cache, as a preceding GET would
+		studentService.getStudentVersion(studentId);
+		statistics.clear();
+
+		patchJson("/api/students/" + studentId, "{\"firstName\":\"Renamed\"}")
+				.andExpect(status().isNoContent())
+				.andExpect(header().string(HttpHeaders.ETAG, "\"1\""));
+		assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+
+		// a column changed behind Hibernate's back survives, since the UPDATE does not set it
+		jdbcTemplate.update("update students set last_name = 'Direct' where id = ?", studentId);
+		patchJson("/api/students/" + studentId, "{\"email\":\"renamed@school.edu\"}")
+				.andExpect(status().isNoContent());
+		StudentDTO student = studentService.getStudentById(studentId);
+		assertThat(student.getFirstName()).isEqualTo("Renamed");
+		assertThat(student.getLastName()).isEqualTo("Direct");
+		assertThat(student.getEmail()).isEqualTo("renamed@school.edu");
+	}
+
+	@Test
+	void unchangedPatchIssuesNoSql() throws Exception {
+		courseService.getCourseVersion(courseId);
+		teacherService.getTeacherVersion(teacherId);
+		statistics.clear();
+
+		patchJson("/api/courses/" + courseId, "{\"name\":\"Patch Course\",\"description\":\"Before\"}")
+				.andExpect(status().isNoContent())
+				.andExpect(header().string(HttpHeaders.ETAG, "\"0\""));
+		patchJson("/api/teachers/" + teacherId, "{}")
+				.andExpect(status().isNoContent());
+		assertThat(statistics.getPrepareStatementCount()).isZero();
+	}
+
+	@Test
+	void courseFieldsCanBeClearedAndChanged() throws Exception {
+		mockMvc.perform(patch("/api/courses/" + courseId)
+						.contentType(MediaType.APPLICATION_JSON)
+						.content("{\"description\":null,\"capacity\":25}"))
+				.andExpect(status().isNoContent())
+				.andExpect(header().string(HttpHeaders.ETAG, "\"1\""));
+
+		CourseDTO course = courseService.getCourseById(courseId);
+		assertThat(course.getDescription()).isNull();
+		assertThat(course.getCapacity()).isEqualTo(25);
+		assertThat(course.getName()).isEqualTo("Patch Course");
+		assertThat(course.getTeacherId()).isEqualTo(teacherId);
+	}
+
+	@Test
+	void invalidPatchesAreRejected() throws Exception {
+		String uri = "/api/courses/" + courseId;
+		patchJson(uri, "{\"id\":5}")
+				.andExpect(status().isBadRequest())
+				.andExpect(jsonPath("$.detail").value("Field id cannot be patched"));
+		patchJson(uri, "{\"name\":\"x\"}")
+				.andExpect(status().isBadRequest())
+				.andExpect(jsonPath("$.detail").value("Course name must be between 2 and 50 characters"));
+		patchJson(uri, "{\"teacherId\":null}")
+				.andExpect(status().isBadRequest());
+		patchJson(uri, "[]")
+				.andExpect(status().isBadRequest());
+		patchJson("/api/students/" + studentId, "{\"email\":null}")
+				.andExpect(status().isBadRequest());
+
+		patchJson(uri, "{\"name\":\"Stale\"}", "\"7\"")
+				.andExpect(status().isPreconditionFailed());
+		assertThat(courseService.getCourseById(courseId).getName()).isEqualTo("Patch Course");
+	}
+}
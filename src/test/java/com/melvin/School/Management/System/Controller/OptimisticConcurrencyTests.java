@@ -0,0 +1,205 @@
+package com.melvin.School.Management.System.Controller;
+
+import com.melvin.School.Management.System.Dto.StudentDTO;
+import com.melvin.School.Management.System.Model.Student;
+import com.melvin.School.Management.System.Repository.CourseRepository;
+import com.melvin.School.Management.System.Repository.EnrollementRepository;
+import com.melvin.School.Management.System.Repository.StudentRepository;
+import com.melvin.School.Management.System.Repository.TeacherRepository;
+import com.melvin.School.Management.System.Service.EnrollmentAuditWriter;
+import com.melvin.School.Management.System.Service.OptimisticRetry;
+import com.melvin.School.Management.System.Service.StudentService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Verifies If-Match preconditions on updates and the retry of updates that
+ * lose an optimistic locking race.
+ */
+@SpringBootTest
+class OptimisticConcurrencyTests {
+
+	@Autowired
+	private WebApplicationContext context;
+
+	@Autowired
+	private StudentService studentService;
+
+	@Autowired
+	private OptimisticRetry optimisticRetry;
+
+	@Autowired
+	private EnrollementRepository enrollementRepository;
+
+	@Autowired
+	private EnrollmentAuditWriter auditWriter;
+
+	@Autowired
+	private StudentRepository studentRepository;
+
+	@Autowired
+	private CourseRepository courseRepository;
+
+	@Autowired
+	private TeacherRepository teacherRepository;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	private MockMvc mockMvc;
+	private Long studentId;
+
+	@BeforeEach
+	void setUp() {
+		auditWriter.flush();
+		enrollementRepository.deleteAll();
+		studentRepository.deleteAll();
+		courseRepository.deleteAll();
+		teacherRepository.deleteAll();
+		mockMvc = MockMvcBuilders.webAppContextSetup(context).build();
+
+		studentId = studentService.createStudent(student("Ada")).getId();
+	}
+
+	private static StudentDTO student(String firstName) {
+		StudentDTO student = new StudentDTO();
+		student.setFirstName(firstName);
+		student.setLastName("Lovelace");
+		student.setEmail("ada.lovelace@school.edu");
+		return student;
+	}
+
+	private static String body(String firstName) {
+		return "{\"firstName\":\"" + firstName + "\",\"lastName\":\"Lovelace\",\"email\":\"ada.lovelace@school.edu\"}";
+	}
+
+	@Test
+	void updateWithCurrentVersionSucceedsAndReturnsTheNewETag() throws Exception {
+		mockMvc.perform(put("/api/students/" + studentId)
+						.contentType(MediaType.APPLICATION_JSON)
+						.header(HttpHeaders.IF_MATCH, "\"0\"")
+						.content(body("Augusta")))
+				.andExpect(status().isOk())
+				.andExpect(header().string(HttpHeaders.ETAG, "\"1\""))
+				.andExpect(jsonPath("$.version").value(1))
+				.andExpect(jsonPath("$.firstName").value("Augusta"));
+	}
+
+	@Test
+	void updateWithStaleVersionFailsWithTheCurrentETag() throws Exception {
+		studentService.updateStudent(studentId, student("Augusta"));
+
+		mockMvc.perform(put("/api/students/" + studentId)
+						.contentType(MediaType.APPLICATION_JSON)
+						.header(HttpHeaders.IF_MATCH, "\"0\"")
+						.content(body("Countess")))
+				.andExpect(status().isPreconditionFailed())
+				.andExpect(header().string(HttpHeaders.ETAG, "\"1\""));
+		mockMvc.perform(put("/api/students/" + studentId)
+						.contentType(MediaType.APPLICATION_JSON)
+						.header(HttpHeaders.IF_MATCH, "W/\"1\"")
+						.content(body("Countess")))
+				.andExpect(status().isPreconditionFailed());
+
+		assertThat(studentService.getStudentById(studentId).getFirstName()).isEqualTo("Augusta");
+	}
+
+	@Test
+	void updateSucceedsIfAnyListedTagIsCurrent() throws Exception {
+		studentService.updateStudent(studentId, student("Augusta"));
+
+		// a weak tag and a tag of another version do not stop a listed current one from matching
+		mockMvc.perform(put("/api/students/" + studentId)
+						.contentType(MediaType.APPLICATION_JSON)
+						.header(HttpHeaders.IF_MATCH, "W/\"1\", \"0\", \"1\"")
+						.content(body("Countess")))
+				.andExpect(status().isOk())
+				.andExpect(header().string(HttpHeaders.ETAG, "\"2\""));
+		mockMvc.perform(patch("/api/students/" + studentId)
+						.contentType(MediaType.APPLICATION_JSON)
+						.header(HttpHeaders.IF_MATCH, "\"0\"")
+						.header(HttpHeaders.IF_MATCH, "\"2\"")
+						.content("{\"firstName\":\"Ada\"}"))
+				.andExpect(status().isNoContent())
+				.andExpect(header().string(HttpHeaders.ETAG, "\"3\""));
+
+		mockMvc.perform(put("/api/students/" + studentId)
+						.contentType(MediaType.APPLICATION_JSON)
+						.header(HttpHeaders.IF_MATCH, "\"1\", W/\"3\", \"2\"")
+						.content(body("Countess")))
+				.andExpect(status().isPreconditionFailed())
+				.andExpect(header().string(HttpHeaders.ETAG, "\"3\""));
+		assertThat(studentService.getStudentById(studentId).getFirstName()).isEqualTo("Ada");
+	}
+
+	@Test
+	void updateWithoutPreconditionIgnoresTheSubmittedVersion() throws Exception {
+		mockMvc.perform(put("/api/students/" + studentId)
+						.contentType(MediaType.APPLICATION_JSON)
+						.content("{\"version\":42,\"firstName\":\"Augusta\",\"lastName\":\"Lovelace\","
+								+ "\"email\":\"ada.lovelace@school.edu\"}"))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.version").value(1));
+	}
+
+	@Test
+	void updateThatLosesTheRaceIsRetriedOnFreshState() {
+		AtomicInteger attempts = new AtomicInteger();
+
+		String firstName = optimisticRetry.execute(() -> loseRaceOnFirstAttempt(attempts));
+
+		assertThat(attempts).hasValue(2);
+		assertThat(firstName).isEqualTo("Retried");
+		assertThat(studentRepository.findById(studentId).orElseThrow().getVersion()).isEqualTo(2);
+	}
+
+	@Test
+	void conditionalUpdateThatLosesTheRaceIsNotRetried() {
+		AtomicInteger attempts = new AtomicInteger();
+
+		assertThatThrownBy(() -> optimisticRetry.executeOnce(() -> loseRaceOnFirstAttempt(attempts)))
+				.isInstanceOf(OptimisticLockingFailureException.class);
+		assertThat(attempts).hasValue(1);
+	}
+
+	/**
+	 * Loads the student, lets a concurrent transaction commit a change to it
+	 * on the first attempt, then writes the stale copy.
+	 */
+	private String loseRaceOnFirstAttempt(AtomicInteger attempts) {
+		Student student = studentRepository.findWithRelationsById(studentId).orElseThrow();
+		if (attempts.incrementAndGet() == 1) {
+			TransactionTemplate concurrent = new TransactionTemplate(transactionManager);
+			concurrent.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+			concurrent.executeWithoutResult(status -> jdbcTemplate.update(
+					"update students set version = version + 1 where id = ?", studentId));
+		}
+		student.setFirstName("Retried");
+		return studentRepository.saveAndFlush(student).getFirstName();
+	}
+}
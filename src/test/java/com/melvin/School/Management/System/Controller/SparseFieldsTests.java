@@ -0,0 +1,278 @@
+package com.melvin.School.Management.System.Controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.melvin.School.Management.System.Configuration.ProtobufDtoHttpMessageConverter;
+import com.melvin.School.Management.System.Dto.CourseDTO;
+import com.melvin.School.Management.System.Dto.CursorPageDTO;
+import com.melvin.School.Management.System.Dto.EnrollmentDTO;
+import com.melvin.School.Management.System.Dto.StudentDTO;
+import com.melvin.School.Management.System.Dto.TeacherDTO;
+import com.melvin.School.Management.System.Repository.CourseRepository;
+import com.melvin.School.Management.System.Repository.EnrollementRepository;
+import com.melvin.School.Management.System.Repository.StudentRepository;
+import com.melvin.School.Management.System.Repository.TeacherRepository;
+import com.melvin.School.Management.System.Service.CourseCatalog;
+import com.melvin.School.Management.System.Service.CourseService;
+import com.melvin.School.Management.System.Service.EnrollmentAuditWriter;
+import com.melvin.School.Management.System.Service.EnrollmentService;
+import com.melvin.School.Management.System.Service.SeatAllocator;
+import com.melvin.School.Management.System.Service.StudentService;
+import com.melvin.School.Management.System.Service.TeacherService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.mock.http.MockHttpInputMessage;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Verifies that {@code ?fields=} limits both the response body and the
+ * queries: relations that are not requested are never loaded, and no
+ * entity is loaded at all.
+ */
+@SpringBootTest
+class SparseFieldsTests {
+
+	@Autowired
+	private WebApplicationContext context;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	@Autowired
+	private StudentService studentService;
+
+	@Autowired
+	private CourseService courseService;
+
+	@Autowired
+	private TeacherService teacherService;
+
+	@Autowired
+	private EnrollmentService enrollmentService;
+
+	@Autowired
+	private EnrollementRepository enrollementRepository;
+
+	@Autowired
+	private EnrollmentAuditWriter auditWriter;
+
+	@Autowired
+	private StudentRepository studentRepository;
+
+	@Autowired
+	private CourseRepository courseRepository;
+
+	@Autowired
+	private TeacherRepository teacherRepository;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	@Autowired
+	private CourseCatalog courseCatalog;
+
+	@Autowired
+	private SeatAllocator seatAllocator;
+
+	private MockMvc mockMvc;
+	private Statistics statistics;
+	private Long teacherId;
+	private Long courseId;
+	private final List<Long> studentIds = new ArrayList<>();
+
+	@BeforeEach
+	void setUp() {
+		auditWriter.flush();
+		enrollementRepository.deleteAll();
+		studentRepository.deleteAll();
+		courseRepository.deleteAll();
+		teacherRepository.deleteAll();
+		mockMvc = MockMvcBuilders.webAppContextSetup(context).build();
+		statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+		TeacherDTO teacher = new TeacherDTO();
+		teacher.setFirstName("Sparse");
+		teacher.setLastName("Teacher");
+		teacher.setEmail("sparse.teacher@school.edu");
+		teacherId = teacherService.createTeacher(teacher).getId();
+
+		CourseDTO course = new CourseDTO();
+		course.setName("Sparse Course");
+		course.setDescription("Only some fields");
+		course.setCapacity(20);
+		course.setTeacherId(teacherId);
+		courseId = courseService.createCourse(course).getId();
+
+		List<EnrollmentDTO> enrollments = new ArrayList<>();
+		for (int i = 0; i < 3; i++) {
+			StudentDTO student = new StudentDTO();
+			student.setFirstName("Sparse");
+			student.setLastName("Student" + i);
+			student.setEmail("sparse.student" + i + "@school.edu");
+			Long studentId = studentService.createStudent(student).getId();
+			studentIds.add(studentId);
+			enrollments.add(new EnrollmentDTO(studentId, courseId));
+		}
+		enrollmentService.bulkEnroll(enrollments.iterator());
+		// finish the background writes of the enrollments, which would add to the statement counts
+		auditWriter.flush();
+		seatAllocator.flush();
+		courseCatalog.flush();
+	}
+
+	@AfterEach
+	void tearDown() {
+		auditWriter.flush();
+		enrollementRepository.deleteAll();
+	}
+
+	private JsonNode fetch(String uri) throws Exception {
+		return objectMapper.readTree(mockMvc.perform(get(uri))
+				.andExpect(status().isOk())
+				.andReturn().getResponse().getContentAsByteArray());
+	}
+
+	private static List<String> fieldNames(JsonNode node) {
+		List<String> names = new ArrayList<>();
+		node.fieldNames().forEachRemaining(names::add);
+		return names;
+	}
+
+	@Test
+	void bodiesContainOnlyTheRequestedFields() throws Exception {
+		JsonNode page = fetch("/api/students?fields=firstName,email");
+		assertThat(page.get("items")).hasSize(3);
+		for (JsonNode student : page.get("items")) {
+			assertThat(fieldNames(student)).containsExactly("id", "firstName", "email");
+		}
+
+		JsonNode course = fetch("/api/courses/" + courseId + "?fields=name,teacherId");
+		assertThat(fieldNames(course)).containsExactly("id", "name", "teacherId");
+		assertThat(course.get("teacherId").asLong()).isEqualTo(teacherId);
+
+		JsonNode teachers = fetch("/api/teachers/search?q=sparse&fields=email");
+		assertThat(fieldNames(teachers.get("items").get(0))).containsExactly("id", "email");
+
+		JsonNode full = fetch("/api/students/" + studentIds.get(0));
+		assertThat(fieldNames(full)).contains("lastName", "courseIds", "version");
+	}
+
+	@Test
+	void blankFieldsAreServedFromTheDtoCache() throws Exception {
+		String uri = "/api/students/" + studentIds.get(0);
+		JsonNode full = fetch(uri);
+
+		statistics.clear();
+		assertThat(fetch(uri)).isEqualTo(full);
+		long cached = statistics.getPrepareStatementCount();
+		statistics.clear();
+		assertThat(fetch(uri + "?fields=")).isEqualTo(full);
+		assertThat(statistics.getPrepareStatementCount()).isEqualTo(cached);
+		assertThat(statistics.getCollectionLoadCount()).isZero();
+	}
+
+	@Test
+	void unrequestedRelationsAreNeverLoaded() {
+		statistics.clear();
+		CursorPageDTO<StudentDTO> page = studentService.getStudentsPage(null, 100, "firstName,lastName");
+		assertThat(page.getItems()).extracting(StudentDTO::getLastName)
+				.containsExactly("Student0", "Student1", "Student2");
+		assertThat(page.getItems()).allSatisfy(student -> assertThat(student.getCourseIds()).isNull());
+		// the page IDs, then the selected columns
+		assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+		assertThat(statistics.getEntityLoadCount()).isZero();
+		assertThat(statistics.getCollectionLoadCount()).isZero();
+
+		statistics.clear();
+		CourseDTO course = courseService.getCourseById(courseId, "studentIds");
+		assertThat(course.getStudentIds()).containsExactlyInAnyOrderElementsOf(studentIds);
+		assertThat(course.getName()).isNull();
+		assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+		assertThat(statistics.getEntityLoadCount()).isZero();
+	}
+
+	@Test
+	void requestedFieldsMatchTheFullDtos() {
+		StudentDTO full = studentService.getStudentById(studentIds.get(1));
+		StudentDTO sparse = studentService.getStudentById(studentIds.get(1), "version,firstName,lastName,email,courseIds");
+		assertThat(sparse).isEqualTo(full);
+
+		TeacherDTO teacher = teacherService.getTeachersPage(null, 10, "courseIds").getItems().get(0);
+		assertThat(teacher.getCourseIds()).containsExactly(courseId);
+		assertThat(teacher.getEmail()).isNull();
+	}
+
+	@Test
+	void protobufLeavesOutTheOtherFields() throws Exception {
+		byte[] body = mockMvc.perform(get("/api/courses/" + courseId + "?fields=name,capacity")
+						.accept(ProtobufDtoHttpMessageConverter.PROTOBUF))
+				.andExpect(status().isOk())
+				.andReturn().getResponse().getContentAsByteArray();
+		ProtobufDtoHttpMessageConverter converter = new ProtobufDtoHttpMessageConverter(Jackson2ObjectMapperBuilder.json());
+		CourseDTO course = (CourseDTO) converter.read(CourseDTO.class, null, new MockHttpInputMessage(body));
+		assertThat(course.getName()).isEqualTo("Sparse Course");
+		assertThat(course.getCapacity()).isEqualTo(20);
+		assertThat(course.getDescription()).isNull();
+		assertThat(course.getTeacherId()).isNull();
+	}
+
+	private String etagOf(String uri) throws Exception {
+		return mockMvc.perform(get(uri))
+				.andExpect(status().isOk())
+				.andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+	}
+
+	@Test
+	void sparseETagsDoNotValidateOtherSelections() throws Exception {
+		// resource, selection, the same selection normalized differently, another selection
+		List<String[]> cases = List.of(
+				new String[]{"/api/students/" + studentIds.get(0), "firstName,email", "email,,firstName,id", "lastName"},
+				new String[]{"/api/students", "firstName,email", "email,,firstName,id", "lastName"},
+				new String[]{"/api/courses/" + courseId, "name,capacity", "capacity,name,name", "description"},
+				new String[]{"/api/teachers", "email", " email ,id", "firstName"});
+		for (String[] resource : cases) {
+			String uri = resource[0];
+			String full = etagOf(uri);
+			String sparse = etagOf(uri + "?fields=" + resource[1]);
+			assertThat(sparse).isNotEqualTo(full);
+
+			// a sparse tag does not validate the full body, nor the full tag a sparse body
+			mockMvc.perform(get(uri).header(HttpHeaders.IF_NONE_MATCH, sparse))
+					.andExpect(status().isOk())
+					.andExpect(header().string(HttpHeaders.ETAG, full));
+			mockMvc.perform(get(uri + "?fields=" + resource[1]).header(HttpHeaders.IF_NONE_MATCH, full))
+					.andExpect(status().isOk());
+			mockMvc.perform(get(uri + "?fields=" + resource[3]).header(HttpHeaders.IF_NONE_MATCH, sparse))
+					.andExpect(status().isOk());
+
+			mockMvc.perform(get(uri + "?fields=" + resource[2]).header(HttpHeaders.IF_NONE_MATCH, sparse))
+					.andExpect(status().isNotModified());
+		}
+	}
+
+	@Test
+	void unknownFieldsAreRejected() throws Exception {
+		mockMvc.perform(get("/api/students?fields=firstName,password"))
+				.andExpect(status().isBadRequest());
+		mockMvc.perform(get("/api/courses/" + courseId + "?fields=courseIds"))
+				.andExpect(status().isBadRequest());
+	}
+}
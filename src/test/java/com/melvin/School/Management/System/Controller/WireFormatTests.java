@@ -0,0 +1,185 @@
+package com.melvin.School.Management.System.Controller;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.melvin.School.Management.System.Configuration.ProtobufDtoHttpMessageConverter;
+import com.melvin.School.Management.System.Dto.CourseDTO;
+import com.melvin.School.Management.System.Dto.CursorPageDTO;
+import com.melvin.School.Management.System.Dto.MeetingSlotDTO;
+import com.melvin.School.Management.System.Dto.StudentDTO;
+import com.melvin.School.Management.System.Dto.TeacherDTO;
+import com.melvin.School.Management.System.Repository.CourseRepository;
+import com.melvin.School.Management.System.Repository.EnrollementRepository;
+import com.melvin.School.Management.System.Repository.StudentRepository;
+import com.melvin.School.Management.System.Repository.TeacherRepository;
+import com.melvin.School.Management.System.Service.CourseService;
+import com.melvin.School.Management.System.Service.EnrollmentAuditWriter;
+import com.melvin.School.Management.System.Service.StudentService;
+import com.melvin.School.Management.System.Service.TeacherService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.mock.http.MockHttpInputMessage;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Verifies that the REST API negotiates CBOR, Smile and Protobuf through
+ * Accept and Content-Type, that every encoding carries the same DTOs as
+ * JSON, and that JSON stays the default.
+ */
+@SpringBootTest
+class WireFormatTests {
+
+	private static final MediaType CBOR = MediaType.parseMediaType("application/cbor");
+	private static final MediaType SMILE = MediaType.parseMediaType("application/x-jackson-smile");
+
+	@Autowired
+	private WebApplicationContext context;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	@Autowired
+	private StudentService studentService;
+
+	@Autowired
+	private CourseService courseService;
+
+	@Autowired
+	private TeacherService teacherService;
+
+	@Autowired
+	private EnrollementRepository enrollementRepository;
+
+	@Autowired
+	private EnrollmentAuditWriter auditWriter;
+
+	@Autowired
+	private StudentRepository studentRepository;
+
+	@Autowired
+	private CourseRepository courseRepository;
+
+	@Autowired
+	private TeacherRepository teacherRepository;
+
+	private MockMvc mockMvc;
+	private Long courseId;
+
+	@BeforeEach
+	void setUp() {
+		auditWriter.flush();
+		enrollementRepository.deleteAll();
+		studentRepository.deleteAll();
+		courseRepository.deleteAll();
+		teacherRepository.deleteAll();
+		mockMvc = MockMvcBuilders.webAppContextSetup(context).build();
+
+		TeacherDTO teacher = new TeacherDTO();
+		teacher.setFirstName("Wire");
+		teacher.setLastName("Teacher");
+		teacher.setEmail("wire.teacher@school.edu");
+		Long teacherId = teacherService.createTeacher(teacher).getId();
+
+		CourseDTO course = new CourseDTO();
+		course.setName("Wire Course");
+		course.setCapacity(30);
+		course.setTeacherId(teacherId);
+		course.setMeetings(List.of(new MeetingSlotDTO(DayOfWeek.TUESDAY, LocalTime.of(9, 0), LocalTime.of(10, 30))));
+		courseId = courseService.createCourse(course).getId();
+
+		for (int i = 0; i < 3; i++) {
+			StudentDTO student = new StudentDTO();
+			student.setFirstName("Wire");
+			student.setLastName("Student" + i);
+			student.setEmail("wire.student" + i + "@school.edu");
+			studentService.createStudent(student);
+		}
+	}
+
+	@AfterEach
+	void tearDown() {
+		auditWriter.flush();
+		enrollementRepository.deleteAll();
+	}
+
+	private byte[] fetch(String uri, MediaType accept) throws Exception {
+		return mockMvc.perform(get(uri).accept(accept))
+				.andExpect(status().isOk())
+				.andExpect(content().contentType(accept))
+				.andReturn().getResponse().getContentAsByteArray();
+	}
+
+	@Test
+	void jsonStaysTheDefault() throws Exception {
+		mockMvc.perform(get("/api/students"))
+				.andExpect(status().isOk())
+				.andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON));
+		mockMvc.perform(get("/api/students").header(HttpHeaders.ACCEPT, "*/*"))
+				.andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON));
+	}
+
+	@Test
+	void binaryEncodingsCarryTheSameStudentPage() throws Exception {
+		TypeReference<CursorPageDTO<StudentDTO>> pageType = new TypeReference<>() {
+		};
+		CursorPageDTO<StudentDTO> json = objectMapper.readValue(fetch("/api/students", MediaType.APPLICATION_JSON), pageType);
+		assertThat(json.getItems()).hasSize(3);
+
+		CursorPageDTO<StudentDTO> cbor = new CBORMapper().readValue(fetch("/api/students", CBOR), pageType);
+		assertThat(cbor).isEqualTo(json);
+
+		byte[] protobuf = fetch("/api/students", ProtobufDtoHttpMessageConverter.PROTOBUF);
+		ProtobufDtoHttpMessageConverter converter = new ProtobufDtoHttpMessageConverter(Jackson2ObjectMapperBuilder.json());
+		Object decoded = converter.read(pageType.getType(), null, new MockHttpInputMessage(protobuf));
+		assertThat(decoded).isEqualTo(json);
+		assertThat(protobuf.length).isLessThan(objectMapper.writeValueAsBytes(json).length);
+	}
+
+	@Test
+	void coursesWithMeetingsRoundTripThroughProtobufAndSmile() throws Exception {
+		CourseDTO json = objectMapper.readValue(fetch("/api/courses/" + courseId, MediaType.APPLICATION_JSON),
+				CourseDTO.class);
+		ProtobufDtoHttpMessageConverter converter = new ProtobufDtoHttpMessageConverter(Jackson2ObjectMapperBuilder.json());
+		Object protobuf = converter.read(CourseDTO.class, null,
+				new MockHttpInputMessage(fetch("/api/courses/" + courseId, ProtobufDtoHttpMessageConverter.PROTOBUF)));
+		assertThat(protobuf).isEqualTo(json);
+		assertThat(json.getMeetings()).hasSize(1);
+
+		byte[] smile = fetch("/api/courses/" + courseId, SMILE);
+		assertThat(smile).isNotEmpty();
+	}
+
+	@Test
+	void requestBodiesCanBeBinary() throws Exception {
+		StudentDTO student = new StudentDTO();
+		student.setFirstName("Binary");
+		student.setLastName("Student");
+		student.setEmail("binary.student@school.edu");
+
+		mockMvc.perform(post("/api/students")
+						.contentType(CBOR)
+						.accept(MediaType.APPLICATION_JSON)
+						.content(new CBORMapper().writeValueAsBytes(student)))
+				.andExpect(status().isCreated());
+		assertThat(studentRepository.findAll()).extracting("email").contains("binary.student@school.edu");
+	}
+}
@@ -0,0 +1,187 @@
+package com.melvin.School.Management.System.Service;
+
+import com.melvin.School.Management.System.Dto.BulkDeleteResultDTO;
+import com.melvin.School.Management.System.Dto.CourseDTO;
+import com.melvin.School.Management.System.Dto.EnrollmentDTO;
+import com.melvin.School.Management.System.Dto.StudentDTO;
+import com.melvin.School.Management.System.Dto.TeacherDTO;
+import com.melvin.School.Management.System.Repository.CourseRepository;
+import com.melvin.School.Management.System.Repository.EnrollementRepository;
+import com.melvin.School.Management.System.Repository.StudentRepository;
+import com.melvin.School.Management.System.Repository.TeacherRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Verifies that set-based deletes take along everything referencing the
+ * deleted rows, report what they deleted, and keep enrollment counts and
+ * grade averages of the remaining courses and students correct.
+ */
+@SpringBootTest
+class BulkDeleteTests {
+
+	@Autowired
+	private StudentService studentService;
+
+	@Autowired
+	private TeacherService teacherService;
+
+	@Autowired
+	private CourseService courseService;
+
+	@Autowired
+	private EnrollmentService enrollmentService;
+
+	@Autowired
+	private GradeService gradeService;
+
+	@Autowired
+	private EnrollmentAuditWriter auditWriter;
+
+	@Autowired
+	private EnrollementRepository enrollementRepository;
+
+	@Autowired
+	private StudentRepository studentRepository;
+
+	@Autowired
+	private CourseRepository courseRepository;
+
+	@Autowired
+	private TeacherRepository teacherRepository;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	private Long keptTeacherId;
+	private Long leavingTeacherId;
+	private Long keptCourseId;
+	private List<Long> leavingCourseIds;
+	private List<Long> studentIds;
+
+	@BeforeEach
+	void setUp() {
+		auditWriter.flush();
+		enrollementRepository.deleteAll();
+		studentRepository.deleteAll();
+		courseRepository.deleteAll();
+		teacherRepository.deleteAll();
+		jdbcTemplate.update("delete from student_grade_summaries");
+		jdbcTemplate.update("delete from course_grade_summaries");
+
+		keptTeacherId = createTeacher("kept", "school.edu");
+		leavingTeacherId = createTeacher("leaving", "old.school.edu");
+		keptCourseId = createCourse("Maths", keptTeacherId);
+		leavingCourseIds = List.of(createCourse("Physics", leavingTeacherId), createCourse("History", leavingTeacherId));
+
+		studentIds = new ArrayList<>();
+		List<EnrollmentDTO> enrollments = new ArrayList<>();
+		for (int i = 0; i < 3; i++) {
+			StudentDTO student = new StudentDTO();
+			student.setFirstName("Student" + i);
+			student.setLastName("Deleted");
+			student.setEmail("student" + i + (i == 0 ? "@old.school.edu" : "@school.edu"));
+			Long studentId = studentService.createStudent(student).getId();
+			studentIds.add(studentId);
+			enrollments.add(new EnrollmentDTO(studentId, keptCourseId));
+			leavingCourseIds.forEach(courseId -> enrollments.add(new EnrollmentDTO(studentId, courseId)));
+		}
+		enrollmentService.bulkEnroll(enrollments.iterator());
+		auditWriter.flush();
+
+		for (Long studentId : studentIds) {
+			gradeService.recordGrade(studentId, keptCourseId, new BigDecimal("60"));
+			gradeService.recordGrade(studentId, leavingCourseIds.get(0), new BigDecimal("90"));
+		}
+	}
+
+	@AfterEach
+	void tearDown() {
+		auditWriter.flush();
+		enrollementRepository.deleteAll();
+	}
+
+	private Long createTeacher(String name, String domain) {
+		TeacherDTO teacher = new TeacherDTO();
+		teacher.setFirstName(name);
+		teacher.setLastName("Teacher");
+		teacher.setEmail(name + ".teacher@" + domain);
+		return teacherService.createTeacher(teacher).getId();
+	}
+
+	private Long createCourse(String name, Long teacherId) {
+		CourseDTO course = new CourseDTO();
+		course.setName(name);
+		course.setTeacherId(teacherId);
+		return courseService.createCourse(course).getId();
+	}
+
+	@Test
+	void deletingAStudentWithRecordsAndGradesUpdatesItsCourses() {
+		studentService.deleteStudent(studentIds.get(0));
+
+		assertThat(studentRepository.existsById(studentIds.get(0))).isFalse();
+		assertThat(enrollementRepository.count()).isEqualTo(6);
+		assertThat(courseService.getCourseById(keptCourseId).getStudentIds())
+				.containsExactlyInAnyOrderElementsOf(studentIds.subList(1, 3));
+		assertThat(gradeService.getCourseGrades(keptCourseId).getGradeCount()).isEqualTo(2);
+		assertThat(courseService.getCourseSummaries())
+				.filteredOn(summary -> summary.getCourseId().equals(keptCourseId))
+				.singleElement()
+				.satisfies(summary -> assertThat(summary.getEnrollmentCount()).isEqualTo(2));
+		assertThat(gradeService.verifyGradeAggregates()).isEmpty();
+	}
+
+	@Test
+	void deletingTeachersByDomainTakesTheirCoursesAlong() {
+		BulkDeleteResultDTO result = teacherService.deleteTeachers(null, "Old.School.edu");
+
+		assertThat(result.getTeachers()).isEqualTo(1);
+		assertThat(result.getCourses()).isEqualTo(2);
+		assertThat(result.getStudents()).isZero();
+		assertThat(result.getEnrollments()).isEqualTo(6);
+		assertThat(result.getEnrollmentRecords()).isEqualTo(6);
+		assertThat(teacherRepository.findAll()).extracting("id").containsExactly(keptTeacherId);
+		assertThat(courseRepository.findAll()).extracting("id").containsExactly(keptCourseId);
+		assertThat(studentService.getStudentById(studentIds.get(1)).getCourseIds()).containsExactly(keptCourseId);
+
+		// the physics grades no longer count towards the students' averages
+		assertThat(gradeService.getTranscript(studentIds.get(1)).getGradeCount()).isEqualTo(1);
+		assertThat(gradeService.getTranscript(studentIds.get(1)).getAverageScore()).isEqualByComparingTo("60");
+		assertThat(gradeService.verifyGradeAggregates()).isEmpty();
+	}
+
+	@Test
+	void bulkDeletesSelectByIdsOrFilter() {
+		BulkDeleteResultDTO courses = courseService.deleteCourses(null, leavingTeacherId);
+		assertThat(courses.getCourses()).isEqualTo(2);
+		assertThat(teacherRepository.existsById(leavingTeacherId)).isTrue();
+
+		BulkDeleteResultDTO students = studentService.deleteStudents(List.of(studentIds.get(1), studentIds.get(2), -1L),
+				null);
+		assertThat(students.getStudents()).isEqualTo(2);
+		assertThat(students.getEnrollments()).isEqualTo(2);
+		assertThat(gradeService.getCourseGrades(keptCourseId).getAverageScore()).isEqualByComparingTo("60");
+		assertThat(gradeService.verifyGradeAggregates()).isEmpty();
+
+		assertThatThrownBy(() -> studentService.deleteStudents(null, null))
+				.isInstanceOf(IllegalArgumentException.class);
+		assertThatThrownBy(() -> teacherService.deleteTeachers(List.of(keptTeacherId), "school.edu"))
+				.isInstanceOf(IllegalArgumentException.class);
+		assertThatThrownBy(() -> studentService.deleteStudents(null, "%"))
+				.isInstanceOf(IllegalArgumentException.class);
+		assertThatThrownBy(() -> courseService.deleteCourse(leavingCourseIds.get(0)))
+				.hasMessage("Course not found with id: " + leavingCourseIds.get(0));
+	}
+}
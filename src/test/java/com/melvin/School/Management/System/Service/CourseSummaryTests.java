@@ -0,0 +1,184 @@
+package com.melvin.School.Management.System.Service;
+
+import com.melvin.School.Management.System.Dto.CourseDTO;
+import com.melvin.School.Management.System.Dto.CourseSummaryDTO;
+import com.melvin.School.Management.System.Dto.EnrollmentDTO;
+import com.melvin.School.Management.System.Dto.StudentDTO;
+import com.melvin.School.Management.System.Dto.TeacherDTO;
+import com.melvin.School.Management.System.Dto.TeacherSummaryDTO;
+import com.melvin.School.Management.System.Repository.CourseEnrollmentSummaryRepository;
+import com.melvin.School.Management.System.Repository.CourseRepository;
+import com.melvin.School.Management.System.Repository.EnrollementRepository;
+import com.melvin.School.Management.System.Repository.StudentRepository;
+import com.melvin.School.Management.System.Repository.TeacherRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Verifies that the maintained per-course enrollment counts follow enrollments
+ * and deletions, and agree with a rebuild from the join table.
+ */
+@SpringBootTest
+class CourseSummaryTests {
+
+	@Autowired
+	private WebApplicationContext context;
+
+	@Autowired
+	private CourseService courseService;
+
+	@Autowired
+	private TeacherService teacherService;
+
+	@Autowired
+	private StudentService studentService;
+
+	@Autowired
+	private EnrollmentService enrollmentService;
+
+	@Autowired
+	private StudentRepository studentRepository;
+
+	@Autowired
+	private CourseRepository courseRepository;
+
+	@Autowired
+	private TeacherRepository teacherRepository;
+
+	@Autowired
+	private EnrollementRepository enrollementRepository;
+
+	@Autowired
+	private EnrollmentAuditWriter auditWriter;
+
+	@Autowired
+	private CourseEnrollmentSummaryRepository summaryRepository;
+
+	private Long teacherId;
+	private List<Long> courseIds;
+	private List<Long> studentIds;
+
+	@BeforeEach
+	void setUp() {
+		auditWriter.flush();
+		enrollementRepository.deleteAll();
+		studentRepository.deleteAll();
+		courseRepository.deleteAll();
+		teacherRepository.deleteAll();
+		summaryRepository.deleteAll();
+
+		TeacherDTO teacher = new TeacherDTO();
+		teacher.setFirstName("Summary");
+		teacher.setLastName("Teacher");
+		teacher.setEmail("summary.teacher@school.edu");
+		teacherId = teacherService.createTeacher(teacher).getId();
+
+		courseIds = new ArrayList<>();
+		for (int i = 0; i < 3; i++) {
+			CourseDTO course = new CourseDTO();
+			course.setName("Summary Course " + i);
+			course.setTeacherId(teacherId);
+			courseIds.add(courseService.createCourse(course).getId());
+		}
+
+		studentIds = new ArrayList<>();
+		for (int i = 0; i < 4; i++) {
+			StudentDTO student = new StudentDTO();
+			student.setFirstName("Student" + i);
+			student.setLastName("Summary");
+			student.setEmail("summary" + i + "@school.edu");
+			studentIds.add(studentService.createStudent(student).getId());
+		}
+	}
+
+	@AfterEach
+	void tearDown() {
+		auditWriter.flush();
+		enrollementRepository.deleteAll();
+	}
+
+	private Map<Long, Long> counts() {
+		return courseService.getCourseSummaries().stream()
+				.collect(Collectors.toMap(CourseSummaryDTO::getCourseId, CourseSummaryDTO::getEnrollmentCount));
+	}
+
+	@Test
+	void countsFollowEnrollmentsAndDeletions() {
+		List<EnrollmentDTO> enrollments = new ArrayList<>();
+		for (Long studentId : studentIds) {
+			enrollments.add(new EnrollmentDTO(studentId, courseIds.get(0)));
+		}
+		enrollments.add(new EnrollmentDTO(studentIds.get(0), courseIds.get(1)));
+		enrollments.add(new EnrollmentDTO(studentIds.get(1), courseIds.get(1)));
+		enrollments.add(new EnrollmentDTO(studentIds.get(1), courseIds.get(1)));
+		enrollmentService.bulkEnroll(enrollments.iterator());
+
+		assertThat(counts()).containsExactlyInAnyOrderEntriesOf(Map.of(
+				courseIds.get(0), 4L, courseIds.get(1), 2L, courseIds.get(2), 0L));
+
+		// audit rows reference students and courses; clear them so the deletes below go through
+		auditWriter.flush();
+		enrollementRepository.deleteAll();
+		studentService.deleteStudent(studentIds.get(1));
+		assertThat(counts()).containsExactlyInAnyOrderEntriesOf(Map.of(
+				courseIds.get(0), 3L, courseIds.get(1), 1L, courseIds.get(2), 0L));
+
+		courseService.deleteCourse(courseIds.get(1));
+		assertThat(counts()).containsExactlyInAnyOrderEntriesOf(Map.of(
+				courseIds.get(0), 3L, courseIds.get(2), 0L));
+
+		List<TeacherSummaryDTO> teachers = teacherService.getTeacherSummaries();
+		assertThat(teachers).hasSize(1);
+		assertThat(teachers.get(0).getTeacherId()).isEqualTo(teacherId);
+		assertThat(teachers.get(0).getCourseCount()).isEqualTo(2);
+		assertThat(teachers.get(0).getEnrollmentCount()).isEqualTo(3);
+	}
+
+	@Test
+	void rebuildRepairsDriftedCounts() {
+		enrollmentService.bulkEnroll(List.of(
+				new EnrollmentDTO(studentIds.get(0), courseIds.get(2)),
+				new EnrollmentDTO(studentIds.get(1), courseIds.get(2))).iterator());
+		Map<Long, Long> expected = counts();
+
+		summaryRepository.deleteAll();
+		assertThat(counts()).containsValues(0L).doesNotContainValue(2L);
+
+		courseService.rebuildCourseSummaries();
+		assertThat(counts()).isEqualTo(expected);
+		assertThat(summaryRepository.count()).isEqualTo(courseIds.size());
+	}
+
+	@Test
+	void rebuildIsAnAdminEndpoint() throws Exception {
+		MockMvc mockMvc = MockMvcBuilders.webAppContextSetup(context).apply(springSecurity()).build();
+		summaryRepository.deleteAll();
+
+		mockMvc.perform(post("/api/admin/courses/summary/rebuild"))
+				.andExpect(status().isUnauthorized());
+		mockMvc.perform(post("/api/admin/courses/summary/rebuild").with(user("student").roles("USER")))
+				.andExpect(status().isForbidden());
+		assertThat(summaryRepository.count()).isZero();
+
+		mockMvc.perform(post("/api/admin/courses/summary/rebuild").with(user("admin").roles("ADMIN")))
+				.andExpect(status().isNoContent());
+		assertThat(summaryRepository.count()).isEqualTo(courseIds.size());
+	}
+}
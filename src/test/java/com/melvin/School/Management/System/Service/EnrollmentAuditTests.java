@@ -0,0 +1,277 @@
+package com.melvin.School.Management.System.Service;
+
+import com.melvin.School.Management.System.Dto.CourseDTO;
+import com.melvin.School.Management.System.Dto.EnrollmentDTO;
+import com.melvin.School.Management.System.Dto.StudentDTO;
+import com.melvin.School.Management.System.Dto.TeacherDTO;
+import com.melvin.School.Management.System.Repository.CourseRepository;
+import com.melvin.School.Management.System.Repository.EnrollementRepository;
+import com.melvin.School.Management.System.Repository.StudentRepository;
+import com.melvin.School.Management.System.Repository.TeacherRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionStatus;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Verifies that enrollment audit records are written behind, that a full
+ * queue drops events after one offer timeout per submit (or rejects them in
+ * durable mode), that durable mode replays journaled events not stored
+ * before a restart, and that events that cannot be stored go to the
+ * dead-letter file instead of stopping the writer or the startup.
+ */
+@SpringBootTest
+class EnrollmentAuditTests {
+
+	@Autowired
+	private EnrollmentAuditWriter auditWriter;
+
+	@Autowired
+	private EnrollmentService enrollmentService;
+
+	@Autowired
+	private CourseService courseService;
+
+	@Autowired
+	private TeacherService teacherService;
+
+	@Autowired
+	private StudentService studentService;
+
+	@Autowired
+	private EnrollementRepository enrollementRepository;
+
+	@Autowired
+	private StudentRepository studentRepository;
+
+	@Autowired
+	private CourseRepository courseRepository;
+
+	@Autowired
+	private TeacherRepository teacherRepository;
+
+	@Autowired
+	private EntityManager entityManager;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	@Autowired
+	private MeterRegistry meterRegistry;
+
+	@TempDir
+	private Path tempDir;
+
+	private Long courseId;
+	private List<Long> studentIds;
+
+	@BeforeEach
+	void setUp() {
+		auditWriter.flush();
+		enrollementRepository.deleteAll();
+		studentRepository.deleteAll();
+		courseRepository.deleteAll();
+		teacherRepository.deleteAll();
+
+		TeacherDTO teacher = new TeacherDTO();
+		teacher.setFirstName("Audit");
+		teacher.setLastName("Teacher");
+		teacher.setEmail("audit.teacher@school.edu");
+		CourseDTO course = new CourseDTO();
+		course.setName("Audit Course");
+		course.setTeacherId(teacherService.createTeacher(teacher).getId());
+		courseId = courseService.createCourse(course).getId();
+
+		studentIds = new ArrayList<>();
+		for (int i = 0; i < 3; i++) {
+			StudentDTO student = new StudentDTO();
+			student.setFirstName("Audit" + i);
+			student.setLastName("Student");
+			student.setEmail("audit" + i + "@school.edu");
+			studentIds.add(studentService.createStudent(student).getId());
+		}
+	}
+
+	@AfterEach
+	void tearDown() {
+		auditWriter.flush();
+		enrollementRepository.deleteAll();
+	}
+
+	private EnrollmentAuditWriter writer(int queueCapacity, boolean durable, Path journal, MeterRegistry registry) {
+		return writer(transactionManager, queueCapacity, durable, journal, registry);
+	}
+
+	private EnrollmentAuditWriter writer(PlatformTransactionManager transactions, int queueCapacity, boolean durable,
+										 Path journal, MeterRegistry registry) {
+		return new EnrollmentAuditWriter(enrollementRepository, studentRepository, courseRepository, entityManager,
+				transactions, registry, queueCapacity, 500, Duration.ofMillis(50), Duration.ofMillis(10), 3,
+				durable, journal, tempDir.resolve("enrollment-audit.dead-letter"));
+	}
+
+	/**
+	 * A transaction manager whose transactions never start, as when the audit table rejects every write.
+	 */
+	private static PlatformTransactionManager failingTransactions() {
+		return new PlatformTransactionManager() {
+			@Override
+			public TransactionStatus getTransaction(TransactionDefinition definition) {
+				throw new CannotCreateTransactionException("database unavailable");
+			}
+
+			@Override
+			public void commit(TransactionStatus status) {
+			}
+
+			@Override
+			public void rollback(TransactionStatus status) {
+			}
+		};
+	}
+
+	private List<EnrollmentAuditWriter.Event> events() {
+		return studentIds.stream()
+				.map(studentId -> new EnrollmentAuditWriter.Event(studentId, courseId, LocalDate.now()))
+				.toList();
+	}
+
+	@Test
+	void bulkEnrollmentWritesAuditRecordsBehind() {
+		long batchesBefore = meterRegistry.get(EnrollmentAuditWriter.FLUSH_TIMER).timer().count();
+
+		enrollmentService.bulkEnroll(studentIds.stream().map(id -> new EnrollmentDTO(id, courseId)).iterator());
+		auditWriter.flush();
+
+		assertThat(enrollementRepository.count()).isEqualTo(3);
+		assertThat(meterRegistry.get(EnrollmentAuditWriter.FLUSH_TIMER).timer().count()).isGreaterThan(batchesBefore);
+		assertThat(meterRegistry.get(EnrollmentAuditWriter.QUEUE_DEPTH_METRIC).gauge().value()).isZero();
+	}
+
+	@Test
+	void fullQueueDropsEventsAfterTheOfferTimeout() {
+		SimpleMeterRegistry registry = new SimpleMeterRegistry();
+		EnrollmentAuditWriter stalled = writer(2, false, tempDir.resolve("unused.journal"), registry);
+
+		stalled.submit(events());
+
+		assertThat(registry.get(EnrollmentAuditWriter.DROPPED_METRIC).counter().count()).isEqualTo(1);
+		assertThat(registry.get(EnrollmentAuditWriter.QUEUE_DEPTH_METRIC).gauge().value()).isEqualTo(2);
+
+		stalled.start();
+		stalled.flush();
+		stalled.stop();
+		assertThat(enrollementRepository.count()).isEqualTo(2);
+	}
+
+	@Test
+	void fullQueueWaitsOneOfferTimeoutPerSubmit() {
+		SimpleMeterRegistry registry = new SimpleMeterRegistry();
+		EnrollmentAuditWriter stalled = writer(1, false, tempDir.resolve("unused.journal"), registry);
+		List<EnrollmentAuditWriter.Event> events = new ArrayList<>();
+		for (int i = 0; i < 10; i++) {
+			events.addAll(events());
+		}
+
+		long start = System.nanoTime();
+		stalled.submit(events);
+		Duration waited = Duration.ofNanos(System.nanoTime() - start);
+
+		// one 50 ms deadline for the whole call, not one per event
+		assertThat(waited).isLessThan(Duration.ofMillis(500));
+		assertThat(registry.get(EnrollmentAuditWriter.DROPPED_METRIC).counter().count()).isEqualTo(29);
+	}
+
+	@Test
+	void durableModeRejectsWhenTheQueueStaysFull() {
+		EnrollmentAuditWriter stalled = writer(2, true, tempDir.resolve("full.journal"), new SimpleMeterRegistry());
+		stalled.submit(events().subList(0, 2));
+
+		assertThatThrownBy(() -> stalled.reserve(1)).isInstanceOf(AuditQueueFullException.class);
+		EnrollmentAuditWriter.Reservation reservation = stalled.reserve(0);
+		assertThat(reservation.permits()).isZero();
+
+		stalled.start();
+		stalled.flush();
+		assertThat(stalled.reserve(2).permits()).isEqualTo(2);
+		stalled.stop();
+	}
+
+	@Test
+	void eventsThatCannotBeStoredAreDeadLettered() throws Exception {
+		SimpleMeterRegistry registry = new SimpleMeterRegistry();
+		EnrollmentAuditWriter failing = writer(failingTransactions(), 10, false, tempDir.resolve("unused.journal"),
+				registry);
+		failing.start();
+		failing.submit(events());
+		failing.flush();
+		failing.stop();
+
+		assertThat(registry.get(EnrollmentAuditWriter.DEAD_LETTERED_METRIC).counter().count()).isEqualTo(3);
+		assertThat(Files.readAllLines(tempDir.resolve("enrollment-audit.dead-letter"))).hasSize(3);
+	}
+
+	@Test
+	void failedReplayDoesNotFailTheStartup() throws Exception {
+		Path file = tempDir.resolve("replay.journal");
+		try (EnrollmentAuditJournal journal = new EnrollmentAuditJournal(file)) {
+			journal.append(events());
+		}
+
+		SimpleMeterRegistry registry = new SimpleMeterRegistry();
+		EnrollmentAuditWriter restarted = writer(failingTransactions(), 10, true, file, registry);
+		restarted.start();
+		restarted.stop();
+
+		assertThat(registry.get(EnrollmentAuditWriter.DEAD_LETTERED_METRIC).counter().count()).isEqualTo(3);
+		try (EnrollmentAuditJournal journal = new EnrollmentAuditJournal(file)) {
+			assertThat(journal.pending()).isEmpty();
+		}
+	}
+
+	@Test
+	void durableModeReplaysEventsNotStoredBeforeARestart() throws Exception {
+		Path file = tempDir.resolve("enrollment-audit.journal");
+		try (EnrollmentAuditJournal journal = new EnrollmentAuditJournal(file)) {
+			List<EnrollmentAuditWriter.Event> appended = journal.append(events());
+			// the first event was stored before the crash
+			journal.checkpoint(appended.get(0).sequence());
+		}
+		// a line cut short by the crash, never acknowledged
+		Files.writeString(file, "4," + studentIds.get(0), StandardCharsets.UTF_8, StandardOpenOption.APPEND);
+
+		EnrollmentAuditWriter restarted = writer(10, true, file, new SimpleMeterRegistry());
+		restarted.start();
+		assertThat(enrollementRepository.count()).isEqualTo(2);
+
+		restarted.submit(events().subList(0, 1));
+		restarted.flush();
+		restarted.stop();
+		assertThat(enrollementRepository.count()).isEqualTo(3);
+
+		try (EnrollmentAuditJournal journal = new EnrollmentAuditJournal(file)) {
+			assertThat(journal.pending()).isEmpty();
+		}
+		assertThat(Files.size(file)).isZero();
+	}
+}
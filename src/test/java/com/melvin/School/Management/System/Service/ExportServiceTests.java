@@ -0,0 +1,119 @@
+package com.melvin.School.Management.System.Service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.melvin.School.Management.System.Model.Course;
+import com.melvin.School.Management.System.Model.Student;
+import com.melvin.School.Management.System.Model.Teacher;
+import com.melvin.School.Management.System.Repository.CourseRepository;
+import com.melvin.School.Management.System.Repository.StudentRepository;
+import com.melvin.School.Management.System.Repository.TeacherRepository;
+import com.melvin.School.Management.System.Utility.RowFormat;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Verifies the streaming exports across several flush/clear chunks.
+ */
+@SpringBootTest
+class ExportServiceTests {
+
+	private static final int STUDENTS = ExportServiceImpl.CHUNK_SIZE + 250;
+
+	@Autowired
+	private ExportService exportService;
+
+	@Autowired
+	private StudentRepository studentRepository;
+
+	@Autowired
+	private CourseRepository courseRepository;
+
+	@Autowired
+	private TeacherRepository teacherRepository;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	private Course course;
+
+	@BeforeEach
+	void setUp() {
+		studentRepository.deleteAll();
+		courseRepository.deleteAll();
+		teacherRepository.deleteAll();
+
+		Teacher teacher = new Teacher();
+		teacher.setFirstName("Export");
+		teacher.setLastName("Teacher");
+		teacher.setEmail("export.teacher@school.edu");
+		teacher = teacherRepository.save(teacher);
+
+		course = new Course();
+		course.setName("Exported Course");
+		course.setTeacher(teacher);
+		course = courseRepository.save(course);
+
+		List<Student> students = new ArrayList<>();
+		for (int i = 0; i < STUDENTS; i++) {
+			Student student = new Student();
+			student.setFirstName("Student" + i);
+			student.setLastName(i == 0 ? "O\"Brien, Jr." : "Lastname" + i);
+			student.setEmail("export" + i + "@school.edu");
+			if (i % 2 == 0) {
+				student.getCourses().add(course);
+			}
+			students.add(student);
+		}
+		studentRepository.saveAll(students);
+	}
+
+	@Test
+	void exportsStudentsAsCsv() throws Exception {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		exportService.exportStudents(RowFormat.CSV, out);
+
+		String[] lines = out.toString(StandardCharsets.UTF_8).split("\r\n");
+		assertThat(lines).hasSize(STUDENTS + 1);
+		assertThat(lines[0]).isEqualTo("id,firstName,lastName,email");
+		assertThat(lines[1]).endsWith(",Student0,\"O\"\"Brien, Jr.\",export0@school.edu");
+		assertThat(lines[STUDENTS]).endsWith(",Student" + (STUDENTS - 1) + ",Lastname" + (STUDENTS - 1)
+				+ ",export" + (STUDENTS - 1) + "@school.edu");
+	}
+
+	@Test
+	void exportsStudentsAsNdjsonInIdOrder() throws Exception {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		exportService.exportStudents(RowFormat.NDJSON, out);
+
+		String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+		assertThat(lines).hasSize(STUDENTS);
+		long previousId = 0;
+		for (String line : lines) {
+			JsonNode row = objectMapper.readTree(line);
+			assertThat(row.get("id").asLong()).isGreaterThan(previousId);
+			previousId = row.get("id").asLong();
+		}
+		assertThat(objectMapper.readTree(lines[0]).get("lastName").asText()).isEqualTo("O\"Brien, Jr.");
+	}
+
+	@Test
+	void exportsEnrollmentPairs() throws Exception {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		exportService.exportEnrollments(RowFormat.CSV, out);
+
+		String[] lines = out.toString(StandardCharsets.UTF_8).split("\r\n");
+		assertThat(lines).hasSize(STUDENTS / 2 + 1);
+		assertThat(lines[0]).isEqualTo("studentId,courseId");
+		assertThat(lines[1]).endsWith("," + course.getId());
+	}
+}
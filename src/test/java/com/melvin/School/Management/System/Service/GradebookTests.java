@@ -0,0 +1,218 @@
+package com.melvin.School.Management.System.Service;
+
+import com.melvin.School.Management.System.Dto.CourseDTO;
+import com.melvin.School.Management.System.Dto.EnrollmentDTO;
+import com.melvin.School.Management.System.Dto.GradeDriftDTO;
+import com.melvin.School.Management.System.Dto.StudentDTO;
+import com.melvin.School.Management.System.Dto.TeacherDTO;
+import com.melvin.School.Management.System.Repository.CourseRepository;
+import com.melvin.School.Management.System.Repository.EnrollementRepository;
+import com.melvin.School.Management.System.Repository.StudentRepository;
+import com.melvin.School.Management.System.Repository.TeacherRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Verifies that grade changes keep the student and course grade summaries
+ * equal to the grades, and that the verification finds summaries changed
+ * behind the service's back, on demand for admins only.
+ */
+@SpringBootTest
+class GradebookTests {
+
+	@Autowired
+	private GradeService gradeService;
+
+	@Autowired
+	private CourseService courseService;
+
+	@Autowired
+	private TeacherService teacherService;
+
+	@Autowired
+	private StudentService studentService;
+
+	@Autowired
+	private EnrollmentService enrollmentService;
+
+	@Autowired
+	private EnrollmentAuditWriter auditWriter;
+
+	@Autowired
+	private EnrollementRepository enrollementRepository;
+
+	@Autowired
+	private StudentRepository studentRepository;
+
+	@Autowired
+	private CourseRepository courseRepository;
+
+	@Autowired
+	private TeacherRepository teacherRepository;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	private WebApplicationContext context;
+
+	private Long firstStudentId;
+	private Long secondStudentId;
+	private Long mathsId;
+	private Long physicsId;
+
+	@BeforeEach
+	void setUp() {
+		auditWriter.flush();
+		enrollementRepository.deleteAll();
+		studentRepository.deleteAll();
+		courseRepository.deleteAll();
+		teacherRepository.deleteAll();
+		jdbcTemplate.update("delete from student_grade_summaries");
+		jdbcTemplate.update("delete from course_grade_summaries");
+
+		TeacherDTO teacher = new TeacherDTO();
+		teacher.setFirstName("Grading");
+		teacher.setLastName("Teacher");
+		teacher.setEmail("grading.teacher@school.edu");
+		Long teacherId = teacherService.createTeacher(teacher).getId();
+		mathsId = createCourse("Maths", teacherId);
+		physicsId = createCourse("Physics", teacherId);
+		firstStudentId = createStudent("first");
+		secondStudentId = createStudent("second");
+		enrollmentService.bulkEnroll(List.of(
+				new EnrollmentDTO(firstStudentId, mathsId),
+				new EnrollmentDTO(firstStudentId, physicsId),
+				new EnrollmentDTO(secondStudentId, mathsId)).iterator());
+		auditWriter.flush();
+	}
+
+	@AfterEach
+	void tearDown() {
+		auditWriter.flush();
+		enrollementRepository.deleteAll();
+	}
+
+	private Long createCourse(String name, Long teacherId) {
+		CourseDTO course = new CourseDTO();
+		course.setName(name);
+		course.setTeacherId(teacherId);
+		return courseService.createCourse(course).getId();
+	}
+
+	private Long createStudent(String name) {
+		StudentDTO student = new StudentDTO();
+		student.setFirstName(name);
+		student.setLastName("Student");
+		student.setEmail(name + ".graded@school.edu");
+		return studentService.createStudent(student).getId();
+	}
+
+	@Test
+	void gradeChangesKeepAveragesInStep() {
+		gradeService.recordGrade(firstStudentId, mathsId, new BigDecimal("80"));
+		gradeService.recordGrade(firstStudentId, physicsId, new BigDecimal("91.5"));
+		gradeService.recordGrade(secondStudentId, mathsId, new BigDecimal("65.25"));
+
+		assertThat(gradeService.getTranscript(firstStudentId).getAverageScore()).isEqualByComparingTo("85.75");
+		assertThat(gradeService.getCourseGrades(mathsId).getAverageScore()).isEqualByComparingTo("72.63");
+		assertThat(gradeService.getCourseGrades(mathsId).getGradeCount()).isEqualTo(2);
+
+		// regrading replaces the old score instead of adding another one
+		gradeService.recordGrade(firstStudentId, mathsId, new BigDecimal("90"));
+		assertThat(gradeService.getTranscript(firstStudentId).getAverageScore()).isEqualByComparingTo("90.75");
+		assertThat(gradeService.getCourseGrades(mathsId).getGradeCount()).isEqualTo(2);
+
+		gradeService.clearGrade(firstStudentId, physicsId);
+		gradeService.clearGrade(firstStudentId, physicsId);
+		assertThat(gradeService.getTranscript(firstStudentId).getGradeCount()).isEqualTo(1);
+		assertThat(gradeService.getTranscript(firstStudentId).getAverageScore()).isEqualByComparingTo("90");
+		assertThat(gradeService.getCourseGrades(physicsId).getGradeCount()).isZero();
+		assertThat(gradeService.getCourseGrades(physicsId).getAverageScore()).isNull();
+
+		assertThat(gradeService.verifyGradeAggregates()).isEmpty();
+	}
+
+	@Test
+	void invalidGradesAreRejected() {
+		Long unenrolledId = createStudent("unenrolled");
+		assertThatThrownBy(() -> gradeService.recordGrade(unenrolledId, mathsId, new BigDecimal("50")))
+				.hasMessage("Enrollment not found for student id: " + unenrolledId + " and course id: " + mathsId);
+		assertThatThrownBy(() -> gradeService.recordGrade(firstStudentId, mathsId, new BigDecimal("100.01")))
+				.isInstanceOf(IllegalArgumentException.class);
+		assertThatThrownBy(() -> gradeService.recordGrade(firstStudentId, mathsId, new BigDecimal("99.999")))
+				.isInstanceOf(IllegalArgumentException.class);
+
+		assertThat(gradeService.getTranscript(unenrolledId).getGradeCount()).isZero();
+		assertThat(gradeService.getTranscript(firstStudentId).getAverageScore()).isNull();
+		assertThatThrownBy(() -> gradeService.getCourseGrades(-1L))
+				.hasMessage("Course not found with id: -1");
+	}
+
+	@Test
+	void studentsAreGradedBeforeTheirAuditRecordIsStored() {
+		// as if the audit writer had not caught up yet
+		jdbcTemplate.update("delete from enrollments");
+
+		gradeService.recordGrade(firstStudentId, mathsId, new BigDecimal("70"));
+		auditWriter.submit(List.of(new EnrollmentAuditWriter.Event(firstStudentId, mathsId, LocalDate.now())));
+		auditWriter.flush();
+
+		assertThat(enrollementRepository.count()).isEqualTo(1);
+		assertThat(enrollementRepository.findAll().get(0).getScore()).isEqualByComparingTo("70");
+		assertThat(gradeService.getCourseGrades(mathsId).getAverageScore()).isEqualByComparingTo("70");
+	}
+
+	@Test
+	void verificationFindsDrift() {
+		gradeService.recordGrade(firstStudentId, mathsId, new BigDecimal("80"));
+		gradeService.recordGrade(secondStudentId, mathsId, new BigDecimal("60"));
+		jdbcTemplate.update("update course_grade_summaries set score_sum = score_sum + 1 where course_id = ?", mathsId);
+		jdbcTemplate.update("delete from student_grade_summaries where student_id = ?", secondStudentId);
+
+		assertThat(gradeService.verifyGradeAggregates())
+				.usingRecursiveFieldByFieldElementComparatorIgnoringFields("expectedScoreSum", "actualScoreSum")
+				.containsExactly(
+						new GradeDriftDTO("STUDENT", secondStudentId, null, 1, null, 0),
+						new GradeDriftDTO("COURSE", mathsId, null, 2, null, 2));
+	}
+
+	@Test
+	void verificationIsAnAdminEndpoint() throws Exception {
+		MockMvc mockMvc = MockMvcBuilders.webAppContextSetup(context).apply(springSecurity()).build();
+		gradeService.recordGrade(firstStudentId, mathsId, new BigDecimal("80"));
+		jdbcTemplate.update("update course_grade_summaries set score_sum = score_sum + 1 where course_id = ?", mathsId);
+
+		mockMvc.perform(post("/api/admin/enrollments/grades/verify"))
+				.andExpect(status().isUnauthorized());
+		mockMvc.perform(post("/api/admin/enrollments/grades/verify").with(user("student").roles("USER")))
+				.andExpect(status().isForbidden());
+		mockMvc.perform(post("/api/enrollments/grades/verify").with(user("admin").roles("ADMIN")))
+				.andExpect(status().isNotFound());
+
+		mockMvc.perform(post("/api/admin/enrollments/grades/verify").with(user("admin").roles("ADMIN")))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.length()").value(1))
+				.andExpect(jsonPath("$[0].scope").value("COURSE"))
+				.andExpect(jsonPath("$[0].id").value(mathsId));
+	}
+}
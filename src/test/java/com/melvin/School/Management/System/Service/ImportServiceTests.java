@@ -0,0 +1,135 @@
+package com.melvin.School.Management.System.Service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.melvin.School.Management.System.Dto.BulkImportResultDTO;
+import com.melvin.School.Management.System.Dto.ImportEventDTO;
+import com.melvin.School.Management.System.Dto.StudentDTO;
+import com.melvin.School.Management.System.Model.Student;
+import com.melvin.School.Management.System.Repository.CourseRepository;
+import com.melvin.School.Management.System.Repository.StudentRepository;
+import com.melvin.School.Management.System.Repository.TeacherRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.multipart;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Verifies that imports reject bad rows individually while the valid rows
+ * of every chunk are committed.
+ */
+@SpringBootTest
+class ImportServiceTests {
+
+	@Autowired
+	private ImportService importService;
+
+	@Autowired
+	private StudentRepository studentRepository;
+
+	@Autowired
+	private CourseRepository courseRepository;
+
+	@Autowired
+	private TeacherRepository teacherRepository;
+
+	@Autowired
+	private WebApplicationContext context;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	@BeforeEach
+	void setUp() {
+		studentRepository.deleteAll();
+		courseRepository.deleteAll();
+		teacherRepository.deleteAll();
+	}
+
+	@Test
+	void rejectsBadRowsWithoutRollingBackTheChunk() {
+		Student existing = new Student();
+		existing.setFirstName("Existing");
+		existing.setLastName("Student");
+		existing.setEmail("taken@school.edu");
+		studentRepository.save(existing);
+
+		List<StudentDTO> rows = new ArrayList<>();
+		for (int i = 1; i <= 2500; i++) {
+			rows.add(student("Student", "Number" + i, "import" + i + "@school.edu"));
+		}
+		rows.set(9, student("Student", "Invalid", "not-an-email"));
+		rows.set(1199, student("X", "Short", "short@school.edu"));
+		rows.set(1500, student("Student", "Taken", "taken@school.edu"));
+		rows.set(2400, student("Student", "Twice", "import1@school.edu"));
+
+		List<ImportEventDTO> events = new ArrayList<>();
+		BulkImportResultDTO result = importService.importStudents(rows.iterator(), events::add);
+
+		assertThat(result.getReceived()).isEqualTo(2500);
+		assertThat(result.getImported()).isEqualTo(2496);
+		assertThat(result.getRejected()).isEqualTo(4);
+		assertThat(result.getChunks()).isEqualTo(3);
+		assertThat(studentRepository.count()).isEqualTo(2497);
+
+		List<ImportEventDTO> rejected = events.stream()
+				.filter(event -> event.getType() == ImportEventDTO.Type.REJECTED).toList();
+		assertThat(rejected).extracting(ImportEventDTO::getRow).containsExactly(10L, 1200L, 1501L, 2401L);
+		assertThat(rejected.get(0).getErrors()).containsExactly("email: Email should be valid");
+		assertThat(rejected.get(2).getErrors()).containsExactly("email: Email is already in use");
+		assertThat(events).filteredOn(event -> event.getType() == ImportEventDTO.Type.PROGRESS).hasSize(3);
+		assertThat(events.get(events.size() - 1).getType()).isEqualTo(ImportEventDTO.Type.COMPLETED);
+	}
+
+	@Test
+	void importsCsvUploadAndStreamsEvents() throws Exception {
+		String csv = "\uFEFFfirstName,lastName,email,courseIds\r\n"
+				+ "Ada,\"Lovelace, Countess\",ada@school.edu,\r\n"
+				+ "\r\n"
+				+ "Grace,Hopper,grace@school.edu,\r\n"
+				+ "Bad,Row,,\r\n";
+		MockMultipartFile file = new MockMultipartFile("file", "students.csv", "text/csv",
+				csv.getBytes(StandardCharsets.UTF_8));
+		MockMvc mockMvc = MockMvcBuilders.webAppContextSetup(context).build();
+
+		MvcResult started = mockMvc.perform(multipart("/api/students/import").file(file))
+				.andExpect(request().asyncStarted())
+				.andReturn();
+		String body = mockMvc.perform(asyncDispatch(started))
+				.andExpect(status().isOk())
+				.andReturn().getResponse().getContentAsString(StandardCharsets.UTF_8);
+
+		String[] lines = body.split("\n");
+		JsonNode rejected = objectMapper.readTree(lines[0]);
+		assertThat(rejected.get("type").asText()).isEqualTo("REJECTED");
+		assertThat(rejected.get("row").asLong()).isEqualTo(3);
+		JsonNode completed = objectMapper.readTree(lines[lines.length - 1]);
+		assertThat(completed.get("type").asText()).isEqualTo("COMPLETED");
+		assertThat(completed.get("result").get("imported").asLong()).isEqualTo(2);
+		assertThat(studentRepository.findAll()).extracting(Student::getLastName)
+				.containsExactlyInAnyOrder("Lovelace, Countess", "Hopper");
+	}
+
+	private static StudentDTO student(String firstName, String lastName, String email) {
+		StudentDTO student = new StudentDTO();
+		student.setFirstName(firstName);
+		student.setLastName(lastName);
+		student.setEmail(email);
+		return student;
+	}
+}
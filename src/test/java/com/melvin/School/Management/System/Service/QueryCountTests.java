@@ -0,0 +1,156 @@
+package com.melvin.School.Management.System.Service;
+
+import com.melvin.School.Management.System.Model.Course;
+import com.melvin.School.Management.System.Model.Student;
+import com.melvin.School.Management.System.Model.Teacher;
+import com.melvin.School.Management.System.Repository.CourseRepository;
+import com.melvin.School.Management.System.Repository.StudentRepository;
+import com.melvin.School.Management.System.Repository.TeacherRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Verifies that list and detail reads issue a constant number of SQL
+ * statements, independent of how many rows and relations are mapped.
+ */
+@SpringBootTest
+class QueryCountTests {
+
+	@Autowired
+	private StudentService studentService;
+
+	@Autowired
+	private CourseService courseService;
+
+	@Autowired
+	private TeacherService teacherService;
+
+	@Autowired
+	private StudentRepository studentRepository;
+
+	@Autowired
+	private CourseRepository courseRepository;
+
+	@Autowired
+	private TeacherRepository teacherRepository;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	private Statistics statistics;
+
+	@BeforeEach
+	void setUp() {
+		studentRepository.deleteAll();
+		courseRepository.deleteAll();
+		teacherRepository.deleteAll();
+		statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+	}
+
+	@Test
+	void studentPageStatementCountDoesNotGrowWithRows() {
+		seed(3, 5);
+		long small = countStatements(() -> studentService.getStudentsPage(null, 100));
+
+		seed(6, 40);
+		long large = countStatements(() -> studentService.getStudentsPage(null, 100));
+
+		assertThat(large).isEqualTo(small).isEqualTo(2);
+	}
+
+	@Test
+	void coursePageStatementCountDoesNotGrowWithRows() {
+		seed(2, 5);
+		long small = countStatements(() -> courseService.getCoursesPage(null, 100));
+
+		seed(10, 30);
+		long large = countStatements(() -> courseService.getCoursesPage(null, 100));
+
+		assertThat(large).isEqualTo(small).isEqualTo(2);
+	}
+
+	@Test
+	void teacherPageStatementCountDoesNotGrowWithRows() {
+		seed(2, 1);
+		long small = countStatements(() -> teacherService.getTeachersPage(null, 100));
+
+		seed(12, 1);
+		long large = countStatements(() -> teacherService.getTeachersPage(null, 100));
+
+		assertThat(large).isEqualTo(small).isEqualTo(2);
+	}
+
+	@Test
+	void listAllIssuesSingleStatement() {
+		seed(8, 25);
+
+		assertThat(countStatements(() -> studentService.getAllStudents())).isEqualTo(1);
+		assertThat(countStatements(() -> courseService.getAllCourses())).isEqualTo(1);
+		assertThat(countStatements(() -> teacherService.getAllTeachers())).isEqualTo(1);
+	}
+
+	@Test
+	void detailReadsIssueSingleStatement() {
+		seed(4, 10);
+		Student student = studentRepository.findAll().get(0);
+
+		assertThat(countStatements(() -> studentService.getStudentById(student.getId()))).isEqualTo(1);
+		assertThat(countStatements(() -> studentService.getStudentById(student.getId()))).isZero();
+	}
+
+	@Test
+	void cachedDetailReadsSkipDatabase() {
+		seed(4, 10);
+		Course course = courseRepository.findAll().get(0);
+		Teacher teacher = teacherRepository.findAll().get(0);
+
+		assertThat(countStatements(() -> courseService.getCourseById(course.getId()))).isLessThanOrEqualTo(2);
+		assertThat(countStatements(() -> teacherService.getTeacherById(teacher.getId()))).isLessThanOrEqualTo(2);
+
+		assertThat(countStatements(() -> courseService.getCourseById(course.getId()))).isZero();
+		assertThat(countStatements(() -> teacherService.getTeacherById(teacher.getId()))).isZero();
+	}
+
+	/**
+	 * Creates one teacher per course and enrolls every student in every course.
+	 */
+	private void seed(int courses, int students) {
+		List<Course> savedCourses = new ArrayList<>();
+		for (int i = 0; i < courses; i++) {
+			Teacher teacher = new Teacher();
+			teacher.setFirstName("Teacher");
+			teacher.setLastName("No" + i);
+			teacher.setEmail("teacher" + System.nanoTime() + "@school.edu");
+			teacher = teacherRepository.save(teacher);
+
+			Course course = new Course();
+			course.setName("Course " + i);
+			course.setTeacher(teacher);
+			savedCourses.add(courseRepository.save(course));
+		}
+		for (int i = 0; i < students; i++) {
+			Student student = new Student();
+			student.setFirstName("Student");
+			student.setLastName("No" + i);
+			student.setEmail("student" + System.nanoTime() + "@school.edu");
+			student.setCourses(new ArrayList<>(savedCourses));
+			studentRepository.save(student);
+		}
+	}
+
+	private long countStatements(Runnable action) {
+		statistics.clear();
+		action.run();
+		return statistics.getPrepareStatementCount();
+	}
+}
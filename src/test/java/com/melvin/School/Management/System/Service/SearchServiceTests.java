@@ -0,0 +1,162 @@
+package com.melvin.School.Management.System.Service;
+
+import com.melvin.School.Management.System.Dto.SearchPageDTO;
+import com.melvin.School.Management.System.Dto.StudentDTO;
+import com.melvin.School.Management.System.Dto.TeacherDTO;
+import com.melvin.School.Management.System.Repository.CourseRepository;
+import com.melvin.School.Management.System.Repository.EnrollementRepository;
+import com.melvin.School.Management.System.Repository.StudentRepository;
+import com.melvin.School.Management.System.Repository.TeacherRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Verifies prefix, fuzzy and multi-word student and teacher search, and that
+ * the index follows creates, updates, deletes and imports.
+ */
+@SpringBootTest
+class SearchServiceTests {
+
+	@Autowired
+	private SearchService searchService;
+
+	@Autowired
+	private StudentService studentService;
+
+	@Autowired
+	private TeacherService teacherService;
+
+	@Autowired
+	private ImportService importService;
+
+	@Autowired
+	private EnrollementRepository enrollementRepository;
+
+	@Autowired
+	private EnrollmentAuditWriter auditWriter;
+
+	@Autowired
+	private StudentRepository studentRepository;
+
+	@Autowired
+	private CourseRepository courseRepository;
+
+	@Autowired
+	private TeacherRepository teacherRepository;
+
+	private Long melvin;
+	private Long ann;
+	private Long anna;
+	private Long janeSmith;
+
+	@BeforeEach
+	void setUp() {
+		auditWriter.flush();
+		enrollementRepository.deleteAll();
+		studentRepository.deleteAll();
+		courseRepository.deleteAll();
+		teacherRepository.deleteAll();
+		searchService.rebuildIndex();
+
+		melvin = createStudent("Melvin", "Chibanda", "melvin.chibanda@school.edu");
+		ann = createStudent("Ann", "Banda", "ann.banda@school.edu");
+		anna = createStudent("Anna", "Phiri", "anna.phiri@school.edu");
+		janeSmith = createStudent("Jane", "Smith", "jsmith@school.edu");
+		createStudent("Jane", "Doe", "jane.doe@school.edu");
+		createStudent("John", "Smith", "john.smith@school.edu");
+	}
+
+	private Long createStudent(String firstName, String lastName, String email) {
+		StudentDTO student = new StudentDTO();
+		student.setFirstName(firstName);
+		student.setLastName(lastName);
+		student.setEmail(email);
+		return studentService.createStudent(student).getId();
+	}
+
+	private List<Long> ids(String query) {
+		return searchService.searchStudents(query, 0, 50).getItems().stream().map(StudentDTO::getId).toList();
+	}
+
+	@Test
+	void findsByPrefixOfNameOrEmail() {
+		assertThat(ids("mel")).containsExactly(melvin);
+		assertThat(ids("MELVIN.C")).containsExactly(melvin);
+		assertThat(ids("chib")).containsExactly(melvin);
+	}
+
+	@Test
+	void ranksExactBeforePrefixAndToleratesTypos() {
+		assertThat(ids("ann")).startsWith(ann).contains(anna);
+		assertThat(ids("chibadna")).containsExactly(melvin);
+		assertThat(ids("melvn")).containsExactly(melvin);
+	}
+
+	@Test
+	void requiresEveryWordToMatch() {
+		assertThat(ids("jane smi")).containsExactly(janeSmith);
+		assertThat(ids("jane nobody")).isEmpty();
+		assertThat(ids("   ")).isEmpty();
+	}
+
+	@Test
+	void paginatesRankedResults() {
+		SearchPageDTO<StudentDTO> first = searchService.searchStudents("school", 0, 4);
+		SearchPageDTO<StudentDTO> second = searchService.searchStudents("school", 1, 4);
+
+		assertThat(first.getTotal()).isEqualTo(6);
+		assertThat(first.getItems()).hasSize(4);
+		assertThat(second.getItems()).hasSize(2);
+		assertThat(second.getItems()).doesNotContainAnyElementsOf(first.getItems());
+	}
+
+	@Test
+	void followsUpdatesDeletesAndImports() {
+		StudentDTO renamed = studentService.getStudentById(melvin);
+		renamed.setLastName("Mwansa");
+		renamed.setEmail("melvin.mwansa@school.edu");
+		studentService.updateStudent(melvin, renamed);
+		assertThat(ids("chibanda")).isEmpty();
+		assertThat(ids("mwansa")).containsExactly(melvin);
+
+		studentService.deleteStudent(ann);
+		assertThat(ids("banda")).isEmpty();
+
+		List<StudentDTO> rows = new ArrayList<>();
+		StudentDTO imported = new StudentDTO();
+		imported.setFirstName("Thandiwe");
+		imported.setLastName("Zulu");
+		imported.setEmail("thandiwe.zulu@school.edu");
+		rows.add(imported);
+		importService.importStudents(rows.iterator(), event -> { });
+		assertThat(searchService.searchStudents("thandiwe", 0, 10).getItems())
+				.extracting(StudentDTO::getEmail).containsExactly("thandiwe.zulu@school.edu");
+
+		studentRepository.deleteById(anna);
+		SearchPageDTO<StudentDTO> stale = searchService.searchStudents("anna", 0, 10);
+		assertThat(stale.getItems()).isEmpty();
+		assertThat(stale.getTotal()).isZero();
+	}
+
+	@Test
+	void searchesTeachers() {
+		TeacherDTO teacher = new TeacherDTO();
+		teacher.setFirstName("Grace");
+		teacher.setLastName("Mulenga");
+		teacher.setEmail("grace.mulenga@school.edu");
+		Long id = teacherService.createTeacher(teacher).getId();
+
+		assertThat(searchService.searchTeachers("mulen", 0, 10).getItems())
+				.extracting(TeacherDTO::getId).containsExactly(id);
+
+		teacherService.deleteTeacher(id);
+		assertThat(searchService.searchTeachers("grace", 0, 10).getItems()).isEmpty();
+	}
+}
@@ -0,0 +1,267 @@
+package com.melvin.School.Management.System.Service;
+
+import com.melvin.School.Management.System.Dto.BulkEnrollmentResultDTO;
+import com.melvin.School.Management.System.Dto.CourseDTO;
+import com.melvin.School.Management.System.Dto.CourseSummaryDTO;
+import com.melvin.School.Management.System.Dto.EnrollmentDTO;
+import com.melvin.School.Management.System.Dto.StudentDTO;
+import com.melvin.School.Management.System.Dto.TeacherDTO;
+import com.melvin.School.Management.System.Repository.CourseRepository;
+import com.melvin.School.Management.System.Repository.EnrollementRepository;
+import com.melvin.School.Management.System.Repository.StudentRepository;
+import com.melvin.School.Management.System.Repository.TeacherRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Verifies that concurrent registration never oversubscribes a course, that
+ * seats of rolled-back enrollments are given back, and that the written-behind
+ * counts agree with the enrollments.
+ */
+@SpringBootTest
+class SeatAllocationTests {
+
+	@Autowired
+	private SeatAllocator seatAllocator;
+
+	@Autowired
+	private CourseService courseService;
+
+	@Autowired
+	private TeacherService teacherService;
+
+	@Autowired
+	private StudentService studentService;
+
+	@Autowired
+	private EnrollmentService enrollmentService;
+
+	@Autowired
+	private StudentRepository studentRepository;
+
+	@Autowired
+	private CourseRepository courseRepository;
+
+	@Autowired
+	private TeacherRepository teacherRepository;
+
+	@Autowired
+	private EnrollementRepository enrollementRepository;
+
+	@Autowired
+	private EnrollmentAuditWriter auditWriter;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	private TransactionTemplate transactionTemplate;
+
+	private Long teacherId;
+
+	@BeforeEach
+	void setUp() {
+		auditWriter.flush();
+		enrollementRepository.deleteAll();
+		studentRepository.deleteAll();
+		courseRepository.deleteAll();
+		teacherRepository.deleteAll();
+
+		TeacherDTO teacher = new TeacherDTO();
+		teacher.setFirstName("Seat");
+		teacher.setLastName("Teacher");
+		teacher.setEmail("seat.teacher@school.edu");
+		teacherId = teacherService.createTeacher(teacher).getId();
+	}
+
+	@AfterEach
+	void tearDown() {
+		auditWriter.flush();
+		enrollementRepository.deleteAll();
+	}
+
+	private Long createCourse(String name, Integer capacity) {
+		CourseDTO course = new CourseDTO();
+		course.setName(name);
+		course.setTeacherId(teacherId);
+		course.setCapacity(capacity);
+		return courseService.createCourse(course).getId();
+	}
+
+	private List<Long> createStudents(int count) {
+		List<Long> ids = new ArrayList<>();
+		for (int i = 0; i < count; i++) {
+			StudentDTO student = new StudentDTO();
+			student.setFirstName("Seat" + i);
+			student.setLastName("Student");
+			student.setEmail("seat" + i + "@school.edu");
+			ids.add(studentService.createStudent(student).getId());
+		}
+		return ids;
+	}
+
+	private long enrolledInDatabase(Long courseId) {
+		return jdbcTemplate.queryForObject("select count(*) from student_courses where course_id = ?",
+				Long.class, courseId);
+	}
+
+	@Test
+	void concurrentReservationsNeverOversell() throws Exception {
+		List<Long> courseIds = new ArrayList<>();
+		for (int i = 0; i < 5; i++) {
+			courseIds.add(createCourse("Popular Course " + i, 100));
+		}
+		int threads = 64;
+		int requestsPerThread = 500;
+		AtomicLong reserved = new AtomicLong();
+		CountDownLatch start = new CountDownLatch(1);
+
+		ExecutorService executor = Executors.newFixedThreadPool(threads);
+		List<Future<?>> workers = new ArrayList<>();
+		for (int t = 0; t < threads; t++) {
+			workers.add(executor.submit(() -> {
+				start.await();
+				for (int i = 0; i < requestsPerThread; i++) {
+					Long courseId = courseIds.get(ThreadLocalRandom.current().nextInt(courseIds.size()));
+					if (seatAllocator.tryReserve(courseId)) {
+						reserved.incrementAndGet();
+					}
+				}
+				return null;
+			}));
+		}
+		start.countDown();
+		for (Future<?> worker : workers) {
+			worker.get();
+		}
+		executor.shutdown();
+
+		assertThat(reserved).hasValue(500);
+		for (Long courseId : courseIds) {
+			assertThat(seatAllocator.taken(courseId)).isEqualTo(100);
+		}
+	}
+
+	@Test
+	void concurrentEnrollmentsFillACourseExactly() throws Exception {
+		Long courseId = createCourse("Limited Course", 20);
+		List<Long> studentIds = createStudents(200);
+
+		ExecutorService executor = Executors.newFixedThreadPool(16);
+		List<Future<BulkEnrollmentResultDTO>> results = new ArrayList<>();
+		for (Long studentId : studentIds) {
+			results.add(executor.submit(() -> enrollmentService.bulkEnroll(
+					List.of(new EnrollmentDTO(studentId, courseId)).iterator())));
+		}
+		long enrolled = 0;
+		long full = 0;
+		for (Future<BulkEnrollmentResultDTO> result : results) {
+			enrolled += result.get().getEnrolled();
+			full += result.get().getErrors().stream().filter(error -> error.contains("course is full")).count();
+		}
+		executor.shutdown();
+
+		assertThat(enrolled).isEqualTo(20);
+		assertThat(full).isEqualTo(180);
+		assertThat(enrolledInDatabase(courseId)).isEqualTo(20);
+		assertThat(courseService.getCourseSummaries()).extracting(CourseSummaryDTO::getEnrollmentCount)
+				.containsExactly(20L);
+
+		CourseDTO raised = courseService.getCourseById(courseId);
+		raised.setCapacity(21);
+		courseService.updateCourse(courseId, raised);
+		List<EnrollmentDTO> more = studentIds.stream().map(id -> new EnrollmentDTO(id, courseId)).toList();
+		assertThat(enrollmentService.bulkEnroll(more.iterator()).getEnrolled()).isEqualTo(1);
+		assertThat(enrolledInDatabase(courseId)).isEqualTo(21);
+	}
+
+	@Test
+	void concurrentSummaryReadsSeeEveryCommittedEnrollment() throws Exception {
+		Long courseId = createCourse("Popular Course", 50);
+		List<Long> studentIds = createStudents(40);
+
+		// more readers than pooled connections, each flushing before it reads
+		ExecutorService executor = Executors.newFixedThreadPool(32);
+		List<Future<List<Long>>> reads = new ArrayList<>();
+		for (Long studentId : studentIds) {
+			reads.add(executor.submit(() -> {
+				enrollmentService.bulkEnroll(List.of(new EnrollmentDTO(studentId, courseId)).iterator());
+				return courseService.getCourseSummaries().stream().map(CourseSummaryDTO::getEnrollmentCount).toList();
+			}));
+		}
+		for (Future<List<Long>> read : reads) {
+			assertThat(read.get(30, TimeUnit.SECONDS)).singleElement().satisfies(count -> assertThat(count).isPositive());
+		}
+		executor.shutdown();
+
+		assertThat(courseService.getCourseSummaries()).extracting(CourseSummaryDTO::getEnrollmentCount)
+				.containsExactly(40L);
+	}
+
+	@Test
+	void rolledBackReservationsAreGivenBack() {
+		Long courseId = createCourse("Rollback Course", 2);
+
+		transactionTemplate.executeWithoutResult(status -> {
+			assertThat(seatAllocator.tryReserve(courseId)).isTrue();
+			assertThat(seatAllocator.tryReserve(courseId)).isTrue();
+			assertThat(seatAllocator.tryReserve(courseId)).isFalse();
+			status.setRollbackOnly();
+		});
+
+		assertThat(seatAllocator.taken(courseId)).isZero();
+		assertThat(seatAllocator.tryReserve(courseId)).isTrue();
+	}
+
+	@Test
+	void reconcileRecountsFromEnrollments() {
+		Long courseId = createCourse("Crash Course", 5);
+		List<Long> studentIds = createStudents(3);
+		enrollmentService.bulkEnroll(studentIds.stream().map(id -> new EnrollmentDTO(id, courseId)).iterator());
+
+		// a reservation that never became an enrollment, as if lost in a crash
+		assertThat(seatAllocator.tryReserve(courseId)).isTrue();
+		assertThat(seatAllocator.taken(courseId)).isEqualTo(4);
+
+		seatAllocator.reconcile();
+
+		assertThat(seatAllocator.taken(courseId)).isEqualTo(3);
+		assertThat(courseService.getCourseSummaries()).extracting(CourseSummaryDTO::getEnrollmentCount)
+				.containsExactly(3L);
+	}
+
+	@Test
+	void reconcileIsRefusedWhileReservationsAreHeld() {
+		Long courseId = createCourse("Busy Course", 5);
+
+		transactionTemplate.executeWithoutResult(status -> {
+			assertThat(seatAllocator.tryReserve(courseId)).isTrue();
+			assertThatThrownBy(() -> seatAllocator.reconcile()).isInstanceOf(EnrollmentsInProgressException.class);
+			status.setRollbackOnly();
+		});
+		assertThat(seatAllocator.taken(courseId)).isZero();
+
+		// once the transaction has completed, nothing is held any more
+		seatAllocator.reconcile();
+		assertThat(seatAllocator.tryReserve(courseId)).isTrue();
+		assertThat(seatAllocator.taken(courseId)).isEqualTo(1);
+	}
+}
@@ -0,0 +1,108 @@
+package com.melvin.School.Management.System.Service;
+
+import com.melvin.School.Management.System.Dto.CourseDTO;
+import com.melvin.School.Management.System.Dto.TeacherDTO;
+import com.melvin.School.Management.System.Model.Course;
+import com.melvin.School.Management.System.Model.Teacher;
+import com.melvin.School.Management.System.Repository.CourseRepository;
+import com.melvin.School.Management.System.Repository.StudentRepository;
+import com.melvin.School.Management.System.Repository.TeacherRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Verifies that writes evict the second-level cache entries Hibernate
+ * does not invalidate on its own, and the cached DTOs of related entities.
+ */
+@SpringBootTest
+class SecondLevelCacheTests {
+
+	@Autowired
+	private CourseService courseService;
+
+	@Autowired
+	private TeacherService teacherService;
+
+	@Autowired
+	private StudentRepository studentRepository;
+
+	@Autowired
+	private CourseRepository courseRepository;
+
+	@Autowired
+	private TeacherRepository teacherRepository;
+
+	@BeforeEach
+	void setUp() {
+		studentRepository.deleteAll();
+		courseRepository.deleteAll();
+		teacherRepository.deleteAll();
+	}
+
+	@Test
+	void deleteCourseEvictsTeacherCourseList() {
+		Teacher teacher = newTeacher();
+		Course kept = newCourse(teacher, "Algebra");
+		Course deleted = newCourse(teacher, "Geometry");
+
+		assertThat(teacherService.getTeacherById(teacher.getId()).getCourseIds())
+				.containsExactlyInAnyOrder(kept.getId(), deleted.getId());
+
+		courseService.deleteCourse(deleted.getId());
+
+		assertThat(teacherService.getTeacherById(teacher.getId()).getCourseIds())
+				.containsExactly(kept.getId());
+	}
+
+	@Test
+	void updateTeacherEvictsCachedTeacher() {
+		Teacher teacher = newTeacher();
+		assertThat(teacherService.getTeacherById(teacher.getId()).getLastName()).isEqualTo("Doe");
+
+		TeacherDTO update = new TeacherDTO();
+		update.setFirstName("John");
+		update.setLastName("Smith");
+		update.setEmail(teacher.getEmail());
+		teacherService.updateTeacher(teacher.getId(), update);
+
+		assertThat(teacherService.getTeacherById(teacher.getId()).getLastName()).isEqualTo("Smith");
+	}
+
+	@Test
+	void reassigningCourseRefreshesBothTeachers() {
+		Teacher previous = newTeacher();
+		Teacher next = newTeacher();
+		Course course = newCourse(previous, "Biology");
+		assertThat(teacherService.getTeacherById(previous.getId()).getCourseIds()).containsExactly(course.getId());
+		assertThat(teacherService.getTeacherById(next.getId()).getCourseIds()).isEmpty();
+		assertThat(courseService.getCourseById(course.getId()).getTeacherId()).isEqualTo(previous.getId());
+
+		CourseDTO update = new CourseDTO();
+		update.setName("Biology");
+		update.setTeacherId(next.getId());
+		courseService.updateCourse(course.getId(), update);
+
+		assertThat(teacherService.getTeacherById(previous.getId()).getCourseIds()).isEmpty();
+		assertThat(teacherService.getTeacherById(next.getId()).getCourseIds()).containsExactly(course.getId());
+		assertThat(courseService.getCourseById(course.getId()).getTeacherId()).isEqualTo(next.getId());
+	}
+
+	private Teacher newTeacher() {
+		Teacher teacher = new Teacher();
+		teacher.setFirstName("John");
+		teacher.setLastName("Doe");
+		teacher.setEmail("teacher" + System.nanoTime() + "@school.edu");
+		return teacherRepository.save(teacher);
+	}
+
+	private Course newCourse(Teacher teacher, String name) {
+		Course course = new Course();
+		course.setName(name);
+		course.setTeacher(teacher);
+		return courseRepository.save(course);
+	}
+}
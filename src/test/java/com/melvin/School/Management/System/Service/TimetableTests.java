@@ -0,0 +1,207 @@
+package com.melvin.School.Management.System.Service;
+
+import com.melvin.School.Management.System.Dto.BulkEnrollmentResultDTO;
+import com.melvin.School.Management.System.Dto.CourseDTO;
+import com.melvin.School.Management.System.Dto.EnrollmentDTO;
+import com.melvin.School.Management.System.Dto.MeetingSlotDTO;
+import com.melvin.School.Management.System.Dto.ScheduleConflictDTO;
+import com.melvin.School.Management.System.Dto.StudentDTO;
+import com.melvin.School.Management.System.Dto.TeacherDTO;
+import com.melvin.School.Management.System.Repository.CourseRepository;
+import com.melvin.School.Management.System.Repository.EnrollementRepository;
+import com.melvin.School.Management.System.Repository.StudentRepository;
+import com.melvin.School.Management.System.Repository.TeacherRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Verifies that enrollments and teacher assignments never double-book a
+ * student or teacher, that rejected changes leave the timetable as it was,
+ * and that the conflict report finds overlaps made behind the check's back.
+ */
+@SpringBootTest
+class TimetableTests {
+
+	@Autowired
+	private CourseService courseService;
+
+	@Autowired
+	private TeacherService teacherService;
+
+	@Autowired
+	private StudentService studentService;
+
+	@Autowired
+	private EnrollmentService enrollmentService;
+
+	@Autowired
+	private EnrollmentAuditWriter auditWriter;
+
+	@Autowired
+	private EnrollementRepository enrollementRepository;
+
+	@Autowired
+	private StudentRepository studentRepository;
+
+	@Autowired
+	private CourseRepository courseRepository;
+
+	@Autowired
+	private TeacherRepository teacherRepository;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	private Long teacherId;
+	private Long otherTeacherId;
+	private Long studentId;
+
+	@BeforeEach
+	void setUp() {
+		auditWriter.flush();
+		enrollementRepository.deleteAll();
+		studentRepository.deleteAll();
+		courseRepository.deleteAll();
+		teacherRepository.deleteAll();
+
+		teacherId = createTeacher("first");
+		otherTeacherId = createTeacher("second");
+		StudentDTO student = new StudentDTO();
+		student.setFirstName("Timetable");
+		student.setLastName("Student");
+		student.setEmail("timetable.student@school.edu");
+		studentId = studentService.createStudent(student).getId();
+	}
+
+	@AfterEach
+	void tearDown() {
+		auditWriter.flush();
+		enrollementRepository.deleteAll();
+	}
+
+	private Long createTeacher(String name) {
+		TeacherDTO teacher = new TeacherDTO();
+		teacher.setFirstName(name);
+		teacher.setLastName("Teacher");
+		teacher.setEmail(name + ".teacher@school.edu");
+		return teacherService.createTeacher(teacher).getId();
+	}
+
+	private static MeetingSlotDTO slot(DayOfWeek day, String start, String end) {
+		return new MeetingSlotDTO(day, LocalTime.parse(start), LocalTime.parse(end));
+	}
+
+	private static CourseDTO course(String name, Long teacherId, MeetingSlotDTO... meetings) {
+		CourseDTO course = new CourseDTO();
+		course.setName(name);
+		course.setTeacherId(teacherId);
+		course.setMeetings(List.of(meetings));
+		return course;
+	}
+
+	private BulkEnrollmentResultDTO enroll(Long courseId) {
+		return enrollmentService.bulkEnroll(List.of(new EnrollmentDTO(studentId, courseId)).iterator());
+	}
+
+	@Test
+	void enrollmentIntoAnOverlappingCourseIsRejected() {
+		Long maths = courseService.createCourse(course("Maths", teacherId,
+				slot(DayOfWeek.MONDAY, "09:00", "10:30"), slot(DayOfWeek.WEDNESDAY, "09:00", "10:30"))).getId();
+		Long physics = courseService.createCourse(course("Physics", otherTeacherId,
+				slot(DayOfWeek.WEDNESDAY, "10:00", "11:00"))).getId();
+		Long history = courseService.createCourse(course("History", otherTeacherId,
+				slot(DayOfWeek.MONDAY, "10:30", "12:00"))).getId();
+
+		assertThat(enroll(maths).getEnrolled()).isEqualTo(1);
+		BulkEnrollmentResultDTO conflicting = enroll(physics);
+		assertThat(conflicting.getEnrolled()).isZero();
+		assertThat(conflicting.getErrors()).containsExactly("Record 1: schedule conflict with course id: " + maths);
+		// back to back is not a conflict
+		assertThat(enroll(history).getEnrolled()).isEqualTo(1);
+
+		// both conflicting records in one chunk: the first wins
+		Long art = courseService.createCourse(course("Art", otherTeacherId,
+				slot(DayOfWeek.FRIDAY, "13:00", "14:00"))).getId();
+		Long music = courseService.createCourse(course("Music", teacherId,
+				slot(DayOfWeek.FRIDAY, "13:30", "15:00"))).getId();
+		BulkEnrollmentResultDTO both = enrollmentService.bulkEnroll(List.of(
+				new EnrollmentDTO(studentId, art), new EnrollmentDTO(studentId, music)).iterator());
+		assertThat(both.getEnrolled()).isEqualTo(1);
+		assertThat(both.getErrors()).containsExactly("Record 2: schedule conflict with course id: " + art);
+	}
+
+	@Test
+	void teacherAssignmentAndMeetingChangesAreChecked() {
+		Long maths = courseService.createCourse(course("Maths", teacherId,
+				slot(DayOfWeek.MONDAY, "09:00", "10:00"))).getId();
+
+		assertThatThrownBy(() -> courseService.createCourse(course("Physics", teacherId,
+				slot(DayOfWeek.MONDAY, "09:30", "10:30"))))
+				.isInstanceOf(ScheduleConflictException.class)
+				.hasMessage("Teacher " + teacherId + " already has course " + maths + " at that time");
+
+		Long physics = courseService.createCourse(course("Physics", otherTeacherId,
+				slot(DayOfWeek.MONDAY, "09:30", "10:30"))).getId();
+		assertThatThrownBy(() -> courseService.updateCourse(physics, course("Physics", teacherId,
+				slot(DayOfWeek.MONDAY, "09:30", "10:30"))))
+				.isInstanceOf(ScheduleConflictException.class);
+
+		// moving physics clear of maths lets the student take both
+		courseService.updateCourse(physics, course("Physics", otherTeacherId, slot(DayOfWeek.TUESDAY, "09:30", "10:30")));
+		assertThat(enroll(maths).getEnrolled()).isEqualTo(1);
+		assertThat(enroll(physics).getEnrolled()).isEqualTo(1);
+
+		// moving it back would double-book the student; the rejected change is undone
+		assertThatThrownBy(() -> courseService.updateCourse(physics, course("Physics", otherTeacherId,
+				slot(DayOfWeek.MONDAY, "09:30", "10:30"))))
+				.isInstanceOf(ScheduleConflictException.class)
+				.hasMessage("Student " + studentId + " already has course " + maths + " at that time");
+		assertThat(courseService.getCourseById(physics).getMeetings())
+				.containsExactly(slot(DayOfWeek.TUESDAY, "09:30", "10:30"));
+
+		// the teacher moved away from maths, so maths' old teacher is free at that time again
+		courseService.updateCourse(maths, course("Maths", otherTeacherId, slot(DayOfWeek.MONDAY, "09:00", "10:00")));
+		Long chemistry = courseService.createCourse(course("Chemistry", teacherId,
+				slot(DayOfWeek.MONDAY, "09:00", "10:00"))).getId();
+		assertThat(chemistry).isNotNull();
+	}
+
+	@Test
+	void invalidMeetingsAreRejected() {
+		assertThatThrownBy(() -> courseService.createCourse(course("Backwards", teacherId,
+				slot(DayOfWeek.MONDAY, "10:00", "09:00"))))
+				.isInstanceOf(IllegalArgumentException.class);
+		assertThatThrownBy(() -> courseService.createCourse(course("Overlapping", teacherId,
+				slot(DayOfWeek.MONDAY, "09:00", "10:00"), slot(DayOfWeek.MONDAY, "09:59", "11:00"))))
+				.isInstanceOf(IllegalArgumentException.class)
+				.hasMessage("Meetings of a course must not overlap");
+	}
+
+	@Test
+	void reportFindsConflictsMadeBehindTheChecksBack() {
+		Long maths = courseService.createCourse(course("Maths", teacherId,
+				slot(DayOfWeek.THURSDAY, "08:00", "09:30"))).getId();
+		Long physics = courseService.createCourse(course("Physics", otherTeacherId,
+				slot(DayOfWeek.THURSDAY, "09:00", "10:00"))).getId();
+		enroll(maths);
+		jdbcTemplate.update("insert into student_courses (student_id, course_id) values (?, ?)", studentId, physics);
+		jdbcTemplate.update("update courses set teacher_id = ? where id = ?", teacherId, physics);
+
+		assertThat(courseService.getScheduleConflicts()).containsExactly(
+				new ScheduleConflictDTO("STUDENT", studentId, maths, physics, DayOfWeek.THURSDAY,
+						LocalTime.of(9, 0), LocalTime.of(9, 30)),
+				new ScheduleConflictDTO("TEACHER", teacherId, maths, physics, DayOfWeek.THURSDAY,
+						LocalTime.of(9, 0), LocalTime.of(9, 30)));
+	}
+}